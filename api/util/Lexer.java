@@ -9,10 +9,19 @@
 
 package api.util;
 
-import java.util.LinkedList;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import api.util.datastructures.Token;
-import edu.princeton.cs.introcs.In;
+import api.util.datastructures.TokenBuffer;
+import api.util.datastructures.TokenSink;
 
 public abstract class Lexer<T>
 {
@@ -24,6 +33,123 @@ public abstract class Lexer<T>
         BRACE, BRACKET, COMMENT, PARENTH
     }
 
+    /*
+     * This helper interface is implemented by the token type enumerators of lexers whose token types are each described by a regular expression.
+     */
+    public static interface TokenDefinition
+    {
+        public String getPattern();
+
+        public String name();
+
+        public int ordinal();
+    }
+
+    /*
+     * This helper class is a pull iterator over the tokens of a file. The file is read one line at a time through a MappedLineReader, and only the
+     * tokens of the current line are held, so a file of any size is tokenized in one pass with bounded memory. Close it to release the file early.
+     */
+    public final class TokenIterator implements Iterator<Token<T>>, Closeable
+    {
+        private final boolean          ignoreComments;                      // Are comment tokens skipped?
+        private final boolean          ignoreWhiteSpace;                    // Are whitespace tokens skipped?
+        private int                    index   = 0;                         // Index in the pending tokens of the next token to return.
+        private final List<Token<T>>   pending = new ArrayList<Token<T>>(); // Tokens of the current line.
+        private final MappedLineReader reader;                              // Source of the lines of the file.
+        private final boolean          silent;                              // Is the lexer's echo to standard output suppressed?
+
+        private TokenIterator(final String fileName, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments) throws IOException
+        {
+            this.reader = new MappedLineReader(fileName);
+            this.silent = silent;
+            this.ignoreWhiteSpace = ignoreWhiteSpace;
+            this.ignoreComments = ignoreComments;
+        }
+
+        @Override
+        public final void close() throws IOException
+        {
+            this.reader.close();
+        }
+
+        @Override
+        public final boolean hasNext()
+        {
+            try
+            {
+                // Lex lines until one of them has tokens.
+                while ( this.index == this.pending.size() )
+                {
+                    this.pending.clear();
+                    this.index = 0;
+
+                    if ( !this.reader.nextLine() ) { return false; }
+
+                    Lexer.this.lex(this.reader.getInput(), this.reader.getLineStart(), this.reader.getLineEnd(), this.reader.getLineNo(), this.silent, this.ignoreWhiteSpace, this.ignoreComments, this.pending::add);
+                }
+
+                return true;
+            }
+            catch ( final IOException exception )
+            {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        @Override
+        public final Token<T> next()
+        {
+            if ( !this.hasNext() ) { throw new NoSuchElementException(); }
+
+            return this.pending.get(this.index++);
+        }
+    }
+
+    /*
+     * This helper class holds the combined pattern of a set of token types. It is meant to be compiled once per set and shared by every lexer which
+     * uses that set. Each token type is matched by a named group, and the number of that group is looked up by the type's ordinal, so no group
+     * names have to be resolved while matching.
+     */
+    protected static final class TokenPatterns
+    {
+        private final int[]   groups;  // Number of the capturing group of each token type, by ordinal.
+        private final Pattern pattern; // Alternation of every token type's pattern, in declaration order.
+
+        public TokenPatterns(final TokenDefinition[] types)
+        {
+            StringBuilder patterns = new StringBuilder();
+            int group = 1;
+
+            this.groups = new int[types.length];
+
+            for ( TokenDefinition type : types )
+            {
+                if ( patterns.length() > 0 )
+                {
+                    patterns.append('|');
+                }
+
+                patterns.append("(?<").append(type.name()).append('>').append(type.getPattern()).append(')');
+                this.groups[type.ordinal()] = group;
+
+                // Skip past the named group and every group nested inside it.
+                group += ( 1 + Pattern.compile(type.getPattern()).matcher("").groupCount() );
+            }
+
+            this.pattern = Pattern.compile(patterns.toString());
+        }
+
+        public final int getGroup(final TokenDefinition type)
+        {
+            return this.groups[type.ordinal()];
+        }
+
+        public final Pattern getPattern()
+        {
+            return this.pattern;
+        }
+    }
+
     // RegExr patterns describing the various components of the C language grammar.
     public static final String C_ASSIGNMENT_OPS = "(\\+\\=)|(\\-\\=)|(\\*\\=)|(\\/\\=)|(%\\=)|(&\\=)|(\\^\\=)|(\\|\\=)|(\\=)|(\\=)|(\\=)";
     public static final String C_BIT_SHIFT_OPS  = "(\\<\\<)|(\\>\\>)";
@@ -43,6 +169,45 @@ public abstract class Lexer<T>
     // Internal Depth Tracking Array
     protected int[] Depth = { 0, 0, 0, 0 };
 
+    // Matcher kept from one call to lex() to the next, so each line only resets it.
+    private Matcher matcher = null;
+
+    // Scanner kept from one call to lex() to the next, so each line only resets it.
+    private TokenScanner scanner = null;
+
+    // Return a matcher of the given pattern over the given input, reusing this lexer's matcher if it was made from the same pattern.
+    protected final Matcher getMatcher(final Pattern pattern, final CharSequence input)
+    {
+        if ( ( this.matcher == null ) || ( this.matcher.pattern() != pattern ) )
+        {
+            this.matcher = pattern.matcher(input);
+        }
+        else
+        {
+            this.matcher.reset(input);
+        }
+
+        return this.matcher;
+    }
+
+    // Return a scanner of the given table over the given input, reusing this lexer's scanner if it was made from the same table.
+    protected final TokenScanner getScanner(final ScannerTable table, final CharSequence input)
+    {
+        return this.getScanner(table, input, 0, input.length());
+    }
+
+    // Return a scanner of the given table over the given region of the input, reusing this lexer's scanner if it was made from the same table.
+    protected final TokenScanner getScanner(final ScannerTable table, final CharSequence input, final int from, final int limit)
+    {
+        if ( ( this.scanner == null ) || ( this.scanner.getTable() != table ) )
+        {
+            this.scanner = new TokenScanner(table);
+        }
+
+        this.scanner.reset(input, from, limit);
+        return this.scanner;
+    }
+
     public List<Token<T>> lex(final String s)
     {
         return this.lex(s, 0);
@@ -65,6 +230,36 @@ public abstract class Lexer<T>
 
     public abstract List<Token<T>> lex(final String s, final int lineNo, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments);
 
+    // Lex the line held in the given region of the input, and pass each token to the given consumer.
+    public void lex(final CharSequence input, final int from, final int limit, final int lineNo, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments, final Consumer<? super Token<T>> consumer)
+    {
+        this.lex(input, from, limit, lineNo, silent, ignoreWhiteSpace, ignoreComments, ( type, text, start, end, line, braceDepth, bracketDepth, parenthDepth ) -> consumer.accept(( type == null ) ? null : new Token<T>(type, text.subSequence(start, end).toString(), line, braceDepth, bracketDepth, parenthDepth)));
+    }
+
+    // Lex the line held in the given region of the input, and pass each token to the given sink as a region of the input where possible. Subclasses
+    // override this to lex the region in place; by default it is copied out and passed to lex().
+    public void lex(final CharSequence input, final int from, final int limit, final int lineNo, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments, final TokenSink<? super T> sink)
+    {
+        for ( Token<T> token : this.lex(input.subSequence(from, limit).toString(), lineNo, silent, ignoreWhiteSpace, ignoreComments) )
+        {
+            if ( token == null )
+            {
+                sink.accept(null, input, from, from, lineNo, 0, 0, 0);
+            }
+            else
+            {
+                String data = token.getData();
+                sink.accept(token.getType(), data, 0, data.length(), token.getLineNo(), token.getBraceDepth(), token.getBracketDepth(), token.getParenthDepth());
+            }
+        }
+    }
+
+    // Return a pull iterator over the tokens of the given file, which lexes the file one line at a time as tokens are taken.
+    public TokenIterator iterateFile(final String fileName, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments) throws IOException
+    {
+        return new TokenIterator(fileName, silent, ignoreWhiteSpace, ignoreComments);
+    }
+
     public List<Token<T>> lexFile(final String fileName)
     {
         return this.lexFile(fileName, false);
@@ -83,40 +278,58 @@ public abstract class Lexer<T>
     public List<Token<T>> lexFile(final String fileName, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments)
     {
         // A buffer for the tokens we want to return.
-        List<Token<T>> tokens = new LinkedList<Token<T>>();
-
-        In inputStream = null;
-        int lineNo = 0;
+        TokenBuffer<T> tokens = new TokenBuffer<T>();
 
         try
         {
-            // Try to open the given input file for a read operation.
-            inputStream = new In(fileName);
+            this.lexFile(fileName, silent, ignoreWhiteSpace, ignoreComments, tokens);
+        }
+        catch ( final IOException exception )
+        {
+            exception.printStackTrace();
+        }
 
-            // Pass each line of text from the input file to lex(), and add all the returned tokens to our output token buffer.
-            while ( inputStream.hasNextLine() )
+        return tokens;
+    }
+
+    // Lex the given file in one pass, line by line, and pass each token to the given consumer as soon as its line has been lexed.
+    public void lexFile(final String fileName, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments, final Consumer<? super Token<T>> consumer) throws IOException
+    {
+        MappedLineReader reader = new MappedLineReader(fileName);
+
+        try
+        {
+            while ( reader.nextLine() )
             {
-                lineNo++;
-                tokens.addAll(this.lex(inputStream.readLine(), lineNo, silent, ignoreWhiteSpace, ignoreComments));
+                this.lex(reader.getInput(), reader.getLineStart(), reader.getLineEnd(), reader.getLineNo(), silent, ignoreWhiteSpace, ignoreComments, consumer);
             }
         }
-        catch ( final IllegalArgumentException iae )
+        finally
         {
-            iae.printStackTrace();
+            reader.close();
         }
-        catch ( final NullPointerException npe )
+    }
+
+    // Lex the given file in one pass into the given buffer. The file's text is copied into the buffer's source once, line by line, and each token
+    // refers to its place in it.
+    public void lexFile(final String fileName, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments, final TokenBuffer<T> tokens) throws IOException
+    {
+        MappedLineReader reader = new MappedLineReader(fileName);
+
+        try
         {
-            npe.printStackTrace();
+            while ( reader.nextLine() )
+            {
+                int from = tokens.appendSource(reader.getInput(), reader.getLineStart(), reader.getLineEnd());
+                int limit = tokens.getSource().length();
+
+                this.lex(tokens.getSource(), from, limit, reader.getLineNo(), silent, ignoreWhiteSpace, ignoreComments, tokens);
+                tokens.appendSource("\n", 0, 1);
+            }
         }
         finally
         {
-            if ( inputStream != null )
-            {
-                inputStream.close();
-                inputStream = null;
-            }
+            reader.close();
         }
-
-        return tokens;
     }
 }
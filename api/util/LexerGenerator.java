@@ -0,0 +1,1092 @@
+/*
+ * Title: LexerGenerator
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Compiles the regular expressions of a set of token types into a ScannerTable: a minimized DFA with a compact transition table, which a
+ * TokenScanner runs without backtracking and without resolving group names.
+ *
+ * The token patterns are parsed into expression trees, joined into one NFA by Thompson's construction, turned into a DFA by the subset
+ * construction, and minimized by repeatedly splitting groups of states until no group holds states which behave differently. Before any of that,
+ * the characters are split into classes which no pattern tells apart, so the tables have one column per class rather than one per character.
+ *
+ * The supported syntax covers what the lexers in this library use: literals and escaped characters, '.', character classes with ranges and
+ * negation, \d \D \s \S \w \W, \t \n \r \f \e \a \xhh \\uhhhh, groups (plain, non-capturing or named), alternation, and the greedy quantifiers ?,
+ * *, + and {m,n}. The assertions \b, \B, ^ and $ are supported at the start or end of a pattern or of one of its top-level alternatives, which is
+ * where token patterns use them. As in java.util.regex without MULTILINE, ^ matches only at the start of the input, and $ only at its end or
+ * before a final line terminator. Anything else, such as lookaround, backreferences or reluctant quantifiers, is rejected with an
+ * IllegalArgumentException.
+ */
+
+package api.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import api.util.Lexer.TokenDefinition;
+
+public final class LexerGenerator
+{
+    /* This helper class is an expression paired with an assertion which must hold next to it. */
+    private static final class Anchored
+    {
+        private final int        assertion;
+        private final Expression expression;
+
+        public Anchored(final Expression expression, final int assertion)
+        {
+            this.expression = expression;
+            this.assertion = assertion;
+        }
+    }
+
+    /* This helper class is a node of a parsed regular expression. */
+    private static final class Expression
+    {
+        private static final int ALTERNATION   = 0;
+        private static final int ASSERTION     = 1;
+        private static final int CHARACTERS    = 2;
+        private static final int CONCATENATION = 3;
+        private static final int EMPTY         = 4;
+        private static final int REPETITION    = 5;
+
+        private int              assertion = -1;   // Kind of assertion, for assertion nodes.
+        private List<Expression> children  = null; // Operands, for alternation, concatenation and repetition nodes.
+        private final int        kind;             // Kind of node.
+        private int              maximum   = 0;    // Most repetitions, or -1 for no limit, for repetition nodes.
+        private int              minimum   = 0;    // Fewest repetitions, for repetition nodes.
+        private int[]            ranges    = null; // Sorted, disjoint, inclusive ranges of characters, for character nodes.
+
+        public Expression(final int kind)
+        {
+            this.kind = kind;
+        }
+
+        public static final Expression of(final int kind, final List<Expression> children)
+        {
+            if ( children.isEmpty() ) { return new Expression(Expression.EMPTY); }
+            if ( children.size() == 1 ) { return children.get(0); }
+
+            Expression retVal = new Expression(kind);
+            retVal.children = children;
+            return retVal;
+        }
+    }
+
+    /* This helper class is a state of the NFA. Each state has either one character transition, or any number of empty transitions. */
+    private static final class NfaState
+    {
+        private int                 accept  = -1;                        // Variant bit accepted in this state, or -1.
+        private BitSet              classes = null;                      // Character classes of the character transition, if any.
+        private final List<Integer> empty   = new ArrayList<Integer>(2); // Targets of the empty transitions.
+        private int                 target  = -1;                        // Target of the character transition, if any.
+    }
+
+    /* This helper class parses a regular expression into an expression tree by recursive descent. */
+    private static final class Parser
+    {
+        private int          index = 0; // Offset of the next character to read.
+        private final String pattern;   // Regular expression being parsed.
+
+        public Parser(final String pattern)
+        {
+            this.pattern = pattern;
+        }
+
+        // alternation := concatenation ( '|' concatenation )*
+        private final Expression alternation()
+        {
+            List<Expression> alternatives = new ArrayList<Expression>();
+            alternatives.add(this.concatenation());
+
+            while ( this.peek() == '|' )
+            {
+                this.index++;
+                alternatives.add(this.concatenation());
+            }
+
+            if ( alternatives.size() == 1 ) { return alternatives.get(0); }
+
+            return Expression.of(Expression.ALTERNATION, alternatives);
+        }
+
+        // atom := group | class | '.' | '^' | '$' | escape | literal
+        private final Expression atom()
+        {
+            char c = this.pattern.charAt(this.index++);
+
+            switch ( c )
+            {
+                case '(':
+                    if ( this.peek() == '?' )
+                    {
+                        this.index++;
+
+                        if ( this.peek() == ':' )
+                        {
+                            this.index++;
+                        }
+                        else if ( ( this.peek() == '<' ) && ( this.index + 1 < this.pattern.length() ) && Character.isLetter(this.pattern.charAt(this.index + 1)) )
+                        {
+                            int close = this.pattern.indexOf('>', this.index);
+
+                            if ( close < 0 ) { throw this.error("Unterminated group name"); }
+
+                            this.index = ( close + 1 );
+                        }
+                        else
+                        {
+                            throw this.error("Unsupported group construct");
+                        }
+                    }
+
+                    Expression group = this.alternation();
+
+                    if ( this.peek() != ')' ) { throw this.error("Unclosed group"); }
+
+                    this.index++;
+                    return group;
+
+                case '[':
+                    return LexerGenerator.characters(this.characterClass());
+
+                case '.':
+                    return LexerGenerator.characters(LexerGenerator.DOT);
+
+                case '^':
+                case '$':
+                    Expression edge = new Expression(Expression.ASSERTION);
+                    edge.assertion = ( ( c == '^' ) ? ScannerTable.INPUT_START : ScannerTable.INPUT_END );
+                    return edge;
+
+                case '\\':
+                    if ( ( this.peek() == 'b' ) || ( this.peek() == 'B' ) )
+                    {
+                        Expression boundary = new Expression(Expression.ASSERTION);
+                        boundary.assertion = ( ( this.pattern.charAt(this.index++) == 'b' ) ? ScannerTable.WORD_BOUNDARY : ScannerTable.NON_WORD_BOUNDARY );
+                        return boundary;
+                    }
+
+                    return LexerGenerator.characters(this.escape());
+
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    this.index--;
+                    throw this.error("Dangling quantifier");
+
+                default:
+                    return LexerGenerator.characters(new int[] { c, c });
+            }
+        }
+
+        // class := '[' '^'? ( item ( '-' item )? )* ']'
+        private final int[] characterClass()
+        {
+            boolean negated = ( this.peek() == '^' );
+            int[] retVal = new int[0];
+
+            if ( negated )
+            {
+                this.index++;
+            }
+
+            while ( this.peek() != ']' )
+            {
+                if ( this.index >= this.pattern.length() ) { throw this.error("Unclosed character class"); }
+                if ( ( this.peek() == '[' ) || this.pattern.startsWith("&&", this.index) ) { throw this.error("Nested character classes are not supported"); }
+
+                int[] item = this.classItem();
+
+                if ( ( this.peek() == '-' ) && ( this.index + 1 < this.pattern.length() ) && ( this.pattern.charAt(this.index + 1) != ']' ) )
+                {
+                    this.index++;
+                    int[] upper = this.classItem();
+
+                    if ( ( item.length != 2 ) || ( upper.length != 2 ) || ( item[0] != item[1] ) || ( upper[0] != upper[1] ) || ( upper[0] < item[0] ) ) { throw this.error("Illegal character range"); }
+
+                    item = new int[] { item[0], upper[0] };
+                }
+
+                retVal = LexerGenerator.union(retVal, item);
+            }
+
+            this.index++;
+            return ( negated ? LexerGenerator.complement(retVal) : retVal );
+        }
+
+        // Read one character, or one escaped character or predefined class, inside a character class.
+        private final int[] classItem()
+        {
+            char c = this.pattern.charAt(this.index++);
+
+            if ( c == '\\' ) { return this.escape(); }
+
+            return new int[] { c, c };
+        }
+
+        // concatenation := repetition*
+        private final Expression concatenation()
+        {
+            List<Expression> items = new ArrayList<Expression>();
+
+            while ( ( this.index < this.pattern.length() ) && ( this.peek() != '|' ) && ( this.peek() != ')' ) )
+            {
+                items.add(this.repetition());
+            }
+
+            return Expression.of(Expression.CONCATENATION, items);
+        }
+
+        private final IllegalArgumentException error(final String message)
+        {
+            return new IllegalArgumentException(message + " at offset " + this.index + " of pattern " + this.pattern);
+        }
+
+        // Read the character or predefined class after a backslash.
+        private final int[] escape()
+        {
+            if ( this.index >= this.pattern.length() ) { throw this.error("Trailing backslash"); }
+
+            char c = this.pattern.charAt(this.index++);
+
+            switch ( c )
+            {
+                case 'd':
+                    return LexerGenerator.DIGITS;
+
+                case 'D':
+                    return LexerGenerator.complement(LexerGenerator.DIGITS);
+
+                case 's':
+                    return LexerGenerator.SPACES;
+
+                case 'S':
+                    return LexerGenerator.complement(LexerGenerator.SPACES);
+
+                case 'w':
+                    return LexerGenerator.WORDS;
+
+                case 'W':
+                    return LexerGenerator.complement(LexerGenerator.WORDS);
+
+                case 't':
+                    return new int[] { '\t', '\t' };
+
+                case 'n':
+                    return new int[] { '\n', '\n' };
+
+                case 'r':
+                    return new int[] { '\r', '\r' };
+
+                case 'f':
+                    return new int[] { '\f', '\f' };
+
+                case 'a':
+                    return new int[] { 0x07, 0x07 };
+
+                case 'e':
+                    return new int[] { 0x1B, 0x1B };
+
+                case 'x':
+                    return this.hexadecimal(2);
+
+                case 'u':
+                    return this.hexadecimal(4);
+
+                default:
+                    if ( Character.isLetterOrDigit(c) )
+                    {
+                        this.index--;
+                        throw this.error("Unsupported escape \\" + c);
+                    }
+
+                    return new int[] { c, c };
+            }
+        }
+
+        // Read the given number of hexadecimal digits as a character.
+        private final int[] hexadecimal(final int digits)
+        {
+            if ( ( this.index + digits ) > this.pattern.length() ) { throw this.error("Truncated hexadecimal escape"); }
+
+            try
+            {
+                int c = Integer.parseInt(this.pattern.substring(this.index, this.index + digits), 16);
+                this.index += digits;
+                return new int[] { c, c };
+            }
+            catch ( final NumberFormatException exception )
+            {
+                throw this.error("Illegal hexadecimal escape");
+            }
+        }
+
+        // Parse the whole pattern.
+        public final Expression parse()
+        {
+            Expression retVal = this.alternation();
+
+            if ( this.index < this.pattern.length() ) { throw this.error("Unmatched closing parenthesis"); }
+
+            return retVal;
+        }
+
+        // Return the next character without reading it, or 0 at the end of the pattern.
+        private final char peek()
+        {
+            return ( ( this.index < this.pattern.length() ) ? this.pattern.charAt(this.index) : 0 );
+        }
+
+        // Read a decimal number, for the bounds of a quantifier.
+        private final int number()
+        {
+            int start = this.index;
+
+            while ( Character.isDigit(this.peek()) )
+            {
+                this.index++;
+            }
+
+            if ( start == this.index ) { throw this.error("Expected a number"); }
+
+            return Integer.parseInt(this.pattern.substring(start, this.index));
+        }
+
+        // repetition := atom ( '?' | '*' | '+' | '{' m ( ',' n? )? '}' )*
+        private final Expression repetition()
+        {
+            Expression retVal = this.atom();
+
+            while ( true )
+            {
+                int minimum;
+                int maximum;
+
+                switch ( this.peek() )
+                {
+                    case '?':
+                        minimum = 0;
+                        maximum = 1;
+                        this.index++;
+                        break;
+
+                    case '*':
+                        minimum = 0;
+                        maximum = -1;
+                        this.index++;
+                        break;
+
+                    case '+':
+                        minimum = 1;
+                        maximum = -1;
+                        this.index++;
+                        break;
+
+                    case '{':
+                        this.index++;
+                        minimum = this.number();
+                        maximum = minimum;
+
+                        if ( this.peek() == ',' )
+                        {
+                            this.index++;
+                            maximum = ( ( this.peek() == '}' ) ? -1 : this.number() );
+                        }
+
+                        if ( this.peek() != '}' ) { throw this.error("Unclosed repetition"); }
+                        if ( ( maximum >= 0 ) && ( maximum < minimum ) ) { throw this.error("Illegal repetition range"); }
+
+                        this.index++;
+                        break;
+
+                    default:
+                        return retVal;
+                }
+
+                if ( ( this.peek() == '?' ) || ( this.peek() == '+' ) ) { throw this.error("Reluctant and possessive quantifiers are not supported"); }
+
+                Expression repeated = new Expression(Expression.REPETITION);
+                repeated.children = new ArrayList<Expression>(1);
+                repeated.children.add(retVal);
+                repeated.minimum = minimum;
+                repeated.maximum = maximum;
+                retVal = repeated;
+            }
+        }
+    }
+
+    // Predefined character classes, as sorted, disjoint, inclusive ranges.
+    private static final int[] DIGITS = { '0', '9' };
+    private static final int[] DOT    = LexerGenerator.complement(new int[] { '\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029 });
+    private static final int[] SPACES = { '\t', '\r', ' ', ' ' };
+    private static final int[] WORDS  = { '0', '9', 'A', 'Z', '_', '_', 'a', 'z' };
+
+    // Return all the variants of an expression which differ by the assertion at their end, or at their start.
+    private static final List<Anchored> anchor(final Expression expression, final boolean atEnd)
+    {
+        List<Anchored> retVal = new ArrayList<Anchored>();
+
+        switch ( expression.kind )
+        {
+            case Expression.ASSERTION:
+                retVal.add(new Anchored(new Expression(Expression.EMPTY), expression.assertion));
+                break;
+
+            case Expression.ALTERNATION:
+                for ( Expression child : expression.children )
+                {
+                    retVal.addAll(LexerGenerator.anchor(child, atEnd));
+                }
+
+                break;
+
+            case Expression.CONCATENATION:
+                int edge = ( atEnd ? ( expression.children.size() - 1 ) : 0 );
+
+                for ( Anchored anchored : LexerGenerator.anchor(expression.children.get(edge), atEnd) )
+                {
+                    List<Expression> children = new ArrayList<Expression>(expression.children);
+                    children.set(edge, anchored.expression);
+                    retVal.add(new Anchored(Expression.of(Expression.CONCATENATION, children), anchored.assertion));
+                }
+
+                break;
+
+            default:
+                retVal.add(new Anchored(expression, -1));
+                break;
+        }
+
+        // Variants which share an assertion are joined back together.
+        List<Anchored> merged = new ArrayList<Anchored>();
+
+        for ( int assertion = -1; assertion <= ScannerTable.INPUT_END; assertion++ )
+        {
+            List<Expression> alternatives = new ArrayList<Expression>();
+
+            for ( Anchored anchored : retVal )
+            {
+                if ( anchored.assertion == assertion )
+                {
+                    alternatives.add(anchored.expression);
+                }
+            }
+
+            if ( !alternatives.isEmpty() )
+            {
+                merged.add(new Anchored(Expression.of(Expression.ALTERNATION, alternatives), assertion));
+            }
+        }
+
+        return merged;
+    }
+
+    // Add the NFA states matching an expression, and return its entry and exit states.
+    private static final int[] build(final Expression expression, final List<NfaState> nfa, final int[] boundaries, final int[] intervalClasses)
+    {
+        int entry = LexerGenerator.newState(nfa);
+        int exit = entry;
+
+        switch ( expression.kind )
+        {
+            case Expression.ALTERNATION:
+                exit = LexerGenerator.newState(nfa);
+
+                for ( Expression child : expression.children )
+                {
+                    int[] fragment = LexerGenerator.build(child, nfa, boundaries, intervalClasses);
+                    nfa.get(entry).empty.add(fragment[0]);
+                    nfa.get(fragment[1]).empty.add(exit);
+                }
+
+                break;
+
+            case Expression.CHARACTERS:
+                exit = LexerGenerator.newState(nfa);
+                nfa.get(entry).classes = LexerGenerator.classesOf(expression.ranges, boundaries, intervalClasses);
+                nfa.get(entry).target = exit;
+                break;
+
+            case Expression.CONCATENATION:
+                for ( Expression child : expression.children )
+                {
+                    int[] fragment = LexerGenerator.build(child, nfa, boundaries, intervalClasses);
+                    nfa.get(exit).empty.add(fragment[0]);
+                    exit = fragment[1];
+                }
+
+                break;
+
+            case Expression.REPETITION:
+                Expression child = expression.children.get(0);
+
+                for ( int i = 0; i < expression.minimum; i++ )
+                {
+                    int[] fragment = LexerGenerator.build(child, nfa, boundaries, intervalClasses);
+                    nfa.get(exit).empty.add(fragment[0]);
+                    exit = fragment[1];
+                }
+
+                if ( expression.maximum < 0 )
+                {
+                    // Loop back to a hub state, which may also be left at once.
+                    int[] fragment = LexerGenerator.build(child, nfa, boundaries, intervalClasses);
+                    nfa.get(exit).empty.add(fragment[0]);
+                    nfa.get(fragment[1]).empty.add(exit);
+                }
+                else if ( expression.maximum > expression.minimum )
+                {
+                    int optionalExit = LexerGenerator.newState(nfa);
+
+                    for ( int i = expression.minimum; i < expression.maximum; i++ )
+                    {
+                        int[] fragment = LexerGenerator.build(child, nfa, boundaries, intervalClasses);
+                        nfa.get(exit).empty.add(optionalExit);
+                        nfa.get(exit).empty.add(fragment[0]);
+                        exit = fragment[1];
+                    }
+
+                    nfa.get(exit).empty.add(optionalExit);
+                    exit = optionalExit;
+                }
+
+                break;
+
+            default:
+                break;
+        }
+
+        return new int[] { entry, exit };
+    }
+
+    private static final Expression characters(final int[] ranges)
+    {
+        Expression retVal = new Expression(Expression.CHARACTERS);
+        retVal.ranges = ranges;
+        return retVal;
+    }
+
+    // Return the character classes which make up the given ranges.
+    private static final BitSet classesOf(final int[] ranges, final int[] boundaries, final int[] intervalClasses)
+    {
+        BitSet retVal = new BitSet();
+
+        for ( int i = 0; i < ranges.length; i += 2 )
+        {
+            // Every range starts and ends on interval boundaries, so it covers whole intervals.
+            for ( int j = Arrays.binarySearch(boundaries, ranges[i]); boundaries[j] <= ranges[i + 1]; j++ )
+            {
+                retVal.set(intervalClasses[j]);
+            }
+        }
+
+        return retVal;
+    }
+
+    // Add every character range in an expression to the list.
+    private static final void collectRanges(final Expression expression, final List<int[]> ranges)
+    {
+        if ( expression.kind == Expression.CHARACTERS )
+        {
+            ranges.add(expression.ranges);
+        }
+        else if ( expression.children != null )
+        {
+            for ( Expression child : expression.children )
+            {
+                LexerGenerator.collectRanges(child, ranges);
+            }
+        }
+    }
+
+    // Return the characters not in the given ranges.
+    private static final int[] complement(final int[] ranges)
+    {
+        int[] retVal = new int[ranges.length + 2];
+        int n = 0;
+        int next = 0;
+
+        for ( int i = 0; i < ranges.length; i += 2 )
+        {
+            if ( ranges[i] > next )
+            {
+                retVal[n++] = next;
+                retVal[n++] = ( ranges[i] - 1 );
+            }
+
+            next = ( ranges[i + 1] + 1 );
+        }
+
+        if ( next <= Character.MAX_VALUE )
+        {
+            retVal[n++] = next;
+            retVal[n++] = Character.MAX_VALUE;
+        }
+
+        return Arrays.copyOf(retVal, n);
+    }
+
+    // Does the expression contain an assertion anywhere?
+    private static final boolean containsAssertion(final Expression expression)
+    {
+        if ( expression.kind == Expression.ASSERTION ) { return true; }
+
+        if ( expression.children != null )
+        {
+            for ( Expression child : expression.children )
+            {
+                if ( LexerGenerator.containsAssertion(child) ) { return true; }
+            }
+        }
+
+        return false;
+    }
+
+    // Add the states reachable through empty transitions to the set.
+    private static final BitSet closure(final BitSet states, final List<NfaState> nfa)
+    {
+        BitSet retVal = (BitSet) states.clone();
+        Deque<Integer> stack = new ArrayDeque<Integer>();
+
+        for ( int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1) )
+        {
+            stack.push(s);
+        }
+
+        while ( !stack.isEmpty() )
+        {
+            for ( int target : nfa.get(stack.pop()).empty )
+            {
+                if ( !retVal.get(target) )
+                {
+                    retVal.set(target);
+                    stack.push(target);
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    // Compile the patterns of the given token types, earliest first in priority, into a scanner table.
+    public static final ScannerTable generate(final TokenDefinition[] types)
+    {
+        // Split every pattern into variants by the assertions at its ends, and give each variant a bit.
+        List<Expression> variants = new ArrayList<Expression>();
+        List<Integer> bitTypes = new ArrayList<Integer>();
+        long[] startAssertions = new long[ScannerTable.INPUT_END + 1];
+        long[] endAssertions = new long[ScannerTable.INPUT_END + 1];
+
+        for ( int type = 0; type < types.length; type++ )
+        {
+            Expression pattern = LexerGenerator.simplify(new Parser(types[type].getPattern()).parse());
+
+            for ( Anchored end : LexerGenerator.anchor(pattern, true) )
+            {
+                for ( Anchored start : LexerGenerator.anchor(end.expression, false) )
+                {
+                    if ( LexerGenerator.containsAssertion(start.expression) ) { throw new IllegalArgumentException("Assertions are only supported at the start or end of a token pattern: " + types[type].getPattern()); }
+                    if ( variants.size() == Long.SIZE ) { throw new IllegalArgumentException("Token patterns have more than " + Long.SIZE + " variants."); }
+
+                    if ( start.assertion >= 0 )
+                    {
+                        startAssertions[start.assertion] |= ( 1L << variants.size() );
+                    }
+
+                    if ( end.assertion >= 0 )
+                    {
+                        endAssertions[end.assertion] |= ( 1L << variants.size() );
+                    }
+
+                    variants.add(start.expression);
+                    bitTypes.add(type);
+                }
+            }
+        }
+
+        // Split the characters into intervals which every range either covers or misses, then group intervals which every range treats alike.
+        List<int[]> ranges = new ArrayList<int[]>();
+        TreeSet<Integer> cuts = new TreeSet<Integer>();
+        cuts.add(0);
+
+        for ( Expression variant : variants )
+        {
+            LexerGenerator.collectRanges(variant, ranges);
+        }
+
+        for ( int[] range : ranges )
+        {
+            for ( int i = 0; i < range.length; i += 2 )
+            {
+                cuts.add(range[i]);
+                cuts.add(range[i + 1] + 1);
+            }
+        }
+
+        cuts.add(Character.MAX_VALUE + 1);
+
+        int[] boundaries = new int[cuts.size()];
+        int b = 0;
+
+        for ( int cut : cuts )
+        {
+            boundaries[b++] = cut;
+        }
+
+        int[] intervalClasses = new int[boundaries.length - 1];
+        Map<BitSet, Integer> signatures = new HashMap<BitSet, Integer>();
+
+        for ( int i = 0; i < intervalClasses.length; i++ )
+        {
+            BitSet signature = new BitSet();
+
+            for ( int r = 0; r < ranges.size(); r++ )
+            {
+                if ( LexerGenerator.inRanges(ranges.get(r), boundaries[i]) )
+                {
+                    signature.set(r);
+                }
+            }
+
+            Integer characterClass = signatures.get(signature);
+
+            if ( characterClass == null )
+            {
+                characterClass = signatures.size();
+                signatures.put(signature, characterClass);
+            }
+
+            intervalClasses[i] = characterClass;
+        }
+
+        int classCount = signatures.size();
+
+        // Join the variants into one NFA.
+        List<NfaState> nfa = new ArrayList<NfaState>();
+        int nfaStart = LexerGenerator.newState(nfa);
+
+        for ( int bit = 0; bit < variants.size(); bit++ )
+        {
+            int[] fragment = LexerGenerator.build(variants.get(bit), nfa, boundaries, intervalClasses);
+            nfa.get(nfaStart).empty.add(fragment[0]);
+            nfa.get(fragment[1]).accept = bit;
+        }
+
+        // Subset construction. DFA state 0 is the empty set of NFA states, which is the dead state.
+        Map<BitSet, Integer> dfaIds = new HashMap<BitSet, Integer>();
+        List<BitSet> dfaSets = new ArrayList<BitSet>();
+        List<int[]> dfaTransitions = new ArrayList<int[]>();
+        BitSet initialSet = new BitSet();
+
+        dfaIds.put(new BitSet(), 0);
+        dfaSets.add(new BitSet());
+        initialSet.set(nfaStart);
+        initialSet = LexerGenerator.closure(initialSet, nfa);
+
+        if ( !dfaIds.containsKey(initialSet) )
+        {
+            dfaIds.put(initialSet, dfaSets.size());
+            dfaSets.add(initialSet);
+        }
+
+        for ( int d = 0; d < dfaSets.size(); d++ )
+        {
+            BitSet[] moves = new BitSet[classCount];
+            int[] row = new int[classCount];
+            BitSet set = dfaSets.get(d);
+
+            for ( int s = set.nextSetBit(0); s >= 0; s = set.nextSetBit(s + 1) )
+            {
+                NfaState state = nfa.get(s);
+
+                if ( state.classes == null )
+                {
+                    continue;
+                }
+
+                for ( int c = state.classes.nextSetBit(0); c >= 0; c = state.classes.nextSetBit(c + 1) )
+                {
+                    if ( moves[c] == null )
+                    {
+                        moves[c] = new BitSet();
+                    }
+
+                    moves[c].set(state.target);
+                }
+            }
+
+            for ( int c = 0; c < classCount; c++ )
+            {
+                BitSet target = ( ( moves[c] == null ) ? new BitSet() : LexerGenerator.closure(moves[c], nfa) );
+                Integer id = dfaIds.get(target);
+
+                if ( id == null )
+                {
+                    id = dfaSets.size();
+                    dfaIds.put(target, id);
+                    dfaSets.add(target);
+                }
+
+                row[c] = id;
+            }
+
+            dfaTransitions.add(row);
+        }
+
+        int dfaCount = dfaSets.size();
+        long[] dfaAccepts = new long[dfaCount];
+
+        for ( int d = 0; d < dfaCount; d++ )
+        {
+            BitSet set = dfaSets.get(d);
+
+            for ( int s = set.nextSetBit(0); s >= 0; s = set.nextSetBit(s + 1) )
+            {
+                if ( nfa.get(s).accept >= 0 )
+                {
+                    dfaAccepts[d] |= ( 1L << nfa.get(s).accept );
+                }
+            }
+        }
+
+        // Minimization. Start with one block per set of accepted variants, and split blocks until their states agree on every transition.
+        int[] blocks = new int[dfaCount];
+        Map<Long, Integer> acceptBlocks = new HashMap<Long, Integer>();
+        acceptBlocks.put(0L, 0);
+
+        for ( int d = 0; d < dfaCount; d++ )
+        {
+            Integer block = acceptBlocks.get(dfaAccepts[d]);
+
+            if ( block == null )
+            {
+                block = acceptBlocks.size();
+                acceptBlocks.put(dfaAccepts[d], block);
+            }
+
+            blocks[d] = block;
+        }
+
+        int blockCount = acceptBlocks.size();
+
+        while ( true )
+        {
+            Map<List<Integer>, Integer> splitBlocks = new HashMap<List<Integer>, Integer>();
+            int[] newBlocks = new int[dfaCount];
+
+            // Visiting the dead state first keeps it in block 0.
+            for ( int d = 0; d < dfaCount; d++ )
+            {
+                List<Integer> signature = new ArrayList<Integer>(classCount + 1);
+                signature.add(blocks[d]);
+
+                for ( int target : dfaTransitions.get(d) )
+                {
+                    signature.add(blocks[target]);
+                }
+
+                Integer block = splitBlocks.get(signature);
+
+                if ( block == null )
+                {
+                    block = splitBlocks.size();
+                    splitBlocks.put(signature, block);
+                }
+
+                newBlocks[d] = block;
+            }
+
+            blocks = newBlocks;
+
+            if ( splitBlocks.size() == blockCount )
+            {
+                break;
+            }
+
+            blockCount = splitBlocks.size();
+        }
+
+        int[] transitions = new int[blockCount * classCount];
+        long[] acceptMasks = new long[blockCount];
+
+        for ( int d = 0; d < dfaCount; d++ )
+        {
+            acceptMasks[blocks[d]] = dfaAccepts[d];
+
+            for ( int c = 0; c < classCount; c++ )
+            {
+                transitions[( blocks[d] * classCount ) + c] = blocks[dfaTransitions.get(d)[c]];
+            }
+        }
+
+        // A state's live mask holds every variant accepted in a state reachable from it in one or more steps.
+        long[] liveMasks = new long[blockCount];
+        boolean changed = true;
+
+        while ( changed )
+        {
+            changed = false;
+
+            for ( int s = 0; s < blockCount; s++ )
+            {
+                long live = liveMasks[s];
+
+                for ( int c = 0; c < classCount; c++ )
+                {
+                    int target = transitions[( s * classCount ) + c];
+                    live |= ( acceptMasks[target] | liveMasks[target] );
+                }
+
+                if ( live != liveMasks[s] )
+                {
+                    liveMasks[s] = live;
+                    changed = true;
+                }
+            }
+        }
+
+        // The direct lookup table for ASCII, and the class of each run of intervals above it.
+        int[] asciiClasses = new int[128];
+        List<Integer> rangeStarts = new ArrayList<Integer>();
+        List<Integer> rangeClasses = new ArrayList<Integer>();
+
+        for ( int i = 0; i < intervalClasses.length; i++ )
+        {
+            for ( int c = boundaries[i]; ( c < boundaries[i + 1] ) && ( c < 128 ); c++ )
+            {
+                asciiClasses[c] = intervalClasses[i];
+            }
+
+            if ( boundaries[i + 1] > 128 )
+            {
+                int start = Math.max(boundaries[i], 128);
+
+                if ( rangeClasses.isEmpty() || ( rangeClasses.get(rangeClasses.size() - 1) != intervalClasses[i] ) )
+                {
+                    rangeStarts.add(start);
+                    rangeClasses.add(intervalClasses[i]);
+                }
+            }
+        }
+
+        char[] starts = new char[rangeStarts.size()];
+        int[] classes = new int[rangeClasses.size()];
+
+        for ( int i = 0; i < starts.length; i++ )
+        {
+            starts[i] = (char) rangeStarts.get(i).intValue();
+            classes[i] = rangeClasses.get(i);
+        }
+
+        int[] bits = new int[bitTypes.size()];
+
+        for ( int i = 0; i < bits.length; i++ )
+        {
+            bits[i] = bitTypes.get(i);
+        }
+
+        return new ScannerTable(types, bits, asciiClasses, starts, classes, classCount, transitions, blocks[1], acceptMasks, liveMasks, startAssertions, endAssertions);
+    }
+
+    // Is the character in the given ranges?
+    private static final boolean inRanges(final int[] ranges, final int c)
+    {
+        for ( int i = 0; i < ranges.length; i += 2 )
+        {
+            if ( ( c >= ranges[i] ) && ( c <= ranges[i + 1] ) ) { return true; }
+        }
+
+        return false;
+    }
+
+    private static final int newState(final List<NfaState> nfa)
+    {
+        nfa.add(new NfaState());
+        return ( nfa.size() - 1 );
+    }
+
+    // Replace optional parts which hold nothing but assertions, such as (\B)?, with the empty expression, since they can always be skipped.
+    private static final Expression simplify(final Expression expression)
+    {
+        if ( expression.children == null ) { return expression; }
+
+        List<Expression> children = new ArrayList<Expression>(expression.children.size());
+
+        for ( Expression child : expression.children )
+        {
+            children.add(LexerGenerator.simplify(child));
+        }
+
+        if ( ( expression.kind == Expression.REPETITION ) && ( expression.minimum == 0 ) && LexerGenerator.zeroWidth(children.get(0)) ) { return new Expression(Expression.EMPTY); }
+
+        Expression retVal = new Expression(expression.kind);
+        retVal.children = children;
+        retVal.minimum = expression.minimum;
+        retVal.maximum = expression.maximum;
+        return retVal;
+    }
+
+    // Return the union of two sets of ranges.
+    private static final int[] union(final int[] a, final int[] b)
+    {
+        int[] all = new int[a.length + b.length];
+        System.arraycopy(a, 0, all, 0, a.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+
+        // Sort the ranges by their starts, then merge those which overlap or touch.
+        Integer[] order = new Integer[all.length / 2];
+
+        for ( int i = 0; i < order.length; i++ )
+        {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, ( x, y ) -> Integer.compare(all[2 * x], all[2 * y]));
+
+        int[] retVal = new int[all.length];
+        int n = 0;
+
+        for ( int i : order )
+        {
+            if ( ( n > 0 ) && ( all[2 * i] <= ( retVal[n - 1] + 1 ) ) )
+            {
+                retVal[n - 1] = Math.max(retVal[n - 1], all[( 2 * i ) + 1]);
+            }
+            else
+            {
+                retVal[n++] = all[2 * i];
+                retVal[n++] = all[( 2 * i ) + 1];
+            }
+        }
+
+        return Arrays.copyOf(retVal, n);
+    }
+
+    // Does the expression match only the empty string, asserting at most?
+    private static final boolean zeroWidth(final Expression expression)
+    {
+        if ( expression.kind == Expression.CHARACTERS ) { return false; }
+
+        if ( expression.children != null )
+        {
+            for ( Expression child : expression.children )
+            {
+                if ( !LexerGenerator.zeroWidth(child) ) { return false; }
+            }
+        }
+
+        return true;
+    }
+
+    private LexerGenerator()
+    {
+    }
+}
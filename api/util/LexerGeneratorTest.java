@@ -0,0 +1,200 @@
+package api.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import org.junit.jupiter.api.Test;
+import api.util.Lexer.TokenDefinition;
+import api.util.Lexer.TokenPatterns;
+import api.util.cminus.CMinusLexer;
+import api.util.datastructures.Token;
+import api.util.sicxe.SICXE_Lexer;
+
+public class LexerGeneratorTest
+{
+    /* This helper enumerator class covers the wider C grammar, whose patterns use more of the supported syntax than either lexer does. */
+    private static enum CTokenType implements TokenDefinition
+    {
+        // @formatter:off
+        COMMENT(Lexer.C_COMMENTS),
+        KEYWORD(Lexer.C_KEYWORDS),
+        IDENTIFIER(Lexer.C_IDENTIFIERS),
+        NUMBER(Lexer.C_NUMBERS),
+        OPERATOR(Lexer.C_OPERATORS),
+        GROUPING(Lexer.C_GROUPINGS),
+        WHITESPACE(Lexer.C_WHITESPACES),
+        ERROR(Lexer.C_ERRORS);
+        // @formatter:on
+
+        private final String pattern;
+
+        private CTokenType(final String pattern)
+        {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public final String getPattern()
+        {
+            return this.pattern;
+        }
+    }
+
+    /* This helper enumerator class holds patterns which the generator does not support. */
+    private static enum UnsupportedTokenType implements TokenDefinition
+    {
+        BACKREFERENCE("(a)\\1"), INNER_ASSERTION("a\\bb"), LOOKAHEAD("a(?=b)");
+
+        private final String pattern;
+
+        private UnsupportedTokenType(final String pattern)
+        {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public final String getPattern()
+        {
+            return this.pattern;
+        }
+    }
+
+    // Pieces of source text which random inputs are glued together from.
+    private static final String[] PIECES = { "int", "while", "if", "else", "return", "float", "void", "sizeof", "x1", "_tmp", "ifx", "3", "3.14", "2e-5", ".5E+3", "-7", "C'EOF'", "X'F1'", "=C'A B'", "'", "/*", "*/", "//", "#LEN", "@RET", "+BUF.X", "*", "+", "-", "/", "<=", ">=", "==", "!=", "<<", "->", "++", "+=", "&&", "?", ":", "(", ")", "{", "}", "[", "]", ",", ";", ".", "\"", "$", "~", "é", " ", "  ", "\t", "\n", "\r\n" };
+
+    // Return a random string of source-like text.
+    private static String randomInput(final Random random)
+    {
+        StringBuilder retVal = new StringBuilder();
+        int pieces = random.nextInt(40);
+
+        for ( int i = 0; i < pieces; i++ )
+        {
+            retVal.append(LexerGeneratorTest.PIECES[random.nextInt(LexerGeneratorTest.PIECES.length)]);
+
+            if ( random.nextInt(3) == 0 )
+            {
+                retVal.append(' ');
+            }
+        }
+
+        return retVal.toString();
+    }
+
+    // Return each token the regular expression alternation finds, as its type, start and end.
+    private static List<String> regexTokens(final TokenDefinition[] types, final TokenPatterns patterns, final CharSequence input)
+    {
+        Matcher matcher = patterns.getPattern().matcher(input);
+        List<String> retVal = new ArrayList<String>();
+
+        while ( matcher.find() )
+        {
+            for ( TokenDefinition type : types )
+            {
+                if ( matcher.group(patterns.getGroup(type)) != null )
+                {
+                    retVal.add(type.name() + "[" + matcher.start() + ", " + matcher.end() + ")");
+                    break;
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    // Return each token the generated scanner finds, as its type, start and end.
+    private static List<String> scannerTokens(final TokenScanner scanner, final CharSequence input)
+    {
+        List<String> retVal = new ArrayList<String>();
+
+        scanner.reset(input);
+
+        while ( scanner.next() )
+        {
+            retVal.add(scanner.getTokenType().name() + "[" + scanner.getStart() + ", " + scanner.getEnd() + ")");
+        }
+
+        return retVal;
+    }
+
+    // Check that the generated scanner finds the same tokens as the regular expression alternation on random inputs.
+    private static void checkAgainstRegex(final TokenDefinition[] types)
+    {
+        Random random = new Random(42);
+        TokenPatterns patterns = new TokenPatterns(types);
+        TokenScanner scanner = new TokenScanner(LexerGenerator.generate(types));
+
+        for ( int i = 0; i < 5000; i++ )
+        {
+            String input = LexerGeneratorTest.randomInput(random);
+            assertEquals(LexerGeneratorTest.regexTokens(types, patterns, input), LexerGeneratorTest.scannerTokens(scanner, input), "Tokens differ for input \"" + input + "\".");
+        }
+    }
+
+    @Test
+    public void testCGrammarMatchesRegex()
+    {
+        LexerGeneratorTest.checkAgainstRegex(CTokenType.values());
+    }
+
+    @Test
+    public void testCMinusMatchesRegex()
+    {
+        LexerGeneratorTest.checkAgainstRegex(CMinusLexer.TokenType.values());
+    }
+
+    @Test
+    public void testSICXEMatchesRegex()
+    {
+        LexerGeneratorTest.checkAgainstRegex(SICXE_Lexer.TokenType.values());
+    }
+
+    @Test
+    public void testSICXELexMatchesRegexLexer()
+    {
+        Random random = new Random(7);
+        SICXE_Lexer<SICXE_Lexer.TokenType> lexer = new SICXE_Lexer<SICXE_Lexer.TokenType>();
+        TokenPatterns patterns = new TokenPatterns(SICXE_Lexer.TokenType.values());
+
+        for ( int i = 0; i < 5000; i++ )
+        {
+            String line = LexerGeneratorTest.randomInput(random);
+            List<String> expected = new ArrayList<String>();
+            List<String> actual = new ArrayList<String>();
+
+            // The regex lexer collapsed every run of whitespace before matching the line.
+            Matcher matcher = patterns.getPattern().matcher(line.replaceAll("\\s+", " "));
+
+            while ( matcher.find() )
+            {
+                for ( SICXE_Lexer.TokenType type : SICXE_Lexer.TokenType.values() )
+                {
+                    if ( matcher.group(patterns.getGroup(type)) != null )
+                    {
+                        expected.add(type + " " + matcher.group(patterns.getGroup(type)));
+                        break;
+                    }
+                }
+            }
+
+            for ( Token<SICXE_Lexer.TokenType> token : lexer.lex(line) )
+            {
+                actual.add(token.getType() + " " + token.getData());
+            }
+
+            assertEquals(expected, actual, "Tokens differ for line \"" + line + "\".");
+        }
+    }
+
+    @Test
+    public void testUnsupportedSyntax()
+    {
+        for ( UnsupportedTokenType type : UnsupportedTokenType.values() )
+        {
+            assertThrows(IllegalArgumentException.class, () -> LexerGenerator.generate(new TokenDefinition[] { type }), type.getPattern());
+        }
+    }
+}
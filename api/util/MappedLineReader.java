@@ -0,0 +1,190 @@
+/*
+ * Title: MappedLineReader
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Reads a UTF-8 text file one line at a time through a memory-mapped view of it. The file is mapped in windows of up to 256 MB and decoded into
+ * one reusable character buffer, so files of any size are read in a single pass with memory bounded by the longest line rather than by the
+ * file. Lines are reported as regions of that buffer, and nothing is allocated per line.
+ *
+ * Lines end at "\r\n", '\n', '\r', '\u0085', '\u2028' or '\u2029', which are the line separators In.readLine() recognizes. The terminators are
+ * not part of the line, and a final line need not have one. Malformed input is replaced with '\ufffd' rather than rejected.
+ */
+
+package api.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public final class MappedLineReader implements Closeable
+{
+    private static final int  INITIAL_CAPACITY = 1 << 16; // Initial size of the character buffer.
+    private static final long WINDOW_SIZE      = 1L << 28; // Most bytes of the file mapped at once.
+
+    private final FileChannel    channel;             // Channel of the file being read.
+    private char[]               chars;               // Decoded characters. Those before the start of the current line are no longer needed.
+    private final CharsetDecoder decoder;             // Decoder of the file's bytes.
+    private boolean              endOfInput  = false; // Have all the file's characters been decoded?
+    private int                  filled      = 0;     // Number of decoded characters in the buffer.
+    private CharBuffer           input;               // View of the character buffer handed out to readers.
+    private int                  lineEnd     = 0;     // End of the current line in the buffer, before its terminator.
+    private int                  lineNo      = 0;     // Number of the current line, counting from 1.
+    private int                  lineStart   = 0;     // Start of the current line in the buffer.
+    private int                  next        = 0;     // Start of the next line in the buffer.
+    private final long           size;                // Size of the file in bytes.
+    private ByteBuffer           window;              // Mapped part of the file being decoded.
+    private long                 windowStart = 0;     // Offset in the file of the start of the mapped part.
+
+    // Open the given file for reading.
+    public MappedLineReader(final String fileName) throws IOException
+    {
+        this.channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+
+        try
+        {
+            this.size = this.channel.size();
+            this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(MappedLineReader.WINDOW_SIZE, this.size));
+        }
+        catch ( final IOException exception )
+        {
+            this.channel.close();
+            throw exception;
+        }
+
+        this.decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = new char[(int) Math.max(16, Math.min(MappedLineReader.INITIAL_CAPACITY, this.size))];
+        this.input = CharBuffer.wrap(this.chars);
+    }
+
+    @Override
+    public final void close() throws IOException
+    {
+        this.channel.close();
+    }
+
+    // Decode more of the file into the buffer, first moving the unread characters to its start, and growing it if it is full.
+    private final void fill() throws IOException
+    {
+        int shift = this.next;
+
+        if ( shift > 0 )
+        {
+            System.arraycopy(this.chars, shift, this.chars, 0, this.filled - shift);
+            this.filled -= shift;
+            this.next = 0;
+        }
+
+        // Leave room for at least a surrogate pair.
+        if ( this.filled >= ( this.chars.length - 1 ) )
+        {
+            this.chars = Arrays.copyOf(this.chars, this.chars.length * 2);
+            this.input = CharBuffer.wrap(this.chars);
+        }
+
+        CharBuffer out = CharBuffer.wrap(this.chars, this.filled, this.chars.length - this.filled);
+
+        while ( out.hasRemaining() && !this.endOfInput )
+        {
+            boolean last = ( ( this.windowStart + this.window.limit() ) == this.size );
+
+            if ( !this.decoder.decode(this.window, out, last).isUnderflow() )
+            {
+                break;
+            }
+
+            if ( last )
+            {
+                this.decoder.flush(out);
+                this.endOfInput = true;
+            }
+            else
+            {
+                // Map the next window, starting with any bytes of a character split across the end of this one.
+                this.windowStart += this.window.position();
+                this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, this.windowStart, Math.min(MappedLineReader.WINDOW_SIZE, this.size - this.windowStart));
+            }
+        }
+
+        this.filled = out.position();
+    }
+
+    // Return the buffer holding the current line. Its contents are only valid until the next call to nextLine().
+    public final CharSequence getInput()
+    {
+        return this.input;
+    }
+
+    // Return the offset in the buffer just past the end of the current line, before its terminator.
+    public final int getLineEnd()
+    {
+        return this.lineEnd;
+    }
+
+    // Return the number of the current line, counting from 1.
+    public final int getLineNo()
+    {
+        return this.lineNo;
+    }
+
+    // Return the offset in the buffer of the start of the current line.
+    public final int getLineStart()
+    {
+        return this.lineStart;
+    }
+
+    // Move to the next line. Return false if there are no more lines.
+    public final boolean nextLine() throws IOException
+    {
+        int i = this.next;
+
+        while ( true )
+        {
+            for ( ; i < this.filled; i++ )
+            {
+                char c = this.chars[i];
+
+                if ( ( c == '\n' ) || ( c == '\u0085' ) || ( c == '\u2028' ) || ( c == '\u2029' ) ) { return this.setLine(i, i + 1); }
+
+                if ( c == '\r' )
+                {
+                    if ( ( i + 1 ) < this.filled ) { return this.setLine(i, ( this.chars[i + 1] == '\n' ) ? ( i + 2 ) : ( i + 1 )); }
+
+                    // A '\r' at the end of the buffer may be the first half of a "\r\n".
+                    if ( this.endOfInput ) { return this.setLine(i, i + 1); }
+
+                    break;
+                }
+            }
+
+            if ( this.endOfInput )
+            {
+                if ( this.next < this.filled ) { return this.setLine(this.filled, this.filled); }
+
+                return false;
+            }
+
+            int scanned = ( i - this.next );
+            this.fill();
+            i = ( this.next + scanned );
+        }
+    }
+
+    // Make the characters from the start of the next line up to the given offset the current line, and continue after the given offset.
+    private final boolean setLine(final int end, final int next)
+    {
+        this.lineStart = this.next;
+        this.lineEnd = end;
+        this.next = next;
+        this.lineNo++;
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+package api.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedLineReaderTest
+{
+    private static final int BUFFER_SIZE = ( 1 << 16 ); // Size of the reader's buffer for a file of at least that many bytes.
+
+    @TempDir
+    Path directory;
+
+    // Return the given number of copies of a character.
+    private static String repeat(final char c, final int count)
+    {
+        char[] retVal = new char[count];
+        Arrays.fill(retVal, c);
+        return new String(retVal);
+    }
+
+    // Write the text to a file as UTF-8, read it back one line at a time, and return the lines.
+    private List<String> readLines(final String text) throws IOException
+    {
+        Path file = Files.write(this.directory.resolve("lines.txt"), text.getBytes(StandardCharsets.UTF_8));
+        List<String> retVal = new ArrayList<String>();
+
+        try ( MappedLineReader reader = new MappedLineReader(file.toString()) )
+        {
+            while ( reader.nextLine() )
+            {
+                retVal.add(reader.getInput().subSequence(reader.getLineStart(), reader.getLineEnd()).toString());
+                assertEquals(retVal.size(), reader.getLineNo());
+            }
+
+            assertFalse(reader.nextLine());
+        }
+
+        return retVal;
+    }
+
+    @Test
+    public void testCarriageReturnAtEndOfBuffer() throws IOException
+    {
+        String first = MappedLineReaderTest.repeat('x', MappedLineReaderTest.BUFFER_SIZE - 1);
+
+        // The '\r' is the last character of the first fill, so whether a '\n' follows is only known after the next one.
+        assertEquals(Arrays.asList(first, "next"), this.readLines(first + "\r\nnext"));
+        assertEquals(Arrays.asList(first, "", "next"), this.readLines(first + "\r\rnext"));
+        assertEquals(Arrays.asList(first, "next"), this.readLines(first + "\rnext"));
+        assertEquals(Arrays.asList(first), this.readLines(first + "\r"));
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException
+    {
+        assertEquals(Collections.emptyList(), this.readLines(""));
+        assertEquals(Arrays.asList(""), this.readLines("\n"));
+        assertEquals(Arrays.asList("", ""), this.readLines("\r\n\r"));
+    }
+
+    @Test
+    public void testFinalLineWithoutTerminator() throws IOException
+    {
+        assertEquals(Arrays.asList("a", "b"), this.readLines("a\nb"));
+        assertEquals(Arrays.asList("a", "b"), this.readLines("a\nb\n"));
+        assertEquals(Arrays.asList("only"), this.readLines("only"));
+    }
+
+    @Test
+    public void testLongLines() throws IOException
+    {
+        String longLine = MappedLineReaderTest.repeat('y', ( MappedLineReaderTest.BUFFER_SIZE * 3 ) + 17);
+        String longerLine = MappedLineReaderTest.repeat('z', ( MappedLineReaderTest.BUFFER_SIZE * 5 ) + 3);
+
+        // The buffer has to grow to hold each line whole.
+        assertEquals(Arrays.asList("short", longLine, "", longerLine, "end"), this.readLines("short\n" + longLine + "\r\n\n" + longerLine + "\u2028end"));
+    }
+
+    @Test
+    public void testMixedLineEndings() throws IOException
+    {
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f", "g"), this.readLines("a\nb\r\nc\rd\u2028e\u2029f\u0085g"));
+        assertEquals(Arrays.asList("x", "", "y", "", "z"), this.readLines("x\r\r\ny\n\r\nz"));
+    }
+
+    @Test
+    public void testMultiByteCharactersAcrossFill() throws IOException
+    {
+        String first = MappedLineReaderTest.repeat('a', MappedLineReaderTest.BUFFER_SIZE - 1);
+        String pair = new String(Character.toChars(0x1F600));
+
+        // The surrogate pair would straddle the end of the first fill, so the decoder must hold all of it back for the next one.
+        assertEquals(Arrays.asList(first + pair + "\u00e9\u20ac", "tail"), this.readLines(first + pair + "\u00e9\u20ac\ntail"));
+
+        // Two- and three-byte characters landing on the end of the first fill.
+        assertEquals(Arrays.asList(first + "\u00e9\u00e9", pair), this.readLines(first + "\u00e9\u00e9\r\n" + pair));
+        assertEquals(Arrays.asList(first + "\u20ac", pair + pair), this.readLines(first + "\u20ac\u2028" + pair + pair));
+    }
+
+    @Test
+    public void testRandomLines() throws IOException
+    {
+        Random random = new Random(42);
+        String[] alphabet = new String[] { "a", "b", " ", "\t", "\u00e9", "\u03bb", "\u20ac", "\u4e2d", new String(Character.toChars(0x1F600)), new String(Character.toChars(0x10400)) };
+        String[] terminators = new String[] { "\n", "\r\n", "\r", "\u2028" };
+        List<String> expected = new ArrayList<String>();
+        StringBuilder text = new StringBuilder();
+        String previous = "";
+
+        // Lines of characters of every encoded width, of random lengths, so that lines and characters fall across many fills.
+        for ( int i = 0; i < 20000; i++ )
+        {
+            StringBuilder line = new StringBuilder();
+            int length = ( ( random.nextInt(10) == 0 ) ? random.nextInt(3000) : random.nextInt(40) );
+
+            for ( int j = 0; j < length; j++ )
+            {
+                line.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+
+            String terminator = terminators[random.nextInt(terminators.length)];
+
+            // An empty line ended by '\n' right after a '\r' would read as a single "\r\n".
+            if ( previous.equals("\r") && ( line.length() == 0 ) && terminator.equals("\n") )
+            {
+                terminator = "\u2028";
+            }
+
+            expected.add(line.toString());
+            text.append(line).append(terminator);
+            previous = terminator;
+        }
+
+        text.append("last");
+        expected.add("last");
+
+        assertEquals(expected, this.readLines(text.toString()));
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Title: ScannerTable
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * The compiled form of a set of token types: a minimized DFA built by LexerGenerator, which a TokenScanner runs over the input. The table is
+ * immutable, so one table can be shared by any number of scanners on any number of threads.
+ *
+ * Characters are first mapped to character classes, which are the groups of characters no token pattern tells apart. ASCII characters are mapped
+ * through a direct lookup table and all others by a binary search over class ranges. The transitions are a flat array indexed by state and class.
+ * State 0 is the dead state, which every transition out of it leads back to.
+ *
+ * Each way a token type can match is a variant with its own bit, so a token pattern may have several variants when its alternatives end with
+ * different assertions. Bits are numbered by token type, so the lowest bit set in a mask belongs to the earliest declared token type. Every state
+ * records the variants accepted on entering it, and the variants which may still be accepted further on.
+ */
+
+package api.util;
+
+import java.util.Arrays;
+import api.util.Lexer.TokenDefinition;
+
+public final class ScannerTable
+{
+    // Kinds of zero-width assertions which may appear at the start or end of a token pattern.
+    static final int INPUT_END         = 3;
+    static final int INPUT_START       = 2;
+    static final int NON_WORD_BOUNDARY = 1;
+    static final int WORD_BOUNDARY     = 0;
+
+    // Return the variants, among those needing each kind of assertion, whose assertion fails at the given position.
+    private static final long getFailing(final long[] assertions, final CharSequence input, final int position, final int from, final int limit)
+    {
+        long retVal = 0;
+
+        if ( ( assertions[ScannerTable.WORD_BOUNDARY] | assertions[ScannerTable.NON_WORD_BOUNDARY] ) != 0 )
+        {
+            boolean boundary = ScannerTable.isWordBoundary(input, position, from, limit);
+            retVal |= assertions[boundary ? ScannerTable.NON_WORD_BOUNDARY : ScannerTable.WORD_BOUNDARY];
+        }
+
+        if ( position != from )
+        {
+            retVal |= assertions[ScannerTable.INPUT_START];
+        }
+
+        if ( ( assertions[ScannerTable.INPUT_END] != 0 ) && !ScannerTable.isInputEnd(input, position, limit) )
+        {
+            retVal |= assertions[ScannerTable.INPUT_END];
+        }
+
+        return retVal;
+    }
+
+    // Is the given position the end of the input, or just before a line terminator which ends the input, as far as '$' is concerned?
+    private static final boolean isInputEnd(final CharSequence input, final int position, final int limit)
+    {
+        if ( position == limit ) { return true; }
+        if ( position == ( limit - 2 ) ) { return ( ( input.charAt(position) == '\r' ) && ( input.charAt(position + 1) == '\n' ) ); }
+        if ( position != ( limit - 1 ) ) { return false; }
+
+        char c = input.charAt(position);
+
+        // There is no end of input between the two characters of a \r\n.
+        if ( c == '\n' ) { return ( ( position == 0 ) || ( input.charAt(position - 1) != '\r' ) ); }
+
+        return ( ( c == '\r' ) || ( c == '\u0085' ) || ( c == '\u2028' ) || ( c == '\u2029' ) );
+    }
+
+    // Is there a word boundary between the character before the given position and the character at it?
+    private static final boolean isWordBoundary(final CharSequence input, final int position, final int from, final int limit)
+    {
+        boolean before = ( ( position > from ) && ScannerTable.isWordCharacter(input.charAt(position - 1)) );
+        boolean after = ( ( position < limit ) && ScannerTable.isWordCharacter(input.charAt(position)) );
+        return ( before != after );
+    }
+
+    // Is the character a word character, as far as '\b' and '\B' are concerned?
+    private static final boolean isWordCharacter(final char c)
+    {
+        return ( ( c == '_' ) || Character.isLetterOrDigit(c) );
+    }
+
+    private final long[]            acceptMasks;     // Variants accepted on entering each state.
+    private final int[]             asciiClasses;    // Character class of each ASCII character.
+    private final int[]             bitTypes;        // Token type of each variant bit.
+    private final int               classCount;      // Number of character classes.
+    private final long[]            endAssertions;   // Variants which need each kind of assertion to hold where they end.
+    private final int               initialState;    // State the scan of every token starts from.
+    private final long[]            liveMasks;       // Variants which may still be accepted in some state reachable from each state.
+    private final int[]             rangeClasses;    // Character class of each range of non-ASCII characters.
+    private final char[]            rangeStarts;     // First character of each range of non-ASCII characters.
+    private final long[]            startAssertions; // Variants which need each kind of assertion to hold where they start.
+    private final int[]             transitions;     // Next state, indexed by state times the number of classes plus class.
+    private final long[]            typeMasks;       // Variant bits of each token type.
+    private final TokenDefinition[] types;           // Token types, in order of priority.
+
+    ScannerTable(final TokenDefinition[] types, final int[] bitTypes, final int[] asciiClasses, final char[] rangeStarts, final int[] rangeClasses, final int classCount, final int[] transitions, final int initialState, final long[] acceptMasks, final long[] liveMasks, final long[] startAssertions, final long[] endAssertions)
+    {
+        this.types = types.clone();
+        this.bitTypes = bitTypes;
+        this.asciiClasses = asciiClasses;
+        this.rangeStarts = rangeStarts;
+        this.rangeClasses = rangeClasses;
+        this.classCount = classCount;
+        this.transitions = transitions;
+        this.initialState = initialState;
+        this.acceptMasks = acceptMasks;
+        this.liveMasks = liveMasks;
+        this.startAssertions = startAssertions;
+        this.endAssertions = endAssertions;
+        this.typeMasks = new long[types.length];
+
+        for ( int bit = 0; bit < bitTypes.length; bit++ )
+        {
+            this.typeMasks[bitTypes[bit]] |= ( 1L << bit );
+        }
+    }
+
+    // Return the variants accepted on entering the given state.
+    final long getAcceptMask(final int state)
+    {
+        return this.acceptMasks[state];
+    }
+
+    // Return the token type of the given variant bit.
+    final int getBitType(final int bit)
+    {
+        return this.bitTypes[bit];
+    }
+
+    // Return the character class of the given character.
+    final int getClass(final char c)
+    {
+        if ( c < 128 ) { return this.asciiClasses[c]; }
+
+        int i = Arrays.binarySearch(this.rangeStarts, c);
+        return this.rangeClasses[( i >= 0 ) ? i : ( -i - 2 )];
+    }
+
+    // Return the number of character classes.
+    public final int getClassCount()
+    {
+        return this.classCount;
+    }
+
+    // Return the variants which need an assertion to hold where they end.
+    final long getEndAssertionMask()
+    {
+        return ( this.endAssertions[ScannerTable.WORD_BOUNDARY] | this.endAssertions[ScannerTable.NON_WORD_BOUNDARY] | this.endAssertions[ScannerTable.INPUT_START] | this.endAssertions[ScannerTable.INPUT_END] );
+    }
+
+    // Return the variants of tokens ending at the given position whose end assertions fail there.
+    final long getFailingEnd(final CharSequence input, final int position, final int from, final int limit)
+    {
+        return ScannerTable.getFailing(this.endAssertions, input, position, from, limit);
+    }
+
+    // Return the variants of tokens starting at the given position whose start assertions fail there.
+    final long getFailingStart(final CharSequence input, final int position, final int from, final int limit)
+    {
+        return ScannerTable.getFailing(this.startAssertions, input, position, from, limit);
+    }
+
+    // Return the state the scan of every token starts from.
+    final int getInitialState()
+    {
+        return this.initialState;
+    }
+
+    // Return the variants which may still be accepted in some state reachable from the given state.
+    final long getLiveMask(final int state)
+    {
+        return this.liveMasks[state];
+    }
+
+    // Return the number of states, including the dead state.
+    public final int getStateCount()
+    {
+        return this.acceptMasks.length;
+    }
+
+    // Return the token type at the given index, which is its index in the array the table was generated from.
+    public final TokenDefinition getType(final int index)
+    {
+        return this.types[index];
+    }
+
+    // Return the number of token types.
+    public final int getTypeCount()
+    {
+        return this.types.length;
+    }
+
+    // Return the variant bits of the given token type.
+    final long getTypeMask(final int type)
+    {
+        return this.typeMasks[type];
+    }
+
+    // Return the state entered from the given state on a character of the given class.
+    final int next(final int state, final int characterClass)
+    {
+        return this.transitions[( state * this.classCount ) + characterClass];
+    }
+}
@@ -16,10 +16,8 @@ import java.awt.Desktop;
 import java.awt.Font;
 import java.awt.Image;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.LineNumberReader;
 import java.net.URI;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -119,18 +117,19 @@ public final class Support
 
     public final static int countLinesInTextFile(final String fileName)
     {
-        LineNumberReader lineNumReader = null;
+        MappedLineReader lineReader = null;
 
         try
         {
-            lineNumReader = new LineNumberReader(new FileReader(new File(fileName)));
+            // Lines are found in place in a mapped view of the file, without building a string for each one.
+            lineReader = new MappedLineReader(fileName);
 
-            while ( ( lineNumReader.readLine() ) != null )
+            while ( lineReader.nextLine() )
             {
                 ;
             }
 
-            return lineNumReader.getLineNumber();
+            return lineReader.getLineNo();
         }
         catch ( final Exception exception )
         {
@@ -138,11 +137,11 @@ public final class Support
         }
         finally
         {
-            if ( lineNumReader != null )
+            if ( lineReader != null )
             {
                 try
                 {
-                    lineNumReader.close();
+                    lineReader.close();
                 }
                 catch ( IOException exception )
                 {
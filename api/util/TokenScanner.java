@@ -0,0 +1,157 @@
+/*
+ * Title: TokenScanner
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Runs the DFA of a ScannerTable over a CharSequence, such as a String or a CharBuffer, and reports each token as a type and a pair of offsets
+ * into the input. Nothing is allocated while scanning, and reset() points the scanner at new input, so one scanner can serve any number of lines.
+ *
+ * Tokens are chosen the way java.util.regex chooses between the alternatives of the equivalent pattern: at each position the earliest declared
+ * token type which matches wins, and it matches as much as its own pattern can. Characters where no token type matches are skipped, as
+ * Matcher.find() would skip them. Token types never match the empty string.
+ */
+
+package api.util;
+
+import api.util.Lexer.TokenDefinition;
+
+public final class TokenScanner
+{
+    private int                from       = 0;    // Start of the region being scanned.
+    private CharSequence       input      = null; // Text being scanned.
+    private int                limit      = 0;    // End of the region being scanned.
+    private int                position   = 0;    // Offset at which the search for the next token begins.
+    private final ScannerTable table;             // DFA which recognizes the token types.
+    private int                tokenEnd   = 0;    // Offset just past the current token.
+    private int                tokenStart = 0;    // Offset of the first character of the current token.
+    private int                tokenType  = -1;   // Index of the type of the current token, or -1 if there is none.
+
+    // Create scanner with no input.
+    public TokenScanner(final ScannerTable table)
+    {
+        this.table = table;
+    }
+
+    // Return the offset just past the current token.
+    public final int getEnd()
+    {
+        return this.tokenEnd;
+    }
+
+    // Return the input being scanned.
+    public final CharSequence getInput()
+    {
+        return this.input;
+    }
+
+    // Return the offset of the first character of the current token.
+    public final int getStart()
+    {
+        return this.tokenStart;
+    }
+
+    // Return the table which the scanner runs.
+    public final ScannerTable getTable()
+    {
+        return this.table;
+    }
+
+    // Return the index of the type of the current token, which is its index in the array the table was generated from, or -1 if there is none.
+    public final int getType()
+    {
+        return this.tokenType;
+    }
+
+    // Return the type of the current token, or null if there is none.
+    public final TokenDefinition getTokenType()
+    {
+        return ( ( this.tokenType < 0 ) ? null : this.table.getType(this.tokenType) );
+    }
+
+    // Move to the next token. Return false, and leave no current token, if there are no more tokens.
+    public final boolean next()
+    {
+        ScannerTable t = this.table;
+        long endAssertions = t.getEndAssertionMask();
+
+        while ( this.position < this.limit )
+        {
+            int start = this.position;
+            long excluded = t.getFailingStart(this.input, start, this.from, this.limit);
+            int state = t.getInitialState();
+            int bestType = Integer.MAX_VALUE;
+            int bestEnd = -1;
+            long stillWanted = -1L;
+
+            for ( int p = start; p < this.limit; )
+            {
+                state = t.next(state, t.getClass(this.input.charAt(p)));
+                p++;
+
+                if ( state == 0 ) { break; }
+
+                long accepted = ( t.getAcceptMask(state) & ~excluded );
+
+                if ( ( accepted & endAssertions ) != 0 )
+                {
+                    accepted &= ~t.getFailingEnd(this.input, p, this.from, this.limit);
+                }
+
+                if ( accepted != 0 )
+                {
+                    int type = t.getBitType(Long.numberOfTrailingZeros(accepted));
+
+                    if ( type < bestType )
+                    {
+                        bestType = type;
+                        bestEnd = p;
+
+                        // Only this type or an earlier one can change the outcome from here on; the bits are numbered by type.
+                        long typeMask = t.getTypeMask(type);
+                        stillWanted = ( typeMask | ( Long.lowestOneBit(typeMask) - 1 ) );
+                    }
+                    else if ( ( accepted & t.getTypeMask(bestType) ) != 0 )
+                    {
+                        bestEnd = p;
+                    }
+                }
+
+                if ( ( t.getLiveMask(state) & stillWanted & ~excluded ) == 0 ) { break; }
+            }
+
+            if ( bestEnd > start )
+            {
+                this.tokenStart = start;
+                this.tokenEnd = bestEnd;
+                this.tokenType = bestType;
+                this.position = bestEnd;
+                return true;
+            }
+
+            this.position = ( start + 1 );
+        }
+
+        this.tokenType = -1;
+        return false;
+    }
+
+    // Start scanning the given input from the beginning.
+    public final void reset(final CharSequence input)
+    {
+        this.reset(input, 0, input.length());
+    }
+
+    // Start scanning the given region of the input. Assertions treat the ends of the region as the ends of the input.
+    public final void reset(final CharSequence input, final int from, final int limit)
+    {
+        if ( ( from < 0 ) || ( limit > input.length() ) || ( from > limit ) ) { throw new IndexOutOfBoundsException("Region [" + from + ", " + limit + ") is outside of input of length " + input.length() + "."); }
+
+        this.input = input;
+        this.from = from;
+        this.limit = limit;
+        this.position = from;
+        this.tokenEnd = from;
+        this.tokenStart = from;
+        this.tokenType = -1;
+    }
+}
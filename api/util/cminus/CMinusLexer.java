@@ -8,13 +8,15 @@
 
 package api.util.cminus;
 
-import java.util.LinkedList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import api.util.Lexer;
+import api.util.LexerGenerator;
+import api.util.ScannerTable;
 import api.util.Support;
+import api.util.TokenScanner;
 import api.util.datastructures.Token;
+import api.util.datastructures.TokenBuffer;
+import api.util.datastructures.TokenSink;
 import edu.princeton.cs.introcs.StdOut;
 
 public class CMinusLexer<T> extends Lexer<T>
@@ -22,7 +24,7 @@ public class CMinusLexer<T> extends Lexer<T>
     /*
      * This helper enumerator class represents each of the various special types of tokens of interest.
      */
-    public static enum TokenType
+    public static enum TokenType implements Lexer.TokenDefinition
     {
         // @formatter:off
         COMMENT(Lexer.C_COMMENTS),
@@ -44,6 +46,7 @@ public class CMinusLexer<T> extends Lexer<T>
             this.pattern = pattern;
         }
 
+        @Override
         public final String getPattern()
         {
             return this.pattern;
@@ -89,6 +92,9 @@ public class CMinusLexer<T> extends Lexer<T>
     public static final String C_NUMBERS     = "((\\B)?\\d+(\\.\\d+)?((E|e)(\\+|\\-)?\\d+)?)";
     public static final String C_OPERATORS   = "(\\<\\=)|(\\>\\=)|(\\=\\=)|(\\!\\=)|([\\+\\-\\*\\/\\<\\>\\=])";
 
+    // The token patterns are compiled into one DFA once, and shared by every instance.
+    private static final ScannerTable SCANNER_TABLE = LexerGenerator.generate(TokenType.values());
+
     public static void main(final String[] args)
     {
         // It comes with a limited test bed program so you can lex arbitrary input quickly.
@@ -107,58 +113,88 @@ public class CMinusLexer<T> extends Lexer<T>
         ( new CMinusLexer<TokenType>() ).lex(input, 0, false, true, true);
     }
 
-    @Override
+    // Does the given region of the input hold exactly the given characters?
+    private static final boolean regionEquals(final CharSequence input, final int start, final int end, final String s)
+    {
+        if ( ( end - start ) != s.length() ) { return false; }
+
+        for ( int i = 0; i < s.length(); i++ )
+        {
+            if ( input.charAt(start + i) != s.charAt(i) ) { return false; }
+        }
+
+        return true;
+    }
+
+    // Pass a token on to the sink, and echo it unless silent. A null type passes on a null token.
     @SuppressWarnings("unchecked")
+    private final void emit(final TokenSink<? super T> sink, final boolean silent, final TokenType type, final CharSequence input, final int start, final int end, final int lineNo, final int braceDepth, final int bracketDepth, final int parenthDepth)
+    {
+        sink.accept((T) type, input, start, end, lineNo, braceDepth, bracketDepth, parenthDepth);
+
+        if ( !silent )
+        {
+            StdOut.println(( type == null ) ? "null" : ( type + ": " + input.subSequence(start, end) ));
+        }
+    }
+
+    @Override
     public List<Token<T>> lex(final String s, final int lineNo, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments)
+    {
+        // A buffer for the tokens we want to return. The tokens refer to the buffer's copy of the line instead of each holding a copy of its text.
+        TokenBuffer<T> tokens = new TokenBuffer<T>();
+        int from = tokens.appendSource(s, 0, s.length());
+
+        this.lex(tokens.getSource(), from, from + s.length(), lineNo, silent, ignoreWhiteSpace, ignoreComments, tokens);
+        return tokens;
+    }
+
+    @Override
+    public void lex(final CharSequence input, final int from, final int limit, final int lineNo, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments, final TokenSink<? super T> sink)
     {
         // Skip empty lines.
-        if ( s.isEmpty() )
+        if ( from == limit )
         {
             if ( !silent )
             {
                 StdOut.println();
             }
 
-            return ( new LinkedList<Token<T>>() );
+            return;
         }
 
         if ( !silent )
         {
             // Echo input.
-            StdOut.println("INPUT: " + s);
-        }
-
-        // A buffer for the tokens we want to return.
-        LinkedList<Token<T>> tokens = ( new LinkedList<Token<T>>() );
-
-        // Lexer logic begins here.
-        StringBuffer tokenPatternsBuffer = new StringBuffer();
-
-        for ( TokenType tokenType : TokenType.values() )
-        {
-            tokenPatternsBuffer.append(String.format("|(?<%s>%s)", tokenType, tokenType.getPattern()));
+            StdOut.println("INPUT: " + input.subSequence(from, limit));
         }
 
-        Pattern tokenPatterns = Pattern.compile(new String(tokenPatternsBuffer.substring(1)));
-
         // Begin matching tokens using the designated RegExr patterns.
-        Matcher matcher = tokenPatterns.matcher(s);
+        TokenScanner scanner = this.getScanner(CMinusLexer.SCANNER_TABLE, input, from, limit);
 
-        while ( matcher.find() )
+        while ( scanner.next() )
         {
-            Token<T> token = null;
+            TokenType type = (TokenType) scanner.getTokenType();
+            TokenType emitted = null;
+            int start = scanner.getStart();
+            int end = scanner.getEnd();
+
+            // Each token records the depths in effect when it was matched.
+            int braceDepth = this.Depth[DepthType.BRACE.ordinal()];
+            int bracketDepth = this.Depth[DepthType.BRACKET.ordinal()];
+            int parenthDepth = this.Depth[DepthType.PARENTH.ordinal()];
 
             if ( this.Depth[DepthType.COMMENT.ordinal()] > 0 )
             {
-                if ( matcher.group(TokenType.COMMENT.name()) != null )
+                if ( type == TokenType.COMMENT )
                 {
-                    token = new Token<T>((T) TokenType.COMMENT, matcher.group(TokenType.COMMENT.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
+                    emitted = TokenType.COMMENT;
 
-                    if ( token.getData().contentEquals("/*") )
+                    if ( CMinusLexer.regionEquals(input, start, end, "/*") )
                     {
                         this.Depth[DepthType.COMMENT.ordinal()]++;
                     }
-                    else if ( token.getData().contentEquals("*/") )
+                    else if ( CMinusLexer.regionEquals(input, start, end, "*/") )
                     {
                         this.Depth[DepthType.COMMENT.ordinal()]--;
                     }
@@ -171,28 +207,18 @@ public class CMinusLexer<T> extends Lexer<T>
             }
             else
             {
-                if ( matcher.group(TokenType.COMMENT.name()) != null )
+                if ( type == TokenType.COMMENT )
                 {
-                    token = new Token<T>((T) TokenType.COMMENT, matcher.group(TokenType.COMMENT.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
+                    emitted = TokenType.COMMENT;
 
-                    if ( token.getData().contentEquals("/*") )
+                    if ( CMinusLexer.regionEquals(input, start, end, "/*") )
                     {
                         this.Depth[DepthType.COMMENT.ordinal()]++;
                     }
-                    else if ( token.getData().contentEquals("*/") )
+                    else if ( CMinusLexer.regionEquals(input, start, end, "*/") )
                     {
-                        Token<T> new_tok1 = new Token<T>((T) TokenType.OPERATOR, "*", lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
-                        tokens.add(new_tok1);
-
-                        Token<T> new_tok2 = new Token<T>((T) TokenType.OPERATOR, "/", lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
-                        tokens.add(new_tok2);
-
-                        if ( !silent )
-                        {
-                            StdOut.println(new_tok1);
-                            StdOut.println(new_tok2);
-                        }
-
+                        this.emit(sink, silent, TokenType.OPERATOR, input, start, start + 1, lineNo, braceDepth, bracketDepth, parenthDepth);
+                        this.emit(sink, silent, TokenType.OPERATOR, input, start + 1, end, lineNo, braceDepth, bracketDepth, parenthDepth);
                         continue;
                     }
 
@@ -201,33 +227,34 @@ public class CMinusLexer<T> extends Lexer<T>
                         continue;
                     }
                 }
-                else if ( matcher.group(TokenType.GROUPING.name()) != null )
+                else if ( type == TokenType.GROUPING )
                 {
-                    token = new Token<T>((T) TokenType.GROUPING, matcher.group(TokenType.GROUPING.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
+                    emitted = TokenType.GROUPING;
 
-                    switch ( token.getData() )
+                    // Every grouping symbol is a single character.
+                    switch ( input.charAt(start) )
                     {
-                        case "(":
+                        case '(':
                             this.Depth[DepthType.PARENTH.ordinal()]++;
                             break;
 
-                        case ")":
+                        case ')':
                             this.Depth[DepthType.PARENTH.ordinal()]--;
                             break;
 
-                        case "[":
+                        case '[':
                             this.Depth[DepthType.BRACKET.ordinal()]++;
                             break;
 
-                        case "]":
+                        case ']':
                             this.Depth[DepthType.BRACKET.ordinal()]--;
                             break;
 
-                        case "{":
+                        case '{':
                             this.Depth[DepthType.BRACE.ordinal()]++;
                             break;
 
-                        case "}":
+                        case '}':
                             this.Depth[DepthType.BRACE.ordinal()]--;
                             break;
 
@@ -235,49 +262,43 @@ public class CMinusLexer<T> extends Lexer<T>
                             break;
                     }
                 }
-                else if ( matcher.group(TokenType.KEYWORD.name()) != null )
+                else if ( ( type == TokenType.KEYWORD ) || ( type == TokenType.IDENTIFIER ) || ( type == TokenType.OPERATOR ) )
                 {
-                    token = new Token<T>((T) TokenType.KEYWORD, matcher.group(TokenType.KEYWORD.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
+                    emitted = type;
                 }
-                else if ( matcher.group(TokenType.IDENTIFIER.name()) != null )
+                else if ( type == TokenType.NUMBER )
                 {
-                    token = new Token<T>((T) TokenType.IDENTIFIER, matcher.group(TokenType.IDENTIFIER.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
-                }
-                else if ( matcher.group(TokenType.NUMBER.name()) != null )
-                {
-                    if ( Support.isStringParsedAsInteger(matcher.group(TokenType.NUMBER.name())) )
+                    String data = input.subSequence(start, end).toString();
+
+                    if ( Support.isStringParsedAsInteger(data) )
                     {
-                        token = new Token<T>((T) TokenType.INTEGER, matcher.group(TokenType.NUMBER.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
+                        emitted = TokenType.INTEGER;
                     }
-                    else if ( Support.isStringParsedAsDouble(matcher.group(TokenType.NUMBER.name())) )
+                    else if ( Support.isStringParsedAsDouble(data) )
                     {
-                        token = new Token<T>((T) TokenType.FLOAT, matcher.group(TokenType.NUMBER.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
+                        emitted = TokenType.FLOAT;
                     }
                     else
                     {
-                        token = new Token<T>((T) TokenType.NUMBER, matcher.group(TokenType.NUMBER.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
+                        emitted = TokenType.NUMBER;
                     }
                 }
-                else if ( matcher.group(TokenType.OPERATOR.name()) != null )
+                else if ( type == TokenType.WHITESPACE )
                 {
-                    token = new Token<T>((T) TokenType.OPERATOR, matcher.group(TokenType.OPERATOR.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
-                }
-                else if ( matcher.group(TokenType.WHITESPACE.name()) != null )
-                {
-                    token = new Token<T>((T) TokenType.WHITESPACE, matcher.group(TokenType.WHITESPACE.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
+                    emitted = TokenType.WHITESPACE;
 
                     if ( ignoreWhiteSpace )
                     {
                         continue;
                     }
                 }
-                else if ( matcher.group(TokenType.ERROR.name()) != null )
+                else if ( type == TokenType.ERROR )
                 {
-                    token = new Token<T>((T) TokenType.ERROR, matcher.group(TokenType.ERROR.name()), lineNo, this.Depth[DepthType.BRACE.ordinal()], this.Depth[DepthType.BRACKET.ordinal()], this.Depth[DepthType.PARENTH.ordinal()]);
+                    Token<TokenType> token = new Token<TokenType>(TokenType.ERROR, input.subSequence(start, end).toString(), lineNo, braceDepth, bracketDepth, parenthDepth);
 
                     try
                     {
-                        throw new CMinusLexException((Token<TokenType>) token);
+                        throw new CMinusLexException(token);
                     }
                     catch ( final CMinusLexException cmle )
                     {
@@ -288,14 +309,7 @@ public class CMinusLexer<T> extends Lexer<T>
                 }
             }
 
-            tokens.add(token);
-
-            if ( !silent )
-            {
-                StdOut.println(token);
-            }
+            this.emit(sink, silent, emitted, input, start, end, lineNo, braceDepth, bracketDepth, parenthDepth);
         }
-
-        return tokens;
     }
 }
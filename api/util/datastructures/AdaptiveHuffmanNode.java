@@ -0,0 +1,30 @@
+/*
+ * Title: AdaptiveHuffmanNode
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * This is a special version of HuffmanNode which also carries its order number, for use in an AdaptiveHuffmanTree.
+ */
+
+package api.util.datastructures;
+
+public class AdaptiveHuffmanNode extends HuffmanNode<Integer>
+{
+    private int order = 0; // Position in the tree's sibling-property ordering; the root has the highest order.
+
+    public AdaptiveHuffmanNode(final Integer data, final Node parent, final int count, final int order)
+    {
+        super(data, parent, null, null, count);
+        this.setOrder(order);
+    }
+
+    public final int getOrder()
+    {
+        return this.order;
+    }
+
+    public final void setOrder(final int order)
+    {
+        this.order = order;
+    }
+}
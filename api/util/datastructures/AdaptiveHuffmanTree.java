@@ -0,0 +1,360 @@
+/*
+ * Title: AdaptiveHuffmanTree
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * This is a special type of binary tree that implements adaptive (FGK) Huffman coding of a byte stream in a single pass.
+ *
+ * The encoder and the decoder start from the same tree, which holds only the NYT ("not yet transmitted") leaf, and update it identically after
+ * every symbol, so no code table ever needs to be sent. A symbol seen before is sent as its path from the root. A new symbol is sent as the path to
+ * the NYT leaf followed by the raw symbol, after which the NYT leaf splits into a new NYT leaf and a leaf for the symbol. Every node carries an order
+ * number, and the tree keeps the sibling property: ordered by number, weights never decrease and siblings are adjacent. Before a node's weight is
+ * incremented it is swapped with the highest-numbered node of equal weight, which is all it takes to keep the property.
+ *
+ * The tree never holds more than one leaf per symbol, so memory use does not grow with the input. Once the total weight reaches MAX_WEIGHT every
+ * weight is halved and the tree is rebuilt, which keeps the counts from overflowing on unbounded streams and lets the code follow changes in the
+ * input. The end of a stream is marked by sending END_OF_STREAM as if it were a new symbol.
+ *
+ * The tree holds its own root rather than extending Tree, because Tree's ordered-set operations, such as insert() and rank(), would break the
+ * sibling property and rely on subtree sizes which this tree does not keep.
+ */
+
+package api.util.datastructures;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public class AdaptiveHuffmanTree
+{
+    public static final int  END_OF_STREAM = 256;
+    public static final int  MAX_WEIGHT    = ( 1 << 24 );
+    public static final int  SYMBOL_BITS   = 9;
+    public static final int  SYMBOL_COUNT  = 257;
+    private static final int MAGIC         = 0x48554641; // "HUFA"
+
+    // Read a stream written by encode() and write the decoded bytes to the output. Return the number of bytes decoded.
+    public static long decode(final InputStream in, final OutputStream out) throws IOException
+    {
+        BitInputStream bits = new BitInputStream(new BufferedInputStream(in));
+        OutputStream buffered = new BufferedOutputStream(out);
+        AdaptiveHuffmanTree tree = new AdaptiveHuffmanTree();
+        long retVal = 0L;
+
+        if ( bits.readBits(32) != AdaptiveHuffmanTree.MAGIC ) { throw new IOException("The stream does not start with an adaptive Huffman header."); }
+
+        int symbol = tree.decodeSymbol(bits);
+
+        while ( symbol >= 0 )
+        {
+            buffered.write(symbol);
+            retVal++;
+            symbol = tree.decodeSymbol(bits);
+        }
+
+        buffered.flush();
+        return retVal;
+    }
+
+    // Encode every byte of the input in a single pass, followed by the end-of-stream marker. The output is flushed but not closed.
+    // Return the number of bytes encoded.
+    public static long encode(final InputStream in, final OutputStream out) throws IOException
+    {
+        InputStream buffered = new BufferedInputStream(in);
+        BitOutputStream bits = new BitOutputStream(new BufferedOutputStream(out));
+        AdaptiveHuffmanTree tree = new AdaptiveHuffmanTree();
+        long retVal = 0L;
+
+        bits.writeBits(AdaptiveHuffmanTree.MAGIC, 32);
+
+        int b = buffered.read();
+
+        while ( b >= 0 )
+        {
+            tree.encodeSymbol(bits, b);
+            retVal++;
+            b = buffered.read();
+        }
+
+        tree.encodeSymbol(bits, AdaptiveHuffmanTree.END_OF_STREAM);
+        bits.alignToByte();
+        bits.flush();
+        return retVal;
+    }
+
+    private final AdaptiveHuffmanNode[] byOrder;     // Nodes indexed by order number.
+    private final AdaptiveHuffmanNode[] leaves;      // Leaf of each symbol, or null if the symbol has not been seen yet.
+    private AdaptiveHuffmanNode         nyt  = null; // Leaf standing for every symbol not seen yet.
+    private final int[]                 path;        // Scratch space for the bits of a code, from the leaf up.
+    private AdaptiveHuffmanNode         root = null; // Root of the tree.
+    private int                         size = 0;    // Number of nodes in the tree.
+
+    public AdaptiveHuffmanTree()
+    {
+        this.byOrder = new AdaptiveHuffmanNode[( 2 * AdaptiveHuffmanTree.SYMBOL_COUNT ) + 1];
+        this.leaves = new AdaptiveHuffmanNode[AdaptiveHuffmanTree.SYMBOL_COUNT];
+        this.path = new int[this.byOrder.length];
+        this.reset();
+    }
+
+    // Read the next symbol and update the tree. Return -1 once the end-of-stream marker is read.
+    public int decodeSymbol(final BitInputStream in) throws IOException
+    {
+        AdaptiveHuffmanNode node = this.root;
+
+        while ( !node.isLeaf() )
+        {
+            node = (AdaptiveHuffmanNode) ( ( in.readBit() == 1 ) ? node.getRight() : node.getLeft() );
+        }
+
+        int symbol = 0;
+
+        if ( node == this.nyt )
+        {
+            symbol = in.readBits(AdaptiveHuffmanTree.SYMBOL_BITS);
+
+            if ( symbol == AdaptiveHuffmanTree.END_OF_STREAM ) { return -1; }
+            if ( ( symbol >= AdaptiveHuffmanTree.SYMBOL_COUNT ) || ( this.leaves[symbol] != null ) ) { throw new IOException("The stream introduces symbol " + symbol + ", which is invalid or already known."); }
+        }
+        else
+        {
+            symbol = node.getData().intValue();
+        }
+
+        this.update(symbol);
+        return symbol;
+    }
+
+    // Write the code for a symbol and update the tree. Writing END_OF_STREAM leaves the tree unchanged.
+    public void encodeSymbol(final BitOutputStream out, final int symbol) throws IOException
+    {
+        if ( ( symbol < 0 ) || ( symbol >= AdaptiveHuffmanTree.SYMBOL_COUNT ) ) { throw new IllegalArgumentException("Symbol " + symbol + " is outside of the alphabet."); }
+
+        AdaptiveHuffmanNode leaf = this.leaves[symbol];
+
+        if ( leaf == null )
+        {
+            this.writePath(out, this.nyt);
+            out.writeBits(symbol, AdaptiveHuffmanTree.SYMBOL_BITS);
+        }
+        else
+        {
+            this.writePath(out, leaf);
+        }
+
+        if ( symbol != AdaptiveHuffmanTree.END_OF_STREAM )
+        {
+            this.update(symbol);
+        }
+    }
+
+    // Return the root of the tree. The tree changes with every symbol coded, so it is only meant to be inspected.
+    public final AdaptiveHuffmanNode getRoot()
+    {
+        return this.root;
+    }
+
+    // Return the number of nodes in the tree.
+    public final int getSize()
+    {
+        return this.size;
+    }
+
+    // Return the highest-numbered node with the same weight as the given one.
+    private AdaptiveHuffmanNode leaderOf(final AdaptiveHuffmanNode node)
+    {
+        int i = node.getOrder();
+
+        while ( ( ( i + 1 ) < this.byOrder.length ) && ( this.byOrder[i + 1].getCount() == node.getCount() ) )
+        {
+            i++;
+        }
+
+        return this.byOrder[i];
+    }
+
+    // Halve every weight, rounding up so that no seen symbol drops to zero, and rebuild the tree so that it has the sibling property again.
+    private void rescale()
+    {
+        // Nodes are merged two at a time, lightest first, with ties broken by creation order so that the encoder and decoder agree exactly.
+        final int[] sequence = new int[] { 0 };
+        final Map<AdaptiveHuffmanNode, Integer> created = new IdentityHashMap<AdaptiveHuffmanNode, Integer>();
+        PriorityQueue<AdaptiveHuffmanNode> queue = new PriorityQueue<AdaptiveHuffmanNode>(new Comparator<AdaptiveHuffmanNode>()
+        {
+            @Override
+            public int compare(final AdaptiveHuffmanNode a, final AdaptiveHuffmanNode b)
+            {
+                int retVal = Integer.compare(a.getCount(), b.getCount());
+                return ( ( retVal != 0 ) ? retVal : Integer.compare(created.get(a), created.get(b)) );
+            }
+        });
+
+        AdaptiveHuffmanNode newNyt = new AdaptiveHuffmanNode(null, null, 0, 0);
+        created.put(newNyt, sequence[0]++);
+        queue.add(newNyt);
+
+        for ( int symbol = 0; symbol < AdaptiveHuffmanTree.SYMBOL_COUNT; symbol++ )
+        {
+            if ( this.leaves[symbol] != null )
+            {
+                AdaptiveHuffmanNode leaf = new AdaptiveHuffmanNode(symbol, null, ( ( this.leaves[symbol].getCount() + 1 ) / 2 ), 0);
+                this.leaves[symbol] = leaf;
+                created.put(leaf, sequence[0]++);
+                queue.add(leaf);
+            }
+        }
+
+        int nodeCount = ( ( 2 * queue.size() ) - 1 );
+        int order = ( this.byOrder.length - nodeCount );
+
+        Arrays.fill(this.byOrder, null);
+
+        while ( queue.size() > 1 )
+        {
+            AdaptiveHuffmanNode left = queue.poll();
+            AdaptiveHuffmanNode right = queue.poll();
+            AdaptiveHuffmanNode parent = new AdaptiveHuffmanNode(null, null, ( left.getCount() + right.getCount() ), 0);
+
+            left.setOrder(order);
+            this.byOrder[order++] = left;
+            right.setOrder(order);
+            this.byOrder[order++] = right;
+            parent.setLeft(left);
+            parent.setRight(right);
+            left.setParent(parent);
+            right.setParent(parent);
+            created.put(parent, sequence[0]++);
+            queue.add(parent);
+        }
+
+        AdaptiveHuffmanNode root = queue.poll();
+        root.setOrder(order);
+        this.byOrder[order] = root;
+        this.nyt = newNyt;
+        this.root = root;
+        this.size = nodeCount;
+    }
+
+    // Forget every symbol and return to the initial tree, which holds only the NYT leaf.
+    public final void reset()
+    {
+        Arrays.fill(this.byOrder, null);
+        Arrays.fill(this.leaves, null);
+        this.nyt = new AdaptiveHuffmanNode(null, null, 0, ( this.byOrder.length - 1 ));
+        this.byOrder[this.nyt.getOrder()] = this.nyt;
+        this.root = this.nyt;
+        this.size = 1;
+    }
+
+    // Exchange the positions of two nodes, neither of which is an ancestor of the other, together with their order numbers.
+    private void swap(final AdaptiveHuffmanNode a, final AdaptiveHuffmanNode b)
+    {
+        TreeNode<?> parentA = (TreeNode<?>) a.getParent();
+        TreeNode<?> parentB = (TreeNode<?>) b.getParent();
+
+        if ( parentA == parentB )
+        {
+            Node left = parentA.getLeft();
+            parentA.setLeft(parentA.getRight());
+            parentA.setRight(left);
+        }
+        else
+        {
+            boolean aIsLeft = ( parentA.getLeft() == a );
+            boolean bIsLeft = ( parentB.getLeft() == b );
+
+            if ( aIsLeft )
+            {
+                parentA.setLeft(b);
+            }
+            else
+            {
+                parentA.setRight(b);
+            }
+
+            if ( bIsLeft )
+            {
+                parentB.setLeft(a);
+            }
+            else
+            {
+                parentB.setRight(a);
+            }
+
+            a.setParent(parentB);
+            b.setParent(parentA);
+        }
+
+        int order = a.getOrder();
+        a.setOrder(b.getOrder());
+        b.setOrder(order);
+        this.byOrder[a.getOrder()] = a;
+        this.byOrder[b.getOrder()] = b;
+    }
+
+    // Account for one more occurrence of the symbol, adding a leaf for it first if it is new.
+    private void update(final int symbol)
+    {
+        AdaptiveHuffmanNode node = this.leaves[symbol];
+
+        if ( node == null )
+        {
+            // The NYT leaf becomes an internal node, with the new NYT leaf on its left and the new symbol on its right.
+            AdaptiveHuffmanNode parent = this.nyt;
+            int order = parent.getOrder();
+
+            node = new AdaptiveHuffmanNode(symbol, parent, 0, ( order - 1 ));
+            this.nyt = new AdaptiveHuffmanNode(null, parent, 0, ( order - 2 ));
+            parent.setRight(node);
+            parent.setLeft(this.nyt);
+            this.byOrder[order - 1] = node;
+            this.byOrder[order - 2] = this.nyt;
+            this.leaves[symbol] = node;
+            this.size += 2;
+        }
+
+        while ( node != null )
+        {
+            AdaptiveHuffmanNode leader = this.leaderOf(node);
+
+            if ( ( leader != node ) && ( leader != node.getParent() ) )
+            {
+                this.swap(node, leader);
+            }
+
+            node.setCount(node.getCount() + 1);
+            node = (AdaptiveHuffmanNode) node.getParent();
+        }
+
+        if ( this.root.getCount() >= AdaptiveHuffmanTree.MAX_WEIGHT )
+        {
+            this.rescale();
+        }
+    }
+
+    // Write the path from the root to the given node: 0 for each step to the left and 1 for each step to the right.
+    private void writePath(final BitOutputStream out, final AdaptiveHuffmanNode node) throws IOException
+    {
+        int depth = 0;
+        TreeNode<?> current = node;
+
+        while ( !current.isRoot() )
+        {
+            TreeNode<?> parent = (TreeNode<?>) current.getParent();
+            this.path[depth++] = ( ( parent.getRight() == current ) ? 1 : 0 );
+            current = parent;
+        }
+
+        while ( depth > 0 )
+        {
+            out.writeBits(this.path[--depth], 1);
+        }
+    }
+}
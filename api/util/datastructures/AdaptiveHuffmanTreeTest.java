@@ -0,0 +1,146 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveHuffmanTreeTest
+{
+    // Check that the tree has the sibling property: ordered by number, weights never decrease, siblings are adjacent and the root comes last.
+    private static void checkSiblingProperty(final AdaptiveHuffmanTree tree)
+    {
+        List<AdaptiveHuffmanNode> nodes = new ArrayList<AdaptiveHuffmanNode>();
+
+        AdaptiveHuffmanTreeTest.collect(tree.getRoot(), nodes);
+        nodes.sort((a, b) -> Integer.compare(a.getOrder(), b.getOrder()));
+
+        assertEquals(tree.getSize(), nodes.size());
+        assertEquals(tree.getRoot(), nodes.get(nodes.size() - 1));
+
+        for ( int i = 1; i < nodes.size(); i++ )
+        {
+            assertTrue(nodes.get(i - 1).getOrder() < nodes.get(i).getOrder(), "Two nodes share order number " + nodes.get(i).getOrder() + ".");
+            assertTrue(nodes.get(i - 1).getCount() <= nodes.get(i).getCount(), "The weight of node " + nodes.get(i).getOrder() + " is below that of the node before it.");
+        }
+
+        for ( AdaptiveHuffmanNode node : nodes )
+        {
+            if ( !node.isLeaf() )
+            {
+                AdaptiveHuffmanNode left = (AdaptiveHuffmanNode) node.getLeft();
+                AdaptiveHuffmanNode right = (AdaptiveHuffmanNode) node.getRight();
+
+                assertEquals(( left.getOrder() + 1 ), right.getOrder(), "The children of node " + node.getOrder() + " are not adjacent.");
+                assertEquals(( left.getCount() + right.getCount() ), node.getCount(), "The weight of node " + node.getOrder() + " is not the sum of its children.");
+            }
+        }
+    }
+
+    private static void collect(final AdaptiveHuffmanNode node, final List<AdaptiveHuffmanNode> nodes)
+    {
+        nodes.add(node);
+
+        if ( !node.isLeaf() )
+        {
+            AdaptiveHuffmanTreeTest.collect((AdaptiveHuffmanNode) node.getLeft(), nodes);
+            AdaptiveHuffmanTreeTest.collect((AdaptiveHuffmanNode) node.getRight(), nodes);
+        }
+    }
+
+    private static byte[] roundTrip(final byte[] data) throws IOException
+    {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ByteArrayOutputStream retVal = new ByteArrayOutputStream();
+
+        assertEquals(data.length, AdaptiveHuffmanTree.encode(new ByteArrayInputStream(data), compressed));
+        assertEquals(data.length, AdaptiveHuffmanTree.decode(new ByteArrayInputStream(compressed.toByteArray()), retVal));
+        return retVal.toByteArray();
+    }
+
+    @Test
+    public void testDecodeRejectsBadHeader()
+    {
+        assertThrows(IOException.class, () -> AdaptiveHuffmanTree.decode(new ByteArrayInputStream(new byte[] { 'H', 'U', 'F', '1', 0 }), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void testEncoderAndDecoderTreesAgree() throws IOException
+    {
+        Random random = new Random(42);
+        int[] symbols = new int[5000];
+        AdaptiveHuffmanTree encoder = new AdaptiveHuffmanTree();
+        AdaptiveHuffmanTree decoder = new AdaptiveHuffmanTree();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        BitOutputStream out = new BitOutputStream(compressed);
+
+        for ( int i = 0; i < symbols.length; i++ )
+        {
+            // A skewed distribution which drifts, so that nodes keep trading places.
+            symbols[i] = ( ( ( i / 500 ) * 7 ) + (int) Math.abs(random.nextGaussian() * 10) ) & 0xFF;
+            encoder.encodeSymbol(out, symbols[i]);
+
+            if ( ( i % 50 ) == 0 )
+            {
+                AdaptiveHuffmanTreeTest.checkSiblingProperty(encoder);
+            }
+        }
+
+        encoder.encodeSymbol(out, AdaptiveHuffmanTree.END_OF_STREAM);
+        out.alignToByte();
+        out.flush();
+
+        BitInputStream in = new BitInputStream(new ByteArrayInputStream(compressed.toByteArray()));
+
+        for ( int i = 0; i < symbols.length; i++ )
+        {
+            assertEquals(symbols[i], decoder.decodeSymbol(in), "Wrong symbol decoded at position " + i + ".");
+        }
+
+        assertEquals(-1, decoder.decodeSymbol(in));
+        assertEquals(encoder.getSize(), decoder.getSize());
+        AdaptiveHuffmanTreeTest.checkSiblingProperty(decoder);
+    }
+
+    @Test
+    public void testRescaledStreamRoundTrip() throws IOException
+    {
+        // Enough input for the total weight to pass MAX_WEIGHT, so that the tree is halved and rebuilt part way through.
+        byte[] data = new byte[AdaptiveHuffmanTree.MAX_WEIGHT + 100000];
+        Random random = new Random(3);
+
+        for ( int i = 0; i < data.length; i++ )
+        {
+            data[i] = (byte) ( ( i < ( data.length / 2 ) ) ? random.nextInt(4) : ( 'a' + random.nextInt(26) ) );
+        }
+
+        assertArrayEquals(data, AdaptiveHuffmanTreeTest.roundTrip(data));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        byte[] every = new byte[512];
+        byte[] random = new byte[100000];
+
+        for ( int i = 0; i < every.length; i++ )
+        {
+            every[i] = (byte) i;
+        }
+
+        new Random(42).nextBytes(random);
+
+        assertArrayEquals(new byte[0], AdaptiveHuffmanTreeTest.roundTrip(new byte[0]));
+        assertArrayEquals(new byte[] { 7 }, AdaptiveHuffmanTreeTest.roundTrip(new byte[] { 7 }));
+        assertArrayEquals(every, AdaptiveHuffmanTreeTest.roundTrip(every));
+        assertArrayEquals(random, AdaptiveHuffmanTreeTest.roundTrip(random));
+        assertArrayEquals("abracadabra abracadabra".getBytes(), AdaptiveHuffmanTreeTest.roundTrip("abracadabra abracadabra".getBytes()));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Title: BalancedTree
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A minimalist generic self-balancing (AVL) binary tree data structure.
+ * Insertion and deletion rotate nodes as needed to keep the tree height logarithmic, even when the input arrives in sorted order.
+ */
+
+package api.util.datastructures;
+
+public class BalancedTree<T extends Comparable<? super T>> extends Tree<T>
+{
+    private boolean removed = false; // Did the last call to delete() find its target?
+
+    public BalancedTree()
+    {
+        super();
+    }
+
+    @SafeVarargs
+    public BalancedTree(final T... args)
+    {
+        super();
+
+        for ( T arg : args )
+        {
+            this.insert(arg);
+        }
+    }
+
+    @Override
+    public boolean delete(final T data)
+    {
+        this.removed = false;
+        this.setRoot(this.delete(this.getRoot(), data));
+
+        if ( this.getRoot() != null )
+        {
+            ( (TreeNode<?>) this.getRoot() ).setParent(null);
+        }
+
+        if ( this.removed )
+        {
+            this.setSize(this.getSize() - 1);
+        }
+
+        return this.removed;
+    }
+
+    // Delete the data from the subtree rooted at the given node, and return the new root of the subtree.
+    @SuppressWarnings("unchecked")
+    protected Node delete(final Node node, final T data)
+    {
+        if ( node == null ) { return null; }
+
+        BalancedTreeNode<T> n = (BalancedTreeNode<T>) node;
+
+        if ( data.equals(n.getData()) )
+        {
+            this.removed = true;
+
+            if ( !n.hasLeft() ) { return n.getRight(); }
+            if ( !n.hasRight() ) { return n.getLeft(); }
+
+            // Two Child Case: replace the data with that of the in-order successor, then delete the successor from the right subtree.
+            Node successor = n.getRight();
+
+            while ( ( (TreeNode<T>) successor ).hasLeft() )
+            {
+                successor = ( (TreeNode<T>) successor ).getLeft();
+            }
+
+            n.setData(( (TreeNode<T>) successor ).getData());
+            this.setChild(n, this.deleteMin(n.getRight()), false);
+        }
+        else if ( data.compareTo(n.getData()) > 0 )
+        {
+            this.setChild(n, this.delete(n.getRight(), data), false);
+        }
+        else
+        {
+            this.setChild(n, this.delete(n.getLeft(), data), true);
+        }
+
+        return this.rebalance(n);
+    }
+
+    // Delete the smallest node from the subtree rooted at the given node, and return the new root of the subtree.
+    @SuppressWarnings("unchecked")
+    protected Node deleteMin(final Node node)
+    {
+        BalancedTreeNode<T> n = (BalancedTreeNode<T>) node;
+
+        if ( !n.hasLeft() ) { return n.getRight(); }
+
+        this.setChild(n, this.deleteMin(n.getLeft()), true);
+        return this.rebalance(n);
+    }
+
+    @Override
+    public int getHeight()
+    {
+        return BalancedTreeNode.heightOf(this.getRoot());
+    }
+
+    @Override
+    public TreeIterator<T> getIterator()
+    {
+        return ( new BalancedTreeIterator<T>(this) );
+    }
+
+    @Override
+    public boolean insert(final T data)
+    {
+        this.setRoot(this.insert(this.getRoot(), data));
+        ( (TreeNode<?>) this.getRoot() ).setParent(null);
+        this.setSize(this.getSize() + 1);
+        return true;
+    }
+
+    // Insert the data into the subtree rooted at the given node, and return the new root of the subtree.
+    @SuppressWarnings("unchecked")
+    protected Node insert(final Node node, final T data)
+    {
+        if ( node == null ) { return ( new BalancedTreeNode<T>(data, null, null, null) ); }
+
+        BalancedTreeNode<T> n = (BalancedTreeNode<T>) node;
+
+        // Equal data goes to the left, just like in the unbalanced tree.
+        if ( data.compareTo(n.getData()) <= 0 )
+        {
+            this.setChild(n, this.insert(n.getLeft(), data), true);
+        }
+        else
+        {
+            this.setChild(n, this.insert(n.getRight(), data), false);
+        }
+
+        return this.rebalance(n);
+    }
+
+    // Restore the AVL property at the given node, whose subtrees are already balanced, and return the new root of the subtree.
+    @SuppressWarnings("unchecked")
+    protected Node rebalance(final BalancedTreeNode<T> node)
+    {
+        node.update();
+
+        if ( node.getBalance() > 1 )
+        {
+            if ( ( (BalancedTreeNode<T>) node.getLeft() ).getBalance() < 0 )
+            {
+                this.setChild(node, this.rotateLeft((BalancedTreeNode<T>) node.getLeft()), true);
+            }
+
+            return this.rotateRight(node);
+        }
+
+        if ( node.getBalance() < -1 )
+        {
+            if ( ( (BalancedTreeNode<T>) node.getRight() ).getBalance() > 0 )
+            {
+                this.setChild(node, this.rotateRight((BalancedTreeNode<T>) node.getRight()), false);
+            }
+
+            return this.rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Node rotateLeft(final BalancedTreeNode<T> node)
+    {
+        BalancedTreeNode<T> pivot = (BalancedTreeNode<T>) node.getRight();
+        pivot.setParent(node.getParent());
+        this.setChild(node, pivot.getLeft(), false);
+        this.setChild(pivot, node, true);
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Node rotateRight(final BalancedTreeNode<T> node)
+    {
+        BalancedTreeNode<T> pivot = (BalancedTreeNode<T>) node.getLeft();
+        pivot.setParent(node.getParent());
+        this.setChild(node, pivot.getRight(), true);
+        this.setChild(pivot, node, false);
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    // Attach a child to the given side of a parent, keeping the child's parent link in sync.
+    protected final void setChild(final TreeNode<T> parent, final Node child, final boolean left)
+    {
+        if ( left )
+        {
+            parent.setLeft(child);
+        }
+        else
+        {
+            parent.setRight(child);
+        }
+
+        if ( child != null )
+        {
+            ( (TreeNode<?>) child ).setParent(parent);
+        }
+    }
+}
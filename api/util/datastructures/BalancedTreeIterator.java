@@ -0,0 +1,39 @@
+/*
+ * Title: BalancedTreeIterator
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * An iterator for a minimalist generic self-balancing binary tree data structure.
+ * Navigation works exactly like TreeIterator, but insertions and removals are routed through the tree so that it stays balanced.
+ */
+
+package api.util.datastructures;
+
+public class BalancedTreeIterator<T extends Comparable<? super T>> extends TreeIterator<T>
+{
+    public BalancedTreeIterator(final BalancedTree<T> tree)
+    {
+        super(tree);
+    }
+
+    @Override
+    boolean find(final T data, final boolean doRemoval)
+    {
+        if ( doRemoval )
+        {
+            boolean retVal = this.getTree().delete(data);
+            this.reset(this.getTree().getSize());
+            return retVal;
+        }
+
+        return super.find(data, false);
+    }
+
+    @Override
+    public boolean insert(final T data)
+    {
+        boolean retVal = this.getTree().insert(data);
+        this.reset(this.getTree().getSize());
+        return retVal;
+    }
+}
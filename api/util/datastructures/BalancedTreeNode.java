@@ -0,0 +1,47 @@
+/*
+ * Title: BalancedTreeNode
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * This is a special version of TreeNode which also caches the height of the subtree rooted at it, for use in a BalancedTree.
+ */
+
+package api.util.datastructures;
+
+public class BalancedTreeNode<T extends Comparable<? super T>> extends TreeNode<T>
+{
+    // Return the cached height of a subtree, or -1 for an empty subtree.
+    public static final int heightOf(final Node node)
+    {
+        if ( node == null ) { return -1; }
+
+        return ( (BalancedTreeNode<?>) node ).getHeight();
+    }
+
+    private int height = 0;
+
+    public BalancedTreeNode(final T data, final Node parent, final Node right, final Node left)
+    {
+        super(data, parent, right, left);
+        this.update();
+    }
+
+    // Return the difference between the heights of the left and right subtrees.
+    public final int getBalance()
+    {
+        return ( BalancedTreeNode.heightOf(this.getLeft()) - BalancedTreeNode.heightOf(this.getRight()) );
+    }
+
+    @Override
+    public final int getHeight()
+    {
+        return this.height;
+    }
+
+    // Recompute the cached height and size from the children, whose own caches must already be up to date.
+    public final void update()
+    {
+        this.height = ( Math.max(BalancedTreeNode.heightOf(this.getLeft()), BalancedTreeNode.heightOf(this.getRight())) + 1 );
+        this.setSubtreeSize(TreeNode.sizeOf(this.getLeft()) + TreeNode.sizeOf(this.getRight()) + 1);
+    }
+}
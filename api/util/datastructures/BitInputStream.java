@@ -0,0 +1,146 @@
+/*
+ * Title: BitInputStream
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * An input stream which unpacks values of any width from 1 to 32 bits, most significant bit first, from bytes.
+ * Bits can be peeked at before they are consumed, which is what table-driven decoders need. Bytes are only read from the underlying stream when
+ * they are needed, so the stream can sit on top of a socket without blocking for data that has not been asked for.
+ */
+
+package api.util.datastructures;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class BitInputStream extends FilterInputStream
+{
+    private int  bitCount = 0;  // Number of buffered bits.
+    private long buffer   = 0L; // Buffered bits, right-aligned.
+
+    public BitInputStream(final InputStream in)
+    {
+        super(in);
+    }
+
+    // Discard any buffered bits up to the next byte boundary.
+    public void alignToByte()
+    {
+        this.bitCount -= ( this.bitCount % 8 );
+    }
+
+    @Override
+    public int available() throws IOException
+    {
+        return ( ( this.bitCount / 8 ) + this.in.available() );
+    }
+
+    // Read bytes until at least the given number of bits are buffered. Return false if the underlying stream ends first.
+    private boolean fill(final int length) throws IOException
+    {
+        while ( this.bitCount < length )
+        {
+            int b = this.in.read();
+
+            if ( b < 0 ) { return false; }
+
+            this.buffer = ( ( this.buffer << 8 ) | b );
+            this.bitCount += 8;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean markSupported()
+    {
+        return false;
+    }
+
+    // Return the next length bits without consuming them. Past the end of the stream the missing bits read as zeros.
+    public int peekBits(final int length) throws IOException
+    {
+        if ( ( length < 0 ) || ( length > 32 ) ) { throw new IllegalArgumentException("Cannot peek at " + length + " bits at once."); }
+
+        long bits = 0L;
+
+        if ( this.fill(length) )
+        {
+            bits = ( this.buffer >>> ( this.bitCount - length ) );
+        }
+        else
+        {
+            bits = ( this.buffer << ( length - this.bitCount ) );
+        }
+
+        return (int) ( bits & ( ( 1L << length ) - 1 ) );
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        if ( !this.fill(8) ) { return -1; }
+
+        return this.readBits(8);
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException
+    {
+        if ( len == 0 ) { return 0; }
+
+        // Once the buffered bits are used up on a byte boundary, the rest can come straight from the underlying stream.
+        if ( this.bitCount == 0 ) { return this.in.read(b, off, len); }
+
+        int i = 0;
+
+        while ( i < len )
+        {
+            int value = this.read();
+
+            if ( value < 0 ) { break; }
+
+            b[off + i] = (byte) value;
+            i++;
+        }
+
+        return ( ( i == 0 ) ? -1 : i );
+    }
+
+    // Read a single bit.
+    public int readBit() throws IOException
+    {
+        return this.readBits(1);
+    }
+
+    // Read and consume the next length bits, most significant first.
+    public int readBits(final int length) throws IOException
+    {
+        int retVal = this.peekBits(length);
+        this.skipBits(length);
+        return retVal;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException
+    {
+        long retVal = 0L;
+
+        while ( ( retVal < n ) && ( this.read() >= 0 ) )
+        {
+            retVal++;
+        }
+
+        return retVal;
+    }
+
+    // Consume bits which have already been peeked at.
+    public void skipBits(final int length) throws IOException
+    {
+        if ( !this.fill(length) ) { throw new EOFException("The stream ended in the middle of a value."); }
+
+        this.bitCount -= length;
+    }
+}
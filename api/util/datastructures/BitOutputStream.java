@@ -0,0 +1,83 @@
+/*
+ * Title: BitOutputStream
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * An output stream which packs values of any width from 1 to 32 bits, most significant bit first, into bytes.
+ * Whole bytes are passed on to the underlying stream as soon as they are complete; closing the stream pads the final byte with zero bits.
+ */
+
+package api.util.datastructures;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class BitOutputStream extends FilterOutputStream
+{
+    private int  bitCount = 0;  // Number of pending bits; always less than 8 between calls.
+    private long buffer   = 0L; // Pending bits, right-aligned.
+
+    public BitOutputStream(final OutputStream out)
+    {
+        super(out);
+    }
+
+    // Pad any pending bits with zeros up to the next byte boundary and write the completed byte.
+    public void alignToByte() throws IOException
+    {
+        if ( this.bitCount > 0 )
+        {
+            this.writeBits(0, ( 8 - this.bitCount ));
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.alignToByte();
+        super.close();
+    }
+
+    public final boolean isAligned()
+    {
+        return ( this.bitCount == 0 );
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException
+    {
+        if ( this.isAligned() )
+        {
+            this.out.write(b, off, len);
+        }
+        else
+        {
+            for ( int i = off; i < ( off + len ); i++ )
+            {
+                this.writeBits(b[i] & 0xFF, 8);
+            }
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException
+    {
+        this.writeBits(b & 0xFF, 8);
+    }
+
+    // Write the low-order length bits of the value, most significant first.
+    public void writeBits(final int bits, final int length) throws IOException
+    {
+        if ( ( length < 0 ) || ( length > 32 ) ) { throw new IllegalArgumentException("Cannot write " + length + " bits at once."); }
+
+        this.buffer = ( ( this.buffer << length ) | ( bits & ( ( 1L << length ) - 1 ) ) );
+        this.bitCount += length;
+
+        while ( this.bitCount >= 8 )
+        {
+            this.bitCount -= 8;
+            this.out.write((int) ( this.buffer >>> this.bitCount ));
+        }
+    }
+}
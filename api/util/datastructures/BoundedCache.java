@@ -0,0 +1,955 @@
+/*
+ * Title: BoundedCache
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A thread-safe cache which holds entries up to a maximum total weight, evicting the least valuable ones to make room. By default every entry
+ * weighs one, so the maximum weight is a maximum number of entries; a weigher lets entries count by size in bytes or any other measure instead.
+ *
+ * Two eviction policies are offered. LRU evicts the least recently used entry. W-TinyLFU puts new entries into a small LRU window, and lets an
+ * entry pushed out of the window into the main space only if a frequency sketch says it has been requested more often than the entry it would
+ * push out. The main space is a segmented LRU: entries start on probation and are protected once they are used again. This keeps a burst of
+ * one-off keys from flushing out keys which are used all the time, and usually gives a much better hit rate than LRU.
+ *
+ * Entries may also expire a fixed time after they were written or last read. Expired entries are dropped when they are found, or all at once by
+ * cleanUp(). The cache counts hits, misses, loads, and evictions.
+ *
+ * The entries are KeyValueNodes kept in access-order lists which are linked through the nodes themselves, so moving or removing an entry never
+ * has to search a list. A single lock guards the lists, but values are loaded by computeIfAbsent() outside of it. Concurrent loads of the same
+ * key are collapsed into one: the first caller runs the loader, and the others wait for its result.
+ */
+
+package api.util.datastructures;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+public class BoundedCache<K, V>
+{
+    /* This helper class is a list of entries from least to most recently used, linked through the entries themselves. */
+    protected static final class AccessOrder<K, V>
+    {
+        private Entry<K, V> head   = null; // Least recently used entry.
+        private Entry<K, V> tail   = null; // Most recently used entry.
+        private long        weight = 0;    // Total weight of the entries in the list.
+
+        // Add an entry which is in no list as the most recently used one.
+        public final void addLast(final Entry<K, V> entry)
+        {
+            entry.setNext(null);
+            entry.setPrevious(this.tail);
+
+            if ( this.tail == null )
+            {
+                this.head = entry;
+            }
+            else
+            {
+                this.tail.setNext(entry);
+            }
+
+            this.tail = entry;
+            this.weight += entry.getWeight();
+        }
+
+        public final Entry<K, V> getHead()
+        {
+            return this.head;
+        }
+
+        public final long getWeight()
+        {
+            return this.weight;
+        }
+
+        // Make an entry in this list the most recently used one.
+        public final void moveToLast(final Entry<K, V> entry)
+        {
+            if ( entry == this.tail ) { return; }
+
+            this.remove(entry);
+            this.addLast(entry);
+        }
+
+        // Unlink an entry from this list.
+        @SuppressWarnings("unchecked")
+        public final void remove(final Entry<K, V> entry)
+        {
+            Entry<K, V> next = (Entry<K, V>) entry.getNext();
+            Entry<K, V> previous = (Entry<K, V>) entry.getPrevious();
+
+            if ( previous == null )
+            {
+                this.head = next;
+            }
+            else
+            {
+                previous.setNext(next);
+            }
+
+            if ( next == null )
+            {
+                this.tail = previous;
+            }
+            else
+            {
+                next.setPrevious(previous);
+            }
+
+            entry.setNext(null);
+            entry.setPrevious(null);
+            this.weight -= entry.getWeight();
+        }
+    }
+
+    /* This helper class is a cached key-value pair, which also records its weight, its timestamps, and which list it is in. */
+    protected static final class Entry<K, V> extends KeyValueNode<K, V>
+    {
+        private long accessTime = 0; // Time of the last read or write, in nanoseconds.
+        private int  queue      = 0; // List which holds the entry.
+        private int  weight     = 0; // Weight charged against the maximum weight of the cache.
+        private long writeTime  = 0; // Time of the last write, in nanoseconds.
+
+        public Entry(final K key, final V value, final int weight, final long now)
+        {
+            super(key, value, null, null);
+            this.setWeight(weight);
+            this.setAccessTime(now);
+            this.setWriteTime(now);
+        }
+
+        public final long getAccessTime()
+        {
+            return this.accessTime;
+        }
+
+        public final int getQueue()
+        {
+            return this.queue;
+        }
+
+        public final int getWeight()
+        {
+            return this.weight;
+        }
+
+        public final long getWriteTime()
+        {
+            return this.writeTime;
+        }
+
+        public final void setAccessTime(final long accessTime)
+        {
+            this.accessTime = accessTime;
+        }
+
+        public final void setQueue(final int queue)
+        {
+            this.queue = queue;
+        }
+
+        public final void setWeight(final int weight)
+        {
+            this.weight = weight;
+        }
+
+        public final void setWriteTime(final long writeTime)
+        {
+            this.writeTime = writeTime;
+        }
+    }
+
+    /* This helper class is the eviction policy of a cache. */
+    public static enum EvictionPolicy
+    {
+        LRU, W_TINY_LFU
+    }
+
+    /*
+     * This helper class is a count-min sketch which estimates how many times each key has been seen. Each key bumps four 4-bit counters chosen by
+     * double hashing, and its estimate is the smallest of them. Once enough keys have been counted, every counter is halved so that keys which
+     * were popular long ago fade away.
+     */
+    protected static final class FrequencySketch
+    {
+        private static final int DEPTH = 4;
+
+        private int                  additions = 0; // Number of increments since the counters were last halved.
+        private final PackedCounters counters;      // Counters bumped by the keys.
+        private final int            sampleSize;    // Number of increments after which the counters are halved.
+
+        // Create a sketch sized for a cache of the given maximum weight.
+        public FrequencySketch(final long maximumWeight)
+        {
+            long expected = Math.max(16, Math.min(maximumWeight, ( 1 << 18 )));
+            int size = 64;
+
+            while ( size < ( expected * FrequencySketch.DEPTH ) )
+            {
+                size <<= 1;
+            }
+
+            this.counters = new PackedCounters(size);
+            this.sampleSize = (int) ( 10 * expected );
+        }
+
+        // Return the estimated number of times the key with the given hash code has been seen.
+        public final int estimate(final int hashCode)
+        {
+            int h1 = PackedCounters.hash1(hashCode);
+            int h2 = PackedCounters.hash2(h1);
+            int retVal = PackedCounters.COUNTER_MAX;
+
+            for ( int i = 0; i < FrequencySketch.DEPTH; i++ )
+            {
+                retVal = Math.min(retVal, this.counters.get(this.counters.indexOf(h1, h2, i)));
+            }
+
+            return retVal;
+        }
+
+        // Count one more sighting of the key with the given hash code.
+        public final void increment(final int hashCode)
+        {
+            int h1 = PackedCounters.hash1(hashCode);
+            int h2 = PackedCounters.hash2(h1);
+
+            for ( int i = 0; i < FrequencySketch.DEPTH; i++ )
+            {
+                this.counters.increment(this.counters.indexOf(h1, h2, i));
+            }
+
+            if ( ++this.additions >= this.sampleSize )
+            {
+                this.counters.halve();
+                this.additions >>>= 1;
+            }
+        }
+    }
+
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int WINDOW    = 0;
+
+    // Wait for a load started by another thread, and rethrow whatever the loader threw.
+    private static final <V> V await(final CompletableFuture<V> load)
+    {
+        try
+        {
+            return load.join();
+        }
+        catch ( final CompletionException exception )
+        {
+            if ( exception.getCause() instanceof RuntimeException ) { throw (RuntimeException) exception.getCause(); }
+            if ( exception.getCause() instanceof Error ) { throw (Error) exception.getCause(); }
+
+            throw exception;
+        }
+    }
+
+    private long                                               curWeight         = 0;                       // Total weight of the entries.
+    private long                                               evictionCount     = 0;                       // Number of entries evicted or expired.
+    private final EvictionPolicy                               evictionPolicy;                              // Policy which picks the entries to evict.
+    private long                                               expireAfterAccess = 0;                       // Lifetime after the last read or write in nanoseconds, or zero.
+    private long                                               expireAfterWrite  = 0;                       // Lifetime after the last write in nanoseconds, or zero.
+    private long                                               hitCount          = 0;                       // Number of lookups which found a value.
+    private OpenAddressingSymbolTable<K, Entry<K, V>>          index             = null;                    // Entries by key.
+    private long                                               loadFailureCount  = 0;                       // Number of loads which threw or returned null.
+    private OpenAddressingSymbolTable<K, CompletableFuture<V>> loads             = null;                    // Loads in progress by key.
+    private long                                               loadSuccessCount  = 0;                       // Number of loads which returned a value.
+    private final ReentrantLock                                lock              = new ReentrantLock();     // Lock guarding everything except the loaders.
+    private final long                                         maximumWeight;                               // Total weight above which entries are evicted.
+    private long                                               missCount         = 0;                       // Number of lookups which found no value.
+    private final AccessOrder<K, V>                            probation         = new AccessOrder<K, V>(); // Main space entries which have not been used since they entered it.
+    private final AccessOrder<K, V>                            protectedOrder    = new AccessOrder<K, V>(); // Main space entries which have been used since they entered it.
+    private final long                                         protectedMaximum;                            // Total weight above which protected entries are put back on probation.
+    private final FrequencySketch                              sketch;                                      // Request frequencies, or null under LRU.
+    private long                                               totalLoadTime     = 0;                       // Time spent in loaders in nanoseconds.
+    private final ToIntBiFunction<? super K, ? super V>        weigher;                                     // Weight of each entry.
+    private final AccessOrder<K, V>                            window            = new AccessOrder<K, V>(); // Entries which have not yet been admitted to the main space, or all entries under LRU.
+    private final long                                         windowMaximum;                               // Total weight above which window entries are moved to the main space.
+
+    // Create cache holding at most the given number of entries.
+    public BoundedCache(final long maximumSize, final EvictionPolicy evictionPolicy)
+    {
+        this(maximumSize, evictionPolicy, null);
+    }
+
+    // Create cache holding entries up to the given total weight, as measured by the given weigher.
+    public BoundedCache(final long maximumWeight, final EvictionPolicy evictionPolicy, final ToIntBiFunction<? super K, ? super V> weigher)
+    {
+        if ( maximumWeight < 1 ) { throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight); }
+        if ( evictionPolicy == null ) { throw new NullPointerException("Eviction policy cannot be null."); }
+
+        this.evictionPolicy = evictionPolicy;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.index = new OpenAddressingSymbolTable<K, Entry<K, V>>();
+        this.loads = new OpenAddressingSymbolTable<K, CompletableFuture<V>>();
+
+        if ( evictionPolicy == EvictionPolicy.W_TINY_LFU )
+        {
+            // The window takes 1% of the weight, and 80% of the rest may be protected.
+            this.sketch = new FrequencySketch(maximumWeight);
+            this.windowMaximum = Math.max(1, ( maximumWeight / 100 ));
+            this.protectedMaximum = (long) ( ( maximumWeight - this.windowMaximum ) * 0.8 );
+        }
+        else
+        {
+            this.sketch = null;
+            this.windowMaximum = maximumWeight;
+            this.protectedMaximum = 0;
+        }
+    }
+
+    // Drop every expired entry now, instead of waiting for each one to be found.
+    @SuppressWarnings("unchecked")
+    public final void cleanUp()
+    {
+        this.lock.lock();
+
+        try
+        {
+            long now = this.currentTime();
+
+            for ( AccessOrder<K, V> list : this.lists() )
+            {
+                Entry<K, V> e = list.getHead();
+
+                while ( e != null )
+                {
+                    Entry<K, V> next = (Entry<K, V>) e.getNext();
+
+                    if ( this.isExpired(e, now) )
+                    {
+                        this.evict(e);
+                    }
+
+                    e = next;
+                }
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    // Remove every entry. Loads in progress finish, but their values are not stored.
+    public final void clear()
+    {
+        this.lock.lock();
+
+        try
+        {
+            for ( AccessOrder<K, V> list : this.lists() )
+            {
+                while ( list.getHead() != null )
+                {
+                    list.remove(list.getHead());
+                }
+            }
+
+            this.curWeight = 0;
+            this.index = new OpenAddressingSymbolTable<K, Entry<K, V>>();
+            this.loads = new OpenAddressingSymbolTable<K, CompletableFuture<V>>();
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    // Return the cached value for the key, or load, store and return a new one if there is none. If other threads ask for the same key while it
+    // is loading, they wait for this load instead of starting their own. A loader which returns null or throws stores nothing. The loader must not
+    // ask this cache for the key it is loading.
+    public final V computeIfAbsent(final K key, final Function<? super K, ? extends V> loader)
+    {
+        CompletableFuture<V> load = null;
+        boolean loading = false;
+
+        this.lock.lock();
+
+        try
+        {
+            long now = this.currentTime();
+            Entry<K, V> e = this.lookup(key, now);
+
+            // The call counts as one use of the key. On a miss which starts a load, the insert of the loaded value counts it.
+            if ( e != null )
+            {
+                this.recordUse(key);
+                return this.hit(e, now);
+            }
+
+            this.missCount++;
+            load = this.loads.get(key);
+
+            if ( load == null )
+            {
+                load = new CompletableFuture<V>();
+                this.loads.put(key, load);
+                loading = true;
+            }
+            else
+            {
+                this.recordUse(key);
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+
+        // Another thread is already loading the key, so share its result.
+        if ( !loading ) { return BoundedCache.await(load); }
+
+        return this.load(key, loader, load);
+    }
+
+    // Is there an unexpired value for the key? This does not count as a use of the entry.
+    public final boolean contains(final K key)
+    {
+        this.lock.lock();
+
+        try
+        {
+            Entry<K, V> e = this.index.get(key);
+            return ( ( e != null ) && !this.isExpired(e, this.currentTime()) );
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    // Return the current time in nanoseconds. Expiration times are measured with this clock.
+    protected long currentTime()
+    {
+        return System.nanoTime();
+    }
+
+    // Delete key (and associated value) if key is in the cache. A load of the key in progress finishes, but its value is not stored.
+    public final void delete(final K key)
+    {
+        this.lock.lock();
+
+        try
+        {
+            Entry<K, V> e = this.index.get(key);
+
+            if ( e != null )
+            {
+                this.unlink(e);
+            }
+
+            this.loads.delete(key);
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    // Remove an entry chosen by the eviction policy or found to be expired. The caller must hold the lock.
+    private final void evict(final Entry<K, V> entry)
+    {
+        this.unlink(entry);
+        this.evictionCount++;
+    }
+
+    // Bring the window and then the whole cache back within their maximum weights. The caller must hold the lock.
+    @SuppressWarnings("unchecked")
+    private final void evictToFit()
+    {
+        // Entries pushed out of the window join the tail of probation, and the first of them is the first candidate for admission.
+        Entry<K, V> candidate = null;
+
+        while ( ( this.evictionPolicy == EvictionPolicy.W_TINY_LFU ) && ( this.window.getWeight() > this.windowMaximum ) )
+        {
+            Entry<K, V> e = this.window.getHead();
+            this.window.remove(e);
+            e.setQueue(BoundedCache.PROBATION);
+            this.probation.addLast(e);
+
+            if ( candidate == null )
+            {
+                candidate = e;
+            }
+        }
+
+        while ( this.curWeight > this.maximumWeight )
+        {
+            // Victims are taken from the cold end of probation, falling back to the other lists only if probation is empty.
+            Entry<K, V> victim = this.probation.getHead();
+
+            if ( victim == null )
+            {
+                victim = ( ( this.protectedOrder.getHead() != null ) ? this.protectedOrder.getHead() : this.window.getHead() );
+            }
+
+            if ( ( candidate == null ) || ( victim.getQueue() != BoundedCache.PROBATION ) )
+            {
+                this.evict(victim);
+            }
+            else if ( victim == candidate )
+            {
+                candidate = (Entry<K, V>) candidate.getNext();
+                this.evict(victim);
+            }
+            else if ( this.sketch.estimate(candidate.getKey().hashCode()) > this.sketch.estimate(victim.getKey().hashCode()) )
+            {
+                this.evict(victim);
+            }
+            else
+            {
+                // Ties go to the victim, which has already proved itself once.
+                Entry<K, V> next = (Entry<K, V>) candidate.getNext();
+                this.evict(candidate);
+                candidate = next;
+            }
+        }
+    }
+
+    // Return value associated with key, null if no such key or if it has expired.
+    public final V get(final K key)
+    {
+        this.lock.lock();
+
+        try
+        {
+            long now = this.currentTime();
+            Entry<K, V> e = this.lookup(key, now);
+
+            this.recordUse(key);
+
+            if ( e == null )
+            {
+                this.missCount++;
+                return null;
+            }
+
+            return this.hit(e, now);
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    // Return the average time spent in a loader in nanoseconds, or zero if nothing has been loaded.
+    public final double getAverageLoadTime()
+    {
+        long loadCount = ( this.getLoadSuccessCount() + this.getLoadFailureCount() );
+        return ( ( loadCount == 0 ) ? 0.0 : ( (double) this.totalLoadTime / loadCount ) );
+    }
+
+    // Return the current number of entries, including any which have expired but have not been dropped yet.
+    public final long getCurSize()
+    {
+        return this.index.getCurSize();
+    }
+
+    // Return the current total weight of the entries.
+    public final long getCurWeight()
+    {
+        return this.curWeight;
+    }
+
+    // Return the number of entries evicted or expired.
+    public final long getEvictionCount()
+    {
+        return this.evictionCount;
+    }
+
+    // Return the eviction policy of the cache.
+    public final EvictionPolicy getEvictionPolicy()
+    {
+        return this.evictionPolicy;
+    }
+
+    // Return the number of lookups which found a value.
+    public final long getHitCount()
+    {
+        return this.hitCount;
+    }
+
+    // Return the fraction of lookups which found a value, or one if there have been no lookups.
+    public final double getHitRate()
+    {
+        long requestCount = ( this.getHitCount() + this.getMissCount() );
+        return ( ( requestCount == 0 ) ? 1.0 : ( (double) this.getHitCount() / requestCount ) );
+    }
+
+    // Return the number of loads which threw or returned null.
+    public final long getLoadFailureCount()
+    {
+        return this.loadFailureCount;
+    }
+
+    // Return the number of loads which returned a value.
+    public final long getLoadSuccessCount()
+    {
+        return this.loadSuccessCount;
+    }
+
+    // Return the total weight above which entries are evicted.
+    public final long getMaxWeight()
+    {
+        return this.maximumWeight;
+    }
+
+    // Return the number of lookups which found no value.
+    public final long getMissCount()
+    {
+        return this.missCount;
+    }
+
+    // Count a lookup which found the entry, and treat it as a use of the entry. Return its value. The caller must hold the lock.
+    private final V hit(final Entry<K, V> entry, final long now)
+    {
+        this.hitCount++;
+        entry.setAccessTime(now);
+        this.touch(entry);
+        return entry.getValue();
+    }
+
+    // Store a value, replacing any value the key had. The caller must hold the lock.
+    private final void insert(final K key, final V value, final int weight)
+    {
+        long now = this.currentTime();
+        Entry<K, V> e = this.index.get(key);
+
+        this.recordUse(key);
+
+        // An entry which could never fit is turned away at once, along with the value it would have replaced.
+        if ( weight > this.maximumWeight )
+        {
+            if ( e != null )
+            {
+                this.unlink(e);
+            }
+
+            this.evictionCount++;
+            return;
+        }
+
+        if ( e == null )
+        {
+            e = new Entry<K, V>(key, value, weight, now);
+            e.setQueue(BoundedCache.WINDOW);
+            this.index.put(key, e);
+            this.window.addLast(e);
+            this.curWeight += weight;
+        }
+        else
+        {
+            // Relink the entry so its list picks up the new weight, then treat the write as a use.
+            AccessOrder<K, V> list = this.listFor(e);
+            list.remove(e);
+            this.curWeight += ( weight - e.getWeight() );
+            e.setWeight(weight);
+            e.setValue(value);
+            e.setAccessTime(now);
+            e.setWriteTime(now);
+            list.addLast(e);
+            this.touch(e);
+        }
+
+        this.evictToFit();
+    }
+
+    // Is the cache empty?
+    public final boolean isEmpty()
+    {
+        return ( this.getCurSize() == 0 );
+    }
+
+    // Has the entry outlived either of its lifetimes?
+    private final boolean isExpired(final Entry<K, V> entry, final long now)
+    {
+        if ( ( this.expireAfterWrite > 0 ) && ( ( now - entry.getWriteTime() ) >= this.expireAfterWrite ) ) { return true; }
+        if ( ( this.expireAfterAccess > 0 ) && ( ( now - entry.getAccessTime() ) >= this.expireAfterAccess ) ) { return true; }
+
+        return false;
+    }
+
+    // Return the keys of the unexpired entries as a list, from the entries most likely to be evicted to the least likely.
+    @SuppressWarnings("unchecked")
+    public final List<K> keysList()
+    {
+        List<K> queue = new LinkedList<K>();
+
+        this.lock.lock();
+
+        try
+        {
+            long now = this.currentTime();
+
+            for ( AccessOrder<K, V> list : this.lists() )
+            {
+                for ( Entry<K, V> e = list.getHead(); e != null; e = (Entry<K, V>) e.getNext() )
+                {
+                    if ( !this.isExpired(e, now) )
+                    {
+                        queue.add(e.getKey());
+                    }
+                }
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+
+        return queue;
+    }
+
+    // Return the list which holds the entry.
+    private final AccessOrder<K, V> listFor(final Entry<K, V> entry)
+    {
+        switch ( entry.getQueue() )
+        {
+            case BoundedCache.PROBATION:
+                return this.probation;
+
+            case BoundedCache.PROTECTED:
+                return this.protectedOrder;
+
+            default:
+                return this.window;
+        }
+    }
+
+    // Return the lists in the order their entries would be evicted. An array of a generic type cannot be created, so a wildcard array is cast.
+    @SuppressWarnings("unchecked")
+    private final AccessOrder<K, V>[] lists()
+    {
+        return (AccessOrder<K, V>[]) new AccessOrder<?, ?>[] { this.probation, this.protectedOrder, this.window };
+    }
+
+    // Run a load which this thread registered, store its value, and hand the value or failure to any threads waiting for it.
+    private final V load(final K key, final Function<? super K, ? extends V> loader, final CompletableFuture<V> load)
+    {
+        long start = this.currentTime();
+        V value = null;
+        int weight = 1;
+
+        try
+        {
+            value = loader.apply(key);
+
+            if ( value != null )
+            {
+                weight = this.weigh(key, value);
+            }
+        }
+        catch ( final RuntimeException | Error exception )
+        {
+            this.lock.lock();
+
+            try
+            {
+                this.loadFailureCount++;
+                this.totalLoadTime += ( this.currentTime() - start );
+
+                if ( this.loads.get(key) == load )
+                {
+                    this.loads.delete(key);
+                }
+            }
+            finally
+            {
+                this.lock.unlock();
+            }
+
+            load.completeExceptionally(exception);
+            throw exception;
+        }
+
+        this.lock.lock();
+
+        try
+        {
+            if ( value == null )
+            {
+                this.loadFailureCount++;
+            }
+            else
+            {
+                this.loadSuccessCount++;
+            }
+
+            this.totalLoadTime += ( this.currentTime() - start );
+
+            // A put, delete or clear during the load unregisters it, and the newer state wins over the loaded value.
+            if ( this.loads.get(key) == load )
+            {
+                this.loads.delete(key);
+
+                if ( value != null )
+                {
+                    this.insert(key, value, weight);
+                }
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+
+        load.complete(value);
+        return value;
+    }
+
+    // Return the unexpired entry for the key, or null if there is none, evicting it if it has expired. Nothing is counted in the statistics or the
+    // frequency sketch. The caller must hold the lock.
+    private final Entry<K, V> lookup(final K key, final long now)
+    {
+        Entry<K, V> e = this.index.get(key);
+
+        if ( ( e != null ) && this.isExpired(e, now) )
+        {
+            this.evict(e);
+            return null;
+        }
+
+        return e;
+    }
+
+    // Insert key-value pair into the cache.
+    public final void put(final K key, final V value)
+    {
+        if ( value == null )
+        {
+            this.delete(key);
+            return;
+        }
+
+        int weight = this.weigh(key, value);
+
+        this.lock.lock();
+
+        try
+        {
+            this.loads.delete(key);
+            this.insert(key, value, weight);
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    // Count one request for the key in the frequency sketch, if there is one. The caller must hold the lock.
+    private final void recordUse(final K key)
+    {
+        if ( this.sketch != null )
+        {
+            this.sketch.increment(key.hashCode());
+        }
+    }
+
+    // Reset the hit, miss, load, and eviction statistics.
+    public final void resetStatistics()
+    {
+        this.lock.lock();
+
+        try
+        {
+            this.evictionCount = 0;
+            this.hitCount = 0;
+            this.loadFailureCount = 0;
+            this.loadSuccessCount = 0;
+            this.missCount = 0;
+            this.totalLoadTime = 0;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    // Make entries expire the given time after they were last read or written, or never if the duration is zero.
+    public final void setExpireAfterAccess(final long duration, final TimeUnit unit)
+    {
+        if ( duration < 0 ) { throw new IllegalArgumentException("Duration cannot be negative: " + duration); }
+
+        this.lock.lock();
+
+        try
+        {
+            this.expireAfterAccess = unit.toNanos(duration);
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    // Make entries expire the given time after they were last written, or never if the duration is zero.
+    public final void setExpireAfterWrite(final long duration, final TimeUnit unit)
+    {
+        if ( duration < 0 ) { throw new IllegalArgumentException("Duration cannot be negative: " + duration); }
+
+        this.lock.lock();
+
+        try
+        {
+            this.expireAfterWrite = unit.toNanos(duration);
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    // Record a use of the entry: move it to the hot end of its list, and promote it to protected if it was on probation.
+    private final void touch(final Entry<K, V> entry)
+    {
+        if ( entry.getQueue() != BoundedCache.PROBATION )
+        {
+            this.listFor(entry).moveToLast(entry);
+            return;
+        }
+
+        this.probation.remove(entry);
+        entry.setQueue(BoundedCache.PROTECTED);
+        this.protectedOrder.addLast(entry);
+
+        // Protected entries which no longer fit go back on probation, at its hot end.
+        while ( ( this.protectedOrder.getWeight() > this.protectedMaximum ) && ( this.protectedOrder.getHead() != entry ) )
+        {
+            Entry<K, V> e = this.protectedOrder.getHead();
+            this.protectedOrder.remove(e);
+            e.setQueue(BoundedCache.PROBATION);
+            this.probation.addLast(e);
+        }
+    }
+
+    // Remove an entry from its list and the index. The caller must hold the lock.
+    private final void unlink(final Entry<K, V> entry)
+    {
+        this.listFor(entry).remove(entry);
+        this.index.delete(entry.getKey());
+        this.curWeight -= entry.getWeight();
+    }
+
+    // Return the weight of an entry.
+    private final int weigh(final K key, final V value)
+    {
+        if ( this.weigher == null ) { return 1; }
+
+        int retVal = this.weigher.applyAsInt(key, value);
+
+        if ( retVal < 0 ) { throw new IllegalArgumentException("Entry weight cannot be negative: " + retVal); }
+
+        return retVal;
+    }
+}
@@ -0,0 +1,502 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import org.junit.jupiter.api.Test;
+
+public class BoundedCacheTest
+{
+    /* This helper class is a cache whose clock only moves when the test moves it. */
+    private static final class ManualClockCache<K, V> extends BoundedCache<K, V>
+    {
+        private long now = 0; // Current time in nanoseconds.
+
+        public ManualClockCache(final long maximumWeight, final EvictionPolicy evictionPolicy, final ToIntBiFunction<? super K, ? super V> weigher)
+        {
+            super(maximumWeight, evictionPolicy, weigher);
+        }
+
+        public final void advance(final long duration, final TimeUnit unit)
+        {
+            this.now += unit.toNanos(duration);
+        }
+
+        @Override
+        protected long currentTime()
+        {
+            return this.now;
+        }
+    }
+
+    private static final int THREADS = 8; // Number of threads in each multi-threaded test.
+
+    // Wait for the latch inside a loader, which cannot throw a checked exception.
+    private static void await(final CountDownLatch latch)
+    {
+        try
+        {
+            if ( !latch.await(60, TimeUnit.SECONDS) ) { throw new IllegalStateException("Timed out waiting for the test."); }
+        }
+        catch ( final InterruptedException exception )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    // Ask for the same key on several threads at once while its loader is held until every thread is waiting for it, and return what each thread
+    // got: a value, or the exception it threw.
+    private static List<Object> loadTogether(final BoundedCache<Integer, Object> cache, final Function<Integer, Object> loader) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(BoundedCacheTest.THREADS);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<Future<Object>>();
+        List<Object> retVal = new ArrayList<Object>();
+
+        try
+        {
+            for ( int t = 0; t < BoundedCacheTest.THREADS; t++ )
+            {
+                futures.add(executor.submit(() -> cache.computeIfAbsent(42, k ->
+                {
+                    BoundedCacheTest.await(release);
+                    return loader.apply(k);
+                })));
+            }
+
+            // Every caller counts a miss before it starts or joins the load.
+            for ( long deadline = ( System.nanoTime() + TimeUnit.SECONDS.toNanos(60) ); cache.getMissCount() < BoundedCacheTest.THREADS; )
+            {
+                assertTrue(System.nanoTime() < deadline, "The callers never all reached the cache.");
+                Thread.sleep(1);
+            }
+
+            release.countDown();
+
+            for ( Future<Object> future : futures )
+            {
+                try
+                {
+                    retVal.add(future.get(60, TimeUnit.SECONDS));
+                }
+                catch ( final ExecutionException exception )
+                {
+                    retVal.add(exception.getCause());
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        return retVal;
+    }
+
+    // Start a load of the key on another thread, run the action while the loader is running, and return the value the load returned.
+    private static String raceLoad(final BoundedCache<String, String> cache, final String key, final Runnable action) throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try
+        {
+            Future<String> load = executor.submit(() -> cache.computeIfAbsent(key, k ->
+            {
+                started.countDown();
+                BoundedCacheTest.await(release);
+                return "loaded";
+            }));
+
+            started.await();
+            action.run();
+            release.countDown();
+            return load.get(60, TimeUnit.SECONDS);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testComputeIfAbsentCountsLoads()
+    {
+        ManualClockCache<String, String> cache = new ManualClockCache<String, String>(10, BoundedCache.EvictionPolicy.LRU, null);
+        AtomicInteger calls = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("The loader failed.");
+
+        // A loader which throws or returns null stores nothing, so the next call loads again.
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent("a", k ->
+        {
+            throw failure;
+        })));
+        assertNull(cache.computeIfAbsent("a", k -> null));
+        assertFalse(cache.contains("a"));
+
+        Function<String, String> loader = k ->
+        {
+            calls.incrementAndGet();
+            cache.advance(100, TimeUnit.NANOSECONDS);
+            return k.toUpperCase();
+        };
+
+        assertEquals("A", cache.computeIfAbsent("a", loader));
+        assertEquals("A", cache.computeIfAbsent("a", loader));
+        assertEquals(1, calls.get());
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(2, cache.getLoadFailureCount());
+        assertEquals(1, cache.getLoadSuccessCount());
+        assertEquals(( 100.0 / 3 ), cache.getAverageLoadTime(), 1e-9);
+        assertEquals(0.25, cache.getHitRate(), 1e-9);
+
+        cache.resetStatistics();
+
+        assertEquals(0, cache.getMissCount());
+        assertEquals(0.0, cache.getAverageLoadTime());
+        assertEquals(1.0, cache.getHitRate());
+    }
+
+    @Test
+    public void testConcurrentLoadsCollapse() throws Exception
+    {
+        BoundedCache<Integer, Object> cache = new BoundedCache<Integer, Object>(100, BoundedCache.EvictionPolicy.W_TINY_LFU);
+        AtomicInteger calls = new AtomicInteger();
+        List<Object> results = BoundedCacheTest.loadTogether(cache, k ->
+        {
+            calls.incrementAndGet();
+            return new Object();
+        });
+
+        // Only the first caller ran the loader, and every other caller got its value.
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getLoadSuccessCount());
+        assertSame(cache.get(42), results.get(0));
+
+        for ( Object result : results )
+        {
+            assertSame(results.get(0), result);
+        }
+
+        // A failure is handed to every waiting caller as well, and leaves nothing behind.
+        RuntimeException failure = new IllegalStateException("The loader failed.");
+
+        cache.clear();
+        cache.resetStatistics();
+        results = BoundedCacheTest.loadTogether(cache, k ->
+        {
+            calls.incrementAndGet();
+            throw failure;
+        });
+
+        assertEquals(2, calls.get());
+        assertEquals(1, cache.getLoadFailureCount());
+        assertFalse(cache.contains(42));
+
+        for ( Object result : results )
+        {
+            assertSame(failure, result);
+        }
+    }
+
+    @Test
+    public void testExpireAfterAccess()
+    {
+        ManualClockCache<String, String> cache = new ManualClockCache<String, String>(10, BoundedCache.EvictionPolicy.W_TINY_LFU, null);
+
+        cache.setExpireAfterAccess(10, TimeUnit.SECONDS);
+        cache.put("a", "A");
+        cache.put("b", "B");
+
+        // A read keeps an entry alive, but checking for it does not.
+        cache.advance(8, TimeUnit.SECONDS);
+        assertEquals("A", cache.get("a"));
+        assertTrue(cache.contains("b"));
+
+        cache.advance(8, TimeUnit.SECONDS);
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertEquals(Arrays.asList("a"), cache.keysList());
+
+        cache.advance(2, TimeUnit.SECONDS);
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.cleanUp();
+        assertTrue(cache.isEmpty());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testExpireAfterWrite()
+    {
+        ManualClockCache<String, String> cache = new ManualClockCache<String, String>(10, BoundedCache.EvictionPolicy.LRU, null);
+
+        cache.setExpireAfterWrite(10, TimeUnit.SECONDS);
+        cache.put("a", "A");
+        cache.advance(5, TimeUnit.SECONDS);
+        cache.put("b", "B");
+
+        // Reading an entry does not extend its life, but writing it again does.
+        cache.advance(4, TimeUnit.SECONDS);
+        assertEquals("A", cache.get("a"));
+        cache.put("b", "BB");
+
+        cache.advance(1, TimeUnit.SECONDS);
+        assertEquals(2, cache.getCurSize());
+        assertEquals(Arrays.asList("b"), cache.keysList());
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.advance(8, TimeUnit.SECONDS);
+        assertEquals("BB", cache.get("b"));
+
+        cache.advance(1, TimeUnit.SECONDS);
+        cache.cleanUp();
+        assertTrue(cache.isEmpty());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.setExpireAfterWrite(-1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFrequentCandidateIsAdmitted()
+    {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<Integer, Integer>(10, BoundedCache.EvictionPolicy.W_TINY_LFU);
+
+        for ( int key = 0; key < 10; key++ )
+        {
+            cache.put(key, key);
+        }
+
+        // Misses still count as requests, so key 100 arrives with a history which the entries on probation cannot match.
+        for ( int i = 0; i < 5; i++ )
+        {
+            assertNull(cache.get(100));
+        }
+
+        cache.put(100, 100);
+        assertFalse(cache.contains(9), "A candidate seen as often as the victim should be turned away.");
+        assertTrue(cache.contains(0));
+
+        cache.put(101, 101);
+        assertTrue(cache.contains(100));
+        assertFalse(cache.contains(0), "The victim should make way for a candidate seen more often.");
+        assertEquals(10, cache.getCurSize());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testLoadRacesWithWrites() throws Exception
+    {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(10, BoundedCache.EvictionPolicy.W_TINY_LFU);
+
+        // A put during the load wins over the loaded value, although the loader's caller still gets what it loaded.
+        assertEquals("loaded", BoundedCacheTest.raceLoad(cache, "a", () -> cache.put("a", "put")));
+        assertEquals("put", cache.get("a"));
+
+        // So do a delete and a clear, after which the next call loads again.
+        assertEquals("loaded", BoundedCacheTest.raceLoad(cache, "b", () -> cache.delete("b")));
+        assertFalse(cache.contains("b"));
+
+        cache.put("c", "C");
+        assertEquals("loaded", BoundedCacheTest.raceLoad(cache, "d", () -> cache.clear()));
+        assertTrue(cache.isEmpty());
+        assertEquals("again", cache.computeIfAbsent("d", k -> "again"));
+
+        assertEquals(4, cache.getLoadSuccessCount());
+        assertEquals(1, cache.getCurSize());
+    }
+
+    @Test
+    public void testLoaderRunsOncePerKey() throws Exception
+    {
+        final int keys = 2000;
+        BoundedCache<Integer, String> cache = new BoundedCache<Integer, String>(keys, BoundedCache.EvictionPolicy.W_TINY_LFU);
+        AtomicIntegerArray calls = new AtomicIntegerArray(keys);
+        ExecutorService executor = Executors.newFixedThreadPool(BoundedCacheTest.THREADS);
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+
+        for ( int t = 0; t < BoundedCacheTest.THREADS; t++ )
+        {
+            final int offset = ( t * 251 );
+
+            // Every thread asks for every key, starting from a different one, so that loads of the same key often overlap.
+            tasks.add(() ->
+            {
+                for ( int i = 0; i < keys; i++ )
+                {
+                    int key = ( ( i + offset ) % keys );
+
+                    assertEquals("v" + key, cache.computeIfAbsent(key, k ->
+                    {
+                        calls.incrementAndGet(k);
+                        return "v" + k;
+                    }));
+                }
+
+                return null;
+            });
+        }
+
+        try
+        {
+            for ( Future<Void> future : executor.invokeAll(tasks, 60, TimeUnit.SECONDS) )
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        for ( int key = 0; key < keys; key++ )
+        {
+            assertEquals(1, calls.get(key), "The loader ran " + calls.get(key) + " times for key " + key + ".");
+        }
+
+        assertEquals(keys, cache.getLoadSuccessCount());
+        assertEquals(( BoundedCacheTest.THREADS * keys ), ( cache.getHitCount() + cache.getMissCount() ));
+        assertEquals(keys, cache.getCurSize());
+    }
+
+    @Test
+    public void testLruEvictsLeastRecentlyUsed()
+    {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<Integer, Integer>(3, BoundedCache.EvictionPolicy.LRU);
+
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.get(1);
+        cache.put(4, 4);
+
+        assertEquals(Arrays.asList(3, 1, 4), cache.keysList());
+        assertEquals(1, cache.getEvictionCount());
+
+        // Checking for an entry is not a use of it.
+        cache.contains(3);
+        cache.put(5, 5);
+
+        assertEquals(Arrays.asList(1, 4, 5), cache.keysList());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<Integer, Integer>(0, BoundedCache.EvictionPolicy.LRU));
+    }
+
+    @Test
+    public void testProbationEntriesArePromoted()
+    {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<Integer, Integer>(10, BoundedCache.EvictionPolicy.W_TINY_LFU);
+
+        // The window holds one entry, so every other entry is on probation, which the keys list shows first.
+        for ( int key = 0; key < 10; key++ )
+        {
+            cache.put(key, key);
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), cache.keysList());
+
+        cache.get(3);
+        assertEquals(Arrays.asList(0, 1, 2, 4, 5, 6, 7, 8, 3, 9), cache.keysList());
+
+        // Seven entries may be protected, so promoting an eighth puts the one least recently used back on probation, at its hot end.
+        for ( int key : new int[] { 0, 1, 2, 4, 5, 6, 7 } )
+        {
+            cache.get(key);
+        }
+
+        assertEquals(Arrays.asList(8, 3, 0, 1, 2, 4, 5, 6, 7, 9), cache.keysList());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testTinyLfuKeepsFrequentKeys()
+    {
+        BoundedCache<Integer, Integer> tinyLfu = new BoundedCache<Integer, Integer>(100, BoundedCache.EvictionPolicy.W_TINY_LFU);
+        BoundedCache<Integer, Integer> lru = new BoundedCache<Integer, Integer>(100, BoundedCache.EvictionPolicy.LRU);
+
+        for ( BoundedCache<Integer, Integer> cache : Arrays.asList(tinyLfu, lru) )
+        {
+            for ( int key = 0; key < 100; key++ )
+            {
+                cache.put(key, key);
+            }
+
+            for ( int key = 0; key < 50; key++ )
+            {
+                cache.get(key);
+                cache.get(key);
+            }
+
+            // A scan of keys which are each used once.
+            for ( int key = 1000; key < 2000; key++ )
+            {
+                cache.put(key, key);
+            }
+
+            assertEquals(100, cache.getCurSize());
+            assertEquals(100, cache.getCurWeight());
+        }
+
+        for ( int key = 0; key < 50; key++ )
+        {
+            assertTrue(tinyLfu.contains(key), "Key " + key + " was flushed out by the scan.");
+            assertFalse(lru.contains(key));
+        }
+
+        assertEquals(1000, tinyLfu.getEvictionCount());
+        assertEquals(1000, lru.getEvictionCount());
+    }
+
+    @Test
+    public void testWeigher()
+    {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>(10, BoundedCache.EvictionPolicy.LRU, (k, v) -> v.length());
+
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        assertEquals(8, cache.getCurWeight());
+
+        cache.put("c", "ccc");
+        assertFalse(cache.contains("a"));
+        assertEquals(7, cache.getCurWeight());
+
+        // Replacing a value charges its new weight, and a value which could never fit is turned away along with the one it replaces.
+        cache.put("b", "b");
+        assertEquals(4, cache.getCurWeight());
+
+        cache.put("b", "bbbbbbbbbbb");
+        assertFalse(cache.contains("b"));
+        assertEquals(3, cache.getCurWeight());
+        assertEquals(2, cache.getEvictionCount());
+
+        cache.put("e", "");
+        assertEquals(Arrays.asList("c", "e"), cache.keysList());
+        assertEquals(3, cache.getCurWeight());
+
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, String>(10, BoundedCache.EvictionPolicy.LRU, (k, v) -> -1).put("a", "a"));
+    }
+}
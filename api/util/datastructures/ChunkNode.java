@@ -0,0 +1,115 @@
+/*
+ * Title: ChunkNode
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A minimalist generic node data structure which stores a small, densely packed array of raw data, for use in an UnrolledLinkedList.
+ */
+
+package api.util.datastructures;
+
+public class ChunkNode<T> extends Node
+{
+    private int            count = 0; // Number of elements in use; they always occupy the front of the array.
+    private final Object[] elements;
+
+    public ChunkNode(final int capacity, final Node next, final Node previous)
+    {
+        super(next, previous);
+        this.elements = new Object[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    public final T get(final int index)
+    {
+        return (T) this.elements[index];
+    }
+
+    public final int getCapacity()
+    {
+        return this.elements.length;
+    }
+
+    public final int getCount()
+    {
+        return this.count;
+    }
+
+    // Insert the data at the given index, shifting later elements up by one. The chunk must not be full.
+    public final void insert(final int index, final T data)
+    {
+        System.arraycopy(this.elements, index, this.elements, ( index + 1 ), ( this.count - index ));
+        this.elements[index] = data;
+        this.count++;
+    }
+
+    public final boolean isEmpty()
+    {
+        return ( this.count == 0 );
+    }
+
+    public final boolean isFull()
+    {
+        return ( this.count == this.elements.length );
+    }
+
+    // Move the elements from the given index onward to the end of another chunk, which must have room for them.
+    public final void moveTo(final int from, final ChunkNode<T> destination)
+    {
+        int length = ( this.count - from );
+        System.arraycopy(this.elements, from, destination.elements, destination.count, length);
+        destination.count += length;
+        this.truncate(from);
+    }
+
+    // Remove and return the data at the given index, shifting later elements down by one.
+    public final T remove(final int index)
+    {
+        T retVal = this.get(index);
+        System.arraycopy(this.elements, ( index + 1 ), this.elements, index, ( this.count - index - 1 ));
+        this.count--;
+        this.elements[this.count] = null;
+        return retVal;
+    }
+
+    public final void set(final int index, final T data)
+    {
+        this.elements[index] = data;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append("ChunkNode [count=");
+        builder.append(this.getCount());
+        builder.append(", capacity=");
+        builder.append(this.getCapacity());
+
+        if ( this.getNext() != null )
+        {
+            builder.append(", next=");
+            builder.append(this.getNext().hashCode());
+        }
+
+        if ( this.getPrevious() != null )
+        {
+            builder.append(", previous=");
+            builder.append(this.getPrevious().hashCode());
+        }
+
+        builder.append("]");
+        return builder.toString();
+    }
+
+    // Drop every element from the given index onward, clearing the slots so the garbage collector can reclaim them.
+    public final void truncate(final int newCount)
+    {
+        for ( int i = newCount; i < this.count; i++ )
+        {
+            this.elements[i] = null;
+        }
+
+        this.count = newCount;
+    }
+}
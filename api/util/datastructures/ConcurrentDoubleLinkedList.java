@@ -0,0 +1,503 @@
+/*
+ * Title: ConcurrentDoubleLinkedList
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A thread-safe generic double linked-list data structure which works as a lock-free deque, following Maged Michael's CAS-based deque algorithm.
+ *
+ * Both ends of the list are held in a single immutable anchor, which is replaced with one compare-and-set; an anchor also records whether a push
+ * has yet to be linked back from its neighbour, and any thread which sees such an anchor finishes the job before doing its own. The list may also
+ * be bounded, in which case pushes wait (or fail) while it is full and pops can wait while it is empty. The waiting is done with semaphores, whose
+ * uncontended paths are themselves a single compare-and-set, so threads only park when they actually have to wait.
+ *
+ * Traversal with DoubleLinkedListIterator (or a for-each loop) is weakly consistent: it never fails, and it sees every element which was in the
+ * list when it started and was not removed before being reached, but it may or may not see later changes. Modifying the list through
+ * DoubleLinkedListIterator is not supported.
+ */
+
+package api.util.datastructures;
+
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ConcurrentDoubleLinkedList<T> extends DoubleLinkedList<T> implements Iterable<T>
+{
+    /*
+     * This helper class represents both ends of the list, plus whether the last push still has to be linked back from its neighbour.
+     */
+    protected static final class Anchor
+    {
+        public static final int LEFT_PUSH  = 1;
+        public static final int RIGHT_PUSH = 2;
+        public static final int STABLE     = 0;
+
+        private final Node head;
+        private final int  status;
+        private final Node tail;
+
+        public Anchor(final Node head, final Node tail, final int status)
+        {
+            this.head = head;
+            this.tail = tail;
+            this.status = status;
+        }
+
+        public final Node getHead()
+        {
+            return this.head;
+        }
+
+        public final int getStatus()
+        {
+            return this.status;
+        }
+
+        public final Node getTail()
+        {
+            return this.tail;
+        }
+    }
+
+    private final AtomicReference<Anchor> anchor   = new AtomicReference<Anchor>(new Anchor(null, null, Anchor.STABLE));
+    private final int                     capacity;        // Maximum number of elements, or Integer.MAX_VALUE if the list is unbounded.
+    private final Semaphore               elements;        // One permit for every element which may be popped.
+    private final Semaphore               spaces;          // One permit for every free space, or null if the list is unbounded.
+
+    public ConcurrentDoubleLinkedList()
+    {
+        this(Integer.MAX_VALUE);
+    }
+
+    // Create a list which holds at most the given number of elements.
+    public ConcurrentDoubleLinkedList(final int capacity)
+    {
+        super();
+
+        if ( capacity <= 0 ) { throw new IllegalArgumentException("Capacity must be positive, but was " + capacity + "."); }
+
+        this.capacity = capacity;
+        this.elements = new Semaphore(0);
+        this.spaces = ( ( capacity == Integer.MAX_VALUE ) ? null : new Semaphore(capacity) );
+    }
+
+    @SafeVarargs
+    public ConcurrentDoubleLinkedList(final T... args)
+    {
+        this(Integer.MAX_VALUE);
+
+        for ( T arg : args )
+        {
+            this.insertTail(arg);
+        }
+    }
+
+    private static final void checkData(final Object data)
+    {
+        if ( data == null ) { throw new NullPointerException("A concurrent list cannot hold null data, since null means that the list is empty."); }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final <T> T dataOf(final Node node)
+    {
+        return ( (DataNode<T>) node ).getData();
+    }
+
+    // Remove every element, one at a time, so that concurrent operations always see a consistent list.
+    @Override
+    public void clear()
+    {
+        while ( this.deleteHead() != null )
+        {
+            // Keep popping.
+        }
+    }
+
+    // Remove and return the first element, or return null if the list is empty.
+    @Override
+    public T deleteHead()
+    {
+        if ( !this.elements.tryAcquire() ) { return null; }
+
+        return this.popped(this.popHead());
+    }
+
+    // Remove and return the last element, or return null if the list is empty.
+    @Override
+    public T deleteTail()
+    {
+        if ( !this.elements.tryAcquire() ) { return null; }
+
+        return this.popped(this.popTail());
+    }
+
+    public final int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    @Override
+    public Node getHead()
+    {
+        return this.anchor.get().getHead();
+    }
+
+    // Return a read-only iterator for weakly consistent traversal; its insertion and deletion methods throw UnsupportedOperationException.
+    @Override
+    public DoubleLinkedListIterator<T> getIterator()
+    {
+        return new DoubleLinkedListIterator<T>(this)
+        {
+            @Override
+            public T deleteCurrent()
+            {
+                throw new UnsupportedOperationException("A concurrent list can only be modified through its own methods.");
+            }
+
+            @Override
+            public void insertAfter(final T data)
+            {
+                throw new UnsupportedOperationException("A concurrent list can only be modified through its own methods.");
+            }
+
+            @Override
+            public void insertBefore(final T data)
+            {
+                throw new UnsupportedOperationException("A concurrent list can only be modified through its own methods.");
+            }
+        };
+    }
+
+    // Return the number of elements. While other threads are pushing and popping, this is only an estimate.
+    @Override
+    public int getSize()
+    {
+        return this.elements.availablePermits();
+    }
+
+    @Override
+    public Node getTail()
+    {
+        return this.anchor.get().getTail();
+    }
+
+    // Add the data to the front of the list, or throw an IllegalStateException if a bounded list is full.
+    @Override
+    public void insertHead(final T data)
+    {
+        if ( !this.offerHead(data) ) { throw new IllegalStateException("The list is full."); }
+    }
+
+    // Add the data to the end of the list, or throw an IllegalStateException if a bounded list is full.
+    @Override
+    public void insertTail(final T data)
+    {
+        if ( !this.offerTail(data) ) { throw new IllegalStateException("The list is full."); }
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return ( this.getHead() == null );
+    }
+
+    // Return a weakly consistent iterator which walks the elements from head to tail.
+    @Override
+    public Iterator<T> iterator()
+    {
+        final Anchor start = this.anchor.get();
+
+        return new Iterator<T>()
+        {
+            private Node next = start.getHead();
+
+            @Override
+            public boolean hasNext()
+            {
+                return ( this.next != null );
+            }
+
+            @Override
+            public T next()
+            {
+                if ( this.next == null ) { throw new NoSuchElementException(); }
+
+                Node current = this.next;
+                this.next = ( ( current == start.getTail() ) ? null : (Node) Node.NEXT.getVolatile(current) );
+                return ConcurrentDoubleLinkedList.dataOf(current);
+            }
+        };
+    }
+
+    // Add the data to the front of the list and return true, or return false if a bounded list is full.
+    public boolean offerHead(final T data)
+    {
+        ConcurrentDoubleLinkedList.checkData(data);
+
+        if ( ( this.spaces != null ) && !this.spaces.tryAcquire() ) { return false; }
+
+        this.pushHead(data);
+        this.elements.release();
+        return true;
+    }
+
+    // Add the data to the end of the list and return true, or return false if a bounded list is full.
+    public boolean offerTail(final T data)
+    {
+        ConcurrentDoubleLinkedList.checkData(data);
+
+        if ( ( this.spaces != null ) && !this.spaces.tryAcquire() ) { return false; }
+
+        this.pushTail(data);
+        this.elements.release();
+        return true;
+    }
+
+    // Pop the first node. The caller must already hold an element permit, so the list cannot be empty.
+    private Node popHead()
+    {
+        while ( true )
+        {
+            Anchor a = this.anchor.get();
+            Node head = a.getHead();
+
+            if ( head == a.getTail() )
+            {
+                if ( this.anchor.compareAndSet(a, new Anchor(null, null, Anchor.STABLE)) ) { return head; }
+            }
+            else if ( a.getStatus() == Anchor.STABLE )
+            {
+                Node next = (Node) Node.NEXT.getVolatile(head);
+
+                if ( this.anchor.compareAndSet(a, new Anchor(next, a.getTail(), Anchor.STABLE)) )
+                {
+                    // Cut the new head's link to the popped node, so that popped nodes do not stay reachable from the list.
+                    Node.PREVIOUS.compareAndSet(next, head, null);
+                    return head;
+                }
+            }
+            else
+            {
+                this.stabilize(a);
+            }
+        }
+    }
+
+    // Release the space taken by a popped node and return its data.
+    private T popped(final Node node)
+    {
+        if ( this.spaces != null )
+        {
+            this.spaces.release();
+        }
+
+        return ConcurrentDoubleLinkedList.dataOf(node);
+    }
+
+    // Pop the last node. The caller must already hold an element permit, so the list cannot be empty.
+    private Node popTail()
+    {
+        while ( true )
+        {
+            Anchor a = this.anchor.get();
+            Node tail = a.getTail();
+
+            if ( tail == a.getHead() )
+            {
+                if ( this.anchor.compareAndSet(a, new Anchor(null, null, Anchor.STABLE)) ) { return tail; }
+            }
+            else if ( a.getStatus() == Anchor.STABLE )
+            {
+                Node previous = (Node) Node.PREVIOUS.getVolatile(tail);
+
+                if ( this.anchor.compareAndSet(a, new Anchor(a.getHead(), previous, Anchor.STABLE)) )
+                {
+                    Node.NEXT.compareAndSet(previous, tail, null);
+                    return tail;
+                }
+            }
+            else
+            {
+                this.stabilize(a);
+            }
+        }
+    }
+
+    private void pushHead(final T data)
+    {
+        Node node = new DataNode<T>(data, null, null);
+
+        while ( true )
+        {
+            Anchor a = this.anchor.get();
+
+            if ( a.getHead() == null )
+            {
+                if ( this.anchor.compareAndSet(a, new Anchor(node, node, Anchor.STABLE)) ) { return; }
+            }
+            else if ( a.getStatus() == Anchor.STABLE )
+            {
+                Node.NEXT.setVolatile(node, a.getHead());
+                Anchor pushed = new Anchor(node, a.getTail(), Anchor.LEFT_PUSH);
+
+                if ( this.anchor.compareAndSet(a, pushed) )
+                {
+                    while ( this.anchor.get() == pushed )
+                    {
+                        this.stabilize(pushed);
+                    }
+
+                    return;
+                }
+            }
+            else
+            {
+                this.stabilize(a);
+            }
+        }
+    }
+
+    private void pushTail(final T data)
+    {
+        Node node = new DataNode<T>(data, null, null);
+
+        while ( true )
+        {
+            Anchor a = this.anchor.get();
+
+            if ( a.getTail() == null )
+            {
+                if ( this.anchor.compareAndSet(a, new Anchor(node, node, Anchor.STABLE)) ) { return; }
+            }
+            else if ( a.getStatus() == Anchor.STABLE )
+            {
+                Node.PREVIOUS.setVolatile(node, a.getTail());
+                Anchor pushed = new Anchor(a.getHead(), node, Anchor.RIGHT_PUSH);
+
+                if ( this.anchor.compareAndSet(a, pushed) )
+                {
+                    while ( this.anchor.get() == pushed )
+                    {
+                        this.stabilize(pushed);
+                    }
+
+                    return;
+                }
+            }
+            else
+            {
+                this.stabilize(a);
+            }
+        }
+    }
+
+    // Add the data to the front of the list, waiting for space if a bounded list is full.
+    public void putHead(final T data) throws InterruptedException
+    {
+        ConcurrentDoubleLinkedList.checkData(data);
+
+        if ( this.spaces != null )
+        {
+            this.spaces.acquire();
+        }
+
+        this.pushHead(data);
+        this.elements.release();
+    }
+
+    // Add the data to the end of the list, waiting for space if a bounded list is full.
+    public void putTail(final T data) throws InterruptedException
+    {
+        ConcurrentDoubleLinkedList.checkData(data);
+
+        if ( this.spaces != null )
+        {
+            this.spaces.acquire();
+        }
+
+        this.pushTail(data);
+        this.elements.release();
+    }
+
+    // Return the number of elements which can be added before a bounded list is full.
+    public int remainingCapacity()
+    {
+        if ( this.spaces == null ) { return Integer.MAX_VALUE; }
+
+        return this.spaces.availablePermits();
+    }
+
+    @Override
+    public void setHead(final Node head)
+    {
+        throw new UnsupportedOperationException("A concurrent list can only be modified through its own methods.");
+    }
+
+    @Override
+    public void setSize(final int size)
+    {
+        throw new UnsupportedOperationException("A concurrent list can only be modified through its own methods.");
+    }
+
+    @Override
+    public void setTail(final Node tail)
+    {
+        throw new UnsupportedOperationException("A concurrent list can only be modified through its own methods.");
+    }
+
+    // Link the node pushed under the given anchor back from its neighbour, then mark the anchor stable.
+    private void stabilize(final Anchor a)
+    {
+        boolean left = ( a.getStatus() == Anchor.LEFT_PUSH );
+        Node pushed = ( left ? a.getHead() : a.getTail() );
+        VarHandle link = ( left ? Node.PREVIOUS : Node.NEXT );
+        Node neighbour = (Node) ( left ? Node.NEXT : Node.PREVIOUS ).getVolatile(pushed);
+
+        if ( this.anchor.get() != a ) { return; }
+
+        Node current = (Node) link.getVolatile(neighbour);
+
+        if ( current != pushed )
+        {
+            if ( this.anchor.get() != a ) { return; }
+            if ( !link.compareAndSet(neighbour, current, pushed) ) { return; }
+        }
+
+        this.anchor.compareAndSet(a, new Anchor(a.getHead(), a.getTail(), Anchor.STABLE));
+    }
+
+    // Remove and return the first element, waiting for one to arrive if the list is empty.
+    public T takeHead() throws InterruptedException
+    {
+        this.elements.acquire();
+        return this.popped(this.popHead());
+    }
+
+    // Remove and return the last element, waiting for one to arrive if the list is empty.
+    public T takeTail() throws InterruptedException
+    {
+        this.elements.acquire();
+        return this.popped(this.popTail());
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder output = new StringBuilder();
+        Anchor a = this.anchor.get();
+
+        for ( Node node = a.getHead(); node != null; node = (Node) Node.NEXT.getVolatile(node) )
+        {
+            output.append(node.toString() + "\n");
+
+            if ( node == a.getTail() )
+            {
+                break;
+            }
+        }
+
+        return output.toString();
+    }
+}
@@ -0,0 +1,230 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentDoubleLinkedListTest
+{
+    private static final int ITEMS   = 50000; // Number of elements each producer adds.
+    private static final int THREADS = 4;     // Number of producers, and of consumers.
+
+    @Test
+    public void testBoundedOffers()
+    {
+        ConcurrentDoubleLinkedList<Integer> list = new ConcurrentDoubleLinkedList<Integer>(3);
+
+        assertTrue(list.offerTail(2));
+        assertTrue(list.offerHead(1));
+        assertTrue(list.offerTail(3));
+        assertFalse(list.offerTail(4));
+        assertFalse(list.offerHead(0));
+        assertEquals(0, list.remainingCapacity());
+        assertEquals(Integer.valueOf(1), list.deleteHead());
+        assertEquals(1, list.remainingCapacity());
+        assertTrue(list.offerHead(0));
+        assertEquals(Integer.valueOf(3), list.deleteTail());
+        assertEquals(Integer.valueOf(0), list.deleteHead());
+        assertEquals(Integer.valueOf(2), list.deleteHead());
+        assertNull(list.deleteHead());
+        assertNull(list.deleteTail());
+        assertTrue(list.isEmpty());
+        assertThrows(NullPointerException.class, () -> list.offerTail(null));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentDoubleLinkedList<Integer>(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBothEndsConserveElements() throws Exception
+    {
+        ConcurrentDoubleLinkedList<Integer> list = new ConcurrentDoubleLinkedList<Integer>();
+        ExecutorService executor = Executors.newFixedThreadPool(ConcurrentDoubleLinkedListTest.THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<Future<long[]>>();
+
+        try
+        {
+            for ( int t = 0; t < ConcurrentDoubleLinkedListTest.THREADS; t++ )
+            {
+                final int thread = t;
+
+                // Each thread pushes and pops at random ends, and returns the sum and count of what it pushed minus what it popped.
+                futures.add(executor.submit(() ->
+                {
+                    Random random = new Random(thread);
+                    long[] retVal = new long[2];
+
+                    start.await();
+
+                    for ( int i = 0; i < ConcurrentDoubleLinkedListTest.ITEMS; i++ )
+                    {
+                        int value = ( ( thread * ConcurrentDoubleLinkedListTest.ITEMS ) + i );
+                        Integer popped = null;
+
+                        switch ( random.nextInt(4) )
+                        {
+                            case 0:
+                                list.insertHead(value);
+                                retVal[0] += value;
+                                retVal[1]++;
+                                break;
+                            case 1:
+                                list.insertTail(value);
+                                retVal[0] += value;
+                                retVal[1]++;
+                                break;
+                            case 2:
+                                popped = list.deleteHead();
+                                break;
+                            default:
+                                popped = list.deleteTail();
+                                break;
+                        }
+
+                        if ( popped != null )
+                        {
+                            retVal[0] -= popped;
+                            retVal[1]--;
+                        }
+                    }
+
+                    return retVal;
+                }));
+            }
+
+            start.countDown();
+
+            long sum = 0;
+            long count = 0;
+
+            for ( Future<long[]> future : futures )
+            {
+                long[] result = future.get(60, TimeUnit.SECONDS);
+                sum += result[0];
+                count += result[1];
+            }
+
+            // Whatever was pushed and not popped must still be in the list, linked the same way in both directions.
+            List<Integer> forward = new ArrayList<Integer>();
+            List<Integer> backward = new ArrayList<Integer>();
+
+            for ( Integer data : list )
+            {
+                forward.add(data);
+                sum -= data;
+            }
+
+            for ( Node node = list.getTail(); node != null; node = node.getPrevious() )
+            {
+                backward.add(0, ( (DataNode<Integer>) node ).getData());
+            }
+
+            assertEquals(0, sum);
+            assertEquals(count, forward.size());
+            assertEquals(count, list.getSize());
+            assertEquals(forward, backward);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testProducersAndConsumers() throws Exception
+    {
+        final int total = ( ConcurrentDoubleLinkedListTest.THREADS * ConcurrentDoubleLinkedListTest.ITEMS );
+        ConcurrentDoubleLinkedList<Integer> list = new ConcurrentDoubleLinkedList<Integer>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(2 * ConcurrentDoubleLinkedListTest.THREADS);
+        AtomicInteger claimed = new AtomicInteger();
+        List<Future<?>> producers = new ArrayList<Future<?>>();
+        List<Future<int[]>> consumers = new ArrayList<Future<int[]>>();
+
+        try
+        {
+            for ( int t = 0; t < ConcurrentDoubleLinkedListTest.THREADS; t++ )
+            {
+                final int producer = t;
+
+                producers.add(executor.submit(() ->
+                {
+                    for ( int i = 0; i < ConcurrentDoubleLinkedListTest.ITEMS; i++ )
+                    {
+                        list.putTail(( producer * ConcurrentDoubleLinkedListTest.ITEMS ) + i);
+                    }
+
+                    return null;
+                }));
+            }
+
+            for ( int t = 0; t < ConcurrentDoubleLinkedListTest.THREADS; t++ )
+            {
+                // Each consumer takes elements until every element has been claimed, and returns how many times it took each one.
+                consumers.add(executor.submit(() ->
+                {
+                    int[] retVal = new int[total];
+                    int[] last = new int[ConcurrentDoubleLinkedListTest.THREADS];
+
+                    Arrays.fill(last, -1);
+
+                    while ( claimed.getAndIncrement() < total )
+                    {
+                        int value = list.takeHead();
+                        int producer = ( value / ConcurrentDoubleLinkedListTest.ITEMS );
+
+                        // The list is first in, first out, so one producer's elements reach any one consumer in the order they were added.
+                        if ( value <= last[producer] ) { throw new AssertionError("Took " + value + " after " + last[producer] + "."); }
+
+                        last[producer] = value;
+                        retVal[value]++;
+                    }
+
+                    return retVal;
+                }));
+            }
+
+            for ( Future<?> future : producers )
+            {
+                future.get(60, TimeUnit.SECONDS);
+            }
+
+            int[] taken = new int[total];
+
+            for ( Future<int[]> future : consumers )
+            {
+                int[] result = future.get(60, TimeUnit.SECONDS);
+
+                for ( int i = 0; i < total; i++ )
+                {
+                    taken[i] += result[i];
+                }
+            }
+
+            for ( int i = 0; i < total; i++ )
+            {
+                assertEquals(1, taken[i], "Element " + i + " was taken " + taken[i] + " times.");
+            }
+
+            assertTrue(list.isEmpty());
+            assertEquals(0, list.getSize());
+            assertEquals(64, list.remainingCapacity());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
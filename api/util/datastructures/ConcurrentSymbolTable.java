@@ -0,0 +1,404 @@
+/*
+ * Title: ConcurrentSymbolTable
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A thread-safe generic hash table data structure which uses lock-striped separate chaining.
+ *
+ * The table is split into segments, each guarded by its own lock and holding its own array of chains. Writers lock only the segment which owns the
+ * key. Readers never lock: chain nodes are immutable apart from their volatile values, and each segment publishes its chain array through volatile
+ * writes. A segment resizes by building a fresh chain array under its lock while readers keep traversing the old one.
+ */
+
+package api.util.datastructures;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+public class ConcurrentSymbolTable<K, V>
+{
+    /*
+     * This helper class represents a single key-value pair in a chain. Only the value may change after construction.
+     */
+    protected static final class Entry<K, V>
+    {
+        private final int         hash;
+        private final K           key;
+        private final Entry<K, V> next;
+        private volatile V        value;
+
+        public Entry(final int hash, final K key, final V value, final Entry<K, V> next)
+        {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        public final int getHash()
+        {
+            return this.hash;
+        }
+
+        public final K getKey()
+        {
+            return this.key;
+        }
+
+        public final Entry<K, V> getNext()
+        {
+            return this.next;
+        }
+
+        public final V getValue()
+        {
+            return this.value;
+        }
+
+        public final void setValue(final V value)
+        {
+            this.value = value;
+        }
+    }
+
+    /*
+     * This helper class represents an independently locked portion of the table.
+     */
+    protected static final class Segment<K, V> extends ReentrantLock
+    {
+        private static final long serialVersionUID = 1L;
+
+        private volatile int                               count = 0;    // Number of key-value pairs in this segment.
+        private volatile AtomicReferenceArray<Entry<K, V>> table = null; // Array of chains in this segment.
+
+        public Segment(final int chains)
+        {
+            this.setTable(new AtomicReferenceArray<Entry<K, V>>(chains));
+        }
+
+        public final V computeIfAbsent(final int hash, final K key, final Function<? super K, ? extends V> mappingFunction)
+        {
+            this.lock();
+
+            try
+            {
+                Entry<K, V> e = this.find(hash, key);
+
+                if ( e != null ) { return e.getValue(); }
+
+                V value = mappingFunction.apply(key);
+
+                if ( value != null )
+                {
+                    this.insert(hash, key, value);
+                }
+
+                return value;
+            }
+            finally
+            {
+                this.unlock();
+            }
+        }
+
+        public final boolean delete(final int hash, final K key)
+        {
+            this.lock();
+
+            try
+            {
+                AtomicReferenceArray<Entry<K, V>> tab = this.getTable();
+                int i = ( hash & ( tab.length() - 1 ) );
+                Entry<K, V> first = tab.get(i);
+                Entry<K, V> e = first;
+
+                while ( ( e != null ) && ( ( e.getHash() != hash ) || !key.equals(e.getKey()) ) )
+                {
+                    e = e.getNext();
+                }
+
+                if ( e == null ) { return false; }
+
+                // Links are final, so copy the nodes in front of the removed one onto the tail which follows it.
+                Entry<K, V> newFirst = e.getNext();
+
+                for ( Entry<K, V> p = first; p != e; p = p.getNext() )
+                {
+                    newFirst = new Entry<K, V>(p.getHash(), p.getKey(), p.getValue(), newFirst);
+                }
+
+                tab.set(i, newFirst);
+                this.setCount(this.getCount() - 1);
+                return true;
+            }
+            finally
+            {
+                this.unlock();
+            }
+        }
+
+        public final Entry<K, V> find(final int hash, final K key)
+        {
+            AtomicReferenceArray<Entry<K, V>> tab = this.getTable();
+
+            for ( Entry<K, V> e = tab.get(hash & ( tab.length() - 1 )); e != null; e = e.getNext() )
+            {
+                if ( ( e.getHash() == hash ) && key.equals(e.getKey()) ) { return e; }
+            }
+
+            return null;
+        }
+
+        public final int getCount()
+        {
+            return this.count;
+        }
+
+        public final AtomicReferenceArray<Entry<K, V>> getTable()
+        {
+            return this.table;
+        }
+
+        // Add a key which is known to be absent. The caller must hold the lock.
+        private final void insert(final int hash, final K key, final V value)
+        {
+            AtomicReferenceArray<Entry<K, V>> tab = this.getTable();
+
+            // Grow once the average chain length reaches 3/4.
+            if ( ( this.getCount() + 1 ) > ( ( tab.length() >> 2 ) * 3 ) )
+            {
+                tab = this.resize();
+            }
+
+            int i = ( hash & ( tab.length() - 1 ) );
+            tab.set(i, new Entry<K, V>(hash, key, value, tab.get(i)));
+            this.setCount(this.getCount() + 1);
+        }
+
+        public final V put(final int hash, final K key, final V value, final boolean onlyIfAbsent)
+        {
+            this.lock();
+
+            try
+            {
+                Entry<K, V> e = this.find(hash, key);
+
+                if ( e != null )
+                {
+                    V oldValue = e.getValue();
+
+                    if ( !onlyIfAbsent )
+                    {
+                        e.setValue(value);
+                    }
+
+                    return oldValue;
+                }
+
+                this.insert(hash, key, value);
+                return null;
+            }
+            finally
+            {
+                this.unlock();
+            }
+        }
+
+        // Double the number of chains. Readers holding the old array still see every key, because old nodes are never relinked.
+        private final AtomicReferenceArray<Entry<K, V>> resize()
+        {
+            AtomicReferenceArray<Entry<K, V>> oldTab = this.getTable();
+            AtomicReferenceArray<Entry<K, V>> newTab = new AtomicReferenceArray<Entry<K, V>>(oldTab.length() << 1);
+            int newMask = ( newTab.length() - 1 );
+
+            for ( int i = 0; i < oldTab.length(); i++ )
+            {
+                for ( Entry<K, V> e = oldTab.get(i); e != null; e = e.getNext() )
+                {
+                    int j = ( e.getHash() & newMask );
+                    newTab.set(j, new Entry<K, V>(e.getHash(), e.getKey(), e.getValue(), newTab.get(j)));
+                }
+            }
+
+            this.setTable(newTab);
+            return newTab;
+        }
+
+        protected final void setCount(final int count)
+        {
+            this.count = count;
+        }
+
+        protected final void setTable(final AtomicReferenceArray<Entry<K, V>> table)
+        {
+            this.table = table;
+        }
+    }
+
+    public static final int DEFAULT_CAPACITY          = 16;
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    // Round up to the nearest power of two.
+    private static final int ceilingPowerOfTwo(final int n)
+    {
+        int retVal = 1;
+
+        while ( retVal < n )
+        {
+            retVal <<= 1;
+        }
+
+        return retVal;
+    }
+
+    // Mix every bit of a hash code into every other, and clear the sign bit. The high bits select the segment and the low bits the chain, so both
+    // must depend on the whole hash code; small integers and similar strings would otherwise all fall into one segment.
+    private static final int spread(final int h)
+    {
+        return ( HashStrategy.Murmur3.mix(h) & 0x7FFFFFFF );
+    }
+
+    private Segment<K, V>[] segments     = null; // Internal array of independently locked segments.
+    private int             segmentShift = 0;    // Shift which selects the segment index from the high bits of a hash.
+
+    // Create concurrent hash table with the default capacity and concurrency level.
+    public ConcurrentSymbolTable()
+    {
+        this(ConcurrentSymbolTable.DEFAULT_CAPACITY, ConcurrentSymbolTable.DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    // Create concurrent hash table with a specific initial capacity and number of lock stripes.
+    @SuppressWarnings("unchecked")
+    public ConcurrentSymbolTable(final int capacity, final int concurrencyLevel)
+    {
+        if ( ( capacity < 0 ) || ( concurrencyLevel <= 0 ) ) { throw new IllegalArgumentException("Capacity must be non-negative and concurrency level must be positive."); }
+
+        int segmentCount = ConcurrentSymbolTable.ceilingPowerOfTwo(Math.min(concurrencyLevel, ( 1 << 16 )));
+        int chains = ConcurrentSymbolTable.ceilingPowerOfTwo(Math.max(( capacity / segmentCount ), 2));
+
+        this.segmentShift = ( 31 - Integer.numberOfTrailingZeros(segmentCount) );
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+
+        for ( int i = 0; i < segmentCount; i++ )
+        {
+            this.segments[i] = new Segment<K, V>(chains);
+        }
+    }
+
+    // Return the current value for the key, or compute, store and return a new value if the key is absent.
+    // The mapping function runs at most once per absent key, while the segment owning the key is locked.
+    public final V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction)
+    {
+        int h = ConcurrentSymbolTable.spread(key.hashCode());
+        Entry<K, V> e = this.segmentFor(h).find(h, key);
+
+        if ( e != null ) { return e.getValue(); }
+
+        return this.segmentFor(h).computeIfAbsent(h, key, mappingFunction);
+    }
+
+    // Is the key in the symbol table?
+    public final boolean contains(final K key)
+    {
+        return ( this.get(key) != null );
+    }
+
+    // Delete key (and associated value) if key is in the table.
+    public final void delete(final K key)
+    {
+        int h = ConcurrentSymbolTable.spread(key.hashCode());
+        this.segmentFor(h).delete(h, key);
+    }
+
+    // Return value associated with key, null if no such key. Never blocks.
+    public final V get(final K key)
+    {
+        int h = ConcurrentSymbolTable.spread(key.hashCode());
+        Entry<K, V> e = this.segmentFor(h).find(h, key);
+
+        if ( e == null ) { return null; }
+
+        return e.getValue();
+    }
+
+    // Return the current size of the symbol table. This is only a snapshot while other threads are writing.
+    public final long getCurSize()
+    {
+        long retVal = 0;
+
+        for ( Segment<K, V> segment : this.segments )
+        {
+            retVal += segment.getCount();
+        }
+
+        return retVal;
+    }
+
+    // Is the symbol table empty?
+    public final boolean isEmpty()
+    {
+        return ( this.getCurSize() == 0 );
+    }
+
+    // Return keys in symbol table as an Iterable.
+    public final Iterable<K> keysIterable()
+    {
+        return this.keysList();
+    }
+
+    // Return keys in symbol table as a list. The list is weakly consistent: it reflects each segment as it was when that segment was visited.
+    public final List<K> keysList()
+    {
+        List<K> queue = new LinkedList<K>();
+
+        for ( Segment<K, V> segment : this.segments )
+        {
+            AtomicReferenceArray<Entry<K, V>> tab = segment.getTable();
+
+            for ( int i = 0; i < tab.length(); i++ )
+            {
+                for ( Entry<K, V> e = tab.get(i); e != null; e = e.getNext() )
+                {
+                    queue.add(e.getKey());
+                }
+            }
+        }
+
+        return queue;
+    }
+
+    // Insert key-value pair into the table.
+    public final void put(final K key, final V value)
+    {
+        if ( value == null )
+        {
+            this.delete(key);
+            return;
+        }
+
+        int h = ConcurrentSymbolTable.spread(key.hashCode());
+        this.segmentFor(h).put(h, key, value, false);
+    }
+
+    // Insert key-value pair into the table only if the key is absent. Return the existing value, or null if the pair was inserted.
+    public final V putIfAbsent(final K key, final V value)
+    {
+        if ( value == null ) { throw new NullPointerException("Symbol table values cannot be null."); }
+
+        int h = ConcurrentSymbolTable.spread(key.hashCode());
+        Entry<K, V> e = this.segmentFor(h).find(h, key);
+
+        if ( e != null ) { return e.getValue(); }
+
+        return this.segmentFor(h).put(h, key, value, true);
+    }
+
+    // Return the segment which owns the given spread hash.
+    protected final Segment<K, V> segmentFor(final int hash)
+    {
+        return this.segments[( hash >>> this.segmentShift ) & ( this.segments.length - 1 )];
+    }
+}
@@ -0,0 +1,308 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentSymbolTableTest
+{
+    private static final int KEYS    = 20000; // Number of keys each thread works on.
+    private static final int THREADS = 8;     // Number of threads in each test.
+
+    // Check that every segment of the table holds some of its keys, and return how many each one holds. The segment is chosen by the high bits of
+    // the spread hash code, so stepping through them finds every segment.
+    private static int[] checkSegments(final ConcurrentSymbolTable<?, ?> table)
+    {
+        LinkedHashSet<ConcurrentSymbolTable.Segment<?, ?>> segments = new LinkedHashSet<ConcurrentSymbolTable.Segment<?, ?>>();
+
+        for ( int i = 0; i < 32768; i++ )
+        {
+            segments.add(table.segmentFor(i << 16));
+        }
+
+        int[] retVal = new int[segments.size()];
+        int index = 0;
+
+        for ( ConcurrentSymbolTable.Segment<?, ?> segment : segments )
+        {
+            retVal[index] = segment.getCount();
+            assertTrue(retVal[index] > 0, "Segment " + index + " of " + segments.size() + " holds no keys.");
+            index++;
+        }
+
+        return retVal;
+    }
+
+    // Run every task at once on its own thread and return their results, in order.
+    private static <R> List<R> runAll(final List<Callable<R>> tasks) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        List<R> retVal = new ArrayList<R>();
+
+        try
+        {
+            for ( Future<R> future : executor.invokeAll(tasks, 60, TimeUnit.SECONDS) )
+            {
+                retVal.add(future.get());
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        return retVal;
+    }
+
+    @Test
+    public void testComputeIfAbsentRunsOnce() throws Exception
+    {
+        ConcurrentSymbolTable<String, Object> table = new ConcurrentSymbolTable<String, Object>();
+        AtomicIntegerArray calls = new AtomicIntegerArray(ConcurrentSymbolTableTest.KEYS);
+        List<Callable<Object[]>> tasks = new ArrayList<Callable<Object[]>>();
+
+        for ( int t = 0; t < ConcurrentSymbolTableTest.THREADS; t++ )
+        {
+            // Every thread asks for the same keys, and returns the value it got for each.
+            tasks.add(() ->
+            {
+                Object[] retVal = new Object[ConcurrentSymbolTableTest.KEYS];
+
+                for ( int key = 0; key < ConcurrentSymbolTableTest.KEYS; key++ )
+                {
+                    retVal[key] = table.computeIfAbsent("k" + key, k ->
+                    {
+                        calls.incrementAndGet(Integer.parseInt(k.substring(1)));
+                        return new Object();
+                    });
+                }
+
+                return retVal;
+            });
+        }
+
+        List<Object[]> results = ConcurrentSymbolTableTest.runAll(tasks);
+
+        for ( int key = 0; key < ConcurrentSymbolTableTest.KEYS; key++ )
+        {
+            assertEquals(1, calls.get(key), "The mapping function ran " + calls.get(key) + " times for key " + key + ".");
+
+            for ( Object[] result : results )
+            {
+                assertSame(table.get("k" + key), result[key]);
+            }
+        }
+
+        assertEquals(ConcurrentSymbolTableTest.KEYS, table.getCurSize());
+        ConcurrentSymbolTableTest.checkSegments(table);
+    }
+
+    @Test
+    public void testPutIfAbsentHasOneWinner() throws Exception
+    {
+        ConcurrentSymbolTable<Integer, Integer> table = new ConcurrentSymbolTable<Integer, Integer>(2, 4);
+        List<Callable<Integer[]>> tasks = new ArrayList<Callable<Integer[]>>();
+
+        for ( int t = 0; t < ConcurrentSymbolTableTest.THREADS; t++ )
+        {
+            final int thread = t;
+
+            // Every thread offers its own number for the same keys, and returns what was already there for each.
+            tasks.add(() ->
+            {
+                Integer[] retVal = new Integer[ConcurrentSymbolTableTest.KEYS];
+
+                for ( int key = 0; key < ConcurrentSymbolTableTest.KEYS; key++ )
+                {
+                    retVal[key] = table.putIfAbsent(key, thread);
+                }
+
+                return retVal;
+            });
+        }
+
+        List<Integer[]> results = ConcurrentSymbolTableTest.runAll(tasks);
+
+        for ( int key = 0; key < ConcurrentSymbolTableTest.KEYS; key++ )
+        {
+            Integer winner = table.get(key);
+            int wins = 0;
+
+            for ( int t = 0; t < results.size(); t++ )
+            {
+                if ( results.get(t)[key] == null )
+                {
+                    assertEquals(Integer.valueOf(t), winner);
+                    wins++;
+                }
+                else
+                {
+                    assertEquals(winner, results.get(t)[key]);
+                }
+            }
+
+            assertEquals(1, wins, "Key " + key + " was inserted " + wins + " times.");
+        }
+
+        ConcurrentSymbolTableTest.checkSegments(table);
+    }
+
+    @Test
+    public void testKeysSpreadOverSegments()
+    {
+        ConcurrentSymbolTable<Integer, Integer> integers = new ConcurrentSymbolTable<Integer, Integer>();
+        ConcurrentSymbolTable<String, Integer> strings = new ConcurrentSymbolTable<String, Integer>();
+
+        // Small integers differ only in their low bits, and strings with a common prefix in only a few bits, yet both must use every segment evenly.
+        for ( int key = 0; key < ConcurrentSymbolTableTest.KEYS; key++ )
+        {
+            integers.put(key, key);
+            strings.put("k" + key, key);
+        }
+
+        for ( int[] counts : new int[][] { ConcurrentSymbolTableTest.checkSegments(integers), ConcurrentSymbolTableTest.checkSegments(strings) } )
+        {
+            int mean = ( ConcurrentSymbolTableTest.KEYS / counts.length );
+
+            assertEquals(16, counts.length);
+
+            for ( int count : counts )
+            {
+                assertTrue(( count > ( mean / 2 ) ) && ( count < ( mean * 2 ) ), "A segment holds " + count + " keys where " + mean + " were expected.");
+            }
+        }
+    }
+
+    @Test
+    public void testRandomOperations()
+    {
+        Random random = new Random(42);
+        ConcurrentSymbolTable<Integer, Integer> table = new ConcurrentSymbolTable<Integer, Integer>(2, 2);
+        Map<Integer, Integer> model = new HashMap<Integer, Integer>();
+
+        for ( int step = 0; step < 200000; step++ )
+        {
+            // Half the keys differ only in their high bits and half only in their low bits.
+            Integer key = ( random.nextBoolean() ? ( random.nextInt(2500) << 16 ) : ( random.nextInt(2500) - 1250 ) );
+
+            switch ( random.nextInt(4) )
+            {
+                case 0:
+                    table.put(key, step);
+                    model.put(key, step);
+                    break;
+                case 1:
+                    table.delete(key);
+                    model.remove(key);
+                    break;
+                case 2:
+                    assertEquals(model.putIfAbsent(key, step), table.putIfAbsent(key, step));
+                    break;
+                default:
+                    assertEquals(model.get(key), table.get(key), "Wrong value for key " + key + " at step " + step + ".");
+                    break;
+            }
+        }
+
+        assertEquals(model.size(), table.getCurSize());
+        assertEquals(model.keySet(), new HashSet<Integer>(table.keysList()));
+
+        table.put(-1, 1);
+        table.put(-1, null);
+
+        assertNull(table.get(-1));
+    }
+
+    @Test
+    public void testReadersDuringResize() throws Exception
+    {
+        final int writers = ( ConcurrentSymbolTableTest.THREADS / 2 );
+        ConcurrentSymbolTable<Integer, Integer> table = new ConcurrentSymbolTable<Integer, Integer>(2, 4);
+        CountDownLatch writing = new CountDownLatch(writers);
+        List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+
+        // Keys below zero are present throughout, so a reader must always find them, even while their segment is resizing.
+        for ( int key = 1; key <= 1000; key++ )
+        {
+            table.put(-key, key);
+        }
+
+        for ( int t = 0; t < writers; t++ )
+        {
+            final int from = ( t * ConcurrentSymbolTableTest.KEYS );
+
+            // Each writer fills its own range of keys, which makes the segments resize, and then deletes every even key.
+            tasks.add(() ->
+            {
+                try
+                {
+                    for ( int key = from; key < ( from + ConcurrentSymbolTableTest.KEYS ); key++ )
+                    {
+                        table.put(key, key);
+                    }
+
+                    for ( int key = from; key < ( from + ConcurrentSymbolTableTest.KEYS ); key += 2 )
+                    {
+                        table.delete(key);
+                    }
+                }
+                finally
+                {
+                    writing.countDown();
+                }
+
+                return 0L;
+            });
+        }
+
+        for ( int t = 0; t < ( ConcurrentSymbolTableTest.THREADS - writers ); t++ )
+        {
+            final Random random = new Random(t);
+
+            // Each reader looks up the permanent keys until every writer is done, and returns how many lookups it made.
+            tasks.add(() ->
+            {
+                long retVal = 0;
+
+                while ( writing.getCount() > 0 )
+                {
+                    int key = ( 1 + random.nextInt(1000) );
+
+                    if ( !Integer.valueOf(key).equals(table.get(-key)) ) { throw new AssertionError("Key " + -key + " went missing."); }
+
+                    retVal++;
+                }
+
+                return retVal;
+            });
+        }
+
+        ConcurrentSymbolTableTest.runAll(tasks);
+        ConcurrentSymbolTableTest.checkSegments(table);
+
+        assertEquals(( 1000 + ( writers * ( ConcurrentSymbolTableTest.KEYS / 2 ) ) ), table.getCurSize());
+
+        for ( int key = 0; key < ( writers * ConcurrentSymbolTableTest.KEYS ); key++ )
+        {
+            assertEquals(( ( ( key % 2 ) == 0 ) ? null : Integer.valueOf(key) ), table.get(key));
+        }
+
+        assertTrue(table.contains(-1000));
+    }
+}
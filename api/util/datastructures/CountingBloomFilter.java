@@ -0,0 +1,121 @@
+/*
+ * Title: CountingBloomFilter
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A probabilistic set which answers "definitely absent" or "possibly present" using far less memory than the set itself. Each element sets a
+ * handful of counters chosen by its hash code; an element whose counters are not all set was never added. Keeping a 4-bit counter instead of a
+ * single bit per position lets elements be removed as well as added, which a symbol table needs when keys are deleted.
+ *
+ * The counter positions come from two hashes of hashCode() combined by double hashing, so each lookup calls hashCode() once. A counter which
+ * reaches its maximum stays there, so an overflow can only make the filter less precise, never cause it to forget an element.
+ */
+
+package api.util.datastructures;
+
+public class CountingBloomFilter<T>
+{
+    private final long           capacity;  // Number of elements the filter was sized for.
+    private long                 count = 0; // Number of elements added and not removed.
+    private final PackedCounters counters;  // Counters set by the elements.
+    private final int            hashCount; // Number of counters set by each element.
+
+    // Create a filter which keeps the false positive rate near the given value as long as it holds no more than the given number of elements.
+    public CountingBloomFilter(final long capacity, final double falsePositiveRate)
+    {
+        if ( capacity < 1 ) { throw new IllegalArgumentException("Capacity must be positive: " + capacity); }
+        if ( ( falsePositiveRate <= 0.0 ) || ( falsePositiveRate >= 1.0 ) || Double.isNaN(falsePositiveRate) ) { throw new IllegalArgumentException("False positive rate must be between 0 and 1 exclusive: " + falsePositiveRate); }
+
+        // The classic optimum is m = -n ln(p) / ln(2)^2 counters and k = (m / n) ln(2) hashes; m is rounded up to a power of two for masking.
+        double optimal = Math.ceil(( -capacity * Math.log(falsePositiveRate) ) / ( Math.log(2) * Math.log(2) ));
+        int size = 64;
+
+        while ( ( size < optimal ) && ( size < ( 1 << 30 ) ) )
+        {
+            size <<= 1;
+        }
+
+        this.capacity = capacity;
+        this.counters = new PackedCounters(size);
+        this.hashCount = Math.max(1, Math.min(16, (int) Math.round(( (double) size / capacity ) * Math.log(2))));
+    }
+
+    // Add an element.
+    public void add(final T element)
+    {
+        int h1 = PackedCounters.hash1(element.hashCode());
+        int h2 = PackedCounters.hash2(h1);
+
+        for ( int i = 0; i < this.hashCount; i++ )
+        {
+            this.counters.increment(this.counters.indexOf(h1, h2, i));
+        }
+
+        this.count++;
+    }
+
+    // Remove every element.
+    public void clear()
+    {
+        this.counters.clear();
+        this.count = 0;
+    }
+
+    // Return the number of elements the filter was sized for.
+    public final long getCapacity()
+    {
+        return this.capacity;
+    }
+
+    // Return the number of elements added and not removed.
+    public final long getCount()
+    {
+        return this.count;
+    }
+
+    // Return the false positive rate expected for the number of elements currently in the filter: (1 - e^(-kn/m))^k.
+    public final double getExpectedFalsePositiveRate()
+    {
+        return Math.pow(1.0 - Math.exp(( -this.hashCount * (double) this.count ) / this.getSize()), this.hashCount);
+    }
+
+    // Return the number of counters set by each element.
+    public final int getHashCount()
+    {
+        return this.hashCount;
+    }
+
+    // Return the number of counters.
+    public final int getSize()
+    {
+        return this.counters.size();
+    }
+
+    // Return false if the element is definitely absent, or true if it may be present.
+    public boolean mightContain(final T element)
+    {
+        int h1 = PackedCounters.hash1(element.hashCode());
+        int h2 = PackedCounters.hash2(h1);
+
+        for ( int i = 0; i < this.hashCount; i++ )
+        {
+            if ( this.counters.get(this.counters.indexOf(h1, h2, i)) == 0 ) { return false; }
+        }
+
+        return true;
+    }
+
+    // Remove an element which was added earlier. Removing an element which was never added corrupts the filter.
+    public void remove(final T element)
+    {
+        int h1 = PackedCounters.hash1(element.hashCode());
+        int h2 = PackedCounters.hash2(h1);
+
+        for ( int i = 0; i < this.hashCount; i++ )
+        {
+            this.counters.decrement(this.counters.indexOf(h1, h2, i));
+        }
+
+        this.count--;
+    }
+}
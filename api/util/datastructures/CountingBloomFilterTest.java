@@ -0,0 +1,127 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class CountingBloomFilterTest
+{
+    @Test
+    public void testFalsePositiveRate()
+    {
+        for ( double rate : new double[] { 0.1, 0.01, 0.001 } )
+        {
+            CountingBloomFilter<String> filter = new CountingBloomFilter<String>(10000, rate);
+            int falsePositives = 0;
+
+            for ( int i = 0; i < 10000; i++ )
+            {
+                filter.add("in" + i);
+            }
+
+            for ( int i = 0; i < 200000; i++ )
+            {
+                if ( filter.mightContain("out" + i) )
+                {
+                    falsePositives++;
+                }
+            }
+
+            // Rounding the size up to a power of two can only lower the rate, so the measured rate must not exceed the configured one by much,
+            // and it must track the rate the filter expects for its size.
+            double measured = ( falsePositives / 200000.0 );
+            double expected = filter.getExpectedFalsePositiveRate();
+
+            assertTrue(measured <= ( rate * 1.25 ), "Measured a false positive rate of " + measured + " where " + rate + " was configured.");
+            assertTrue(expected <= ( rate * 1.25 ));
+            assertEquals(expected, measured, Math.max(( expected * 0.25 ), 0.0002), "The measured rate strays from the expected one.");
+        }
+    }
+
+    @Test
+    public void testInvalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter<String>(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter<String>(100, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter<String>(100, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter<String>(100, Double.NaN));
+    }
+
+    @Test
+    public void testNoFalseNegatives()
+    {
+        Random random = new Random(42);
+        CountingBloomFilter<Integer> filter = new CountingBloomFilter<Integer>(500, 0.01);
+        Map<Integer, Integer> model = new HashMap<Integer, Integer>();
+        long count = 0;
+
+        // Elements may be added more than once, and are only removed as often as they were added.
+        for ( int step = 0; step < 100000; step++ )
+        {
+            Integer element = random.nextInt(1000);
+
+            if ( random.nextBoolean() && ( count < 800 ) )
+            {
+                filter.add(element);
+                model.merge(element, 1, Integer::sum);
+                count++;
+            }
+            else if ( model.containsKey(element) )
+            {
+                filter.remove(element);
+                model.compute(element, (k, v) -> ( ( v == 1 ) ? null : ( v - 1 ) ));
+                count--;
+            }
+
+            if ( ( step % 500 ) == 0 )
+            {
+                for ( Integer present : model.keySet() )
+                {
+                    assertTrue(filter.mightContain(present), "Element " + present + " went missing at step " + step + ".");
+                }
+            }
+        }
+
+        assertEquals(count, filter.getCount());
+
+        for ( Integer present : model.keySet() )
+        {
+            assertTrue(filter.mightContain(present));
+        }
+
+        filter.clear();
+
+        assertEquals(0, filter.getCount());
+        assertFalse(filter.mightContain(0));
+    }
+
+    @Test
+    public void testSaturatedCountersKeepOtherElements()
+    {
+        CountingBloomFilter<String> filter = new CountingBloomFilter<String>(100, 0.01);
+
+        // "Aa" and "BB" have the same hash code, and so the same counters. Adding "Aa" twenty times saturates them, and then no number of removals
+        // may clear them while "BB" is still present.
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        for ( int i = 0; i < 20; i++ )
+        {
+            filter.add("Aa");
+        }
+
+        filter.add("BB");
+
+        for ( int i = 0; i < 20; i++ )
+        {
+            filter.remove("Aa");
+        }
+
+        assertTrue(filter.mightContain("BB"));
+        assertEquals(1, filter.getCount());
+    }
+}
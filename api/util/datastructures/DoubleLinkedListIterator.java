@@ -35,7 +35,14 @@ public class DoubleLinkedListIterator<T>
     {
         T retVal = ( (DataNode<T>) this.getCurrent() ).getData();
 
-        if ( this.atHead() )
+        if ( this.atHead() && this.atTail() )
+        {
+            // Deleting the only node leaves nothing for the head or tail to point at.
+            this.getList().setHead(null);
+            this.getList().setTail(null);
+            this.resetHead();
+        }
+        else if ( this.atHead() )
         {
             this.getList().setHead(this.getNext());
             this.getList().getHead().setPrevious(null);
@@ -0,0 +1,68 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class DoubleLinkedListIteratorTest
+{
+    @SuppressWarnings("unchecked")
+    private static List<Integer> contentsOf(final DoubleLinkedList<Integer> list)
+    {
+        List<Integer> retVal = new ArrayList<Integer>();
+
+        for ( Node node = list.getHead(); node != null; node = node.getNext() )
+        {
+            retVal.add(( (DataNode<Integer>) node ).getData());
+        }
+
+        return retVal;
+    }
+
+    @Test
+    public void testDeleteOnlyNode()
+    {
+        DoubleLinkedList<Integer> list = new DoubleLinkedList<Integer>(7);
+        DoubleLinkedListIterator<Integer> iterator = list.getIterator();
+
+        iterator.resetHead();
+
+        // The only node is both the head and the tail, so deleting it must empty the list rather than follow a missing neighbour.
+        assertEquals(Integer.valueOf(7), iterator.deleteCurrent());
+        assertTrue(list.isEmpty());
+        assertNull(list.getHead());
+        assertNull(list.getTail());
+        assertNull(iterator.getCurrent());
+
+        // The emptied list can be used again.
+        iterator.insertAfter(8);
+        list.insertTail(9);
+
+        assertEquals(Arrays.asList(8, 9), DoubleLinkedListIteratorTest.contentsOf(list));
+        assertEquals(2, list.getSize());
+    }
+
+    @Test
+    public void testDrainFromEitherEnd()
+    {
+        DoubleLinkedList<Integer> fromHead = new DoubleLinkedList<Integer>(1, 2, 3, 4, 5);
+        DoubleLinkedList<Integer> fromTail = new DoubleLinkedList<Integer>(1, 2, 3, 4, 5);
+
+        for ( int i = 1; i <= 5; i++ )
+        {
+            assertEquals(Integer.valueOf(i), fromHead.deleteHead());
+            assertEquals(Integer.valueOf(6 - i), fromTail.deleteTail());
+            assertEquals(( 5 - i ), fromHead.getSize());
+            assertEquals(DoubleLinkedListIteratorTest.contentsOf(fromHead).size(), fromHead.getSize());
+        }
+
+        assertTrue(fromHead.isEmpty());
+        assertTrue(fromTail.isEmpty());
+        assertNull(fromHead.getHead());
+        assertNull(fromTail.getTail());
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Title: EytzingerIndex
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * An immutable, array-backed ordered index for data which is loaded once and then only queried.
+ *
+ * The data is stored in a single array in Eytzinger (breadth-first) order: the root is at index 1 and the children of index k are at 2k and 2k + 1.
+ * A search therefore walks down the array with simple index arithmetic, and the first few levels, which every search touches, share a handful of
+ * cache lines. There are no nodes, so the whole index costs one reference per element.
+ */
+
+package api.util.datastructures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class EytzingerIndex<T extends Comparable<? super T>> implements Iterable<T>
+{
+    // Collect the data of a binary tree in order without recursion.
+    @SuppressWarnings("unchecked")
+    private static final <T extends Comparable<? super T>> List<T> inOrder(final Tree<T> tree)
+    {
+        List<T> retVal = new ArrayList<T>(tree.getSize());
+        List<TreeNode<T>> stack = new ArrayList<TreeNode<T>>();
+        TreeNode<T> current = (TreeNode<T>) tree.getRoot();
+
+        while ( ( current != null ) || !stack.isEmpty() )
+        {
+            while ( current != null )
+            {
+                stack.add(current);
+                current = (TreeNode<T>) current.getLeft();
+            }
+
+            current = stack.remove(stack.size() - 1);
+            retVal.add(current.getData());
+            current = (TreeNode<T>) current.getRight();
+        }
+
+        return retVal;
+    }
+
+    private final Object[] data; // Elements in Eytzinger order; index 0 is unused.
+    private final int      size; // Number of elements.
+
+    // Build an index over any collection; the elements are sorted first, which costs only a linear scan when they are already in order.
+    public EytzingerIndex(final Collection<? extends T> elements)
+    {
+        Object[] sorted = elements.toArray();
+        Arrays.sort(sorted);
+
+        this.size = sorted.length;
+        this.data = new Object[this.size + 1];
+        this.fill(sorted, 0, 1);
+    }
+
+    // Freeze the current contents of a binary tree into an index.
+    public EytzingerIndex(final Tree<T> tree)
+    {
+        this(EytzingerIndex.inOrder(tree));
+    }
+
+    // Return the smallest element greater than or equal to the given value, or null if there is none.
+    public final T ceiling(final T value)
+    {
+        int k = this.lowerBound(value);
+
+        if ( k == 0 ) { return null; }
+
+        return this.elementAt(k);
+    }
+
+    // Return true if the index holds an element equal to the given value.
+    public final boolean contains(final T value)
+    {
+        T retVal = this.ceiling(value);
+        return ( ( retVal != null ) && ( retVal.compareTo(value) == 0 ) );
+    }
+
+    @SuppressWarnings("unchecked")
+    private final T elementAt(final int k)
+    {
+        return (T) this.data[k];
+    }
+
+    // Copy the sorted elements into the Eytzinger array with an in-order walk of the implicit tree, and return the next unused sorted index.
+    private final int fill(final Object[] sorted, final int next, final int k)
+    {
+        int i = next;
+
+        if ( k <= this.size )
+        {
+            i = this.fill(sorted, i, ( 2 * k ));
+            this.data[k] = sorted[i++];
+            i = this.fill(sorted, i, ( ( 2 * k ) + 1 ));
+        }
+
+        return i;
+    }
+
+    // Return true if the index holds an element equal to the given value.
+    public final boolean find(final T value)
+    {
+        return this.contains(value);
+    }
+
+    // Return the largest element less than or equal to the given value, or null if there is none.
+    public final T floor(final T value)
+    {
+        int k = this.upperBound(value);
+
+        // The upper bound is the first element greater than the value, so the floor is its in-order predecessor.
+        if ( k == 0 )
+        {
+            if ( this.size == 0 ) { return null; }
+
+            return this.elementAt(this.last());
+        }
+
+        k = this.predecessor(k);
+
+        if ( k == 0 ) { return null; }
+
+        return this.elementAt(k);
+    }
+
+    public final int getSize()
+    {
+        return this.size;
+    }
+
+    public final boolean isEmpty()
+    {
+        return ( this.size == 0 );
+    }
+
+    @Override
+    public final Iterator<T> iterator()
+    {
+        return this.iterator(this.first(), null);
+    }
+
+    // Return an iterator which starts at the given Eytzinger index and stops after the last element not greater than the upper limit.
+    private final Iterator<T> iterator(final int start, final T hi)
+    {
+        return new Iterator<T>()
+        {
+            private int k = start;
+
+            @Override
+            public boolean hasNext()
+            {
+                return ( ( this.k != 0 ) && ( ( hi == null ) || ( EytzingerIndex.this.elementAt(this.k).compareTo(hi) <= 0 ) ) );
+            }
+
+            @Override
+            public T next()
+            {
+                if ( !this.hasNext() ) { throw new NoSuchElementException(); }
+
+                T retVal = EytzingerIndex.this.elementAt(this.k);
+                this.k = EytzingerIndex.this.successor(this.k);
+                return retVal;
+            }
+        };
+    }
+
+    // Return the Eytzinger index of the smallest element, or 0 if the index is empty.
+    private final int first()
+    {
+        if ( this.size == 0 ) { return 0; }
+
+        int k = 1;
+
+        while ( ( 2 * k ) <= this.size )
+        {
+            k = ( 2 * k );
+        }
+
+        return k;
+    }
+
+    // Return the Eytzinger index of the largest element, or 0 if the index is empty.
+    private final int last()
+    {
+        if ( this.size == 0 ) { return 0; }
+
+        int k = 1;
+
+        while ( ( ( 2 * k ) + 1 ) <= this.size )
+        {
+            k = ( ( 2 * k ) + 1 );
+        }
+
+        return k;
+    }
+
+    // Return the Eytzinger index of the first element not less than the value, or 0 if every element is less.
+    @SuppressWarnings("unchecked")
+    private final int lowerBound(final T value)
+    {
+        int k = 1;
+
+        while ( k <= this.size )
+        {
+            k = ( ( 2 * k ) + ( ( ( (T) this.data[k] ).compareTo(value) < 0 ) ? 1 : 0 ) );
+        }
+
+        // Undo the trailing right turns, plus the final left turn, to land on the last node where the search went left.
+        return ( k >>> ( Integer.numberOfTrailingZeros(~k) + 1 ) );
+    }
+
+    // Return the Eytzinger index of the in-order predecessor of k, or 0 if k holds the smallest element.
+    private final int predecessor(final int k)
+    {
+        int i = k;
+
+        if ( ( 2 * i ) <= this.size )
+        {
+            i = ( 2 * i );
+
+            while ( ( ( 2 * i ) + 1 ) <= this.size )
+            {
+                i = ( ( 2 * i ) + 1 );
+            }
+
+            return i;
+        }
+
+        // Climb while we are a left child, then once more.
+        return ( i >>> ( Integer.numberOfTrailingZeros(i) + 1 ) );
+    }
+
+    // Return the elements between lo and hi inclusive, in ascending order.
+    public final Iterable<T> range(final T lo, final T hi)
+    {
+        return new Iterable<T>()
+        {
+            @Override
+            public Iterator<T> iterator()
+            {
+                return EytzingerIndex.this.iterator(EytzingerIndex.this.lowerBound(lo), hi);
+            }
+        };
+    }
+
+    // Return the Eytzinger index of the in-order successor of k, or 0 if k holds the largest element.
+    private final int successor(final int k)
+    {
+        int i = k;
+
+        if ( ( ( 2 * i ) + 1 ) <= this.size )
+        {
+            i = ( ( 2 * i ) + 1 );
+
+            while ( ( 2 * i ) <= this.size )
+            {
+                i = ( 2 * i );
+            }
+
+            return i;
+        }
+
+        // Climb while we are a right child, then once more.
+        return ( i >>> ( Integer.numberOfTrailingZeros(~i) + 1 ) );
+    }
+
+    // Return the Eytzinger index of the first element greater than the value, or 0 if no element is greater.
+    @SuppressWarnings("unchecked")
+    private final int upperBound(final T value)
+    {
+        int k = 1;
+
+        while ( k <= this.size )
+        {
+            k = ( ( 2 * k ) + ( ( ( (T) this.data[k] ).compareTo(value) <= 0 ) ? 1 : 0 ) );
+        }
+
+        return ( k >>> ( Integer.numberOfTrailingZeros(~k) + 1 ) );
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Title: HashStrategy
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A pluggable hash function for HashTable, along with a few ready-made strategies.
+ */
+
+package api.util.datastructures;
+
+public interface HashStrategy<T>
+{
+    /*
+     * The original HashTable hash, computed without allocating. Strings are hashed one base-256 digit per character and Integers one base-10 digit
+     * per decimal digit, each digit offset by one, so the bucket distribution matches previous releases for every table the old int arithmetic could
+     * handle without overflowing. The running hash is only reduced modulo the table size every few digits, which gives the same result as reducing
+     * after every digit. Since the digits are only mixed by the modulus, this strategy should be paired with prime table sizes, not powers of two.
+     */
+    public static final class Digits<T> implements HashStrategy<T>
+    {
+        @Override
+        public int hash(final T data, final int tableSize)
+        {
+            if ( data instanceof String )
+            {
+                String s = (String) data;
+                long hashVal = 0;
+
+                for ( int i = 0; i < s.length(); i++ )
+                {
+                    // The absolute value of the one's complement of a character, as before, is just the character plus one.
+                    hashVal = ( hashVal * 256 ) + ( s.charAt(i) + 1 );
+
+                    // Three base-256 digits on top of a reduced value still fit comfortably in a long.
+                    if ( ( i % 3 ) == 2 )
+                    {
+                        hashVal %= tableSize;
+                    }
+                }
+
+                return (int) ( hashVal % tableSize );
+            }
+            else if ( data instanceof Integer )
+            {
+                // Negative values used to fail while parsing the sign as a digit; their magnitude is hashed instead.
+                long value = Math.abs(( (Integer) data ).longValue());
+                long divisor = 1;
+                long hashVal = 0;
+                int digits = 0;
+
+                while ( ( divisor * 10 ) <= value )
+                {
+                    divisor *= 10;
+                }
+
+                for ( ; divisor > 0; divisor /= 10, digits++ )
+                {
+                    // The absolute value of the one's complement of a digit, as before, is just the digit plus one.
+                    hashVal = ( hashVal * 10 ) + ( ( ( value / divisor ) % 10 ) + 1 );
+
+                    // Eight base-10 digits on top of a reduced value still fit comfortably in a long.
+                    if ( ( digits & 7 ) == 7 )
+                    {
+                        hashVal %= tableSize;
+                    }
+                }
+
+                return (int) ( hashVal % tableSize );
+            }
+
+            return HashStrategy.reduce(data.hashCode(), tableSize);
+        }
+    }
+
+    /*
+     * The 32-bit finalizer of MurmurHash3 applied to the hash code of the data. Strings cache their hash code, so this path does not allocate.
+     */
+    public static final class Murmur3<T> implements HashStrategy<T>
+    {
+        // Mix all of the bits of a 32-bit value into all of the bits of the result. The other hashed structures in this package use this too.
+        static final int mix(final int value)
+        {
+            int h = value;
+            h ^= ( h >>> 16 );
+            h *= 0x85EBCA6B;
+            h ^= ( h >>> 13 );
+            h *= 0xC2B2AE35;
+            h ^= ( h >>> 16 );
+            return h;
+        }
+
+        // Mix a 64-bit value with the 64-bit finalizer, and fold the high half of the result into the low half.
+        static final int mix(final long value)
+        {
+            long h = value;
+            h ^= ( h >>> 33 );
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= ( h >>> 33 );
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= ( h >>> 33 );
+            return (int) ( h ^ ( h >>> 32 ) );
+        }
+
+        @Override
+        public int hash(final T data, final int tableSize)
+        {
+            return HashStrategy.reduce(Murmur3.mix(data.hashCode()), tableSize);
+        }
+    }
+
+    /*
+     * A wyhash-style hash built from wyhash's 128-bit multiply-and-fold mixing rounds. Strings are consumed four characters (64 bits) per round
+     * straight from the string; any other type has its hash code mixed in a single round.
+     */
+    public static final class WyHash<T> implements HashStrategy<T>
+    {
+        private static final long P0 = 0xA0761D6478BD642FL;
+        private static final long P1 = 0xE7037ED1A0B428DBL;
+        private static final long P2 = 0x8EBC6AF09C88C6E3L;
+
+        // Multiply two 64-bit values as unsigned integers and fold the high half of the 128-bit product into the low half.
+        private static final long mix(final long a, final long b)
+        {
+            long hi = ( Math.multiplyHigh(a, b) + ( ( a >> 63 ) & b ) + ( ( b >> 63 ) & a ) );
+            return ( ( a * b ) ^ hi );
+        }
+
+        @Override
+        public int hash(final T data, final int tableSize)
+        {
+            long seed = WyHash.P0;
+
+            if ( data instanceof String )
+            {
+                String s = (String) data;
+                int i = 0;
+
+                for ( ; ( i + 4 ) <= s.length(); i += 4 )
+                {
+                    long block = ( (long) s.charAt(i) | ( (long) s.charAt(i + 1) << 16 ) | ( (long) s.charAt(i + 2) << 32 ) | ( (long) s.charAt(i + 3) << 48 ) );
+                    seed = WyHash.mix(block ^ WyHash.P1, seed);
+                }
+
+                long tail = 0;
+
+                for ( int shift = 0; i < s.length(); i++, shift += 16 )
+                {
+                    tail |= ( (long) s.charAt(i) << shift );
+                }
+
+                seed = WyHash.mix(tail ^ WyHash.P1, seed ^ s.length());
+            }
+            else
+            {
+                seed = WyHash.mix(data.hashCode() ^ WyHash.P1, seed);
+            }
+
+            long h = WyHash.mix(seed ^ WyHash.P2, WyHash.P0);
+            return HashStrategy.reduce((int) ( h ^ ( h >>> 32 ) ), tableSize);
+        }
+    }
+
+    // Return the digit strategy, which reproduces the original HashTable bucket distribution.
+    public static <T> HashStrategy<T> digits()
+    {
+        return new Digits<T>();
+    }
+
+    // Return the MurmurHash3 finalizer strategy.
+    public static <T> HashStrategy<T> murmur3()
+    {
+        return new Murmur3<T>();
+    }
+
+    // Reduce a 32-bit hash to a table index, using a mask when the table size is a power of two and the remainder otherwise.
+    public static int reduce(final int h, final int tableSize)
+    {
+        if ( ( tableSize & ( tableSize - 1 ) ) == 0 ) { return ( h & ( tableSize - 1 ) ); }
+
+        return ( ( h & 0x7FFFFFFF ) % tableSize );
+    }
+
+    // Return the wyhash-style strategy.
+    public static <T> HashStrategy<T> wyhash()
+    {
+        return new WyHash<T>();
+    }
+
+    // Return an index between 0 and tableSize - 1 for the given non-null data.
+    public int hash(final T data, final int tableSize);
+}
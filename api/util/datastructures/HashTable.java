@@ -4,6 +4,13 @@
  * Date: 6/19/2013
  * 
  * A specialized hash table data structure designed to allow a comparative analysis between Linear probing and Quadratic probing.
+ * 
+ * The hash function is pluggable through HashStrategy; the default reproduces the original digit-based distribution. The table may also be sized to
+ * a power of two instead of a prime, in which case indices are reduced with a mask and quadratic probing steps by triangular numbers, which visit
+ * every slot of a power-of-two table.
+ * 
+ * Removed entries leave tombstones behind so that later probe sequences are not cut short. Once the number of tombstones passes a fraction of the
+ * table size, the table is rehashed in place, which clears them and shortens the probe sequences again.
  */
 
 package api.util.datastructures;
@@ -13,24 +20,64 @@ import api.util.Mathematics;
 
 public class HashTable<T>
 {
-    private int      currentSize          = 0;
-    private T[]      hashArray            = null;
-    private double   loadFactor           = 0.0;
-    private int      maximumSize          = 0;
-    private boolean  probeIsLinear        = false;
-    private Class<T> storageType          = null;
-    private int      totalProbeLenFailure = 0;
-    private int      totalProbeLenSuccess = 0;
+    public static final double DEFAULT_TOMBSTONE_THRESHOLD = 0.25;
+
+    // Probe lengths at or above this value share the last histogram bucket.
+    public static final int PROBE_HISTOGRAM_SIZE = 32;
+
+    private int                     currentSize          = 0;
+    private T[]                     hashArray            = null;
+    private HashStrategy<? super T> hashStrategy         = null;
+    private double                  loadFactor           = 0.0;
+    private int                     maximumSize          = 0;
+    private int[]                   probeHistFailure     = new int[HashTable.PROBE_HISTOGRAM_SIZE];
+    private int[]                   probeHistSuccess     = new int[HashTable.PROBE_HISTOGRAM_SIZE];
+    private boolean                 probeIsLinear        = false;
+    private boolean                 sizeIsPowerOfTwo     = false;
+    private Class<T>                storageType          = null;
+    private int                     tombstoneCount       = 0;
+    private boolean[]               tombstones           = null;
+    private double                  tombstoneThreshold   = HashTable.DEFAULT_TOMBSTONE_THRESHOLD;
+    private int                     totalProbeLenFailure = 0;
+    private int                     totalProbeLenSuccess = 0;
 
-    @SuppressWarnings({ "unchecked" })
     public HashTable(final Class<T> type, final double loadFactor, final boolean useLinearProbe, final int fillSize)
+    {
+        this(type, loadFactor, useLinearProbe, fillSize, HashStrategy.<T> digits(), false);
+    }
+
+    @SuppressWarnings({ "unchecked" })
+    public HashTable(final Class<T> type, final double loadFactor, final boolean useLinearProbe, final int fillSize, final HashStrategy<? super T> hashStrategy, final boolean usePowerOfTwoSize)
     {
         this.currentSize = 0;
         this.loadFactor = loadFactor;
         this.probeIsLinear = useLinearProbe;
         this.storageType = type;
+        this.hashStrategy = hashStrategy;
+        this.sizeIsPowerOfTwo = usePowerOfTwoSize;
         this.setMaximumSize((int) ( Math.ceil(fillSize / this.getLoadFactor()) ));
         this.hashArray = (T[]) Array.newInstance(this.storageType, this.getMaximumSize());
+        this.tombstones = new boolean[this.getMaximumSize()];
+    }
+
+    // Rehash every live entry into a fresh array of the same size, dropping all tombstones.
+    @SuppressWarnings({ "unchecked" })
+    public void compact()
+    {
+        T[] oldArray = this.hashArray;
+
+        this.hashArray = (T[]) Array.newInstance(this.storageType, this.getMaximumSize());
+        this.tombstones = new boolean[this.getMaximumSize()];
+        this.tombstoneCount = 0;
+        this.currentSize = 0;
+
+        for ( T data : oldArray )
+        {
+            if ( data != null )
+            {
+                this.insert(data);
+            }
+        }
     }
 
     public int find(final T data)
@@ -45,42 +92,57 @@ public class HashTable<T>
 
         while ( ( this.wasIndexOccupiedPreviously(retVal) ) && ( data.equals(this.hashArray[retVal]) == false ) )
         {
-            if ( this.isProbeLinear() )
-            {
-                retVal++;
-            }
-            else
-            {
-                quadStep++;
-                retVal = (int) ( retVal + Math.pow(quadStep, 2) );
-            }
-
-            if ( retVal >= this.getMaximumSize() )
+            // A table packed with entries and tombstones may have no empty slot to stop at, so give up once every slot could have been visited.
+            if ( probeLen >= this.getMaximumSize() )
             {
-                retVal %= this.getMaximumSize();
+                this.recordProbe(probeLen, false);
+                return -1;
             }
 
+            quadStep++;
+            retVal = this.nextProbe(retVal, quadStep);
             probeLen++;
         }
 
         if ( this.hashArray[retVal] == null )
         {
             retVal = -1;
-            this.totalProbeLenFailure += probeLen;
+            this.recordProbe(probeLen, false);
         }
         else
         {
-            this.totalProbeLenSuccess += probeLen;
+            this.recordProbe(probeLen, true);
         }
 
         return retVal;
     }
 
+    public String formatProbeLenHistograms()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Probe length histogram:\n\nLength\tSuccess\tFailure\n");
+
+        for ( int i = 1; i < HashTable.PROBE_HISTOGRAM_SIZE; i++ )
+        {
+            if ( ( this.probeHistSuccess[i] > 0 ) || ( this.probeHistFailure[i] > 0 ) )
+            {
+                sb.append(( ( i == ( HashTable.PROBE_HISTOGRAM_SIZE - 1 ) ) ? ( i + "+" ) : Integer.toString(i) ) + "\t" + this.probeHistSuccess[i] + "\t" + this.probeHistFailure[i] + "\n");
+            }
+        }
+
+        return sb.toString();
+    }
+
     public int getCurrentSize()
     {
         return this.currentSize;
     }
 
+    public HashStrategy<? super T> getHashStrategy()
+    {
+        return this.hashStrategy;
+    }
+
     public double getLoadFactor()
     {
         return this.loadFactor;
@@ -91,6 +153,28 @@ public class HashTable<T>
         return this.maximumSize;
     }
 
+    // Return a copy of the histogram of failed probe lengths; index i counts probes of length i, and the last index counts all longer probes.
+    public int[] getProbeLenHistogramFailure()
+    {
+        return this.probeHistFailure.clone();
+    }
+
+    // Return a copy of the histogram of successful probe lengths; index i counts probes of length i, and the last index counts all longer probes.
+    public int[] getProbeLenHistogramSuccess()
+    {
+        return this.probeHistSuccess.clone();
+    }
+
+    public int getTombstoneCount()
+    {
+        return this.tombstoneCount;
+    }
+
+    public double getTombstoneThreshold()
+    {
+        return this.tombstoneThreshold;
+    }
+
     public int getTotalProbeLenFailure()
     {
         return this.totalProbeLenFailure;
@@ -103,45 +187,9 @@ public class HashTable<T>
 
     public int hash(final T data)
     {
-        int hashVal = 0;
-
-        if ( data == null )
-        {
-            hashVal = -1;
-        }
-        else
-        {
-            if ( data instanceof String )
-            {
-                String s = (String) data;
-
-                for ( int i = 0; i < s.length(); i++ )
-                {
-                    // Take the integer value at the current character index, invert its bits (take one's complement), and store the absolute value as seedVal.
-                    int seedVal = Math.abs( ~( (int) ( s.charAt(i) ) ));
-                    // The hash is equal to the remainder of the hashTable size divided by the hash multiplied by 256 and added to seedVal.
-                    hashVal = ( ( hashVal * 256 ) + seedVal ) % this.getMaximumSize();
-                }
-            }
-            else if ( data instanceof Integer )
-            {
-                String s = data.toString();
-
-                for ( int i = 0; i < s.length(); i++ )
-                {
-                    // Take the integer value at the current digit index, invert its bits (take one's complement), and store the absolute value as seedVal.
-                    int seedVal = Math.abs( ~( Integer.parseInt(s.substring(i, i + 1)) ));
-                    // The hash is equal to the remainder of the hashTable size divided by the hash multiplied by 10 and added to seedVal.
-                    hashVal = ( ( hashVal * 10 ) + seedVal ) % this.getMaximumSize();
-                }
-            }
-            else
-            {
-                hashVal = data.hashCode();
-            }
-        }
+        if ( data == null ) { return -1; }
 
-        return hashVal;
+        return this.hashStrategy.hash(data, this.getMaximumSize());
     }
 
     public int insert(final T data)
@@ -155,20 +203,14 @@ public class HashTable<T>
 
         while ( this.isIndexOccupied(hashVal) )
         {
-            if ( this.isProbeLinear() )
-            {
-                hashVal++;
-            }
-            else
-            {
-                step++;
-                hashVal = (int) ( hashVal + Math.pow(step, 2) );
-            }
+            step++;
+            hashVal = this.nextProbe(hashVal, step);
+        }
 
-            if ( hashVal >= this.getMaximumSize() )
-            {
-                hashVal %= this.getMaximumSize();
-            }
+        if ( this.tombstones[hashVal] )
+        {
+            this.tombstones[hashVal] = false;
+            this.tombstoneCount--;
         }
 
         this.hashArray[hashVal] = data;
@@ -198,16 +240,96 @@ public class HashTable<T>
         return this.probeIsLinear;
     }
 
+    public boolean isSizePowerOfTwo()
+    {
+        return this.sizeIsPowerOfTwo;
+    }
+
+    // Return the next index of a probe sequence, given the current index and the number of steps taken so far (including this one).
+    private int nextProbe(final int index, final int step)
+    {
+        if ( this.isSizePowerOfTwo() )
+        {
+            int mask = ( this.getMaximumSize() - 1 );
+
+            if ( this.isProbeLinear() ) { return ( ( index + 1 ) & mask ); }
+
+            // Stepping by 1, 2, 3, ... visits offsets that are triangular numbers, which cover every slot of a power-of-two table.
+            return ( ( index + step ) & mask );
+        }
+
+        if ( this.isProbeLinear() ) { return ( ( index + 1 ) % this.getMaximumSize() ); }
+
+        return (int) ( ( index + ( (long) step * step ) ) % this.getMaximumSize() );
+    }
+
+    private void recordProbe(final int probeLen, final boolean success)
+    {
+        int bucket = Math.min(probeLen, ( HashTable.PROBE_HISTOGRAM_SIZE - 1 ));
+
+        if ( success )
+        {
+            this.totalProbeLenSuccess += probeLen;
+            this.probeHistSuccess[bucket]++;
+        }
+        else
+        {
+            this.totalProbeLenFailure += probeLen;
+            this.probeHistFailure[bucket]++;
+        }
+    }
+
+    // Remove one occurrence of the data, leaving a tombstone in its slot. Return the index it was removed from, or -1 if it was not found.
+    public int remove(final T data)
+    {
+        int retVal = this.find(data);
+
+        if ( retVal < 0 ) { return retVal; }
+
+        this.hashArray[retVal] = null;
+        this.tombstones[retVal] = true;
+        this.tombstoneCount++;
+        this.currentSize--;
+
+        if ( this.getTombstoneCount() > ( this.getTombstoneThreshold() * this.getMaximumSize() ) )
+        {
+            this.compact();
+        }
+
+        return retVal;
+    }
+
+    public void resetProbeStatistics()
+    {
+        this.probeHistFailure = new int[HashTable.PROBE_HISTOGRAM_SIZE];
+        this.probeHistSuccess = new int[HashTable.PROBE_HISTOGRAM_SIZE];
+        this.totalProbeLenFailure = 0;
+        this.totalProbeLenSuccess = 0;
+    }
+
     private void setMaximumSize(final int maximumSize)
     {
-        this.maximumSize = (int) Mathematics.makePrimeGreater(maximumSize);
+        if ( this.isSizePowerOfTwo() )
+        {
+            this.maximumSize = Integer.highestOneBit(Math.max(( maximumSize - 1 ), 1)) << 1;
+        }
+        else
+        {
+            this.maximumSize = (int) Mathematics.makePrimeGreater(maximumSize);
+        }
+    }
+
+    // Set the fraction of the table which may hold tombstones before the table is compacted automatically.
+    public void setTombstoneThreshold(final double tombstoneThreshold)
+    {
+        this.tombstoneThreshold = tombstoneThreshold;
     }
 
     private boolean wasIndexOccupiedPreviously(final int index)
     {
         boolean retVal = true;
 
-        if ( this.hashArray[index] == null )
+        if ( ( this.hashArray[index] == null ) && !this.tombstones[index] )
         {
             retVal = false;
         }
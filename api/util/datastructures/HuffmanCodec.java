@@ -0,0 +1,637 @@
+/*
+ * Title: HuffmanCodec
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A streaming Huffman encoder and decoder which packs real bits into bytes.
+ *
+ * The codec only needs the length of each symbol's code: codes are assigned canonically (shorter codes first, ties broken by symbol), so the whole
+ * code table can be rebuilt from the lengths and that is all the header stores. Decoding peeks at several bits at once and looks the symbol up in
+ * a table indexed by them, falling back to a bit-by-bit canonical search only for the rare codes longer than the table.
+ *
+ * @formatter:off
+ *
+ * Stream layout:
+ *
+ *   magic           4 bytes, "HUF1"
+ *   symbol offset   variable-length integer; byte value = symbol + offset
+ *   alphabet size   variable-length integer
+ *   maximum length  1 byte
+ *   code lengths    one per symbol; two per byte when the maximum length fits in 4 bits, otherwise one per byte
+ *   blocks          a variable-length symbol count followed by that many packed codes padded to a byte boundary
+ *   end marker      a block with a symbol count of zero
+ *
+ * @formatter:on
+ *
+ * Blocks let the encoder work on input of unknown length in constant memory.
+ *
+ * Code lengths can be computed here from symbol frequencies with the package-merge algorithm, which finds the optimal prefix code whose longest
+ * code is no longer than a given limit. Keeping codes short bounds the size of the header entries and the number of bits a decoder may need.
+ */
+
+package api.util.datastructures;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class HuffmanCodec
+{
+    /*
+     * This helper class represents a coin in the package-merge algorithm: either a single symbol or a package of two cheaper coins.
+     */
+    private static final class Coin
+    {
+        private final Coin left;
+        private final Coin right;
+        private final int  symbol; // Symbol of a single coin, or -1 for a package.
+        private final long weight;
+
+        public Coin(final long weight, final int symbol, final Coin left, final Coin right)
+        {
+            this.weight = weight;
+            this.symbol = symbol;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /*
+     * This helper class encodes a range of blocks in parallel, splitting the range in half until a single block is left.
+     */
+    private static final class EncodeTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final HuffmanCodec codec;
+        private final int          first;   // Index into results of the first block in this task.
+        private final ByteBuffer   input;
+        private final int          last;    // Index into results one past the last block in this task.
+        private final byte[][]     results; // Encoded blocks, in order.
+        private final int          start;   // Position in the input of the block at index 0 of the results.
+
+        public EncodeTask(final HuffmanCodec codec, final ByteBuffer input, final int start, final byte[][] results, final int first, final int last)
+        {
+            this.codec = codec;
+            this.input = input;
+            this.start = start;
+            this.results = results;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( ( this.last - this.first ) > 1 )
+            {
+                int middle = ( ( this.first + this.last ) >>> 1 );
+                RecursiveAction.invokeAll(new EncodeTask(this.codec, this.input, this.start, this.results, this.first, middle), new EncodeTask(this.codec, this.input, this.start, this.results, middle, this.last));
+                return;
+            }
+
+            int from = ( this.start + ( this.first * HuffmanCodec.DEFAULT_BLOCK_SIZE ) );
+            int length = Math.min(HuffmanCodec.DEFAULT_BLOCK_SIZE, ( this.input.limit() - from ));
+            ByteArrayOutputStream block = new ByteArrayOutputStream(( length / 2 ) + 16);
+
+            try
+            {
+                this.codec.encodeBlock(new BitOutputStream(block), this.input.slice(from, length));
+            }
+            catch ( final IOException exception )
+            {
+                throw new UncheckedIOException(exception);
+            }
+
+            this.results[this.first] = block.toByteArray();
+        }
+    }
+
+    public static final int  DEFAULT_BLOCK_SIZE      = ( 1 << 16 );
+    public static final int  DEFAULT_MAX_CODE_LENGTH = 15;
+    public static final int  MAX_CODE_LENGTH         = 32;
+    public static final int  MAX_LOOKUP_BITS         = 11;
+    private static final int MAGIC                   = 0x48554631; // "HUF1"
+
+    // Return the optimal code lengths for the given frequencies, subject to no code being longer than the given limit.
+    // Symbols with a frequency of zero get no code. A lone symbol gets a one-bit code.
+    public static int[] computeCodeLengths(final long[] frequencies, final int maxLength)
+    {
+        int[] retVal = new int[frequencies.length];
+        List<Coin> singles = new ArrayList<Coin>();
+
+        for ( int symbol = 0; symbol < frequencies.length; symbol++ )
+        {
+            if ( frequencies[symbol] > 0 )
+            {
+                singles.add(new Coin(frequencies[symbol], symbol, null, null));
+            }
+        }
+
+        int n = singles.size();
+
+        if ( n == 0 ) { return retVal; }
+
+        if ( n == 1 )
+        {
+            retVal[singles.get(0).symbol] = 1;
+            return retVal;
+        }
+
+        if ( ( maxLength < 1 ) || ( maxLength > HuffmanCodec.MAX_CODE_LENGTH ) || ( ( 1L << maxLength ) < n ) ) { throw new IllegalArgumentException(n + " symbols cannot all have codes of at most " + maxLength + " bits."); }
+
+        singles.sort(new Comparator<Coin>()
+        {
+            @Override
+            public int compare(final Coin a, final Coin b)
+            {
+                return Long.compare(a.weight, b.weight);
+            }
+        });
+
+        // Each round pairs up the coins of the round before into packages and merges them with the singles again.
+        List<Coin> coins = singles;
+
+        for ( int round = 1; round < maxLength; round++ )
+        {
+            List<Coin> bundles = new ArrayList<Coin>(coins.size() / 2);
+
+            for ( int k = 0; ( k + 1 ) < coins.size(); k += 2 )
+            {
+                bundles.add(new Coin(( coins.get(k).weight + coins.get(k + 1).weight ), -1, coins.get(k), coins.get(k + 1)));
+            }
+
+            List<Coin> merged = new ArrayList<Coin>(n + bundles.size());
+            int i = 0;
+            int j = 0;
+
+            while ( ( i < n ) || ( j < bundles.size() ) )
+            {
+                if ( ( j >= bundles.size() ) || ( ( i < n ) && ( singles.get(i).weight <= bundles.get(j).weight ) ) )
+                {
+                    merged.add(singles.get(i++));
+                }
+                else
+                {
+                    merged.add(bundles.get(j++));
+                }
+            }
+
+            coins = merged;
+        }
+
+        // The cheapest 2n - 2 coins form the solution; every appearance of a symbol inside them adds one bit to its code.
+        List<Coin> stack = new ArrayList<Coin>(coins.subList(0, ( ( 2 * n ) - 2 )));
+
+        while ( !stack.isEmpty() )
+        {
+            Coin coin = stack.remove(stack.size() - 1);
+
+            if ( coin.symbol >= 0 )
+            {
+                retVal[coin.symbol]++;
+            }
+            else
+            {
+                stack.add(coin.left);
+                stack.add(coin.right);
+            }
+        }
+
+        return retVal;
+    }
+
+    // Read a stream written by encode() and write the decoded bytes to the output. Return the number of bytes decoded.
+    public static long decode(final InputStream in, final OutputStream out) throws IOException
+    {
+        BitInputStream bits = new BitInputStream(new BufferedInputStream(in));
+        HuffmanCodec codec = HuffmanCodec.readHeader(bits);
+        OutputStream buffered = new BufferedOutputStream(out);
+        long retVal = 0L;
+        long count = HuffmanCodec.readVarLong(bits);
+
+        while ( count > 0 )
+        {
+            for ( long i = 0; i < count; i++ )
+            {
+                buffered.write(codec.decodeSymbol(bits) + codec.getSymbolOffset());
+            }
+
+            bits.alignToByte();
+            retVal += count;
+            count = HuffmanCodec.readVarLong(bits);
+        }
+
+        buffered.flush();
+        return retVal;
+    }
+
+    public static long decode(final ReadableByteChannel in, final WritableByteChannel out) throws IOException
+    {
+        return HuffmanCodec.decode(Channels.newInputStream(in), Channels.newOutputStream(out));
+    }
+
+    // Read a stream written by encode() and append the decoded symbols to the output as characters. Return the number of symbols decoded.
+    public static long decode(final InputStream in, final Appendable out) throws IOException
+    {
+        BitInputStream bits = new BitInputStream(new BufferedInputStream(in));
+        HuffmanCodec codec = HuffmanCodec.readHeader(bits);
+        long retVal = 0L;
+        long count = HuffmanCodec.readVarLong(bits);
+
+        while ( count > 0 )
+        {
+            for ( long i = 0; i < count; i++ )
+            {
+                out.append((char) ( codec.decodeSymbol(bits) + codec.getSymbolOffset() ));
+            }
+
+            bits.alignToByte();
+            retVal += count;
+            count = HuffmanCodec.readVarLong(bits);
+        }
+
+        return retVal;
+    }
+
+    // Build the optimal canonical code for the given frequencies whose longest code is no longer than the given limit.
+    public static HuffmanCodec fromFrequencies(final int symbolOffset, final long[] frequencies, final int maxLength)
+    {
+        return new HuffmanCodec(symbolOffset, HuffmanCodec.computeCodeLengths(frequencies, maxLength));
+    }
+
+    // Read a code table header, as written by writeHeader().
+    public static HuffmanCodec readHeader(final InputStream in) throws IOException
+    {
+        int magic = 0;
+
+        for ( int i = 0; i < 4; i++ )
+        {
+            magic = ( ( magic << 8 ) | HuffmanCodec.readByte(in) );
+        }
+
+        if ( magic != HuffmanCodec.MAGIC ) { throw new IOException("The stream does not start with a Huffman code header."); }
+
+        int symbolOffset = (int) HuffmanCodec.readVarLong(in);
+        int alphabetSize = (int) HuffmanCodec.readVarLong(in);
+        int maxLength = HuffmanCodec.readByte(in);
+        int[] codeLengths = new int[alphabetSize];
+
+        if ( maxLength > HuffmanCodec.MAX_CODE_LENGTH ) { throw new IOException("The header declares codes of up to " + maxLength + " bits."); }
+
+        if ( maxLength < 16 )
+        {
+            for ( int i = 0; i < alphabetSize; i += 2 )
+            {
+                int b = HuffmanCodec.readByte(in);
+                codeLengths[i] = ( b >>> 4 );
+
+                if ( ( i + 1 ) < alphabetSize )
+                {
+                    codeLengths[i + 1] = ( b & 0x0F );
+                }
+            }
+        }
+        else
+        {
+            for ( int i = 0; i < alphabetSize; i++ )
+            {
+                codeLengths[i] = HuffmanCodec.readByte(in);
+            }
+        }
+
+        try
+        {
+            return new HuffmanCodec(symbolOffset, codeLengths);
+        }
+        catch ( final IllegalArgumentException exception )
+        {
+            throw new IOException("The header holds an invalid code table.", exception);
+        }
+    }
+
+    private static int readByte(final InputStream in) throws IOException
+    {
+        int retVal = in.read();
+
+        if ( retVal < 0 ) { throw new EOFException("The stream ended in the middle of a Huffman header."); }
+
+        return retVal;
+    }
+
+    // Read an unsigned integer stored seven bits per byte, least significant group first.
+    private static long readVarLong(final InputStream in) throws IOException
+    {
+        long retVal = 0L;
+
+        for ( int shift = 0; shift < 64; shift += 7 )
+        {
+            int b = HuffmanCodec.readByte(in);
+            retVal |= ( (long) ( b & 0x7F ) << shift );
+
+            if ( ( b & 0x80 ) == 0 ) { return retVal; }
+        }
+
+        throw new IOException("A variable-length integer in the stream is too long.");
+    }
+
+    private static void writeVarLong(final OutputStream out, final long value) throws IOException
+    {
+        long v = value;
+
+        while ( ( v & ~0x7FL ) != 0 )
+        {
+            out.write((int) ( ( v & 0x7F ) | 0x80 ));
+            v >>>= 7;
+        }
+
+        out.write((int) v);
+    }
+
+    private final int[] codeLengths;   // Code length of each symbol, or 0 if the symbol never occurs.
+    private final int[] codes;         // Canonical code of each symbol, right-aligned.
+    private final int[] countOfLength; // Number of codes of each length.
+    private final int[] firstCode;     // First canonical code of each length.
+    private final int[] firstIndex;    // Index into sortedSymbols of the first symbol of each length.
+    private final int[] lookup;        // Decoding table indexed by the next lookupBits bits: (symbol << 8) | length, or 0 for longer codes.
+    private final int   lookupBits;
+    private final int   maxLength;
+    private final int[] sortedSymbols; // Symbols in canonical order.
+    private final int   symbolOffset;
+
+    // Build the canonical code for the given code lengths. Byte values map to symbols by subtracting the offset.
+    public HuffmanCodec(final int symbolOffset, final int[] codeLengths)
+    {
+        int max = 0;
+        int used = 0;
+
+        for ( int length : codeLengths )
+        {
+            if ( ( length < 0 ) || ( length > HuffmanCodec.MAX_CODE_LENGTH ) ) { throw new IllegalArgumentException("Code lengths must be between 0 and " + HuffmanCodec.MAX_CODE_LENGTH + ", but one was " + length + "."); }
+
+            max = Math.max(max, length);
+            used += ( ( length > 0 ) ? 1 : 0 );
+        }
+
+        this.symbolOffset = symbolOffset;
+        this.codeLengths = codeLengths.clone();
+        this.maxLength = max;
+        this.codes = new int[codeLengths.length];
+        this.countOfLength = new int[max + 1];
+        this.firstCode = new int[max + 1];
+        this.firstIndex = new int[max + 1];
+        this.sortedSymbols = new int[used];
+
+        for ( int length : codeLengths )
+        {
+            if ( length > 0 )
+            {
+                this.countOfLength[length]++;
+            }
+        }
+
+        // Assign the first code of each length, checking that the lengths describe a prefix code.
+        long code = 0L;
+        int index = 0;
+
+        for ( int length = 1; length <= max; length++ )
+        {
+            code = ( code << 1 );
+            this.firstCode[length] = (int) code;
+            this.firstIndex[length] = index;
+            code += this.countOfLength[length];
+            index += this.countOfLength[length];
+
+            if ( code > ( 1L << length ) ) { throw new IllegalArgumentException("The code lengths are too short to form a prefix code."); }
+        }
+
+        int[] nextIndex = Arrays.copyOf(this.firstIndex, ( max + 1 ));
+
+        for ( int symbol = 0; symbol < codeLengths.length; symbol++ )
+        {
+            int length = codeLengths[symbol];
+
+            if ( length > 0 )
+            {
+                int rank = ( nextIndex[length]++ - this.firstIndex[length] );
+                this.codes[symbol] = ( this.firstCode[length] + rank );
+                this.sortedSymbols[this.firstIndex[length] + rank] = symbol;
+            }
+        }
+
+        this.lookupBits = Math.min(max, HuffmanCodec.MAX_LOOKUP_BITS);
+        this.lookup = new int[1 << this.lookupBits];
+
+        for ( int symbol = 0; symbol < codeLengths.length; symbol++ )
+        {
+            int length = codeLengths[symbol];
+
+            if ( ( length > 0 ) && ( length <= this.lookupBits ) )
+            {
+                int start = ( this.codes[symbol] << ( this.lookupBits - length ) );
+                Arrays.fill(this.lookup, start, ( start + ( 1 << ( this.lookupBits - length ) ) ), ( ( symbol << 8 ) | length ));
+            }
+        }
+    }
+
+    // Read and return the next symbol.
+    public int decodeSymbol(final BitInputStream in) throws IOException
+    {
+        if ( this.lookupBits > 0 )
+        {
+            int entry = this.lookup[in.peekBits(this.lookupBits)];
+
+            if ( entry != 0 )
+            {
+                in.skipBits(entry & 0xFF);
+                return ( entry >>> 8 );
+            }
+        }
+
+        // The code is longer than the table, so walk the canonical code one bit at a time.
+        long code = 0L;
+
+        for ( int length = 1; length <= this.maxLength; length++ )
+        {
+            code = ( ( code << 1 ) | in.readBit() );
+            long offset = ( code - ( this.firstCode[length] & 0xFFFFFFFFL ) );
+
+            if ( ( offset >= 0 ) && ( offset < this.countOfLength[length] ) ) { return this.sortedSymbols[this.firstIndex[length] + (int) offset]; }
+        }
+
+        throw new IOException("The stream holds a bit sequence which is not a code.");
+    }
+
+    // Write a header followed by the encoded bytes of the input, in blocks, and an end marker. The output is flushed but not closed.
+    public void encode(final InputStream in, final OutputStream out) throws IOException
+    {
+        BitOutputStream bits = new BitOutputStream(new BufferedOutputStream(out));
+        byte[] block = new byte[HuffmanCodec.DEFAULT_BLOCK_SIZE];
+
+        this.writeHeader(bits);
+
+        int count = in.readNBytes(block, 0, block.length);
+
+        while ( count > 0 )
+        {
+            this.encodeBlock(bits, ByteBuffer.wrap(block, 0, count));
+            count = in.readNBytes(block, 0, block.length);
+        }
+
+        HuffmanCodec.writeVarLong(bits, 0);
+        bits.flush();
+    }
+
+    // Write a header followed by the encoded characters of the input, in blocks, and an end marker. The output is flushed but not closed.
+    // Unlike the byte-oriented methods, this one can encode alphabets of more than 256 symbols.
+    public void encode(final CharSequence input, final OutputStream out) throws IOException
+    {
+        BitOutputStream bits = new BitOutputStream(new BufferedOutputStream(out));
+
+        this.writeHeader(bits);
+
+        for ( int start = 0; start < input.length(); start += HuffmanCodec.DEFAULT_BLOCK_SIZE )
+        {
+            int end = Math.min(( start + HuffmanCodec.DEFAULT_BLOCK_SIZE ), input.length());
+            HuffmanCodec.writeVarLong(bits, ( end - start ));
+
+            for ( int i = start; i < end; i++ )
+            {
+                this.encodeSymbol(bits, ( input.charAt(i) - this.symbolOffset ));
+            }
+
+            bits.alignToByte();
+        }
+
+        HuffmanCodec.writeVarLong(bits, 0);
+        bits.flush();
+    }
+
+    // Write one block: the symbol count followed by the packed codes of every remaining byte in the buffer, padded to a byte boundary.
+    private void encodeBlock(final BitOutputStream bits, final ByteBuffer block) throws IOException
+    {
+        HuffmanCodec.writeVarLong(bits, block.remaining());
+
+        while ( block.hasRemaining() )
+        {
+            this.encodeSymbol(bits, ( ( block.get() & 0xFF ) - this.symbolOffset ));
+        }
+
+        bits.alignToByte();
+    }
+
+    public void encode(final ReadableByteChannel in, final WritableByteChannel out) throws IOException
+    {
+        this.encode(Channels.newInputStream(in), Channels.newOutputStream(out));
+    }
+
+    // Encode the remaining bytes of the buffer on the common fork-join pool and write exactly what encode() would. Blocks start on byte boundaries,
+    // so each one is encoded on its own and the results are simply written out in order; a batch at a time is held in memory.
+    public void encodeParallel(final ByteBuffer input, final OutputStream out) throws IOException
+    {
+        BufferedOutputStream buffered = new BufferedOutputStream(out);
+        int start = input.position();
+        int blocks = (int) ( ( ( (long) input.remaining() + HuffmanCodec.DEFAULT_BLOCK_SIZE ) - 1 ) / HuffmanCodec.DEFAULT_BLOCK_SIZE );
+        int batchSize = ( 4 * ForkJoinPool.getCommonPoolParallelism() );
+
+        this.writeHeader(buffered);
+
+        for ( int batch = 0; batch < blocks; batch += batchSize )
+        {
+            byte[][] encoded = new byte[Math.min(batchSize, ( blocks - batch ))][];
+            ForkJoinPool.commonPool().invoke(new EncodeTask(this, input, ( start + ( batch * HuffmanCodec.DEFAULT_BLOCK_SIZE ) ), encoded, 0, encoded.length));
+
+            for ( byte[] block : encoded )
+            {
+                buffered.write(block);
+            }
+        }
+
+        HuffmanCodec.writeVarLong(buffered, 0);
+        buffered.flush();
+        input.position(input.limit());
+    }
+
+    // Write the code of a single symbol.
+    public void encodeSymbol(final BitOutputStream out, final int symbol) throws IOException
+    {
+        if ( ( symbol < 0 ) || ( symbol >= this.codeLengths.length ) || ( this.codeLengths[symbol] == 0 ) ) { throw new IllegalArgumentException("Symbol " + ( symbol + this.symbolOffset ) + " has no code."); }
+
+        out.writeBits(this.codes[symbol], this.codeLengths[symbol]);
+    }
+
+    public final int getAlphabetSize()
+    {
+        return this.codeLengths.length;
+    }
+
+    // Return the canonical code of a symbol, right-aligned in the low-order getCodeLength(symbol) bits.
+    public final int getCode(final int symbol)
+    {
+        return this.codes[symbol];
+    }
+
+    public final int getCodeLength(final int symbol)
+    {
+        return this.codeLengths[symbol];
+    }
+
+    public final int[] getCodeLengths()
+    {
+        return this.codeLengths.clone();
+    }
+
+    public final int getMaxCodeLength()
+    {
+        return this.maxLength;
+    }
+
+    public final int getSymbolOffset()
+    {
+        return this.symbolOffset;
+    }
+
+    // Write the code table: everything the decoder needs to rebuild the canonical code.
+    public void writeHeader(final OutputStream out) throws IOException
+    {
+        for ( int shift = 24; shift >= 0; shift -= 8 )
+        {
+            out.write(HuffmanCodec.MAGIC >>> shift);
+        }
+
+        HuffmanCodec.writeVarLong(out, this.symbolOffset);
+        HuffmanCodec.writeVarLong(out, this.codeLengths.length);
+        out.write(this.maxLength);
+
+        if ( this.maxLength < 16 )
+        {
+            for ( int i = 0; i < this.codeLengths.length; i += 2 )
+            {
+                int low = ( ( ( i + 1 ) < this.codeLengths.length ) ? this.codeLengths[i + 1] : 0 );
+                out.write(( this.codeLengths[i] << 4 ) | low);
+            }
+        }
+        else
+        {
+            for ( int length : this.codeLengths )
+            {
+                out.write(length);
+            }
+        }
+    }
+}
@@ -8,9 +8,22 @@
 
 package api.util.datastructures;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.PriorityQueue;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 import api.util.Support;
 
 /*
@@ -22,10 +35,15 @@ import api.util.Support;
  * 
  * ALPHABET_A5 is the 'A'-'G' alphabet specified by the instructions on Blackboard.
  * ALPHABET_ASCII allows the processing of spaces and all printable ASCII characters.
+ * ALPHABET_BYTES covers every byte value, so that binary files can be compressed; such files are read as raw bytes rather than as lines of text.
  * 
  * @formatter:on
  * 
  * I used ALPHABET_ASCII to test my program with the example data given in the book on pages 416-421.
+ *
+ * The codes are canonical and no longer than maxCodeLength bits. After the usual Huffman construction, the code lengths are recomputed with a
+ * limit and the tree is rebuilt so that each code is the canonical one for its length. The compression is the same as plain Huffman coding
+ * whenever the limit is not reached, and the code table can be rebuilt from the code lengths alone, which is what HuffmanCodec stores.
  */
 public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
 {
@@ -34,14 +52,141 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
         COMPRESSED, ORIGINAL, UNCOMPRESSED
     }
 
+    /*
+     * This helper class copies the bytes of a range of chunks which fall within the alphabet into their place in the input, in parallel.
+     */
+    protected static final class FilterTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer data;
+        private final int        first;   // Lowest byte value in the alphabet.
+        private final int        fromChunk;
+        private final int[]      offsets; // Position in the target of the first byte kept from each chunk.
+        private final int        size;    // Number of byte values in the alphabet.
+        private final byte[]     target;
+        private final int        toChunk;
+
+        public FilterTask(final ByteBuffer data, final int first, final int size, final int[] offsets, final byte[] target, final int fromChunk, final int toChunk)
+        {
+            this.data = data;
+            this.first = first;
+            this.size = size;
+            this.offsets = offsets;
+            this.target = target;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( ( this.toChunk - this.fromChunk ) > 1 )
+            {
+                int middle = ( ( this.fromChunk + this.toChunk ) >>> 1 );
+                RecursiveAction.invokeAll(new FilterTask(this.data, this.first, this.size, this.offsets, this.target, this.fromChunk, middle), new FilterTask(this.data, this.first, this.size, this.offsets, this.target, middle, this.toChunk));
+                return;
+            }
+
+            ByteBuffer chunk = HuffmanTree.chunkOf(this.data, this.fromChunk);
+            int position = this.offsets[this.fromChunk];
+
+            if ( ( this.first == 0 ) && ( this.size >= 256 ) )
+            {
+                chunk.get(this.target, position, chunk.remaining());
+                return;
+            }
+
+            while ( chunk.hasRemaining() )
+            {
+                byte b = chunk.get();
+
+                int index = ( ( b & 0xFF ) - this.first );
+
+                if ( ( index >= 0 ) && ( index < this.size ) )
+                {
+                    this.target[position++] = b;
+                }
+            }
+        }
+    }
+
+    /*
+     * This helper class counts how often each byte value occurs in a range of chunks, in parallel. Each chunk is counted into its own histogram,
+     * and the histograms are added up as the tasks are joined.
+     */
+    protected static final class FrequencyTask extends RecursiveTask<long[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer data;
+        private final int        first;   // Lowest byte value in the alphabet.
+        private final int        fromChunk;
+        private final int[]      kept;    // Number of bytes in each chunk which fall within the alphabet.
+        private final int        size;    // Number of byte values in the alphabet.
+        private final int        toChunk;
+
+        public FrequencyTask(final ByteBuffer data, final int first, final int size, final int[] kept, final int fromChunk, final int toChunk)
+        {
+            this.data = data;
+            this.first = first;
+            this.size = size;
+            this.kept = kept;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected long[] compute()
+        {
+            if ( ( this.toChunk - this.fromChunk ) > 1 )
+            {
+                int middle = ( ( this.fromChunk + this.toChunk ) >>> 1 );
+                FrequencyTask left = new FrequencyTask(this.data, this.first, this.size, this.kept, this.fromChunk, middle);
+                FrequencyTask right = new FrequencyTask(this.data, this.first, this.size, this.kept, middle, this.toChunk);
+                left.fork();
+                long[] retVal = right.compute();
+                long[] other = left.join();
+
+                for ( int i = 0; i < retVal.length; i++ )
+                {
+                    retVal[i] += other[i];
+                }
+
+                return retVal;
+            }
+
+            long[] retVal = new long[256];
+            ByteBuffer chunk = HuffmanTree.chunkOf(this.data, this.fromChunk);
+
+            while ( chunk.hasRemaining() )
+            {
+                retVal[chunk.get() & 0xFF]++;
+            }
+
+            long count = 0;
+
+            for ( int i = this.first; i < Math.min(( this.first + this.size ), 256); i++ )
+            {
+                count += retVal[i];
+            }
+
+            this.kept[this.fromChunk] = (int) count;
+            return retVal;
+        }
+    }
+
     public static final String ALPHABET_A5    = Support.constructAlphabetString('A', 'G');
     public static final String ALPHABET_ASCII = Support.constructAlphabetString(32, 126);
+    public static final String ALPHABET_BYTES = Support.constructAlphabetString(0, 255);
+    public static final int    CHUNK_SIZE     = ( 1 << 20 );
     private Character          alphabetFirst  = null;
     private int                alphabetSize   = 0;
     private String             alphabetString = null;
     private String[]           codeTable      = new String[this.getAlphabetSize()];
     private int[]              frequencies    = new int[this.getAlphabetSize()];
     private String             inputString    = "";
+    private int                maxCodeLength  = HuffmanCodec.DEFAULT_MAX_CODE_LENGTH;
 
     public HuffmanTree()
     {
@@ -67,19 +212,78 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
         this(HuffmanTree.ALPHABET_ASCII, args);
     }
 
+    // Return a view of the given chunk of the data.
+    private static ByteBuffer chunkOf(final ByteBuffer data, final int chunk)
+    {
+        int from = ( chunk * HuffmanTree.CHUNK_SIZE );
+        return data.slice(from, Math.min(HuffmanTree.CHUNK_SIZE, ( data.limit() - from )));
+    }
+
     protected String compressInput(final String input)
     {
-        String retVal = "";
+        StringBuilder retVal = new StringBuilder();
 
         for ( int i = 0; i < input.length(); i++ )
         {
             char character = input.charAt(i);
             int codeIndex = ( character - this.getAlphabetFirst().charValue() );
 
-            retVal = ( retVal + this.getCodeTable()[codeIndex] );
+            retVal.append(this.getCodeTable()[codeIndex]);
         }
 
-        return retVal;
+        return retVal.toString();
+    }
+
+    // Replace the tree with the one for the canonical, length-limited code of the current frequencies.
+    @SuppressWarnings("unchecked")
+    protected void createCanonicalTree()
+    {
+        long[] weights = new long[this.getAlphabetSize()];
+
+        for ( int i = 0; i < this.getAlphabetSize(); i++ )
+        {
+            weights[i] = this.getFrequencies()[i];
+        }
+
+        HuffmanCodec codec = new HuffmanCodec(this.getAlphabetFirst().charValue(), HuffmanCodec.computeCodeLengths(weights, this.getMaxCodeLength()));
+        HuffmanNode<T> root = new HuffmanNode<T>(null, null, null, null, 0);
+
+        for ( int i = 0; i < this.getAlphabetSize(); i++ )
+        {
+            int length = codec.getCodeLength(i);
+
+            if ( length > 0 )
+            {
+                HuffmanNode<T> node = root;
+
+                // Follow the code from its most significant bit, adding internal nodes as needed, and hang the leaf off the last one.
+                for ( int bit = ( length - 1 ); bit >= 0; bit-- )
+                {
+                    boolean isRight = ( ( ( codec.getCode(i) >>> bit ) & 1 ) == 1 );
+                    HuffmanNode<T> child = (HuffmanNode<T>) ( isRight ? node.getRight() : node.getLeft() );
+
+                    if ( child == null )
+                    {
+                        T data = ( ( bit == 0 ) ? (T) Character.valueOf(this.getAlphabetString().charAt(i)) : null );
+                        child = new HuffmanNode<T>(data, node, null, null, ( ( bit == 0 ) ? this.getFrequencies()[i] : 0 ));
+
+                        if ( isRight )
+                        {
+                            node.setRight(child);
+                        }
+                        else
+                        {
+                            node.setLeft(child);
+                        }
+                    }
+
+                    node = child;
+                }
+            }
+        }
+
+        this.setRoot(root);
+        this.setSize(this.finishCanonicalNode(root));
     }
 
     @SuppressWarnings("unchecked")
@@ -127,6 +331,29 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
         this.setSize(newSize);
     }
 
+    // Fill in the counts and subtree sizes of the internal nodes of a rebuilt tree, and return the number of nodes under the given one.
+    @SuppressWarnings("unchecked")
+    private int finishCanonicalNode(final HuffmanNode<T> node)
+    {
+        if ( node.isLeaf() ) { return 1; }
+
+        int count = 0;
+        int size = 1;
+
+        for ( Node child : new Node[] { node.getLeft(), node.getRight() } )
+        {
+            if ( child != null )
+            {
+                size += this.finishCanonicalNode((HuffmanNode<T>) child);
+                count += ( (HuffmanNode<T>) child ).getCount();
+            }
+        }
+
+        node.setCount(count);
+        node.setSubtreeSize(size);
+        return size;
+    }
+
     public String formatCodeTable()
     {
         StringBuilder sb = new StringBuilder();
@@ -235,6 +462,23 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
         return sb.toString();
     }
 
+    // Return a streaming codec which uses canonical codes of the same lengths as this tree's codes, and so compresses just as well.
+    public HuffmanCodec getCodec()
+    {
+        int[] codeLengths = new int[this.getAlphabetSize()];
+
+        for ( int i = 0; i < this.getAlphabetSize(); i++ )
+        {
+            if ( this.getCodeTable()[i] != null )
+            {
+                // A tree with a single leaf gives it an empty code, but a real bit stream needs at least one bit per symbol.
+                codeLengths[i] = Math.max(this.getCodeTable()[i].length(), 1);
+            }
+        }
+
+        return new HuffmanCodec(this.getAlphabetFirst().charValue(), codeLengths);
+    }
+
     public final Character getAlphabetFirst()
     {
         return this.alphabetFirst;
@@ -265,13 +509,34 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
         return this.inputString;
     }
 
+    public final int getMaxCodeLength()
+    {
+        return this.maxCodeLength;
+    }
+
     @SuppressWarnings("unchecked")
     protected void initialize()
     {
         this.createHuffmanTree();
+
+        // Empty input leaves no tree at all, so there are no codes to make.
+        if ( this.getRoot() == null ) { return; }
+
+        // A lone symbol keeps the single-leaf tree, since there is nothing to make canonical.
+        if ( !( (HuffmanNode<T>) this.getRoot() ).isLeaf() )
+        {
+            this.createCanonicalTree();
+        }
+
         this.createCodeTable((HuffmanNode<T>) this.getRoot(), "");
     }
 
+    // Return true if the alphabet covers every byte value, in which case files are read as raw bytes.
+    public final boolean isByteAlphabet()
+    {
+        return ( ( this.getAlphabetFirst().charValue() == 0 ) && ( this.getAlphabetSize() >= 256 ) );
+    }
+
     public boolean openFile(final String filePath)
     {
         boolean retVal = false;
@@ -282,8 +547,15 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
 
         try
         {
-            inputStream = new Scanner(new File(filePath));
-            retVal = this.parseFile(inputStream);
+            if ( this.isByteAlphabet() )
+            {
+                retVal = this.parseBytes(Files.readAllBytes(Paths.get(filePath)));
+            }
+            else
+            {
+                inputStream = new Scanner(new File(filePath));
+                retVal = this.parseFile(inputStream);
+            }
 
             if ( retVal )
             {
@@ -308,26 +580,97 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
         return retVal;
     }
 
+    // Read the input like openFile(), but memory-map the file and count and filter it in chunks on the common fork-join pool.
+    // Each byte of the file is one character, so alphabets which go beyond single bytes fall back to openFile().
+    public boolean openFileParallel(final String filePath)
+    {
+        boolean retVal = false;
+
+        if ( ( filePath == null ) || filePath.isEmpty() ) { return retVal; }
+        if ( ( this.getAlphabetFirst().charValue() + this.getAlphabetSize() ) > 256 ) { return this.openFile(filePath); }
+
+        try ( FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ) )
+        {
+            if ( channel.size() > Integer.MAX_VALUE ) { throw new IOException("The file is too large to hold in a single input string."); }
+
+            retVal = this.parseBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+
+            if ( retVal )
+            {
+                this.initialize();
+            }
+        }
+        catch ( Exception exception )
+        {
+            Support.displayException(null, exception, false);
+        }
+
+        return retVal;
+    }
+
+    // Take the bytes of the buffer which fall within the alphabet as the input, one character per byte, counting and copying them in parallel.
+    protected boolean parseBuffer(final ByteBuffer data)
+    {
+        int first = this.getAlphabetFirst().charValue();
+        int chunks = Math.max(1, (int) ( ( ( (long) data.limit() + HuffmanTree.CHUNK_SIZE ) - 1 ) / HuffmanTree.CHUNK_SIZE ));
+        int[] kept = new int[chunks];
+        long[] histogram = ForkJoinPool.commonPool().invoke(new FrequencyTask(data, first, this.getAlphabetSize(), kept, 0, chunks));
+
+        for ( int i = 0; i < this.getAlphabetSize(); i++ )
+        {
+            this.getFrequencies()[i] += (int) histogram[first + i];
+        }
+
+        int[] offsets = new int[chunks];
+        int total = 0;
+
+        for ( int i = 0; i < chunks; i++ )
+        {
+            offsets[i] = total;
+            total += kept[i];
+        }
+
+        byte[] text = new byte[total];
+        ForkJoinPool.commonPool().invoke(new FilterTask(data, first, this.getAlphabetSize(), offsets, text, 0, chunks));
+        this.setInputString(this.getInputString() + new String(text, StandardCharsets.ISO_8859_1));
+        return true;
+    }
+
+    // Take raw bytes as the input, one character per byte.
+    protected boolean parseBytes(final byte[] data)
+    {
+        for ( byte b : data )
+        {
+            this.getFrequencies()[( b & 0xFF ) - this.getAlphabetFirst().charValue()]++;
+        }
+
+        this.setInputString(this.getInputString() + new String(data, StandardCharsets.ISO_8859_1));
+        return true;
+    }
+
     protected boolean parseFile(final Scanner inputStream)
     {
+        StringBuilder input = new StringBuilder(this.getInputString());
+
         while ( inputStream.hasNextLine() )
         {
             String line = inputStream.nextLine();
 
             for ( int i = 0; i < line.length(); i++ )
             {
-                CharSequence currentCharacterSequence = line.subSequence(i, ( i + 1 ));
                 char currentCharacter = line.charAt(i);
+                int index = ( currentCharacter - this.getAlphabetFirst().charValue() );
 
-                if ( this.getAlphabetString().contains(currentCharacterSequence) )
+                // The alphabet is contiguous, so a range check is all that is needed to see whether it contains the character.
+                if ( ( index >= 0 ) && ( index < this.getAlphabetSize() ) )
                 {
-                    this.setInputString(this.getInputString() + currentCharacter);
-                    int index = ( currentCharacter - this.getAlphabetFirst().charValue() );
+                    input.append(currentCharacter);
                     this.getFrequencies()[index]++;
                 }
             }
         }
 
+        this.setInputString(input.toString());
         return true;
     }
 
@@ -339,6 +682,26 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
         this.setInputString("");
     }
 
+    // Write the input, packed with the streaming codec, to the given file.
+    public boolean saveCompressedFile(final String filePath)
+    {
+        boolean retVal = false;
+
+        if ( ( filePath == null ) || filePath.isEmpty() || ( this.getRoot() == null ) ) { return retVal; }
+
+        try ( OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(filePath)) )
+        {
+            this.writeCompressedParallel(outputStream);
+            retVal = true;
+        }
+        catch ( Exception exception )
+        {
+            Support.displayException(null, exception, false);
+        }
+
+        return retVal;
+    }
+
     protected final void setAlphabet(final String alphabet)
     {
         this.setAlphabetString(alphabet);
@@ -376,10 +739,16 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
         this.inputString = inputString;
     }
 
+    // Set the longest code which the tree may assign. This takes effect the next time the tree is built.
+    public final void setMaxCodeLength(final int maxCodeLength)
+    {
+        this.maxCodeLength = maxCodeLength;
+    }
+
     @SuppressWarnings("unchecked")
     protected String uncompressOutput(final String output)
     {
-        String retVal = "";
+        StringBuilder retVal = new StringBuilder();
         int x = 0;
 
         for ( int i = 0; i < this.getInputString().length(); i++ )
@@ -400,9 +769,28 @@ public class HuffmanTree<T extends Comparable<? super T>> extends Tree<T>
                 x++;
             }
 
-            retVal = ( retVal + ( (Character) nextNode.getData() ).charValue() );
+            retVal.append(( (Character) nextNode.getData() ).charValue());
         }
 
-        return retVal;
+        return retVal.toString();
+    }
+
+    // Write the input, packed with the streaming codec, to the given stream.
+    public void writeCompressed(final OutputStream out) throws IOException
+    {
+        this.getCodec().encode(this.getInputString(), out);
+    }
+
+    // Write exactly what writeCompressed() would, but encode the blocks in parallel. Alphabets which go beyond single bytes are encoded sequentially.
+    public void writeCompressedParallel(final OutputStream out) throws IOException
+    {
+        if ( ( this.getAlphabetFirst().charValue() + this.getAlphabetSize() ) > 256 )
+        {
+            this.writeCompressed(out);
+        }
+        else
+        {
+            this.getCodec().encodeParallel(ByteBuffer.wrap(this.getInputString().getBytes(StandardCharsets.ISO_8859_1)), out);
+        }
     }
 }
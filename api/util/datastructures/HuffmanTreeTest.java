@@ -0,0 +1,188 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HuffmanTreeTest
+{
+    @TempDir
+    Path directory;
+
+    // Check that the tree's codes are the canonical codes of their lengths, no longer than the limit, and the same as its codec's.
+    private static void checkCanonical(final HuffmanTree<Character> tree)
+    {
+        String[] codeTable = tree.getCodeTable();
+        HuffmanCodec codec = tree.getCodec();
+        List<Integer> symbols = new ArrayList<Integer>();
+
+        for ( int i = 0; i < codeTable.length; i++ )
+        {
+            if ( codeTable[i] != null )
+            {
+                symbols.add(i);
+            }
+        }
+
+        symbols.sort((a, b) -> ( ( codeTable[a].length() != codeTable[b].length() ) ? Integer.compare(codeTable[a].length(), codeTable[b].length()) : Integer.compare(a, b) ));
+
+        long code = 0;
+        int length = codeTable[symbols.get(0)].length();
+
+        for ( int symbol : symbols )
+        {
+            String expected = codeTable[symbol];
+
+            code <<= ( expected.length() - length );
+            length = expected.length();
+
+            assertTrue(length <= tree.getMaxCodeLength(), "The code of symbol " + symbol + " is longer than the limit.");
+            assertEquals(expected, HuffmanTreeTest.toBits(code, length), "Symbol " + symbol + " does not have the canonical code.");
+            assertEquals(code, codec.getCode(symbol));
+            assertEquals(length, codec.getCodeLength(symbol));
+            code++;
+        }
+
+        // A complete prefix code uses up every code of the longest length.
+        assertEquals(( 1L << length ), code);
+    }
+
+    // Return bytes whose value i appears fib(i + 1) times, shuffled, so that unlimited Huffman codes would grow one bit per symbol.
+    private static byte[] fibonacciBytes(final int symbols)
+    {
+        List<Byte> data = new ArrayList<Byte>();
+        int a = 1;
+        int b = 1;
+
+        for ( int i = 0; i < symbols; i++ )
+        {
+            for ( int j = 0; j < a; j++ )
+            {
+                data.add((byte) i);
+            }
+
+            int next = ( a + b );
+            a = b;
+            b = next;
+        }
+
+        Collections.shuffle(data, new Random(7));
+        byte[] retVal = new byte[data.size()];
+
+        for ( int i = 0; i < retVal.length; i++ )
+        {
+            retVal[i] = data.get(i);
+        }
+
+        return retVal;
+    }
+
+    private static String toBits(final long code, final int length)
+    {
+        StringBuilder retVal = new StringBuilder();
+
+        for ( int i = ( length - 1 ); i >= 0; i-- )
+        {
+            retVal.append(( ( code >>> i ) & 1 ) == 0 ? '0' : '1');
+        }
+
+        return retVal.toString();
+    }
+
+    private HuffmanTree<Character> open(final String alphabet, final int maxCodeLength, final byte[] data) throws IOException
+    {
+        Path file = Files.createTempFile(this.directory, "huffman", ".txt");
+        HuffmanTree<Character> retVal = new HuffmanTree<Character>(alphabet);
+
+        Files.write(file, data);
+        retVal.setMaxCodeLength(maxCodeLength);
+        assertTrue(retVal.openFile(file.toString()));
+        return retVal;
+    }
+
+    private byte[] roundTrip(final HuffmanTree<Character> tree) throws IOException
+    {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        ByteArrayOutputStream retVal = new ByteArrayOutputStream();
+
+        tree.writeCompressed(compressed);
+        tree.writeCompressedParallel(parallel);
+        assertArrayEquals(compressed.toByteArray(), parallel.toByteArray(), "The parallel encoder wrote a different stream.");
+        assertEquals(tree.getInputString().length(), HuffmanCodec.decode(new ByteArrayInputStream(compressed.toByteArray()), retVal));
+        return retVal.toByteArray();
+    }
+
+    @Test
+    public void testBytesRoundTrip() throws IOException
+    {
+        byte[] data = new byte[300000];
+        Random random = new Random(42);
+
+        // Mostly small values, so that the code lengths vary, but every byte value appears.
+        for ( int i = 0; i < data.length; i++ )
+        {
+            data[i] = (byte) ( ( i < 256 ) ? i : (int) Math.min(255, Math.abs(random.nextGaussian() * 24)) );
+        }
+
+        HuffmanTree<Character> tree = this.open(HuffmanTree.ALPHABET_BYTES, HuffmanCodec.DEFAULT_MAX_CODE_LENGTH, data);
+
+        HuffmanTreeTest.checkCanonical(tree);
+        assertArrayEquals(data, this.roundTrip(tree));
+    }
+
+    @Test
+    public void testLengthLimitedCodes() throws IOException
+    {
+        byte[] data = HuffmanTreeTest.fibonacciBytes(24);
+
+        for ( int limit : new int[] { 5, 8, 12, HuffmanCodec.DEFAULT_MAX_CODE_LENGTH } )
+        {
+            HuffmanTree<Character> tree = this.open(HuffmanTree.ALPHABET_BYTES, limit, data);
+
+            HuffmanTreeTest.checkCanonical(tree);
+            assertArrayEquals(data, this.roundTrip(tree), "The round trip failed with a limit of " + limit + " bits.");
+        }
+
+        // With the default limit some codes are longer than the decoding table, so the bit-by-bit fallback is exercised too.
+        assertTrue(this.open(HuffmanTree.ALPHABET_BYTES, HuffmanCodec.DEFAULT_MAX_CODE_LENGTH, data).getCodec().getMaxCodeLength() > HuffmanCodec.MAX_LOOKUP_BITS);
+    }
+
+    @Test
+    public void testParallelOpenMatchesOpen() throws IOException
+    {
+        byte[] data = HuffmanTreeTest.fibonacciBytes(20);
+        Path file = Files.createTempFile(this.directory, "huffman", ".bin");
+        HuffmanTree<Character> parallel = new HuffmanTree<Character>(HuffmanTree.ALPHABET_BYTES);
+
+        Files.write(file, data);
+        assertTrue(parallel.openFileParallel(file.toString()));
+        assertArrayEquals(this.open(HuffmanTree.ALPHABET_BYTES, HuffmanCodec.DEFAULT_MAX_CODE_LENGTH, data).getCodeTable(), parallel.getCodeTable());
+        assertArrayEquals(data, this.roundTrip(parallel));
+    }
+
+    @Test
+    public void testTextRoundTrip() throws IOException
+    {
+        String text = "it was the best of times it was the worst of times it was the age of wisdom it was the age of foolishness";
+        HuffmanTree<Character> tree = this.open(HuffmanTree.ALPHABET_ASCII, HuffmanCodec.DEFAULT_MAX_CODE_LENGTH, text.getBytes("US-ASCII"));
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        StringBuilder decoded = new StringBuilder();
+
+        HuffmanTreeTest.checkCanonical(tree);
+        tree.writeCompressed(compressed);
+        HuffmanCodec.decode(new ByteArrayInputStream(compressed.toByteArray()), decoded);
+        assertEquals(tree.getInputString(), decoded.toString());
+    }
+}
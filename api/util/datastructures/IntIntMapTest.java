@@ -0,0 +1,126 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class IntIntMapTest
+{
+    // Check that the map holds exactly the entries of the model, both by lookup and by walking a cursor over it.
+    private static void checkEntries(final IntIntMap map, final Map<Integer, Integer> model)
+    {
+        Map<Integer, Integer> visited = new HashMap<Integer, Integer>();
+        IntIntMap.Cursor cursor = map.cursor();
+
+        assertEquals(model.size(), map.getCurSize());
+        assertEquals(model.isEmpty(), map.isEmpty());
+
+        while ( cursor.advance() )
+        {
+            assertEquals(null, visited.put(cursor.getKey(), cursor.getValue()), "The cursor visited key " + cursor.getKey() + " twice.");
+        }
+
+        assertEquals(model, visited);
+
+        for ( Map.Entry<Integer, Integer> entry : model.entrySet() )
+        {
+            assertEquals(entry.getValue().intValue(), map.get(entry.getKey(), -1));
+        }
+    }
+
+    @Test
+    public void testCursorSetValue()
+    {
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> model = new HashMap<Integer, Integer>();
+
+        for ( int i = -50; i < 50; i++ )
+        {
+            map.put(i, i);
+            model.put(i, ( i * 3 ));
+        }
+
+        IntIntMap.Cursor cursor = map.cursor();
+
+        while ( cursor.advance() )
+        {
+            cursor.setValue(cursor.getValue() * 3);
+        }
+
+        IntIntMapTest.checkEntries(map, model);
+
+        map.clear();
+        model.clear();
+        cursor.reset();
+
+        assertFalse(cursor.advance());
+        IntIntMapTest.checkEntries(map, model);
+    }
+
+    @Test
+    public void testEveryIntIsAKey()
+    {
+        IntIntMap map = new IntIntMap();
+        int[] keys = new int[] { 0, -1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE };
+
+        for ( int key : keys )
+        {
+            assertFalse(map.contains(key));
+            assertEquals(42, map.get(key, 42));
+            map.put(key, key);
+        }
+
+        for ( int key : keys )
+        {
+            assertTrue(map.contains(key));
+            assertEquals(key, map.get(key, 42));
+        }
+
+        map.delete(0);
+
+        assertFalse(map.contains(0));
+        assertEquals(( keys.length - 1 ), map.getCurSize());
+    }
+
+    @Test
+    public void testRandomOperations()
+    {
+        Random random = new Random(42);
+        IntIntMap map = new IntIntMap(2);
+        Map<Integer, Integer> model = new HashMap<Integer, Integer>();
+
+        for ( int step = 0; step < 200000; step++ )
+        {
+            // Keys which differ only in their high bits would all share a home slot without the hash mixing them down.
+            int key = ( ( random.nextInt(5000) - 2500 ) << 16 );
+            int operation = random.nextInt(5);
+
+            if ( operation <= 1 )
+            {
+                map.put(key, step);
+                model.put(key, step);
+            }
+            else if ( operation == 2 )
+            {
+                map.delete(key);
+                model.remove(key);
+            }
+            else if ( operation == 3 )
+            {
+                assertEquals(model.merge(key, 3, Integer::sum).intValue(), map.increment(key, 3));
+            }
+            else
+            {
+                assertEquals(( model.containsKey(key) ? model.get(key).intValue() : -1 ), map.get(key, -1), "Wrong value for key " + key + " at step " + step + ".");
+                assertEquals(model.containsKey(key), map.contains(key));
+            }
+        }
+
+        IntIntMapTest.checkEntries(map, model);
+        assertTrue(map.getCurSize() <= ( map.getMaxSize() * map.getLoadFactor() ));
+    }
+}
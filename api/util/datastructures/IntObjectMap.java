@@ -0,0 +1,337 @@
+/*
+ * Title: IntObjectMap
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A hash table from int keys to object values which never boxes the keys. It uses open addressing with Robin Hood linear probing, like
+ * OpenAddressingSymbolTable, but keeps the keys in a primitive array. Which slots are in use is tracked in a separate bit set, so every int
+ * is a valid key and no key has to be set aside to mark an empty slot. As in OpenAddressingSymbolTable, null values are not stored; putting one
+ * deletes the key.
+ *
+ * Entries are visited with a Cursor, which allocates nothing per entry. The map must not be modified while a cursor is walking over it, except
+ * through Cursor.setValue().
+ */
+
+package api.util.datastructures;
+
+import java.util.Arrays;
+
+public class IntObjectMap<V>
+{
+    /* This helper class walks over the entries of the map in slot order without allocating anything per entry. */
+    public static final class Cursor<V>
+    {
+        private int                   index = -1;
+        private final IntObjectMap<V> map;
+
+        private Cursor(final IntObjectMap<V> map)
+        {
+            this.map = map;
+        }
+
+        // Move to the next entry. Return false, and leave the cursor past the end, if there are no more entries.
+        public final boolean advance()
+        {
+            this.index = this.map.nextOccupied(this.index + 1);
+            return ( this.index >= 0 );
+        }
+
+        public final int getKey()
+        {
+            return this.map.keys[this.index];
+        }
+
+        public final V getValue()
+        {
+            return this.map.values[this.index];
+        }
+
+        // Move back to before the first entry.
+        public final void reset()
+        {
+            this.index = -1;
+        }
+
+        public final void setValue(final V value)
+        {
+            this.map.values[this.index] = value;
+        }
+    }
+
+    public static final int    DEFAULT_CAPACITY    = 16;
+    public static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int   MAXIMUM_CAPACITY    = ( 1 << 30 );
+
+    // Round the requested capacity up to the nearest power of two so slot indices can be computed with a mask.
+    private static final int tableSizeFor(final long capacity)
+    {
+        int n = 1;
+
+        while ( ( n < capacity ) && ( n < IntObjectMap.MAXIMUM_CAPACITY ) )
+        {
+            n <<= 1;
+        }
+
+        return n;
+    }
+
+    private long   curSize    = 0;    // Current table size (number of key-value pairs).
+    private int[]  keys       = null; // Internal array of keys.
+    private double loadFactor = 0.0;  // Fraction of the slots which may be filled before the table grows.
+    private int    mask       = 0;    // Number of slots minus one.
+    private long[] occupied   = null; // One bit per slot, set if the slot holds an entry.
+    private long   threshold  = 0;    // Number of key-value pairs which triggers the next resize.
+    private V[]    values     = null; // Internal array of values, parallel to the key array.
+
+    // Create map with the default capacity and load factor.
+    public IntObjectMap()
+    {
+        this(IntObjectMap.DEFAULT_CAPACITY);
+    }
+
+    // Create map with a specific capacity and the default load factor.
+    public IntObjectMap(final long capacity)
+    {
+        this(capacity, IntObjectMap.DEFAULT_LOAD_FACTOR);
+    }
+
+    // Create map with a specific capacity and load factor.
+    public IntObjectMap(final long capacity, final double loadFactor)
+    {
+        if ( ( loadFactor <= 0.0 ) || ( loadFactor >= 1.0 ) || Double.isNaN(loadFactor) ) { throw new IllegalArgumentException("Load factor must be between 0 and 1 exclusive: " + loadFactor); }
+
+        this.setLoadFactor(loadFactor);
+        this.allocate(IntObjectMap.tableSizeFor((long) Math.ceil(Math.max(capacity, 2) / loadFactor)));
+    }
+
+    // Replace the internal arrays with empty arrays of the given number of slots.
+    @SuppressWarnings("unchecked")
+    private final void allocate(final int slots)
+    {
+        this.keys = new int[slots];
+        this.occupied = new long[( slots + 63 ) >>> 6];
+        this.values = (V[]) new Object[slots];
+        this.mask = ( slots - 1 );
+        this.threshold = Math.min((long) ( slots * this.getLoadFactor() ), ( slots - 1 ));
+    }
+
+    // Remove every entry, keeping the current number of slots.
+    public final void clear()
+    {
+        Arrays.fill(this.occupied, 0L);
+        Arrays.fill(this.values, null);
+        this.setCurSize(0);
+    }
+
+    // Is the key in the map?
+    public final boolean contains(final int key)
+    {
+        return ( this.indexOf(key) >= 0 );
+    }
+
+    // Return a cursor positioned before the first entry.
+    public final Cursor<V> cursor()
+    {
+        return new Cursor<V>(this);
+    }
+
+    // Delete key (and associated value) if key is in the map.
+    public final void delete(final int key)
+    {
+        int i = this.indexOf(key);
+
+        if ( i < 0 ) { return; }
+
+        // Shift each following entry back by one slot until we reach an empty slot or an entry which is already in its home slot.
+        int j = ( ( i + 1 ) & this.mask );
+
+        while ( this.isOccupied(j) && ( this.probeDistance(j) > 0 ) )
+        {
+            this.keys[i] = this.keys[j];
+            this.values[i] = this.values[j];
+            i = j;
+            j = ( ( j + 1 ) & this.mask );
+        }
+
+        this.occupied[i >>> 6] &= ~( 1L << i );
+        this.values[i] = null;
+        this.setCurSize(this.getCurSize() - 1);
+    }
+
+    // Return value associated with key, null if no such key.
+    public final V get(final int key)
+    {
+        int i = this.indexOf(key);
+
+        if ( i < 0 ) { return null; }
+
+        return this.values[i];
+    }
+
+    // Return the current size of the map.
+    public final long getCurSize()
+    {
+        return this.curSize;
+    }
+
+    // Return the load factor of the map.
+    public final double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    // Return the maximum size of the map (number of slots).
+    public final long getMaxSize()
+    {
+        return this.keys.length;
+    }
+
+    // Return the slot holding the key, or -1 if no such key.
+    private final int indexOf(final int key)
+    {
+        int i = ( HashStrategy.Murmur3.mix(key) & this.mask );
+
+        // Once our own probe distance exceeds that of the resident entry, the Robin Hood ordering guarantees the key is absent.
+        for ( int dist = 0; this.isOccupied(i); dist++ )
+        {
+            if ( dist > this.probeDistance(i) ) { return -1; }
+            if ( this.keys[i] == key ) { return i; }
+
+            i = ( ( i + 1 ) & this.mask );
+        }
+
+        return -1;
+    }
+
+    // Place an entry that is known to be absent from the map, displacing richer entries along the way.
+    private final void insert(final int key, final V value)
+    {
+        int k = key;
+        V v = value;
+        int i = ( HashStrategy.Murmur3.mix(k) & this.mask );
+
+        for ( int dist = 0;; dist++ )
+        {
+            if ( !this.isOccupied(i) )
+            {
+                this.keys[i] = k;
+                this.values[i] = v;
+                this.occupied[i >>> 6] |= ( 1L << i );
+                return;
+            }
+
+            int residentDist = this.probeDistance(i);
+
+            if ( residentDist < dist )
+            {
+                int tk = this.keys[i];
+                V tv = this.values[i];
+                this.keys[i] = k;
+                this.values[i] = v;
+                k = tk;
+                v = tv;
+                dist = residentDist;
+            }
+
+            i = ( ( i + 1 ) & this.mask );
+        }
+    }
+
+    // Is the map empty?
+    public final boolean isEmpty()
+    {
+        return ( this.getCurSize() == 0 );
+    }
+
+    // Does the slot at the given index hold an entry?
+    private final boolean isOccupied(final int index)
+    {
+        return ( ( this.occupied[index >>> 6] & ( 1L << index ) ) != 0 );
+    }
+
+    // Return the first slot at or after the given index which holds an entry, or -1 if there is none.
+    private final int nextOccupied(final int index)
+    {
+        if ( index > this.mask ) { return -1; }
+
+        int word = ( index >>> 6 );
+        long bits = ( this.occupied[word] & ( -1L << index ) );
+
+        while ( bits == 0 )
+        {
+            if ( ++word == this.occupied.length ) { return -1; }
+
+            bits = this.occupied[word];
+        }
+
+        return ( ( word << 6 ) + Long.numberOfTrailingZeros(bits) );
+    }
+
+    // Return the distance between the slot at the given index and the home slot of the entry stored there.
+    private final int probeDistance(final int index)
+    {
+        return ( ( index - ( HashStrategy.Murmur3.mix(this.keys[index]) & this.mask ) ) & this.mask );
+    }
+
+    // Insert key-value pair into the map.
+    public final void put(final int key, final V value)
+    {
+        if ( value == null )
+        {
+            this.delete(key);
+            return;
+        }
+
+        // A single probe both finds an existing key and, failing that, tells us the key is absent.
+        int i = this.indexOf(key);
+
+        if ( i >= 0 )
+        {
+            this.values[i] = value;
+            return;
+        }
+
+        // Increase table size if the load factor would be exceeded.
+        if ( ( this.getCurSize() + 1 ) > this.threshold )
+        {
+            if ( this.keys.length >= IntObjectMap.MAXIMUM_CAPACITY ) { throw new IllegalStateException("Map cannot grow past " + IntObjectMap.MAXIMUM_CAPACITY + " slots."); }
+
+            this.resize(this.keys.length << 1);
+        }
+
+        this.insert(key, value);
+        this.setCurSize(this.getCurSize() + 1);
+    }
+
+    // Resize the map to have the given number of slots by reinserting all of the entries.
+    protected final void resize(final int slots)
+    {
+        if ( slots > IntObjectMap.MAXIMUM_CAPACITY ) { throw new IllegalStateException("Map cannot grow past " + IntObjectMap.MAXIMUM_CAPACITY + " slots."); }
+
+        int[] oldKeys = this.keys;
+        long[] oldOccupied = this.occupied;
+        V[] oldValues = this.values;
+
+        this.allocate(slots);
+
+        for ( int i = 0; i < oldKeys.length; i++ )
+        {
+            if ( ( oldOccupied[i >>> 6] & ( 1L << i ) ) != 0 )
+            {
+                this.insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // Set the current size of the map.
+    protected final void setCurSize(final long curSize)
+    {
+        this.curSize = curSize;
+    }
+
+    // Set the load factor of the map.
+    protected final void setLoadFactor(final double loadFactor)
+    {
+        this.loadFactor = loadFactor;
+    }
+}
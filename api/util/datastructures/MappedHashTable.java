@@ -0,0 +1,368 @@
+/*
+ * Title: MappedHashTable
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * An off-heap counterpart of HashTable which stores fixed-width byte keys in a memory-mapped file.
+ * It keeps the same insert/find semantics, including the choice between linear and quadratic probing, but the table lives outside the Java heap and
+ * survives the JVM, so a previously built table can be reopened instantly instead of being rebuilt.
+ */
+
+package api.util.datastructures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import api.util.Mathematics;
+
+public class MappedHashTable implements Closeable
+{
+    // File header layout.
+    private static final int HEADER_CURRENT_SIZE = 16;
+    private static final int HEADER_KEY_WIDTH    = 4;
+    private static final int HEADER_LOAD_FACTOR  = 24;
+    private static final int HEADER_MAGIC        = 0;
+    private static final int HEADER_MAXIMUM_SIZE = 8;
+    private static final int HEADER_PROBE_LINEAR = 32;
+    private static final int HEADER_SIZE         = 64;
+    private static final int MAGIC               = 0x4D485431; // "MHT1"
+
+    // Each mapped region is kept under 1 GiB so that tables larger than a single MappedByteBuffer can be addressed.
+    private static final int REGION_BYTES = ( 1 << 30 );
+
+    // Each slot starts with an unsigned short holding the key length plus one; zero marks an empty slot.
+    private static final int SLOT_HEADER = 2;
+
+    // Encode a String key as UTF-8 bytes.
+    private static final byte[] encode(final String data)
+    {
+        if ( data == null ) { return null; }
+
+        return data.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private FileChannel        channel              = null;
+    private long               currentSize          = 0;
+    private MappedByteBuffer   header               = null;
+    private int                keyWidth             = 0;
+    private double             loadFactor           = 0.0;
+    private long               maximumSize          = 0;
+    private boolean            probeIsLinear        = false;
+    private MappedByteBuffer[] regions              = null;
+    private int                regionSlots          = 0;
+    private int                slotWidth            = 0;
+    private long               totalProbeLenFailure = 0;
+    private long               totalProbeLenSuccess = 0;
+
+    // Reopen an existing table file.
+    public MappedHashTable(final String filePath) throws IOException
+    {
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try
+        {
+            if ( this.channel.size() < MappedHashTable.HEADER_SIZE ) { throw new IOException("File is too small to be a mapped hash table: " + filePath); }
+
+            this.header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, MappedHashTable.HEADER_SIZE);
+
+            if ( this.header.getInt(MappedHashTable.HEADER_MAGIC) != MappedHashTable.MAGIC ) { throw new IOException("File is not a mapped hash table: " + filePath); }
+
+            this.keyWidth = this.header.getInt(MappedHashTable.HEADER_KEY_WIDTH);
+            this.maximumSize = this.header.getLong(MappedHashTable.HEADER_MAXIMUM_SIZE);
+            this.currentSize = this.header.getLong(MappedHashTable.HEADER_CURRENT_SIZE);
+            this.loadFactor = this.header.getDouble(MappedHashTable.HEADER_LOAD_FACTOR);
+            this.probeIsLinear = ( this.header.get(MappedHashTable.HEADER_PROBE_LINEAR) != 0 );
+            this.mapRegions();
+        }
+        catch ( final IOException ioe )
+        {
+            this.channel.close();
+            throw ioe;
+        }
+    }
+
+    // Create a new table file, replacing any existing file at the same path.
+    public MappedHashTable(final String filePath, final int keyWidth, final double loadFactor, final boolean useLinearProbe, final long fillSize) throws IOException
+    {
+        if ( ( keyWidth <= 0 ) || ( keyWidth > 0xFFFE ) ) { throw new IllegalArgumentException("Key width must be between 1 and 65534 bytes: " + keyWidth); }
+
+        Path path = Paths.get(filePath);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try
+        {
+            this.keyWidth = keyWidth;
+            this.loadFactor = loadFactor;
+            this.probeIsLinear = useLinearProbe;
+            this.maximumSize = Mathematics.makePrimeGreater((long) Math.ceil(fillSize / loadFactor));
+            this.currentSize = 0;
+
+            this.header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, MappedHashTable.HEADER_SIZE);
+            this.header.putInt(MappedHashTable.HEADER_MAGIC, MappedHashTable.MAGIC);
+            this.header.putInt(MappedHashTable.HEADER_KEY_WIDTH, this.keyWidth);
+            this.header.putLong(MappedHashTable.HEADER_MAXIMUM_SIZE, this.maximumSize);
+            this.header.putLong(MappedHashTable.HEADER_CURRENT_SIZE, this.currentSize);
+            this.header.putDouble(MappedHashTable.HEADER_LOAD_FACTOR, this.loadFactor);
+            this.header.put(MappedHashTable.HEADER_PROBE_LINEAR, (byte) ( useLinearProbe ? 1 : 0 ));
+            this.mapRegions();
+        }
+        catch ( final IOException ioe )
+        {
+            this.channel.close();
+            throw ioe;
+        }
+    }
+
+    // Flush the table to disk and release the file.
+    @Override
+    public void close() throws IOException
+    {
+        if ( this.channel != null )
+        {
+            this.force();
+            this.channel.close();
+            this.channel = null;
+            this.header = null;
+            this.regions = null;
+        }
+    }
+
+    public long find(final byte[] data)
+    {
+        if ( this.isEmpty() ) { return -1; }
+
+        long retVal = this.hash(data);
+        long quadStep = 0;
+        long probeLen = 1;
+
+        if ( retVal < 0 ) { return retVal; }
+
+        while ( this.isIndexOccupied(retVal) && !this.keyEquals(retVal, data) )
+        {
+            // Every slot has been visited once the probe length passes the table size, so give up.
+            if ( probeLen > this.getMaximumSize() )
+            {
+                this.totalProbeLenFailure += probeLen;
+                return -1;
+            }
+
+            if ( this.isProbeLinear() )
+            {
+                retVal++;
+            }
+            else
+            {
+                quadStep++;
+                retVal += ( quadStep * quadStep );
+            }
+
+            retVal %= this.getMaximumSize();
+            probeLen++;
+        }
+
+        if ( !this.isIndexOccupied(retVal) )
+        {
+            retVal = -1;
+            this.totalProbeLenFailure += probeLen;
+        }
+        else
+        {
+            this.totalProbeLenSuccess += probeLen;
+        }
+
+        return retVal;
+    }
+
+    public long find(final String data)
+    {
+        return this.find(MappedHashTable.encode(data));
+    }
+
+    // Force any changes to the mapped regions out to the storage device.
+    public void force()
+    {
+        this.header.force();
+
+        for ( MappedByteBuffer region : this.regions )
+        {
+            region.force();
+        }
+    }
+
+    public long getCurrentSize()
+    {
+        return this.currentSize;
+    }
+
+    // Return a copy of the key stored at the given index, or null if the slot is empty.
+    public byte[] getKey(final long index)
+    {
+        MappedByteBuffer region = this.regionOf(index);
+        int offset = this.offsetOf(index);
+        int length = ( region.getShort(offset) & 0xFFFF ) - 1;
+
+        if ( length < 0 ) { return null; }
+
+        byte[] retVal = new byte[length];
+
+        for ( int i = 0; i < length; i++ )
+        {
+            retVal[i] = region.get(offset + MappedHashTable.SLOT_HEADER + i);
+        }
+
+        return retVal;
+    }
+
+    public int getKeyWidth()
+    {
+        return this.keyWidth;
+    }
+
+    public double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    public long getMaximumSize()
+    {
+        return this.maximumSize;
+    }
+
+    public long getTotalProbeLenFailure()
+    {
+        return this.totalProbeLenFailure;
+    }
+
+    public long getTotalProbeLenSuccess()
+    {
+        return this.totalProbeLenSuccess;
+    }
+
+    // Hash the key the same way HashTable hashes a String: one base-256 digit per byte, offset by one, reduced modulo the table size.
+    public long hash(final byte[] data)
+    {
+        if ( data == null ) { return -1; }
+
+        long hashVal = 0;
+
+        for ( int i = 0; i < data.length; i++ )
+        {
+            hashVal = ( ( hashVal * 256 ) + ( data[i] & 0xFF ) + 1 ) % this.getMaximumSize();
+        }
+
+        return hashVal;
+    }
+
+    public long insert(final byte[] data)
+    {
+        if ( this.getCurrentSize() >= this.getMaximumSize() ) { return -1; }
+
+        long step = 0;
+        long hashVal = this.hash(data);
+
+        if ( hashVal < 0 ) { return hashVal; }
+
+        if ( data.length > this.getKeyWidth() ) { throw new IllegalArgumentException("Key is " + data.length + " bytes but the table only holds " + this.getKeyWidth() + "."); }
+
+        for ( long probeLen = 1; this.isIndexOccupied(hashVal); probeLen++ )
+        {
+            // A quadratic probe sequence may cycle without ever reaching a free slot.
+            if ( probeLen > this.getMaximumSize() ) { return -1; }
+
+            if ( this.isProbeLinear() )
+            {
+                hashVal++;
+            }
+            else
+            {
+                step++;
+                hashVal += ( step * step );
+            }
+
+            hashVal %= this.getMaximumSize();
+        }
+
+        MappedByteBuffer region = this.regionOf(hashVal);
+        int offset = this.offsetOf(hashVal);
+
+        for ( int i = 0; i < data.length; i++ )
+        {
+            region.put(offset + MappedHashTable.SLOT_HEADER + i, data[i]);
+        }
+
+        // Write the length last so a slot never appears occupied before its key bytes are in place.
+        region.putShort(offset, (short) ( data.length + 1 ));
+        this.currentSize++;
+        this.header.putLong(MappedHashTable.HEADER_CURRENT_SIZE, this.currentSize);
+        return hashVal;
+    }
+
+    public long insert(final String data)
+    {
+        return this.insert(MappedHashTable.encode(data));
+    }
+
+    public boolean isEmpty()
+    {
+        return ( this.getCurrentSize() <= 0 );
+    }
+
+    private boolean isIndexOccupied(final long index)
+    {
+        return ( this.regionOf(index).getShort(this.offsetOf(index)) != 0 );
+    }
+
+    public boolean isProbeLinear()
+    {
+        return this.probeIsLinear;
+    }
+
+    // Compare the key stored at the given index with the given key without copying it onto the heap.
+    private boolean keyEquals(final long index, final byte[] data)
+    {
+        MappedByteBuffer region = this.regionOf(index);
+        int offset = this.offsetOf(index);
+
+        if ( ( ( region.getShort(offset) & 0xFFFF ) - 1 ) != data.length ) { return false; }
+
+        for ( int i = 0; i < data.length; i++ )
+        {
+            if ( region.get(offset + MappedHashTable.SLOT_HEADER + i) != data[i] ) { return false; }
+        }
+
+        return true;
+    }
+
+    // Map the slot array as a sequence of regions, each holding a whole number of slots.
+    private void mapRegions() throws IOException
+    {
+        this.slotWidth = ( MappedHashTable.SLOT_HEADER + this.keyWidth );
+        this.regionSlots = ( MappedHashTable.REGION_BYTES / this.slotWidth );
+
+        int regionCount = (int) ( ( ( this.maximumSize + this.regionSlots ) - 1 ) / this.regionSlots );
+        this.regions = new MappedByteBuffer[regionCount];
+
+        for ( int r = 0; r < regionCount; r++ )
+        {
+            long firstSlot = ( (long) r * this.regionSlots );
+            long slots = Math.min(this.regionSlots, ( this.maximumSize - firstSlot ));
+            long position = ( MappedHashTable.HEADER_SIZE + ( firstSlot * this.slotWidth ) );
+            this.regions[r] = this.channel.map(FileChannel.MapMode.READ_WRITE, position, ( slots * this.slotWidth ));
+        }
+    }
+
+    private int offsetOf(final long index)
+    {
+        return (int) ( ( index % this.regionSlots ) * this.slotWidth );
+    }
+
+    private MappedByteBuffer regionOf(final long index)
+    {
+        return this.regions[(int) ( index / this.regionSlots )];
+    }
+}
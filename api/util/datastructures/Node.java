@@ -8,8 +8,29 @@
 
 package api.util.datastructures;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 public abstract class Node
 {
+    // Handles which let concurrent structures in this package read and compare-and-set the links atomically.
+    static final VarHandle NEXT;
+    static final VarHandle PREVIOUS;
+
+    static
+    {
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            PREVIOUS = lookup.findVarHandle(Node.class, "previous", Node.class);
+        }
+        catch ( final ReflectiveOperationException exception )
+        {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
     private Node next     = null;
     private Node previous = null;
 
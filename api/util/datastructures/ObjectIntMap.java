@@ -0,0 +1,355 @@
+/*
+ * Title: ObjectIntMap
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A hash table from object keys to int values which never boxes the values. It uses open addressing with Robin Hood linear probing, like
+ * OpenAddressingSymbolTable, but keeps the values in a primitive array. Which slots are in use is tracked in a separate bit set, so no value has
+ * to be set aside to mark an empty slot. Keys must not be null. As in OpenAddressingSymbolTable, the hash code of each key is cached next to it.
+ *
+ * Entries are visited with a Cursor, which allocates nothing per entry. The map must not be modified while a cursor is walking over it, except
+ * through Cursor.setValue().
+ */
+
+package api.util.datastructures;
+
+import java.util.Arrays;
+
+public class ObjectIntMap<K>
+{
+    /* This helper class walks over the entries of the map in slot order without allocating anything per entry. */
+    public static final class Cursor<K>
+    {
+        private int                   index = -1;
+        private final ObjectIntMap<K> map;
+
+        private Cursor(final ObjectIntMap<K> map)
+        {
+            this.map = map;
+        }
+
+        // Move to the next entry. Return false, and leave the cursor past the end, if there are no more entries.
+        public final boolean advance()
+        {
+            this.index = this.map.nextOccupied(this.index + 1);
+            return ( this.index >= 0 );
+        }
+
+        public final K getKey()
+        {
+            return this.map.keys[this.index];
+        }
+
+        public final int getValue()
+        {
+            return this.map.values[this.index];
+        }
+
+        // Move back to before the first entry.
+        public final void reset()
+        {
+            this.index = -1;
+        }
+
+        public final void setValue(final int value)
+        {
+            this.map.values[this.index] = value;
+        }
+    }
+
+    public static final int    DEFAULT_CAPACITY    = 16;
+    public static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int   MAXIMUM_CAPACITY    = ( 1 << 30 );
+
+    // Round the requested capacity up to the nearest power of two so slot indices can be computed with a mask.
+    private static final int tableSizeFor(final long capacity)
+    {
+        int n = 1;
+
+        while ( ( n < capacity ) && ( n < ObjectIntMap.MAXIMUM_CAPACITY ) )
+        {
+            n <<= 1;
+        }
+
+        return n;
+    }
+
+    private long   curSize    = 0;    // Current table size (number of key-value pairs).
+    private int[]  hashes     = null; // Cached hash of the key stored in each slot.
+    private K[]    keys       = null; // Internal array of keys.
+    private double loadFactor = 0.0;  // Fraction of the slots which may be filled before the table grows.
+    private int    mask       = 0;    // Number of slots minus one.
+    private long[] occupied   = null; // One bit per slot, set if the slot holds an entry.
+    private long   threshold  = 0;    // Number of key-value pairs which triggers the next resize.
+    private int[]  values     = null; // Internal array of values, parallel to the key array.
+
+    // Create map with the default capacity and load factor.
+    public ObjectIntMap()
+    {
+        this(ObjectIntMap.DEFAULT_CAPACITY);
+    }
+
+    // Create map with a specific capacity and the default load factor.
+    public ObjectIntMap(final long capacity)
+    {
+        this(capacity, ObjectIntMap.DEFAULT_LOAD_FACTOR);
+    }
+
+    // Create map with a specific capacity and load factor.
+    public ObjectIntMap(final long capacity, final double loadFactor)
+    {
+        if ( ( loadFactor <= 0.0 ) || ( loadFactor >= 1.0 ) || Double.isNaN(loadFactor) ) { throw new IllegalArgumentException("Load factor must be between 0 and 1 exclusive: " + loadFactor); }
+
+        this.setLoadFactor(loadFactor);
+        this.allocate(ObjectIntMap.tableSizeFor((long) Math.ceil(Math.max(capacity, 2) / loadFactor)));
+    }
+
+    // Replace the internal arrays with empty arrays of the given number of slots.
+    @SuppressWarnings("unchecked")
+    private final void allocate(final int slots)
+    {
+        this.hashes = new int[slots];
+        this.keys = (K[]) new Object[slots];
+        this.occupied = new long[( slots + 63 ) >>> 6];
+        this.values = new int[slots];
+        this.mask = ( slots - 1 );
+        this.threshold = Math.min((long) ( slots * this.getLoadFactor() ), ( slots - 1 ));
+    }
+
+    // Remove every entry, keeping the current number of slots.
+    public final void clear()
+    {
+        Arrays.fill(this.keys, null);
+        Arrays.fill(this.occupied, 0L);
+        this.setCurSize(0);
+    }
+
+    // Is the key in the map?
+    public final boolean contains(final K key)
+    {
+        return ( this.indexOf(key) >= 0 );
+    }
+
+    // Return a cursor positioned before the first entry.
+    public final Cursor<K> cursor()
+    {
+        return new Cursor<K>(this);
+    }
+
+    // Delete key (and associated value) if key is in the map.
+    public final void delete(final K key)
+    {
+        int i = this.indexOf(key);
+
+        if ( i < 0 ) { return; }
+
+        // Shift each following entry back by one slot until we reach an empty slot or an entry which is already in its home slot.
+        int j = ( ( i + 1 ) & this.mask );
+
+        while ( this.isOccupied(j) && ( this.probeDistance(j) > 0 ) )
+        {
+            this.hashes[i] = this.hashes[j];
+            this.keys[i] = this.keys[j];
+            this.values[i] = this.values[j];
+            i = j;
+            j = ( ( j + 1 ) & this.mask );
+        }
+
+        this.keys[i] = null;
+        this.occupied[i >>> 6] &= ~( 1L << i );
+        this.setCurSize(this.getCurSize() - 1);
+    }
+
+    // Return value associated with key, or the given default if no such key.
+    public final int get(final K key, final int defaultValue)
+    {
+        int i = this.indexOf(key);
+
+        if ( i < 0 ) { return defaultValue; }
+
+        return this.values[i];
+    }
+
+    // Return the current size of the map.
+    public final long getCurSize()
+    {
+        return this.curSize;
+    }
+
+    // Return the load factor of the map.
+    public final double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    // Return the maximum size of the map (number of slots).
+    public final long getMaxSize()
+    {
+        return this.keys.length;
+    }
+
+    // Add delta to the value of the key, treating a missing key as zero. Return the new value.
+    public final int increment(final K key, final int delta)
+    {
+        int i = this.indexOf(key);
+
+        if ( i >= 0 )
+        {
+            this.values[i] += delta;
+            return this.values[i];
+        }
+
+        this.put(key, delta);
+        return delta;
+    }
+
+    // Return the slot holding the key, or -1 if no such key.
+    private final int indexOf(final K key)
+    {
+        int h = HashStrategy.Murmur3.mix(key.hashCode());
+        int i = ( h & this.mask );
+
+        // Once our own probe distance exceeds that of the resident entry, the Robin Hood ordering guarantees the key is absent.
+        for ( int dist = 0; this.isOccupied(i); dist++ )
+        {
+            if ( dist > this.probeDistance(i) ) { return -1; }
+            if ( ( this.hashes[i] == h ) && key.equals(this.keys[i]) ) { return i; }
+
+            i = ( ( i + 1 ) & this.mask );
+        }
+
+        return -1;
+    }
+
+    // Place an entry that is known to be absent from the map, displacing richer entries along the way.
+    private final void insert(final int hash, final K key, final int value)
+    {
+        int h = hash;
+        K k = key;
+        int v = value;
+        int i = ( h & this.mask );
+
+        for ( int dist = 0;; dist++ )
+        {
+            if ( !this.isOccupied(i) )
+            {
+                this.hashes[i] = h;
+                this.keys[i] = k;
+                this.values[i] = v;
+                this.occupied[i >>> 6] |= ( 1L << i );
+                return;
+            }
+
+            int residentDist = this.probeDistance(i);
+
+            if ( residentDist < dist )
+            {
+                int th = this.hashes[i];
+                K tk = this.keys[i];
+                int tv = this.values[i];
+                this.hashes[i] = h;
+                this.keys[i] = k;
+                this.values[i] = v;
+                h = th;
+                k = tk;
+                v = tv;
+                dist = residentDist;
+            }
+
+            i = ( ( i + 1 ) & this.mask );
+        }
+    }
+
+    // Is the map empty?
+    public final boolean isEmpty()
+    {
+        return ( this.getCurSize() == 0 );
+    }
+
+    // Does the slot at the given index hold an entry?
+    private final boolean isOccupied(final int index)
+    {
+        return ( ( this.occupied[index >>> 6] & ( 1L << index ) ) != 0 );
+    }
+
+    // Return the first slot at or after the given index which holds an entry, or -1 if there is none.
+    private final int nextOccupied(final int index)
+    {
+        if ( index > this.mask ) { return -1; }
+
+        int word = ( index >>> 6 );
+        long bits = ( this.occupied[word] & ( -1L << index ) );
+
+        while ( bits == 0 )
+        {
+            if ( ++word == this.occupied.length ) { return -1; }
+
+            bits = this.occupied[word];
+        }
+
+        return ( ( word << 6 ) + Long.numberOfTrailingZeros(bits) );
+    }
+
+    // Return the distance between the slot at the given index and the home slot of the entry stored there.
+    private final int probeDistance(final int index)
+    {
+        return ( ( index - ( this.hashes[index] & this.mask ) ) & this.mask );
+    }
+
+    // Insert key-value pair into the map.
+    public final void put(final K key, final int value)
+    {
+        // A single probe both finds an existing key and, failing that, tells us the key is absent.
+        int i = this.indexOf(key);
+
+        if ( i >= 0 )
+        {
+            this.values[i] = value;
+            return;
+        }
+
+        // Increase table size if the load factor would be exceeded.
+        if ( ( this.getCurSize() + 1 ) > this.threshold )
+        {
+            if ( this.keys.length >= ObjectIntMap.MAXIMUM_CAPACITY ) { throw new IllegalStateException("Map cannot grow past " + ObjectIntMap.MAXIMUM_CAPACITY + " slots."); }
+
+            this.resize(this.keys.length << 1);
+        }
+
+        this.insert(HashStrategy.Murmur3.mix(key.hashCode()), key, value);
+        this.setCurSize(this.getCurSize() + 1);
+    }
+
+    // Resize the map to have the given number of slots by reinserting all of the entries.
+    protected final void resize(final int slots)
+    {
+        if ( slots > ObjectIntMap.MAXIMUM_CAPACITY ) { throw new IllegalStateException("Map cannot grow past " + ObjectIntMap.MAXIMUM_CAPACITY + " slots."); }
+
+        int[] oldHashes = this.hashes;
+        K[] oldKeys = this.keys;
+        long[] oldOccupied = this.occupied;
+        int[] oldValues = this.values;
+
+        this.allocate(slots);
+
+        for ( int i = 0; i < oldKeys.length; i++ )
+        {
+            if ( ( oldOccupied[i >>> 6] & ( 1L << i ) ) != 0 )
+            {
+                this.insert(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // Set the current size of the map.
+    protected final void setCurSize(final long curSize)
+    {
+        this.curSize = curSize;
+    }
+
+    // Set the load factor of the map.
+    protected final void setLoadFactor(final double loadFactor)
+    {
+        this.loadFactor = loadFactor;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Title: OpenAddressingSymbolTable
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A minimalist generic hash table data structure which uses open addressing with Robin Hood linear probing.
+ * It honors the same contract as SeparateChainingSymbolTable, but stores its entries in flat parallel arrays instead of chains of nodes.
+ */
+
+package api.util.datastructures;
+
+import java.util.LinkedList;
+import java.util.List;
+
+public class OpenAddressingSymbolTable<K, V>
+{
+    public static final int    DEFAULT_CAPACITY    = 16;
+    public static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int   MAXIMUM_CAPACITY    = ( 1 << 30 );
+
+    // Mix the high bits of a hash code into the low bits, since only the low bits select a slot.
+    private static final int spread(final int h)
+    {
+        return ( h ^ ( h >>> 16 ) );
+    }
+
+    // Round the requested capacity up to the nearest power of two so slot indices can be computed with a mask.
+    private static final int tableSizeFor(final long capacity)
+    {
+        int n = 1;
+
+        while ( ( n < capacity ) && ( n < OpenAddressingSymbolTable.MAXIMUM_CAPACITY ) )
+        {
+            n <<= 1;
+        }
+
+        return n;
+    }
+
+    private long   curSize    = 0;    // Current table size (number of key-value pairs).
+    private int[]  hashes     = null; // Cached spread hash code of the key stored in each slot.
+    private K[]    keys       = null; // Internal array of keys; a null key marks an empty slot.
+    private double loadFactor = 0.0;  // Fraction of the slots which may be filled before the table grows.
+    private int    mask       = 0;    // Number of slots minus one.
+    private long   threshold  = 0;    // Number of key-value pairs which triggers the next resize.
+    private V[]    values     = null; // Internal array of values, parallel to the key array.
+
+    // Create open addressing hash table with the default capacity and load factor.
+    public OpenAddressingSymbolTable()
+    {
+        this(OpenAddressingSymbolTable.DEFAULT_CAPACITY);
+    }
+
+    // Create open addressing hash table with a specific capacity and the default load factor.
+    public OpenAddressingSymbolTable(final long capacity)
+    {
+        this(capacity, OpenAddressingSymbolTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    // Create open addressing hash table with a specific capacity and load factor.
+    public OpenAddressingSymbolTable(final long capacity, final double loadFactor)
+    {
+        if ( ( loadFactor <= 0.0 ) || ( loadFactor >= 1.0 ) || Double.isNaN(loadFactor) ) { throw new IllegalArgumentException("Load factor must be between 0 and 1 exclusive: " + loadFactor); }
+
+        this.setLoadFactor(loadFactor);
+        this.allocate(OpenAddressingSymbolTable.tableSizeFor((long) Math.ceil(Math.max(capacity, 2) / loadFactor)));
+    }
+
+    // Replace the internal arrays with empty arrays of the given number of slots.
+    @SuppressWarnings("unchecked")
+    private final void allocate(final int slots)
+    {
+        this.hashes = new int[slots];
+        this.keys = (K[]) new Object[slots];
+        this.values = (V[]) new Object[slots];
+        this.mask = ( slots - 1 );
+        this.threshold = Math.min((long) ( slots * this.getLoadFactor() ), ( slots - 1 ));
+    }
+
+    // Is the key in the symbol table?
+    public final boolean contains(final K key)
+    {
+        return ( this.indexOf(key) >= 0 );
+    }
+
+    // Delete key (and associated value) if key is in the table.
+    public final void delete(final K key)
+    {
+        int i = this.indexOf(key);
+
+        if ( i < 0 ) { return; }
+
+        // Shift each following entry back by one slot until we reach an empty slot or an entry which is already in its home slot.
+        int j = ( ( i + 1 ) & this.mask );
+
+        while ( ( this.keys[j] != null ) && ( this.probeDistance(j) > 0 ) )
+        {
+            this.hashes[i] = this.hashes[j];
+            this.keys[i] = this.keys[j];
+            this.values[i] = this.values[j];
+            i = j;
+            j = ( ( j + 1 ) & this.mask );
+        }
+
+        this.hashes[i] = 0;
+        this.keys[i] = null;
+        this.values[i] = null;
+        this.setCurSize(this.getCurSize() - 1);
+    }
+
+    // Return value associated with key, null if no such key.
+    public final V get(final K key)
+    {
+        int i = this.indexOf(key);
+
+        if ( i < 0 ) { return null; }
+
+        return this.values[i];
+    }
+
+    // Return the current size of the symbol table.
+    public final long getCurSize()
+    {
+        return this.curSize;
+    }
+
+    // Return the load factor of the symbol table.
+    public final double getLoadFactor()
+    {
+        return this.loadFactor;
+    }
+
+    // Return the maximum size of the symbol table (number of slots).
+    public final long getMaxSize()
+    {
+        return this.keys.length;
+    }
+
+    // Hash value between 0 and m-1.
+    public final long hash(final K key)
+    {
+        return ( OpenAddressingSymbolTable.spread(key.hashCode()) & this.mask );
+    }
+
+    // Return the slot holding the key, or -1 if no such key.
+    private final int indexOf(final K key)
+    {
+        int h = OpenAddressingSymbolTable.spread(key.hashCode());
+        int i = ( h & this.mask );
+
+        // Once our own probe distance exceeds that of the resident entry, the Robin Hood ordering guarantees the key is absent.
+        for ( int dist = 0; this.keys[i] != null; dist++ )
+        {
+            if ( dist > this.probeDistance(i) ) { return -1; }
+            if ( ( this.hashes[i] == h ) && key.equals(this.keys[i]) ) { return i; }
+
+            i = ( ( i + 1 ) & this.mask );
+        }
+
+        return -1;
+    }
+
+    // Place an entry that is known to be absent from the table, displacing richer entries along the way.
+    private final void insert(final int hash, final K key, final V value)
+    {
+        int h = hash;
+        K k = key;
+        V v = value;
+        int i = ( h & this.mask );
+
+        for ( int dist = 0;; dist++ )
+        {
+            if ( this.keys[i] == null )
+            {
+                this.hashes[i] = h;
+                this.keys[i] = k;
+                this.values[i] = v;
+                return;
+            }
+
+            int residentDist = this.probeDistance(i);
+
+            if ( residentDist < dist )
+            {
+                int th = this.hashes[i];
+                K tk = this.keys[i];
+                V tv = this.values[i];
+                this.hashes[i] = h;
+                this.keys[i] = k;
+                this.values[i] = v;
+                h = th;
+                k = tk;
+                v = tv;
+                dist = residentDist;
+            }
+
+            i = ( ( i + 1 ) & this.mask );
+        }
+    }
+
+    // Is the symbol table empty?
+    public final boolean isEmpty()
+    {
+        return ( this.getCurSize() == 0 );
+    }
+
+    // Return keys in symbol table as an Iterable.
+    public final Iterable<K> keysIterable()
+    {
+        return this.keysList();
+    }
+
+    // Return keys in symbol table as a list.
+    public final List<K> keysList()
+    {
+        List<K> queue = new LinkedList<K>();
+
+        for ( int i = 0; i < this.keys.length; i++ )
+        {
+            if ( this.keys[i] != null )
+            {
+                queue.add(this.keys[i]);
+            }
+        }
+
+        return queue;
+    }
+
+    // Return the distance between the slot at the given index and the home slot of the entry stored there.
+    private final int probeDistance(final int index)
+    {
+        return ( ( index - ( this.hashes[index] & this.mask ) ) & this.mask );
+    }
+
+    // Insert key-value pair into the table.
+    public final void put(final K key, final V value)
+    {
+        if ( value == null )
+        {
+            this.delete(key);
+            return;
+        }
+
+        // A single probe both finds an existing key and, failing that, tells us the key is absent.
+        int i = this.indexOf(key);
+
+        if ( i >= 0 )
+        {
+            this.values[i] = value;
+            return;
+        }
+
+        // Increase table size if the load factor would be exceeded.
+        if ( ( this.getCurSize() + 1 ) > this.threshold )
+        {
+            // Doubling the largest table would overflow, so fail before shifting.
+            if ( this.keys.length >= OpenAddressingSymbolTable.MAXIMUM_CAPACITY ) { throw new IllegalStateException("Symbol table cannot grow past " + OpenAddressingSymbolTable.MAXIMUM_CAPACITY + " slots."); }
+
+            this.resize(this.keys.length << 1);
+        }
+
+        this.insert(OpenAddressingSymbolTable.spread(key.hashCode()), key, value);
+        this.setCurSize(this.getCurSize() + 1);
+    }
+
+    // Resize the hash table to have the given number of slots by reinserting all of the entries.
+    protected final void resize(final int slots)
+    {
+        if ( slots > OpenAddressingSymbolTable.MAXIMUM_CAPACITY ) { throw new IllegalStateException("Symbol table cannot grow past " + OpenAddressingSymbolTable.MAXIMUM_CAPACITY + " slots."); }
+
+        int[] oldHashes = this.hashes;
+        K[] oldKeys = this.keys;
+        V[] oldValues = this.values;
+
+        this.allocate(slots);
+
+        for ( int i = 0; i < oldKeys.length; i++ )
+        {
+            if ( oldKeys[i] != null )
+            {
+                this.insert(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // Set the current size of the symbol table.
+    protected final void setCurSize(final long curSize)
+    {
+        this.curSize = curSize;
+    }
+
+    // Set the load factor of the symbol table.
+    protected final void setLoadFactor(final double loadFactor)
+    {
+        this.loadFactor = loadFactor;
+    }
+}
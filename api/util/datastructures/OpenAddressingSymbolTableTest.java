@@ -0,0 +1,137 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class OpenAddressingSymbolTableTest
+{
+    /* This helper class is a key whose hash code is chosen by the test, so that keys can be made to collide. */
+    private static final class CollidingKey
+    {
+        private final int hash;
+        private final int id;
+
+        public CollidingKey(final int id, final int hash)
+        {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            return ( ( other instanceof CollidingKey ) && ( ( (CollidingKey) other ).id == this.id ) );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+    }
+
+    // Check that the table holds exactly the entries of the model.
+    private static <K, V> void checkEntries(final OpenAddressingSymbolTable<K, V> table, final Map<K, V> model)
+    {
+        assertEquals(model.size(), table.getCurSize());
+        assertEquals(model.isEmpty(), table.isEmpty());
+        assertEquals(model.keySet(), new HashSet<K>(table.keysList()));
+        assertEquals(model.size(), table.keysList().size());
+
+        for ( Map.Entry<K, V> entry : model.entrySet() )
+        {
+            assertEquals(entry.getValue(), table.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testCollidingKeys()
+    {
+        OpenAddressingSymbolTable<CollidingKey, Integer> table = new OpenAddressingSymbolTable<CollidingKey, Integer>();
+        Map<CollidingKey, Integer> model = new HashMap<CollidingKey, Integer>();
+
+        // Three clusters of keys with the same hash code, interleaved so that the clusters run into each other.
+        for ( int i = 0; i < 300; i++ )
+        {
+            CollidingKey key = new CollidingKey(i, ( i % 3 ));
+            table.put(key, i);
+            model.put(key, i);
+        }
+
+        OpenAddressingSymbolTableTest.checkEntries(table, model);
+
+        // Deleting from the middle of a cluster must shift the rest back, so that every other key can still be found.
+        for ( int i = 0; i < 300; i += 4 )
+        {
+            CollidingKey key = new CollidingKey(i, ( i % 3 ));
+            table.delete(key);
+            model.remove(key);
+        }
+
+        OpenAddressingSymbolTableTest.checkEntries(table, model);
+        assertFalse(table.contains(new CollidingKey(0, 0)));
+        assertTrue(table.contains(new CollidingKey(1, 1)));
+    }
+
+    @Test
+    public void testInvalidLoadFactor()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressingSymbolTable<String, String>(16, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressingSymbolTable<String, String>(16, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressingSymbolTable<String, String>(16, Double.NaN));
+    }
+
+    @Test
+    public void testNullValueDeletes()
+    {
+        OpenAddressingSymbolTable<String, String> table = new OpenAddressingSymbolTable<String, String>();
+
+        table.put("key", "value");
+        table.put("key", null);
+
+        assertNull(table.get("key"));
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    public void testRandomOperations()
+    {
+        Random random = new Random(42);
+        OpenAddressingSymbolTable<Integer, Integer> table = new OpenAddressingSymbolTable<Integer, Integer>(2);
+        Map<Integer, Integer> model = new HashMap<Integer, Integer>();
+
+        for ( int step = 0; step < 200000; step++ )
+        {
+            // A key range a few times the table size keeps hits, misses and deletions all common.
+            Integer key = ( random.nextInt(5000) * 65536 );
+            int operation = random.nextInt(4);
+
+            if ( operation <= 1 )
+            {
+                table.put(key, step);
+                model.put(key, step);
+            }
+            else if ( operation == 2 )
+            {
+                table.delete(key);
+                model.remove(key);
+            }
+            else
+            {
+                assertEquals(model.get(key), table.get(key), "Wrong value for key " + key + " at step " + step + ".");
+                assertEquals(model.containsKey(key), table.contains(key));
+            }
+        }
+
+        OpenAddressingSymbolTableTest.checkEntries(table, model);
+        assertTrue(table.getCurSize() <= ( table.getMaxSize() * table.getLoadFactor() ));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Title: PackedCounters
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * An array of 4-bit counters packed two to a byte, which a key addresses by double hashing: the i-th counter of a key is h1 + i * h2, where h1
+ * and h2 are two mixes of its hash code. Counters saturate at their maximum instead of wrapping. The filters and sketches in this package keep
+ * their counters here.
+ */
+
+package api.util.datastructures;
+
+import java.util.Arrays;
+
+final class PackedCounters
+{
+    public static final int COUNTER_MAX = 15;
+
+    // Return the first hash of a key with the given hash code.
+    public static final int hash1(final int hashCode)
+    {
+        return HashStrategy.Murmur3.mix(hashCode);
+    }
+
+    // Return the second hash of a key from its first hash. It is odd, so that it steps through every counter of a power-of-two array.
+    public static final int hash2(final int hash1)
+    {
+        return ( HashStrategy.Murmur3.mix(hash1 ^ 0x9E3779B9) | 1 );
+    }
+
+    private final byte[] counters; // Two counters per byte.
+    private final int    mask;     // Number of counters minus one.
+
+    // Create the given number of counters, which must be an even power of two, all zero.
+    public PackedCounters(final int size)
+    {
+        this.counters = new byte[size >>> 1];
+        this.mask = ( size - 1 );
+    }
+
+    // Set every counter to zero.
+    public final void clear()
+    {
+        Arrays.fill(this.counters, (byte) 0);
+    }
+
+    // Subtract one from the counter at the given index. A counter which is zero, or saturated and so may stand for more elements
+    // than it can count, is left as it is.
+    public final void decrement(final int index)
+    {
+        int counter = this.get(index);
+
+        if ( ( counter > 0 ) && ( counter < PackedCounters.COUNTER_MAX ) )
+        {
+            this.set(index, counter - 1);
+        }
+    }
+
+    public final int get(final int index)
+    {
+        return ( ( this.counters[index >>> 1] >>> ( ( index & 1 ) << 2 ) ) & 0x0F );
+    }
+
+    // Halve every counter, which shifts both counters of a byte at once.
+    public final void halve()
+    {
+        for ( int i = 0; i < this.counters.length; i++ )
+        {
+            this.counters[i] = (byte) ( ( this.counters[i] >>> 1 ) & 0x77 );
+        }
+    }
+
+    // Add one to the counter at the given index, unless it is saturated.
+    public final void increment(final int index)
+    {
+        int counter = this.get(index);
+
+        if ( counter < PackedCounters.COUNTER_MAX )
+        {
+            this.set(index, counter + 1);
+        }
+    }
+
+    // Return the index of the i-th counter of the key with the given hashes.
+    public final int indexOf(final int hash1, final int hash2, final int i)
+    {
+        return ( ( hash1 + ( i * hash2 ) ) & this.mask );
+    }
+
+    private final void set(final int index, final int value)
+    {
+        int shift = ( ( index & 1 ) << 2 );
+        this.counters[index >>> 1] = (byte) ( ( this.counters[index >>> 1] & ~( 0x0F << shift ) ) | ( value << shift ) );
+    }
+
+    // Return the number of counters.
+    public final int size()
+    {
+        return ( this.mask + 1 );
+    }
+}
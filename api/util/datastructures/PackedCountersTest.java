@@ -0,0 +1,122 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class PackedCountersTest
+{
+    @Test
+    public void testCountersAreIndependent()
+    {
+        Random random = new Random(42);
+        PackedCounters counters = new PackedCounters(64);
+        int[] model = new int[64];
+
+        // Two counters share each byte, so changing one must never disturb its neighbour.
+        for ( int step = 0; step < 20000; step++ )
+        {
+            int index = random.nextInt(64);
+
+            if ( random.nextBoolean() )
+            {
+                counters.increment(index);
+                model[index] = Math.min(PackedCounters.COUNTER_MAX, model[index] + 1);
+            }
+            else
+            {
+                counters.decrement(index);
+                model[index] = ( ( ( model[index] > 0 ) && ( model[index] < PackedCounters.COUNTER_MAX ) ) ? ( model[index] - 1 ) : model[index] );
+            }
+
+            assertEquals(model[index], counters.get(index), "Wrong counter " + index + " at step " + step + ".");
+            assertEquals(model[index ^ 1], counters.get(index ^ 1), "Counter " + ( index ^ 1 ) + " was disturbed at step " + step + ".");
+        }
+
+        counters.clear();
+
+        for ( int i = 0; i < 64; i++ )
+        {
+            assertEquals(0, counters.get(i));
+        }
+    }
+
+    @Test
+    public void testHalve()
+    {
+        PackedCounters counters = new PackedCounters(32);
+
+        for ( int i = 0; i < 32; i++ )
+        {
+            for ( int j = 0; j < ( i % 16 ); j++ )
+            {
+                counters.increment(i);
+            }
+        }
+
+        counters.halve();
+
+        // The low bit of the high counter of a byte must not fall into the low counter.
+        for ( int i = 0; i < 32; i++ )
+        {
+            assertEquals(( ( i % 16 ) >>> 1 ), counters.get(i), "Counter " + i + " was not halved.");
+        }
+    }
+
+    @Test
+    public void testIndexOfVisitsEveryCounter()
+    {
+        PackedCounters counters = new PackedCounters(256);
+
+        // The second hash is odd, so stepping by it from any start reaches every counter of a power-of-two array once.
+        for ( int key = 0; key < 100; key++ )
+        {
+            int h1 = PackedCounters.hash1(key);
+            int h2 = PackedCounters.hash2(h1);
+            Set<Integer> indices = new HashSet<Integer>();
+
+            assertEquals(1, ( h2 & 1 ));
+
+            for ( int i = 0; i < counters.size(); i++ )
+            {
+                int index = counters.indexOf(h1, h2, i);
+
+                assertTrue(( index >= 0 ) && ( index < counters.size() ));
+                indices.add(index);
+            }
+
+            assertEquals(counters.size(), indices.size());
+        }
+    }
+
+    @Test
+    public void testSaturatedCounterNeverDecrements()
+    {
+        PackedCounters counters = new PackedCounters(16);
+
+        for ( int i = 0; i < 20; i++ )
+        {
+            counters.increment(3);
+        }
+
+        assertEquals(PackedCounters.COUNTER_MAX, counters.get(3));
+
+        // A saturated counter may stand for more increments than it holds, so it must stay set.
+        for ( int i = 0; i < 20; i++ )
+        {
+            counters.decrement(3);
+        }
+
+        assertEquals(PackedCounters.COUNTER_MAX, counters.get(3));
+
+        counters.increment(4);
+        counters.decrement(4);
+        counters.decrement(4);
+
+        assertEquals(0, counters.get(4));
+        assertEquals(PackedCounters.COUNTER_MAX, counters.get(3));
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Title: PerfectHashTable
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A read-only symbol table compiled from a fixed set of keys into a minimal perfect hash table: n keys occupy exactly n slots of flat key and
+ * value arrays, and no two keys share a slot, so a lookup is one hash, one displacement read, and one key comparison.
+ *
+ * The table is built with the hash-and-displace method. Keys are first sorted into buckets by one hash. Then, largest bucket first, a displacement
+ * is searched for which sends every key of the bucket to a free slot through a second hash seeded with it. A lookup only has to repeat the two
+ * hashes with the bucket's displacement. Since a lookup for an absent key still lands on some slot, the key stored there is compared as well.
+ *
+ * Both hashes are derived from hashCode(), so the keys must have distinct hash codes. For small key sets such as instruction mnemonics the search
+ * finishes almost immediately, which makes it cheap enough to run when the class holding the table is loaded.
+ */
+
+package api.util.datastructures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public final class PerfectHashTable<K, V>
+{
+    private static final int MAXIMUM_DISPLACEMENT = ( 1 << 24 );
+
+    // Return the slot which the given displacement sends a key with the given hash to.
+    private static final int slotFor(final int hash, final int displacement, final int size)
+    {
+        return Integer.remainderUnsigned(HashStrategy.Murmur3.mix(hash ^ ( displacement * 0x9E3779B9 )), size);
+    }
+
+    // Return the values of a symbol table in the same order as its keysList().
+    @SuppressWarnings("unchecked")
+    private static final <K, V> V[] valuesOf(final SeparateChainingSymbolTable<K, V> source)
+    {
+        List<K> keys = source.keysList();
+        Object[] retVal = new Object[keys.size()];
+
+        for ( int i = 0; i < retVal.length; i++ )
+        {
+            retVal[i] = source.get(keys.get(i));
+        }
+
+        return (V[]) retVal;
+    }
+
+    private final int[] displacements; // Displacement of each bucket.
+    private final int[] hashes;        // Mixed hash code of the key in each slot, compared before the key itself.
+    private final K[]   keys;          // Key in each slot.
+    private final V[]   values;        // Value in each slot, parallel to the key array.
+
+    // Compile the given keys and their values, which are matched up by position. Throws IllegalArgumentException if a key is repeated or if two
+    // keys have the same hash code, since both hashes are derived from it.
+    @SuppressWarnings("unchecked")
+    public PerfectHashTable(final K[] keys, final V[] values)
+    {
+        if ( keys.length != values.length ) { throw new IllegalArgumentException("There are " + keys.length + " keys but " + values.length + " values."); }
+
+        int n = keys.length;
+        int[] keyHashes = new int[n];
+
+        for ( int i = 0; i < n; i++ )
+        {
+            if ( ( keys[i] == null ) || ( values[i] == null ) ) { throw new IllegalArgumentException("Keys and values must not be null."); }
+
+            keyHashes[i] = HashStrategy.Murmur3.mix(keys[i].hashCode());
+        }
+
+        this.displacements = new int[Math.max(1, n)];
+        this.hashes = new int[n];
+        this.keys = (K[]) new Object[n];
+        this.values = (V[]) new Object[n];
+
+        // Sort the keys into buckets, and place the fullest buckets first while most slots are still free.
+        List<List<Integer>> buckets = new ArrayList<List<Integer>>();
+
+        for ( int b = 0; b < this.displacements.length; b++ )
+        {
+            buckets.add(new ArrayList<Integer>());
+        }
+
+        for ( int i = 0; i < n; i++ )
+        {
+            buckets.get(Integer.remainderUnsigned(keyHashes[i], this.displacements.length)).add(i);
+        }
+
+        Integer[] order = new Integer[this.displacements.length];
+
+        for ( int b = 0; b < order.length; b++ )
+        {
+            order[b] = b;
+        }
+
+        Arrays.sort(order, new Comparator<Integer>()
+        {
+            @Override
+            public int compare(final Integer a, final Integer b)
+            {
+                return Integer.compare(buckets.get(b).size(), buckets.get(a).size());
+            }
+        });
+
+        boolean[] taken = new boolean[n];
+        int[] slots = new int[n];
+
+        for ( int b : order )
+        {
+            List<Integer> bucket = buckets.get(b);
+
+            if ( bucket.isEmpty() ) { break; }
+
+            this.displacements[b] = this.place(bucket, keys, keyHashes, taken, slots);
+
+            for ( int j = 0; j < bucket.size(); j++ )
+            {
+                int i = bucket.get(j);
+                taken[slots[j]] = true;
+                this.hashes[slots[j]] = keyHashes[i];
+                this.keys[slots[j]] = keys[i];
+                this.values[slots[j]] = values[i];
+            }
+        }
+    }
+
+    // Compile the current contents of a symbol table. Later changes to the symbol table are not seen by this table.
+    @SuppressWarnings("unchecked")
+    public PerfectHashTable(final SeparateChainingSymbolTable<K, V> source)
+    {
+        this((K[]) source.keysList().toArray(), PerfectHashTable.valuesOf(source));
+    }
+
+    // Is the key in the table?
+    public final boolean contains(final K key)
+    {
+        return ( this.indexOf(key) >= 0 );
+    }
+
+    // Return value associated with key, null if no such key.
+    public final V get(final K key)
+    {
+        int i = this.indexOf(key);
+
+        if ( i < 0 ) { return null; }
+
+        return this.values[i];
+    }
+
+    // Return the key in the given slot.
+    public final K getKey(final int index)
+    {
+        return this.keys[index];
+    }
+
+    // Return the number of keys, which is also the number of slots.
+    public final int getSize()
+    {
+        return this.keys.length;
+    }
+
+    // Return the value in the given slot.
+    public final V getValue(final int index)
+    {
+        return this.values[index];
+    }
+
+    // Return the slot holding the key, or -1 if no such key.
+    public final int indexOf(final K key)
+    {
+        if ( this.keys.length == 0 ) { return -1; }
+
+        int h = HashStrategy.Murmur3.mix(key.hashCode());
+        int i = PerfectHashTable.slotFor(h, this.displacements[Integer.remainderUnsigned(h, this.displacements.length)], this.keys.length);
+
+        if ( ( this.hashes[i] == h ) && key.equals(this.keys[i]) ) { return i; }
+
+        return -1;
+    }
+
+    // Is the table empty?
+    public final boolean isEmpty()
+    {
+        return ( this.keys.length == 0 );
+    }
+
+    // Return keys in the table as a list, in slot order.
+    public final List<K> keysList()
+    {
+        return new ArrayList<K>(Arrays.asList(this.keys));
+    }
+
+    // Find the smallest displacement which sends every key of the bucket to a distinct free slot, and leave those slots in the given array.
+    private final int place(final List<Integer> bucket, final K[] keys, final int[] keyHashes, final boolean[] taken, final int[] slots)
+    {
+        // Keys with equal hash codes always land in the same bucket and slot, so no displacement can separate them.
+        for ( int j = 1; j < bucket.size(); j++ )
+        {
+            for ( int k = 0; k < j; k++ )
+            {
+                if ( keyHashes[bucket.get(j)] == keyHashes[bucket.get(k)] )
+                {
+                    if ( keys[bucket.get(j)].equals(keys[bucket.get(k)]) ) { throw new IllegalArgumentException("Duplicate key: " + keys[bucket.get(j)]); }
+
+                    throw new IllegalArgumentException("Keys " + keys[bucket.get(k)] + " and " + keys[bucket.get(j)] + " have the same hash code.");
+                }
+            }
+        }
+
+        for ( int d = 0; d < PerfectHashTable.MAXIMUM_DISPLACEMENT; d++ )
+        {
+            boolean fits = true;
+
+            for ( int j = 0; fits && ( j < bucket.size() ); j++ )
+            {
+                slots[j] = PerfectHashTable.slotFor(keyHashes[bucket.get(j)], d, this.keys.length);
+                fits = !taken[slots[j]];
+
+                for ( int k = 0; fits && ( k < j ); k++ )
+                {
+                    fits = ( slots[k] != slots[j] );
+                }
+            }
+
+            if ( fits ) { return d; }
+        }
+
+        throw new IllegalStateException("No displacement places a bucket of " + bucket.size() + " keys.");
+    }
+}
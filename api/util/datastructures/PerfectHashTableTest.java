@@ -0,0 +1,139 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class PerfectHashTableTest
+{
+    // Check that every key maps to its own value through its own slot, and that the keys fill the slots exactly.
+    private static void checkKeys(final PerfectHashTable<String, Integer> table, final String[] keys, final Integer[] values)
+    {
+        Set<Integer> slots = new HashSet<Integer>();
+
+        assertEquals(keys.length, table.getSize());
+        assertEquals(( keys.length == 0 ), table.isEmpty());
+        assertEquals(new HashSet<String>(Arrays.asList(keys)), new HashSet<String>(table.keysList()));
+
+        for ( int i = 0; i < keys.length; i++ )
+        {
+            int slot = table.indexOf(keys[i]);
+
+            assertTrue(table.contains(keys[i]));
+            assertEquals(values[i], table.get(keys[i]), "Wrong value for key " + keys[i] + ".");
+            assertTrue(slots.add(slot), "Key " + keys[i] + " shares slot " + slot + " with another key.");
+            assertEquals(keys[i], table.getKey(slot));
+            assertEquals(values[i], table.getValue(slot));
+        }
+    }
+
+    // Return the given number of keys with the given prefix, numbered from zero.
+    private static String[] keysOf(final String prefix, final int count)
+    {
+        String[] retVal = new String[count];
+
+        for ( int i = 0; i < count; i++ )
+        {
+            retVal[i] = ( prefix + i );
+        }
+
+        return retVal;
+    }
+
+    // Return the values matched up with the given keys.
+    private static Integer[] valuesOf(final String[] keys)
+    {
+        Integer[] retVal = new Integer[keys.length];
+
+        for ( int i = 0; i < keys.length; i++ )
+        {
+            retVal[i] = ( ( i * 7 ) + 1 );
+        }
+
+        return retVal;
+    }
+
+    @Test
+    public void testAbsentKeys()
+    {
+        String[] keys = PerfectHashTableTest.keysOf("k", 500);
+        PerfectHashTable<String, Integer> table = new PerfectHashTable<String, Integer>(keys, PerfectHashTableTest.valuesOf(keys));
+
+        // An absent key still hashes to some occupied slot, where the stored key must turn it away.
+        for ( String key : PerfectHashTableTest.keysOf("absent", 2000) )
+        {
+            assertNull(table.get(key));
+            assertFalse(table.contains(key));
+            assertEquals(-1, table.indexOf(key));
+        }
+
+        assertNull(table.get("k500"));
+        assertNull(table.get(""));
+    }
+
+    @Test
+    public void testEmptyTable()
+    {
+        PerfectHashTable<String, Integer> table = new PerfectHashTable<String, Integer>(new String[0], new Integer[0]);
+
+        PerfectHashTableTest.checkKeys(table, new String[0], new Integer[0]);
+        assertNull(table.get("a"));
+        assertFalse(table.contains("a"));
+        assertTrue(table.keysList().isEmpty());
+        assertTrue(new PerfectHashTable<String, Integer>(new SeparateChainingSymbolTable<String, Integer>()).isEmpty());
+    }
+
+    @Test
+    public void testEveryKeyHasItsOwnSlot()
+    {
+        String[] mnemonics = new String[] { "ADD", "ADDF", "ADDR", "AND", "CLEAR", "COMP", "COMPF", "COMPR", "DIV", "DIVF", "DIVR", "FIX", "FLOAT", "HIO", "J", "JEQ", "JGT", "JLT", "JSUB", "LDA", "LDB", "LDCH", "LDF", "LDL", "LDS", "LDT", "LDX", "LPS", "MUL", "MULF", "MULR", "NORM", "OR", "RD", "RMO", "RSUB", "SHIFTL", "SHIFTR", "SIO", "SSK", "STA", "STB", "STCH", "STF", "STI", "STL", "STS", "STSW", "STT", "STX", "SUB", "SUBF", "SUBR", "SVC", "TD", "TIO", "TIX", "TIXR", "WD" };
+
+        for ( String[] keys : new String[][] { new String[] { "only" }, new String[] { "a", "b" }, mnemonics, PerfectHashTableTest.keysOf("k", 5000) } )
+        {
+            Integer[] values = PerfectHashTableTest.valuesOf(keys);
+            PerfectHashTableTest.checkKeys(new PerfectHashTable<String, Integer>(keys, values), keys, values);
+        }
+    }
+
+    @Test
+    public void testFromSymbolTable()
+    {
+        SeparateChainingSymbolTable<String, Integer> source = new SeparateChainingSymbolTable<String, Integer>();
+        String[] keys = PerfectHashTableTest.keysOf("s", 300);
+        Integer[] values = PerfectHashTableTest.valuesOf(keys);
+
+        for ( int i = 0; i < keys.length; i++ )
+        {
+            source.put(keys[i], values[i]);
+        }
+
+        PerfectHashTable<String, Integer> table = new PerfectHashTable<String, Integer>(source);
+
+        // Later changes to the symbol table are not seen.
+        source.put("later", 0);
+
+        PerfectHashTableTest.checkKeys(table, keys, values);
+        assertFalse(table.contains("later"));
+    }
+
+    @Test
+    public void testInvalidKeys()
+    {
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () -> new PerfectHashTable<String, Integer>(new String[] { "a", "b", "a" }, new Integer[] { 1, 2, 3 }));
+        IllegalArgumentException collision = assertThrows(IllegalArgumentException.class, () -> new PerfectHashTable<String, Integer>(new String[] { "x", "Aa", "BB" }, new Integer[] { 1, 2, 3 }));
+
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertTrue(duplicate.getMessage().startsWith("Duplicate key"), duplicate.getMessage());
+        assertTrue(collision.getMessage().endsWith("have the same hash code."), collision.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> new PerfectHashTable<String, Integer>(new String[] { "a" }, new Integer[0]));
+        assertThrows(IllegalArgumentException.class, () -> new PerfectHashTable<String, Integer>(new String[] { "a", null }, new Integer[] { 1, 2 }));
+        assertThrows(IllegalArgumentException.class, () -> new PerfectHashTable<String, Integer>(new String[] { "a" }, new Integer[] { null }));
+    }
+}
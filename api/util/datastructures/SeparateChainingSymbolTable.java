@@ -4,6 +4,13 @@
  * Date: 2/11/2015
  * 
  * A minimalist generic hash table data structure.
+ * 
+ * In incremental mode a resize does not rehash every key at once. Instead the old and new chain arrays are kept side by side, and each call to
+ * put/get/delete migrates a bounded number of old chains into the new array, so the worst-case cost of a single operation stays bounded.
+ *
+ * A counting Bloom filter can optionally be kept in front of the chains. Lookups of keys the filter has never seen then return without touching a
+ * chain, which pays off when most lookups miss. The filter grows with the table, and the fraction of misses which still reached the chains is
+ * tracked so the observed false positive rate can be compared with the expected one.
  */
 
 package api.util.datastructures;
@@ -19,10 +26,28 @@ public class SeparateChainingSymbolTable<K, V>
         return Mathematics.makePrimeLesser((long) Math.pow(2, capacity));
     }
 
-    private long                                capacity  = 0;    // Current capacity factor.
-    private long                                curSize   = 0;    // Current table size (number of key-value pairs).
-    private long                                maxSize   = 0;    // Maximum table size (number of key-value pairs).
-    private SequentialSearchSymbolTable<K, V>[] symTables = null; // Internal array of linked-list symbol tables.
+    // Create an array for the given number of chains. An array of a generic type cannot be created, so a wildcard array is cast.
+    @SuppressWarnings("unchecked")
+    private static final <K, V> SequentialSearchSymbolTable<K, V>[] newChains(final long chains)
+    {
+        return (SequentialSearchSymbolTable<K, V>[]) new SequentialSearchSymbolTable<?, ?>[(int) chains];
+    }
+
+    // Number of old chains migrated by each operation while an incremental resize is in progress.
+    public static final int REHASH_STEP = 4;
+
+    private long                                capacity      = 0;     // Current capacity factor.
+    private long                                curSize       = 0;     // Current table size (number of key-value pairs).
+    private CountingBloomFilter<K>              filter        = null;  // Optional membership filter consulted before the chains, otherwise null.
+    private long                                filterMisses  = 0;     // Lookups which got past the filter but found no key.
+    private double                              filterRate    = 0.0;   // False positive rate the filter is sized for.
+    private long                                filterRejects = 0;     // Lookups which the filter answered without touching the chains.
+    private boolean                             incremental   = false; // Are resizes spread across subsequent operations?
+    private long                                maxSize       = 0;     // Maximum table size (number of key-value pairs).
+    private long                                oldMaxSize    = 0;     // Number of chains in the old array while a resize is in progress.
+    private SequentialSearchSymbolTable<K, V>[] oldSymTables  = null;  // Old array of chains while a resize is in progress, otherwise null.
+    private int                                 rehashIndex   = 0;     // Index of the next old chain to migrate; lower chains are already empty.
+    private SequentialSearchSymbolTable<K, V>[] symTables     = null;  // Internal array of linked-list symbol tables.
 
     // Create separate chaining hash table with the default capacity factor.
     public SeparateChainingSymbolTable()
@@ -31,12 +56,18 @@ public class SeparateChainingSymbolTable<K, V>
     }
 
     // Create separate chaining hash table with a specific capacity factor.
-    @SuppressWarnings("unchecked")
     public SeparateChainingSymbolTable(final long capacity)
     {
+        this(capacity, false);
+    }
+
+    // Create separate chaining hash table with a specific capacity factor, optionally resizing incrementally.
+    public SeparateChainingSymbolTable(final long capacity, final boolean incremental)
+    {
+        this.setIncremental(incremental);
         this.setCapacity(capacity);
         this.setMaxSize(SeparateChainingSymbolTable.PRIMES(this.getCapacity()));
-        this.setSymTables(new SequentialSearchSymbolTable[(int)this.getMaxSize()]);
+        this.setSymTables(SeparateChainingSymbolTable.newChains(this.getMaxSize()));
 
         for ( int i = 0; i < this.getMaxSize(); i++ )
         {
@@ -44,6 +75,35 @@ public class SeparateChainingSymbolTable<K, V>
         }
     }
 
+    // Return the chain which currently holds the key, creating it if it does not exist yet.
+    private final SequentialSearchSymbolTable<K, V> chainFor(final K key)
+    {
+        if ( this.isRehashing() )
+        {
+            // Chains of the old array below the rehash index have already been migrated.
+            int i = (int) ( ( key.hashCode() & 0x7FFFFFFF ) % this.getOldMaxSize() );
+
+            if ( i >= this.getRehashIndex() )
+            {
+                if ( this.getOldSymTables()[i] == null )
+                {
+                    this.getOldSymTables()[i] = new SequentialSearchSymbolTable<K, V>();
+                }
+
+                return this.getOldSymTables()[i];
+            }
+        }
+
+        int i = (int) this.hash(key);
+
+        if ( this.getSymTables()[i] == null )
+        {
+            this.getSymTables()[i] = new SequentialSearchSymbolTable<K, V>();
+        }
+
+        return this.getSymTables()[i];
+    }
+
     // Is the key in the symbol table?
     public final boolean contains(final K key)
     {
@@ -53,28 +113,66 @@ public class SeparateChainingSymbolTable<K, V>
     // Delete key (and associated value) if key is in the table.
     public final void delete(final K key)
     {
-        long i = this.hash(key);
+        this.rehashStep();
 
-        if ( this.getSymTables()[(int)i].contains(key) )
+        SequentialSearchSymbolTable<K, V> chain = this.chainFor(key);
+
+        if ( chain.contains(key) )
         {
             this.setCurSize(this.getCurSize() - 1);
+
+            if ( this.isFiltered() )
+            {
+                this.filter.remove(key);
+            }
         }
 
-        this.getSymTables()[(int)i].delete(key);
+        chain.delete(key);
 
         // Reduce table size if average length of list <= 2 and the table is larger than the initial capacity.
-        if ( ( this.getMaxSize() > SeparateChainingSymbolTable.PRIMES(7) ) && ( this.getCurSize() <= ( 2 * this.getMaxSize() ) ) )
+        // A resize already in progress must finish migrating before another one may begin.
+        if ( !this.isRehashing() && ( this.getMaxSize() > SeparateChainingSymbolTable.PRIMES(7) ) && ( this.getCurSize() <= ( 2 * this.getMaxSize() ) ) )
         {
             this.setCapacity(this.getCapacity() - 1);
             this.resize(SeparateChainingSymbolTable.PRIMES(this.getCapacity()));
         }
     }
 
+    // Stop keeping a membership filter in front of the chains.
+    public final void disableFilter()
+    {
+        this.filter = null;
+        this.filterRate = 0.0;
+    }
+
+    // Keep a membership filter in front of the chains, sized for the given false positive rate, and fill it with the keys already in the table.
+    public final void enableFilter(final double falsePositiveRate)
+    {
+        this.filterRate = falsePositiveRate;
+        this.rebuildFilter();
+        this.resetFilterStatistics();
+    }
+
     // Return value associated with key, null if no such key.
     public final V get(final K key)
     {
-        long i = this.hash(key);
-        return this.getSymTables()[(int)i].get(key);
+        this.rehashStep();
+
+        // A key the filter has never seen cannot be in any chain.
+        if ( this.isFiltered() && !this.filter.mightContain(key) )
+        {
+            this.filterRejects++;
+            return null;
+        }
+
+        V retVal = this.chainFor(key).get(key);
+
+        if ( ( retVal == null ) && this.isFiltered() )
+        {
+            this.filterMisses++;
+        }
+
+        return retVal;
     }
 
     // Return the current capacity factor of the symbol table.
@@ -89,12 +187,55 @@ public class SeparateChainingSymbolTable<K, V>
         return this.curSize;
     }
 
+    // Return the false positive rate the filter is expected to have with the keys currently in the table, or 0 if there is no filter.
+    public final double getFilterExpectedFalsePositiveRate()
+    {
+        return ( this.isFiltered() ? this.filter.getExpectedFalsePositiveRate() : 0.0 );
+    }
+
+    // Return the fraction of lookups for absent keys which got past the filter since the statistics were last reset, or 0 if there were none.
+    public final double getFilterFalsePositiveRate()
+    {
+        long misses = ( this.getFilterMisses() + this.getFilterRejects() );
+        return ( ( misses == 0 ) ? 0.0 : ( (double) this.getFilterMisses() / misses ) );
+    }
+
+    // Return the number of lookups which got past the filter but found no key.
+    public final long getFilterMisses()
+    {
+        return this.filterMisses;
+    }
+
+    // Return the number of lookups which the filter answered without touching the chains.
+    public final long getFilterRejects()
+    {
+        return this.filterRejects;
+    }
+
     // Return the maximum size of the symbol table.
     public final long getMaxSize()
     {
         return this.maxSize;
     }
 
+    // Return the number of chains in the old array while a resize is in progress.
+    protected final long getOldMaxSize()
+    {
+        return this.oldMaxSize;
+    }
+
+    // Return the old symbol table array while a resize is in progress, otherwise null.
+    protected final SequentialSearchSymbolTable<K, V>[] getOldSymTables()
+    {
+        return this.oldSymTables;
+    }
+
+    // Return the index of the next old chain to migrate.
+    protected final int getRehashIndex()
+    {
+        return this.rehashIndex;
+    }
+
     // Return the internal symbol table array.
     protected final SequentialSearchSymbolTable<K, V>[] getSymTables()
     {
@@ -113,20 +254,28 @@ public class SeparateChainingSymbolTable<K, V>
         return ( this.getCurSize() == 0 );
     }
 
-    // Return keys in symbol table as an Iterable.
-    public final Iterable<K> keysIterable()
+    // Is a membership filter kept in front of the chains?
+    public final boolean isFiltered()
     {
-        LinkedList<K> queue = new LinkedList<K>();
+        return ( this.filter != null );
+    }
 
-        for ( int i = 0; i < this.getMaxSize(); i++ )
-        {
-            for ( K key : this.getSymTables()[i].keys() )
-            {
-                queue.add(key);
-            }
-        }
+    // Are resizes spread across subsequent operations?
+    public final boolean isIncremental()
+    {
+        return this.incremental;
+    }
 
-        return queue;
+    // Is an incremental resize in progress?
+    public final boolean isRehashing()
+    {
+        return ( this.getOldSymTables() != null );
+    }
+
+    // Return keys in symbol table as an Iterable.
+    public final Iterable<K> keysIterable()
+    {
+        return this.keysList();
     }
 
     // Return keys in symbol table as a list.
@@ -134,11 +283,29 @@ public class SeparateChainingSymbolTable<K, V>
     {
         List<K> queue = new LinkedList<K>();
 
+        // Every key lives in exactly one place: either an unmigrated old chain or a chain of the new array.
+        if ( this.isRehashing() )
+        {
+            for ( int i = this.getRehashIndex(); i < this.getOldMaxSize(); i++ )
+            {
+                if ( this.getOldSymTables()[i] != null )
+                {
+                    for ( K key : this.getOldSymTables()[i].keys() )
+                    {
+                        queue.add(key);
+                    }
+                }
+            }
+        }
+
         for ( int i = 0; i < this.getMaxSize(); i++ )
         {
-            for ( K key : this.getSymTables()[i].keys() )
+            if ( this.getSymTables()[i] != null )
             {
-                queue.add(key);
+                for ( K key : this.getSymTables()[i].keys() )
+                {
+                    queue.add(key);
+                }
             }
         }
 
@@ -154,39 +321,115 @@ public class SeparateChainingSymbolTable<K, V>
             return;
         }
 
+        this.rehashStep();
+
         // Increase table size if average length of list >= 10.
-        if ( this.getCurSize() >= ( 10 * this.getMaxSize() ) )
+        // A resize already in progress must finish migrating before another one may begin.
+        if ( !this.isRehashing() && ( this.getCurSize() >= ( 10 * this.getMaxSize() ) ) )
         {
             this.setCapacity(this.getCapacity() + 1);
             this.resize(SeparateChainingSymbolTable.PRIMES(this.getCapacity()));
         }
 
-        long i = this.hash(key);
+        SequentialSearchSymbolTable<K, V> chain = this.chainFor(key);
+
+        if ( chain.contains(key) )
+        {
+            chain.put(key, value);
+            return;
+        }
+
+        this.setCurSize(this.getCurSize() + 1);
+        chain.put(key, value);
+
+        if ( this.isFiltered() )
+        {
+            // Once the table outgrows the filter its false positive rate climbs quickly, so the filter is rebuilt with room to spare.
+            if ( this.getCurSize() > this.filter.getCapacity() )
+            {
+                this.rebuildFilter();
+            }
+            else
+            {
+                this.filter.add(key);
+            }
+        }
+    }
+
+    // Replace the filter with one sized for twice the current number of keys and fill it with every key in the table.
+    private final void rebuildFilter()
+    {
+        CountingBloomFilter<K> rebuilt = new CountingBloomFilter<K>(Math.max(64, 2 * this.getCurSize()), this.filterRate);
 
-        if ( !this.getSymTables()[(int)i].contains(key) )
+        for ( K key : this.keysList() )
         {
-            this.setCurSize(this.getCurSize() + 1);
+            rebuilt.add(key);
         }
 
-        this.getSymTables()[(int)i].put(key, value);
+        this.filter = rebuilt;
+    }
+
+    // Migrate up to REHASH_STEP old chains into the new array, and drop the old array once it is empty.
+    protected final void rehashStep()
+    {
+        if ( !this.isRehashing() ) { return; }
+
+        for ( int n = 0; ( n < SeparateChainingSymbolTable.REHASH_STEP ) && ( this.getRehashIndex() < this.getOldMaxSize() ); n++ )
+        {
+            int i = this.getRehashIndex();
+            SequentialSearchSymbolTable<K, V> oldChain = this.getOldSymTables()[i];
+
+            // Advance the index first so chainFor() routes the migrated keys into the new array.
+            this.setRehashIndex(i + 1);
+            this.getOldSymTables()[i] = null;
+
+            if ( oldChain != null )
+            {
+                for ( K key : oldChain.keys() )
+                {
+                    this.chainFor(key).put(key, oldChain.get(key));
+                }
+            }
+        }
+
+        if ( this.getRehashIndex() >= this.getOldMaxSize() )
+        {
+            this.setOldSymTables(null);
+            this.setOldMaxSize(0);
+            this.setRehashIndex(0);
+        }
+    }
+
+    // Reset the filter statistics.
+    public final void resetFilterStatistics()
+    {
+        this.filterMisses = 0;
+        this.filterRejects = 0;
     }
 
     // Resize the hash table to have the given number of chains by rehashing all of the keys.
+    // In incremental mode this only installs the new array; the keys are migrated by subsequent operations.
     protected final void resize(final long chains)
     {
-        SeparateChainingSymbolTable<K, V> temp = new SeparateChainingSymbolTable<K, V>(chains);
+        // Finish any resize already in progress so every key lives in one of at most two arrays.
+        while ( this.isRehashing() )
+        {
+            this.rehashStep();
+        }
 
-        for ( int i = 0; i < this.getMaxSize(); i++ )
+        this.setOldSymTables(this.getSymTables());
+        this.setOldMaxSize(this.getMaxSize());
+        this.setRehashIndex(0);
+        this.setMaxSize(chains);
+        this.setSymTables(SeparateChainingSymbolTable.newChains(chains));
+
+        if ( !this.isIncremental() )
         {
-            for ( K key : this.getSymTables()[i].keys() )
+            while ( this.isRehashing() )
             {
-                temp.put(key, this.getSymTables()[i].get(key));
+                this.rehashStep();
             }
         }
-
-        this.setMaxSize(temp.getMaxSize());
-        this.setCurSize(temp.getCurSize());
-        this.setSymTables(temp.getSymTables());
     }
 
     // Set the current capacity factor of the symbol table.
@@ -215,12 +458,36 @@ public class SeparateChainingSymbolTable<K, V>
         this.curSize = curSize;
     }
 
+    // Set whether resizes are spread across subsequent operations.
+    protected final void setIncremental(final boolean incremental)
+    {
+        this.incremental = incremental;
+    }
+
     // Set the maximum size of the symbol table.
     protected final void setMaxSize(final long maxSize)
     {
         this.maxSize = maxSize;
     }
 
+    // Set the number of chains in the old array.
+    protected final void setOldMaxSize(final long oldMaxSize)
+    {
+        this.oldMaxSize = oldMaxSize;
+    }
+
+    // Set the old symbol table array.
+    protected final void setOldSymTables(final SequentialSearchSymbolTable<K, V>[] oldSymTables)
+    {
+        this.oldSymTables = oldSymTables;
+    }
+
+    // Set the index of the next old chain to migrate.
+    protected final void setRehashIndex(final int rehashIndex)
+    {
+        this.rehashIndex = rehashIndex;
+    }
+
     // Set the internal symbol table array.
     protected final void setSymTables(final SequentialSearchSymbolTable<K, V>[] symTables)
     {
@@ -0,0 +1,116 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class SeparateChainingSymbolTableTest
+{
+    // Check that the filtered table holds exactly the keys and values of the plain one.
+    private static void checkAgree(final SeparateChainingSymbolTable<Integer, Integer> filtered, final SeparateChainingSymbolTable<Integer, Integer> plain)
+    {
+        assertEquals(plain.getCurSize(), filtered.getCurSize());
+        assertEquals(new HashSet<Integer>(plain.keysList()), new HashSet<Integer>(filtered.keysList()));
+
+        for ( Integer key : plain.keysList() )
+        {
+            assertEquals(plain.get(key), filtered.get(key), "The filter hid key " + key + ".");
+        }
+    }
+
+    @Test
+    public void testDisableFilter()
+    {
+        SeparateChainingSymbolTable<String, String> table = new SeparateChainingSymbolTable<String, String>();
+
+        table.put("a", "A");
+        table.enableFilter(0.01);
+        assertTrue(table.isFiltered());
+
+        table.disableFilter();
+        table.put("b", "B");
+
+        assertFalse(table.isFiltered());
+        assertEquals("B", table.get("b"));
+        assertEquals(0.0, table.getFilterExpectedFalsePositiveRate());
+    }
+
+    @Test
+    public void testFilterAgreesWithPlainTable()
+    {
+        for ( boolean incremental : new boolean[] { false, true } )
+        {
+            Random random = new Random(42);
+            SeparateChainingSymbolTable<Integer, Integer> filtered = new SeparateChainingSymbolTable<Integer, Integer>(0, incremental);
+            SeparateChainingSymbolTable<Integer, Integer> plain = new SeparateChainingSymbolTable<Integer, Integer>(0, incremental);
+
+            filtered.enableFilter(0.01);
+
+            // The table grows well past the 64 keys the first filter is sized for, so the filter is rebuilt several times on the way, and then
+            // shrinks again as keys are deleted.
+            for ( int step = 0; step < 100000; step++ )
+            {
+                Integer key = random.nextInt(( step < 60000 ) ? 20000 : 40000);
+
+                if ( ( step < 60000 ) ? ( random.nextInt(3) == 0 ) : ( random.nextInt(3) != 0 ) )
+                {
+                    assertEquals(plain.get(key), filtered.get(key), "Wrong value for key " + key + " at step " + step + ".");
+                    assertEquals(plain.contains(key), filtered.contains(key));
+                }
+                else if ( step < 60000 )
+                {
+                    filtered.put(key, step);
+                    plain.put(key, step);
+                }
+                else
+                {
+                    filtered.delete(key);
+                    plain.delete(key);
+                }
+
+                if ( ( step % 10000 ) == 0 )
+                {
+                    SeparateChainingSymbolTableTest.checkAgree(filtered, plain);
+                }
+            }
+
+            SeparateChainingSymbolTableTest.checkAgree(filtered, plain);
+            assertTrue(filtered.getFilterRejects() > 0);
+        }
+    }
+
+    @Test
+    public void testFilterOnFilledTable()
+    {
+        SeparateChainingSymbolTable<Integer, Integer> filtered = new SeparateChainingSymbolTable<Integer, Integer>();
+        SeparateChainingSymbolTable<Integer, Integer> plain = new SeparateChainingSymbolTable<Integer, Integer>();
+
+        for ( int key = 0; key < 5000; key++ )
+        {
+            filtered.put(key, key);
+            plain.put(key, key);
+        }
+
+        // Enabling the filter on a table which already holds keys fills it with all of them.
+        filtered.enableFilter(0.01);
+        SeparateChainingSymbolTableTest.checkAgree(filtered, plain);
+
+        for ( int key = 5000; key < 25000; key++ )
+        {
+            assertEquals(null, filtered.get(key));
+        }
+
+        // Every miss is either rejected by the filter or gets past it, and those which get past it should be about as rare as configured.
+        assertEquals(20000, ( filtered.getFilterRejects() + filtered.getFilterMisses() ));
+        assertTrue(filtered.getFilterFalsePositiveRate() <= 0.02, "Measured a false positive rate of " + filtered.getFilterFalsePositiveRate() + ".");
+        assertTrue(filtered.getFilterExpectedFalsePositiveRate() <= 0.02);
+
+        filtered.resetFilterStatistics();
+
+        assertEquals(0, filtered.getFilterRejects());
+        assertEquals(0.0, filtered.getFilterFalsePositiveRate());
+    }
+}
@@ -38,32 +38,32 @@ public class Token<T>
         this.setParenthDepth(parenthDepth);
     }
 
-    public final int getBraceDepth()
+    public int getBraceDepth()
     {
         return braceDepth;
     }
 
-    public final int getBracketDepth()
+    public int getBracketDepth()
     {
         return bracketDepth;
     }
 
-    public final String getData()
+    public String getData()
     {
         return this.data;
     }
 
-    public final int getLineNo()
+    public int getLineNo()
     {
         return this.lineNo;
     }
 
-    public final int getParenthDepth()
+    public int getParenthDepth()
     {
         return parenthDepth;
     }
 
-    public final T getType()
+    public T getType()
     {
         return this.type;
     }
@@ -0,0 +1,364 @@
+/*
+ * Title: TokenBuffer
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A compact, random-access list of tokens stored as a structure of arrays. Each token is a type index, a start and end offset into the buffer's
+ * source text, a line number and three depths, all held in parallel int arrays, so storing a token allocates nothing once the arrays have grown
+ * to fit. The source text is kept once in the buffer, and a token's data is only copied out of it into a String the first time it is read.
+ *
+ * The buffer is a List of Token, so it can be handed to code written against List<Token<T>>, such as CMinusParser. get() returns a flyweight view
+ * which reads the arrays at its index, and which is only valid until tokens are inserted or removed before that index. Each index's view is
+ * made the first time it is asked for and then reused, so a parser which reads the same tokens over and over does not allocate for each read.
+ * Since the list is RandomAccess, get() takes constant time.
+ */
+
+package api.util.datastructures;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+public class TokenBuffer<T> extends AbstractList<Token<T>> implements RandomAccess, TokenSink<T>
+{
+    /* This helper class is a token which reads its fields from the buffer. */
+    private final class View extends Token<T>
+    {
+        private final int index; // Index of the token in the buffer.
+
+        public View(final int index)
+        {
+            super(null, null);
+            this.index = index;
+        }
+
+        @Override
+        public int getBraceDepth()
+        {
+            return TokenBuffer.this.getBraceDepth(this.index);
+        }
+
+        @Override
+        public int getBracketDepth()
+        {
+            return TokenBuffer.this.getBracketDepth(this.index);
+        }
+
+        @Override
+        public String getData()
+        {
+            return TokenBuffer.this.getData(this.index);
+        }
+
+        @Override
+        public int getLineNo()
+        {
+            return TokenBuffer.this.getLineNo(this.index);
+        }
+
+        @Override
+        public int getParenthDepth()
+        {
+            return TokenBuffer.this.getParenthDepth(this.index);
+        }
+
+        @Override
+        public T getType()
+        {
+            return TokenBuffer.this.getType(this.index);
+        }
+    }
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private int[]               braceDepths;                      // Brace depth of each token.
+    private int[]               bracketDepths;                    // Bracket depth of each token.
+    private String[]            data;                             // Text of each token, once it has been read.
+    private int[]               ends;                             // Offset in the source just past the end of each token.
+    private int[]               lineNos;                          // Line number of each token.
+    private int[]               parenthDepths;                    // Parenthesis depth of each token.
+    private int                 size       = 0;                   // Number of tokens.
+    private final StringBuilder source     = new StringBuilder(); // Text the tokens were lexed from.
+    private int[]               starts;                           // Offset in the source of the start of each token.
+    private int[]               types;                            // Index in the type table of the type of each token, or -1 for a null token.
+    private final List<T>       typeValues = new ArrayList<T>();  // Type table. An enumerated type's constants are indexed by ordinal.
+    private View[]              views;                            // View of each index, once it has been asked for.
+
+    public TokenBuffer()
+    {
+        this(TokenBuffer.DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TokenBuffer(final int capacity)
+    {
+        if ( capacity < 0 ) { throw new IllegalArgumentException("Capacity must not be negative, but was " + capacity + "."); }
+
+        this.braceDepths = new int[capacity];
+        this.bracketDepths = new int[capacity];
+        this.data = new String[capacity];
+        this.ends = new int[capacity];
+        this.lineNos = new int[capacity];
+        this.parenthDepths = new int[capacity];
+        this.starts = new int[capacity];
+        this.types = new int[capacity];
+        this.views = (View[]) new TokenBuffer<?>.View[capacity];
+    }
+
+    // Store a token. A token whose text is the given region of this buffer's source refers to it; any other token's text is appended to the source.
+    @Override
+    public void accept(final T type, final CharSequence input, final int start, final int end, final int lineNo, final int braceDepth, final int bracketDepth, final int parenthDepth)
+    {
+        int offset = start;
+
+        if ( input != this.source )
+        {
+            offset = this.appendSource(input, start, end);
+        }
+
+        this.insert(this.size, this.indexOfType(type), offset, offset + ( end - start ), lineNo, braceDepth, bracketDepth, parenthDepth, null);
+    }
+
+    // Insert a copy of the given token at the given index. Its text is appended to the source.
+    @Override
+    public void add(final int index, final Token<T> token)
+    {
+        if ( ( index < 0 ) || ( index > this.size ) ) { throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + this.size + "."); }
+
+        if ( token == null )
+        {
+            this.insert(index, -1, this.source.length(), this.source.length(), 0, 0, 0, 0, null);
+        }
+        else
+        {
+            String text = token.getData();
+            int offset = this.appendSource(text, 0, text.length());
+            this.insert(index, this.indexOfType(token.getType()), offset, offset + text.length(), token.getLineNo(), token.getBraceDepth(), token.getBracketDepth(), token.getParenthDepth(), text);
+        }
+    }
+
+    // Append the given region of the input to the source, and return the offset in the source at which it starts.
+    public int appendSource(final CharSequence input, final int from, final int limit)
+    {
+        int retVal = this.source.length();
+        this.source.append(input, from, limit);
+        return retVal;
+    }
+
+    private void checkIndex(final int index)
+    {
+        if ( ( index < 0 ) || ( index >= this.size ) ) { throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + this.size + "."); }
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(this.data, 0, this.size, null);
+        this.size = 0;
+        this.source.setLength(0);
+        this.modCount++;
+    }
+
+    // Does the text of the token at the given index equal the given characters? Unlike getData(), this never copies the text.
+    public boolean dataEquals(final int index, final CharSequence s)
+    {
+        this.checkIndex(index);
+
+        int start = this.starts[index];
+        int length = ( this.ends[index] - start );
+
+        if ( length != s.length() ) { return false; }
+
+        for ( int i = 0; i < length; i++ )
+        {
+            if ( this.source.charAt(start + i) != s.charAt(i) ) { return false; }
+        }
+
+        return true;
+    }
+
+    // Return the flyweight view of the token at the given index, or null if a null token was stored there.
+    @Override
+    public Token<T> get(final int index)
+    {
+        this.checkIndex(index);
+
+        if ( this.types[index] < 0 ) { return null; }
+
+        // A view belongs to its index rather than to a token, so it stays in place when tokens are inserted or removed.
+        if ( this.views[index] == null )
+        {
+            this.views[index] = new View(index);
+        }
+
+        return this.views[index];
+    }
+
+    public int getBraceDepth(final int index)
+    {
+        this.checkIndex(index);
+        return this.braceDepths[index];
+    }
+
+    public int getBracketDepth(final int index)
+    {
+        this.checkIndex(index);
+        return this.bracketDepths[index];
+    }
+
+    // Return the text of the token at the given index, copying it out of the source the first time it is read.
+    public String getData(final int index)
+    {
+        this.checkIndex(index);
+
+        if ( this.data[index] == null )
+        {
+            this.data[index] = this.source.substring(this.starts[index], this.ends[index]);
+        }
+
+        return this.data[index];
+    }
+
+    // Return the offset in the source just past the end of the token at the given index.
+    public int getEnd(final int index)
+    {
+        this.checkIndex(index);
+        return this.ends[index];
+    }
+
+    public int getLineNo(final int index)
+    {
+        this.checkIndex(index);
+        return this.lineNos[index];
+    }
+
+    public int getParenthDepth(final int index)
+    {
+        this.checkIndex(index);
+        return this.parenthDepths[index];
+    }
+
+    // Return the text the tokens refer to.
+    public CharSequence getSource()
+    {
+        return this.source;
+    }
+
+    // Return the offset in the source of the start of the token at the given index.
+    public int getStart(final int index)
+    {
+        this.checkIndex(index);
+        return this.starts[index];
+    }
+
+    // Return the type of the token at the given index, or null for a null token.
+    public T getType(final int index)
+    {
+        this.checkIndex(index);
+        return ( ( this.types[index] < 0 ) ? null : this.typeValues.get(this.types[index]) );
+    }
+
+    // Return the index of the given type in the type table, adding it if it is new. The first enumerated type seen brings in all of its constants.
+    @SuppressWarnings("unchecked")
+    private int indexOfType(final T type)
+    {
+        if ( type == null ) { return -1; }
+
+        if ( type instanceof Enum )
+        {
+            int ordinal = ( (Enum<?>) type ).ordinal();
+
+            if ( this.typeValues.isEmpty() )
+            {
+                this.typeValues.addAll(Arrays.asList((T[]) ( (Enum<?>) type ).getDeclaringClass().getEnumConstants()));
+            }
+
+            if ( ( ordinal < this.typeValues.size() ) && ( this.typeValues.get(ordinal) == type ) ) { return ordinal; }
+        }
+
+        int retVal = this.typeValues.indexOf(type);
+
+        if ( retVal < 0 )
+        {
+            retVal = this.typeValues.size();
+            this.typeValues.add(type);
+        }
+
+        return retVal;
+    }
+
+    private void insert(final int index, final int type, final int start, final int end, final int lineNo, final int braceDepth, final int bracketDepth, final int parenthDepth, final String text)
+    {
+        if ( this.size == this.types.length )
+        {
+            int capacity = Math.max(TokenBuffer.DEFAULT_CAPACITY, this.size * 2);
+
+            this.braceDepths = Arrays.copyOf(this.braceDepths, capacity);
+            this.bracketDepths = Arrays.copyOf(this.bracketDepths, capacity);
+            this.data = Arrays.copyOf(this.data, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+            this.lineNos = Arrays.copyOf(this.lineNos, capacity);
+            this.parenthDepths = Arrays.copyOf(this.parenthDepths, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.views = Arrays.copyOf(this.views, capacity);
+        }
+
+        if ( index < this.size )
+        {
+            this.move(index, index + 1, this.size - index);
+        }
+
+        this.braceDepths[index] = braceDepth;
+        this.bracketDepths[index] = bracketDepth;
+        this.data[index] = text;
+        this.ends[index] = end;
+        this.lineNos[index] = lineNo;
+        this.parenthDepths[index] = parenthDepth;
+        this.starts[index] = start;
+        this.types[index] = type;
+        this.size++;
+        this.modCount++;
+    }
+
+    // Move a run of tokens within the arrays.
+    private void move(final int from, final int to, final int count)
+    {
+        System.arraycopy(this.braceDepths, from, this.braceDepths, to, count);
+        System.arraycopy(this.bracketDepths, from, this.bracketDepths, to, count);
+        System.arraycopy(this.data, from, this.data, to, count);
+        System.arraycopy(this.ends, from, this.ends, to, count);
+        System.arraycopy(this.lineNos, from, this.lineNos, to, count);
+        System.arraycopy(this.parenthDepths, from, this.parenthDepths, to, count);
+        System.arraycopy(this.starts, from, this.starts, to, count);
+        System.arraycopy(this.types, from, this.types, to, count);
+    }
+
+    // Remove the token at the given index, and return a copy of it. Its text stays in the source.
+    @Override
+    public Token<T> remove(final int index)
+    {
+        this.checkIndex(index);
+
+        Token<T> retVal = null;
+
+        if ( this.types[index] >= 0 )
+        {
+            retVal = new Token<T>(this.getType(index), this.getData(index), this.lineNos[index], this.braceDepths[index], this.bracketDepths[index], this.parenthDepths[index]);
+        }
+
+        this.move(index + 1, index, this.size - index - 1);
+        this.size--;
+        this.data[this.size] = null;
+        this.modCount++;
+        return retVal;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+}
@@ -0,0 +1,189 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TokenBufferTest
+{
+    /* This helper class is the token type used by the tests. */
+    private static enum Kind
+    {
+        IDENTIFIER, NUMBER, SYMBOL
+    }
+
+    // Check that the buffer holds the same tokens as the model, both through its views and through its index accessors.
+    private static void checkTokens(final TokenBuffer<Kind> buffer, final List<Token<Kind>> model)
+    {
+        assertEquals(model.size(), buffer.size());
+
+        for ( int i = 0; i < model.size(); i++ )
+        {
+            Token<Kind> expected = model.get(i);
+            Token<Kind> actual = buffer.get(i);
+
+            if ( expected == null )
+            {
+                assertNull(actual, "Token " + i + " should be null.");
+                assertNull(buffer.getType(i));
+                continue;
+            }
+
+            assertEquals(expected.getType(), actual.getType(), "Wrong type for token " + i + ".");
+            assertEquals(expected.getData(), actual.getData(), "Wrong data for token " + i + ".");
+            assertEquals(expected.getLineNo(), actual.getLineNo());
+            assertEquals(expected.getBraceDepth(), actual.getBraceDepth());
+            assertEquals(expected.getBracketDepth(), actual.getBracketDepth());
+            assertEquals(expected.getParenthDepth(), actual.getParenthDepth());
+            assertEquals(expected.getType(), buffer.getType(i));
+            assertEquals(expected.getLineNo(), buffer.getLineNo(i));
+            assertTrue(buffer.dataEquals(i, expected.getData()));
+        }
+    }
+
+    @Test
+    public void testAddAndRemoveAtTail()
+    {
+        TokenBuffer<Kind> buffer = new TokenBuffer<Kind>(0);
+        List<Token<Kind>> model = new ArrayList<Token<Kind>>();
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            Token<Kind> token = new Token<Kind>(Kind.values()[i % 3], "t" + i, ( i / 10 ), ( i % 2 ), ( i % 3 ), ( i % 4 ));
+            buffer.add(token);
+            model.add(token);
+        }
+
+        TokenBufferTest.checkTokens(buffer, model);
+
+        // The parser appends an end of file marker, reads through to it, and then takes it off again.
+        Token<Kind> marker = new Token<Kind>(Kind.SYMBOL, "$", 10);
+
+        for ( int round = 0; round < 3; round++ )
+        {
+            buffer.add(marker);
+            model.add(marker);
+            TokenBufferTest.checkTokens(buffer, model);
+
+            Token<Kind> removed = buffer.remove(buffer.size() - 1);
+            model.remove(model.size() - 1);
+
+            assertEquals(marker.getType(), removed.getType());
+            assertEquals(marker.getData(), removed.getData());
+            assertEquals(marker.getLineNo(), removed.getLineNo());
+            TokenBufferTest.checkTokens(buffer, model);
+        }
+
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.getSource().length());
+    }
+
+    @Test
+    public void testDataIsCopiedLazily()
+    {
+        TokenBuffer<Kind> buffer = new TokenBuffer<Kind>();
+        String text = "int x = 42;";
+
+        // Tokens lexed from the buffer's own source only refer to it, while tokens from any other input have their text appended to it.
+        buffer.appendSource(text, 0, text.length());
+        buffer.accept(Kind.IDENTIFIER, buffer.getSource(), 0, 3, 1, 0, 0, 0);
+        buffer.accept(Kind.NUMBER, "x = 42", 4, 6, 1, 0, 0, 0);
+
+        assertEquals(( text.length() + 2 ), buffer.getSource().length());
+        assertEquals(0, buffer.getStart(0));
+        assertEquals(3, buffer.getEnd(0));
+        assertEquals(text.length(), buffer.getStart(1));
+
+        // Until a token's data is read, it exists only in the source, so a change to the source shows through.
+        ( (StringBuilder) buffer.getSource() ).setCharAt(0, 'I');
+        assertTrue(buffer.dataEquals(0, "Int"));
+        assertFalse(buffer.dataEquals(0, "In"));
+
+        String data = buffer.getData(0);
+
+        assertEquals("Int", data);
+        assertSame(data, buffer.get(0).getData());
+        assertEquals("42", buffer.get(1).getData());
+
+        // A copied token keeps its own String.
+        Token<Kind> token = new Token<Kind>(Kind.SYMBOL, "=", 1);
+
+        buffer.add(token);
+        assertSame(token.getData(), buffer.getData(2));
+    }
+
+    @Test
+    public void testInsertInMiddle()
+    {
+        TokenBuffer<Kind> buffer = new TokenBuffer<Kind>(2);
+        List<Token<Kind>> model = new ArrayList<Token<Kind>>();
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            Token<Kind> token = new Token<Kind>(Kind.NUMBER, Integer.toString(i), i);
+            buffer.add(0, token);
+            model.add(0, token);
+        }
+
+        buffer.add(5, null);
+        model.add(5, null);
+        TokenBufferTest.checkTokens(buffer, model);
+
+        assertEquals("9", buffer.remove(0).getData());
+        model.remove(0);
+        TokenBufferTest.checkTokens(buffer, model);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.add(buffer.size() + 1, null));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(buffer.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getType(-1));
+    }
+
+    @Test
+    public void testNullTokens()
+    {
+        TokenBuffer<Kind> buffer = new TokenBuffer<Kind>();
+
+        buffer.add(null);
+        buffer.accept(null, "abc", 0, 3, 1, 0, 0, 0);
+        buffer.add(new Token<Kind>(Kind.IDENTIFIER, "abc", 2));
+
+        assertEquals(3, buffer.size());
+        assertNull(buffer.get(0));
+        assertNull(buffer.get(1));
+        assertNull(buffer.getType(1));
+        assertEquals(Kind.IDENTIFIER, buffer.get(2).getType());
+        assertNull(buffer.remove(0));
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    public void testViewsAreReused()
+    {
+        TokenBuffer<Object> buffer = new TokenBuffer<Object>();
+
+        // Types which are not enumerated are kept in the type table by equality.
+        buffer.add(new Token<Object>("word", "a", 1));
+        buffer.add(new Token<Object>(Integer.valueOf(7), "b", 1));
+        buffer.add(new Token<Object>("word", "c", 1));
+
+        Token<Object> first = buffer.get(0);
+
+        assertSame(first, buffer.get(0));
+        assertSame(buffer.get(2), buffer.get(2));
+        assertEquals("word", buffer.get(2).getType());
+        assertEquals(Integer.valueOf(7), buffer.getType(1));
+
+        // A view reads whatever token is at its index, so it sees a token which has moved into its place.
+        buffer.remove(0);
+
+        assertSame(first, buffer.get(0));
+        assertEquals("b", first.getData());
+    }
+}
@@ -0,0 +1,15 @@
+/*
+ * Title: TokenSink
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A receiver of tokens which takes each token as its type and its region of a character sequence, so a lexer can pass tokens on without copying
+ * their text into a String or wrapping them in a Token. A null type stands for a null token.
+ */
+
+package api.util.datastructures;
+
+public interface TokenSink<T>
+{
+    public void accept(final T type, final CharSequence input, final int start, final int end, final int lineNo, final int braceDepth, final int bracketDepth, final int parenthDepth);
+}
@@ -8,9 +8,13 @@
 
 package api.util.datastructures;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import api.util.datastructures.TreeNode.TRAVERSAL_ORDER;
 
-public class Tree<T extends Comparable<? super T>>
+public class Tree<T extends Comparable<? super T>> implements Iterable<T>
 {
     private Node root = null;
     private int  size = 0;
@@ -31,13 +35,23 @@ public class Tree<T extends Comparable<? super T>>
         }
     }
 
+    // Return the smallest element greater than or equal to the given value, or null if there is none.
+    public final T ceiling(final T value)
+    {
+        TreeNode<T> node = this.lowerBoundNode(value, true);
+
+        if ( node == null ) { return null; }
+
+        return node.getData();
+    }
+
     public final void clear()
     {
         this.setRoot(null);
         this.setSize(0);
     }
 
-    public final boolean delete(final T data)
+    public boolean delete(final T data)
     {
         TreeIterator<T> iterator = this.getIterator();
         return ( iterator.find(data, true) );
@@ -49,6 +63,35 @@ public class Tree<T extends Comparable<? super T>>
         return ( iterator.find(data, false) );
     }
 
+    // Return the largest element less than or equal to the given value, or null if there is none.
+    @SuppressWarnings("unchecked")
+    public final T floor(final T value)
+    {
+        T retVal = null;
+        TreeNode<T> node = (TreeNode<T>) this.getRoot();
+
+        while ( node != null )
+        {
+            if ( node.getData().compareTo(value) <= 0 )
+            {
+                retVal = node.getData();
+                node = (TreeNode<T>) node.getRight();
+            }
+            else
+            {
+                node = (TreeNode<T>) node.getLeft();
+            }
+        }
+
+        return retVal;
+    }
+
+    // Copy the current contents of the tree into an immutable, array-backed index for read-only lookups.
+    public final EytzingerIndex<T> freeze()
+    {
+        return ( new EytzingerIndex<T>(this) );
+    }
+
     @SuppressWarnings("unchecked")
     public final int getDepth()
     {
@@ -63,7 +106,7 @@ public class Tree<T extends Comparable<? super T>>
     }
 
     @SuppressWarnings("unchecked")
-    public final int getHeight()
+    public int getHeight()
     {
         if ( this.isEmpty() )
         {
@@ -75,7 +118,7 @@ public class Tree<T extends Comparable<? super T>>
         }
     }
 
-    public final TreeIterator<T> getIterator()
+    public TreeIterator<T> getIterator()
     {
         return ( new TreeIterator<T>(this) );
     }
@@ -90,7 +133,20 @@ public class Tree<T extends Comparable<? super T>>
         return this.size;
     }
 
-    public final boolean insert(final T data)
+    // Return a live view of the elements strictly less than the given value, in ascending order.
+    public final Iterable<T> headSet(final T hi)
+    {
+        return new Iterable<T>()
+        {
+            @Override
+            public Iterator<T> iterator()
+            {
+                return ( new TreeRangeIterator<T>(Tree.this.lowerBoundNode(null, true), hi, false) );
+            }
+        };
+    }
+
+    public boolean insert(final T data)
     {
         TreeIterator<T> iterator = this.getIterator();
         return ( iterator.insert(data) );
@@ -101,6 +157,111 @@ public class Tree<T extends Comparable<? super T>>
         return ( this.getSize() == 0 );
     }
 
+    // Return an in-order iterator over every element.
+    @Override
+    public final Iterator<T> iterator()
+    {
+        return this.rangeIterator(null, null);
+    }
+
+    // Return the node holding the smallest element not less than (or, if not inclusive, greater than) the given value.
+    // A null value means the range is unbounded below, so the node holding the smallest element is returned.
+    @SuppressWarnings("unchecked")
+    protected final TreeNode<T> lowerBoundNode(final T lo, final boolean inclusive)
+    {
+        TreeNode<T> retVal = null;
+        TreeNode<T> node = (TreeNode<T>) this.getRoot();
+
+        while ( node != null )
+        {
+            int cmp = ( ( lo == null ) ? 1 : node.getData().compareTo(lo) );
+
+            if ( ( cmp > 0 ) || ( inclusive && ( cmp == 0 ) ) )
+            {
+                retVal = node;
+                node = (TreeNode<T>) node.getLeft();
+            }
+            else
+            {
+                node = (TreeNode<T>) node.getRight();
+            }
+        }
+
+        return retVal;
+    }
+
+    // Return a parallel stream over every element in ascending order.
+    public final Stream<T> parallelStream()
+    {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    // Return an in-order iterator over the elements between lo and hi inclusive. Either bound may be null to leave that side of the range open.
+    public final Iterator<T> rangeIterator(final T lo, final T hi)
+    {
+        return ( new TreeRangeIterator<T>(this.lowerBoundNode(lo, true), hi, true) );
+    }
+
+    // Return the number of elements strictly less than the given value.
+    @SuppressWarnings("unchecked")
+    public final int rank(final T value)
+    {
+        int retVal = 0;
+        TreeNode<T> node = (TreeNode<T>) this.getRoot();
+
+        while ( node != null )
+        {
+            if ( node.getData().compareTo(value) < 0 )
+            {
+                retVal += ( TreeNode.sizeOf(node.getLeft()) + 1 );
+                node = (TreeNode<T>) node.getRight();
+            }
+            else
+            {
+                node = (TreeNode<T>) node.getLeft();
+            }
+        }
+
+        return retVal;
+    }
+
+    // Return the element with the given rank, that is, the (rank + 1)th smallest element.
+    public final T select(final int rank)
+    {
+        return this.selectNode(rank).getData();
+    }
+
+    // Return the node holding the element with the given rank.
+    @SuppressWarnings("unchecked")
+    protected final TreeNode<T> selectNode(final int rank)
+    {
+        if ( ( rank < 0 ) || ( rank >= this.getSize() ) ) { throw new IndexOutOfBoundsException("Rank " + rank + " is outside of a tree holding " + this.getSize() + " elements."); }
+
+        int r = rank;
+        TreeNode<T> node = (TreeNode<T>) this.getRoot();
+
+        while ( node != null )
+        {
+            int leftSize = TreeNode.sizeOf(node.getLeft());
+
+            if ( r < leftSize )
+            {
+                node = (TreeNode<T>) node.getLeft();
+            }
+            else if ( r > leftSize )
+            {
+                r -= ( leftSize + 1 );
+                node = (TreeNode<T>) node.getRight();
+            }
+            else
+            {
+                return node;
+            }
+        }
+
+        return null;
+    }
+
     public final void setRoot(final Node root)
     {
         this.root = root;
@@ -111,6 +272,32 @@ public class Tree<T extends Comparable<? super T>>
         this.size = size;
     }
 
+    // Return a spliterator over every element in ascending order, which splits by rank so that large trees can be processed in parallel.
+    @Override
+    public final Spliterator<T> spliterator()
+    {
+        return ( new TreeSpliterator<T>(this) );
+    }
+
+    // Return a sequential stream over every element in ascending order.
+    public final Stream<T> stream()
+    {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    // Return a live view of the elements greater than or equal to the given value, in ascending order.
+    public final Iterable<T> tailSet(final T lo)
+    {
+        return new Iterable<T>()
+        {
+            @Override
+            public Iterator<T> iterator()
+            {
+                return Tree.this.rangeIterator(lo, null);
+            }
+        };
+    }
+
     @Override
     public String toString()
     {
@@ -19,6 +19,16 @@ public class TreeIterator<T extends Comparable<? super T>>
         this.reset(this.getTree().getSize());
     }
 
+    // Every ancestor of a removed node loses one descendant.
+    @SuppressWarnings("unchecked")
+    private void decrementAncestors(final Node node)
+    {
+        for ( Node x = ( (TreeNode<T>) node ).getParent(); x != null; x = ( (TreeNode<T>) x ).getParent() )
+        {
+            ( (TreeNode<T>) x ).setSubtreeSize(( (TreeNode<T>) x ).getSubtreeSize() - 1);
+        }
+    }
+
     boolean find(final T data, final boolean doRemoval)
     {
         int newSize = this.getTree().getSize();
@@ -130,6 +140,7 @@ public class TreeIterator<T extends Comparable<? super T>>
         return this.tree;
     }
 
+    @SuppressWarnings("unchecked")
     public boolean insert(final T data)
     {
         int newSize = this.getTree().getSize();
@@ -142,6 +153,9 @@ public class TreeIterator<T extends Comparable<? super T>>
         {
             while ( this.getCurrent() != null )
             {
+                // Every node on the way down gains one descendant.
+                ( (TreeNode<T>) this.getCurrent() ).setSubtreeSize(( (TreeNode<T>) this.getCurrent() ).getSubtreeSize() + 1);
+
                 if ( data.compareTo(this.getData()) <= 0 )
                 {
                     if ( this.getLeft() == null )
@@ -182,6 +196,8 @@ public class TreeIterator<T extends Comparable<? super T>>
         // Zero Child Case
         if ( ( (TreeNode<T>) node ).isLeaf() )
         {
+            this.decrementAncestors(node);
+
             if ( !( (TreeNode<T>) node ).isRoot() )
             {
                 if ( ( (TreeNode<T>) node ).isLeft() )
@@ -199,6 +215,8 @@ public class TreeIterator<T extends Comparable<? super T>>
         // One Child Case
         else if ( ( ( (TreeNode<T>) node ).getLeft() == null ) ^ ( ( (TreeNode<T>) node ).getRight() == null ) )
         {
+            this.decrementAncestors(node);
+
             if ( ( (TreeNode<T>) node ).isLeft() )
             {
                 if ( ( (TreeNode<T>) node ).getLeft() != null )
@@ -18,12 +18,22 @@ public class TreeNode<T extends Comparable<? super T>> extends DataNode<T>
         DEFAULT, IN, POST, PRE
     }
 
-    private Node parent = null;
+    // Return the number of nodes in the subtree rooted at the given node, or 0 for an empty subtree.
+    public static final int sizeOf(final Node node)
+    {
+        if ( node == null ) { return 0; }
+
+        return ( (TreeNode<?>) node ).getSubtreeSize();
+    }
+
+    private Node parent      = null;
+    private int  subtreeSize = 1;    // Number of nodes in the subtree rooted at this node, including itself.
 
     public TreeNode(final T data, final Node parent, final Node right, final Node left)
     {
         super(data, right, left);
         this.setParent(parent);
+        this.setSubtreeSize(TreeNode.sizeOf(left) + TreeNode.sizeOf(right) + 1);
     }
 
     protected String generateDataString(final int minWidth)
@@ -57,16 +67,12 @@ public class TreeNode<T extends Comparable<? super T>> extends DataNode<T>
     }
 
     @SuppressWarnings("unchecked")
-    public final int getHeight()
+    public int getHeight()
     {
-        if ( this.isLeaf() )
-        {
-            return 0;
-        }
-        else
-        {
-            return ( Math.max(( ( (TreeNode<T>) this.getLeft() ).getHeight() + 1 ), ( ( (TreeNode<T>) this.getRight() ).getHeight() + 1 )) );
-        }
+        // A missing child contributes a height of -1, so a node with a single child is one level taller than that child.
+        int leftHeight = ( this.hasLeft() ? ( (TreeNode<T>) this.getLeft() ).getHeight() : -1 );
+        int rightHeight = ( this.hasRight() ? ( (TreeNode<T>) this.getRight() ).getHeight() : -1 );
+        return ( Math.max(leftHeight, rightHeight) + 1 );
     }
 
     public final Node getLeft()
@@ -84,6 +90,38 @@ public class TreeNode<T extends Comparable<? super T>> extends DataNode<T>
         return this.getNext();
     }
 
+    public final int getSubtreeSize()
+    {
+        return this.subtreeSize;
+    }
+
+    // Return the node holding the next larger element in an in-order walk, or null if this node holds the largest.
+    @SuppressWarnings("unchecked")
+    public final TreeNode<T> getSuccessor()
+    {
+        if ( this.hasRight() )
+        {
+            TreeNode<T> retVal = (TreeNode<T>) this.getRight();
+
+            while ( retVal.hasLeft() )
+            {
+                retVal = (TreeNode<T>) retVal.getLeft();
+            }
+
+            return retVal;
+        }
+
+        // Climb until we arrive from a left child.
+        TreeNode<T> retVal = this;
+
+        while ( retVal.isRight() )
+        {
+            retVal = (TreeNode<T>) retVal.getParent();
+        }
+
+        return (TreeNode<T>) retVal.getParent();
+    }
+
     public final boolean hasLeft()
     {
         if ( this.getLeft() != null ) { return true; }
@@ -145,6 +183,11 @@ public class TreeNode<T extends Comparable<? super T>> extends DataNode<T>
         this.setNext(right);
     }
 
+    public final void setSubtreeSize(final int subtreeSize)
+    {
+        this.subtreeSize = subtreeSize;
+    }
+
     @Override
     public String toString()
     {
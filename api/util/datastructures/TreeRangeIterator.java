@@ -0,0 +1,47 @@
+/*
+ * Title: TreeRangeIterator
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ * 
+ * An in-order iterator over the elements of a minimalist generic binary tree data structure which fall below an optional upper bound.
+ * It follows parent links from node to node, so it never materializes the traversal and uses constant extra memory.
+ */
+
+package api.util.datastructures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class TreeRangeIterator<T extends Comparable<? super T>> implements Iterator<T>
+{
+    private final T       hi;          // Upper bound, or null if the range is unbounded above.
+    private final boolean hiInclusive; // Does the range include elements equal to the upper bound?
+    private TreeNode<T>   next = null; // Node holding the next element to return.
+
+    public TreeRangeIterator(final TreeNode<T> first, final T hi, final boolean hiInclusive)
+    {
+        this.next = first;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if ( this.next == null ) { return false; }
+        if ( this.hi == null ) { return true; }
+
+        int cmp = this.next.getData().compareTo(this.hi);
+        return ( ( cmp < 0 ) || ( this.hiInclusive && ( cmp == 0 ) ) );
+    }
+
+    @Override
+    public T next()
+    {
+        if ( !this.hasNext() ) { throw new NoSuchElementException(); }
+
+        T retVal = this.next.getData();
+        this.next = this.next.getSuccessor();
+        return retVal;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Title: TreeSpliterator
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ * 
+ * A spliterator for a minimalist generic binary tree data structure, so that a tree can feed parallel stream pipelines.
+ * Each spliterator covers a range of ranks. Splitting halves the range without touching the tree, and the first node of a range is located with the
+ * subtree sizes cached in each node only when the range starts to be traversed.
+ */
+
+package api.util.datastructures;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+public class TreeSpliterator<T extends Comparable<? super T>> implements Spliterator<T>
+{
+    private int           fromRank = 0;    // Rank of the next element to return.
+    private TreeNode<T>   next     = null; // Node holding the next element, or null if it has not been located yet.
+    private final int     toRank;          // Rank one past the last element to return.
+    private final Tree<T> tree;            // Tree being traversed.
+
+    public TreeSpliterator(final Tree<T> tree)
+    {
+        this(tree, 0, tree.getSize(), null);
+    }
+
+    protected TreeSpliterator(final Tree<T> tree, final int fromRank, final int toRank, final TreeNode<T> next)
+    {
+        this.tree = tree;
+        this.fromRank = fromRank;
+        this.toRank = toRank;
+        this.next = next;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return ( Spliterator.ORDERED | Spliterator.SORTED | Spliterator.SIZED | Spliterator.SUBSIZED );
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return ( this.toRank - this.fromRank );
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action)
+    {
+        while ( this.tryAdvance(action) )
+        {
+            // Keep walking successors.
+        }
+    }
+
+    // Elements are in their natural order.
+    @Override
+    public Comparator<? super T> getComparator()
+    {
+        return null;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action)
+    {
+        if ( this.fromRank >= this.toRank ) { return false; }
+
+        if ( this.next == null )
+        {
+            this.next = this.tree.selectNode(this.fromRank);
+        }
+
+        action.accept(this.next.getData());
+        this.next = this.next.getSuccessor();
+        this.fromRank++;
+        return true;
+    }
+
+    // Hand the first half of the remaining ranks to a new spliterator, and keep the second half.
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        int mid = ( ( this.fromRank + this.toRank ) >>> 1 );
+
+        if ( mid <= this.fromRank ) { return null; }
+
+        Spliterator<T> prefix = new TreeSpliterator<T>(this.tree, this.fromRank, mid, this.next);
+        this.fromRank = mid;
+        this.next = null;
+        return prefix;
+    }
+}
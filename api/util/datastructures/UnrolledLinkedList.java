@@ -0,0 +1,303 @@
+/*
+ * Title: UnrolledLinkedList
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * A minimalist generic unrolled double linked-list data structure.
+ *
+ * Each node holds a small array of elements instead of a single element, so a list of millions of small items needs far fewer node objects and
+ * iteration walks mostly contiguous memory. Nodes are split when they overflow and merged with a neighbour when they fall below half full, which
+ * keeps them densely packed. The cursor operations mirror those of DoubleLinkedList.
+ */
+
+package api.util.datastructures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+public class UnrolledLinkedList<T> implements Iterable<T>
+{
+    public static final int DEFAULT_CHUNK_CAPACITY = 64;
+
+    private final int chunkCapacity;
+    private Node      head = null;
+    private int       size = 0;
+    private Node      tail = null;
+
+    public UnrolledLinkedList()
+    {
+        this(UnrolledLinkedList.DEFAULT_CHUNK_CAPACITY);
+    }
+
+    public UnrolledLinkedList(final int chunkCapacity)
+    {
+        if ( chunkCapacity < 2 ) { throw new IllegalArgumentException("Chunk capacity must be at least 2, but was " + chunkCapacity + "."); }
+
+        this.chunkCapacity = chunkCapacity;
+    }
+
+    @SafeVarargs
+    public UnrolledLinkedList(final T... args)
+    {
+        this(UnrolledLinkedList.DEFAULT_CHUNK_CAPACITY);
+
+        for ( T arg : args )
+        {
+            this.insertTail(arg);
+        }
+    }
+
+    // Append every element of the source to the end of the list, filling each chunk before starting the next. Return true if the list changed.
+    public boolean addAll(final Iterable<? extends T> source)
+    {
+        int oldSize = this.getSize();
+        UnrolledLinkedListIterator<T> iterator = this.getIterator();
+        iterator.resetTail();
+
+        for ( T data : source )
+        {
+            iterator.insertAfter(data);
+        }
+
+        return ( this.getSize() != oldSize );
+    }
+
+    public void clear()
+    {
+        this.setSize(0);
+        this.setHead(null);
+        this.setTail(null);
+    }
+
+    public T deleteHead()
+    {
+        if ( this.isEmpty() ) { return null; }
+
+        UnrolledLinkedListIterator<T> iterator = this.getIterator();
+        iterator.resetHead();
+        return iterator.deleteCurrent();
+    }
+
+    public T deleteTail()
+    {
+        if ( this.isEmpty() ) { return null; }
+
+        UnrolledLinkedListIterator<T> iterator = this.getIterator();
+        iterator.resetTail();
+        return iterator.deleteCurrent();
+    }
+
+    public final int getChunkCapacity()
+    {
+        return this.chunkCapacity;
+    }
+
+    public Node getHead()
+    {
+        return this.head;
+    }
+
+    public UnrolledLinkedListIterator<T> getIterator()
+    {
+        return new UnrolledLinkedListIterator<T>(this);
+    }
+
+    public int getSize()
+    {
+        return this.size;
+    }
+
+    public Node getTail()
+    {
+        return this.tail;
+    }
+
+    public void insertHead(final T data)
+    {
+        UnrolledLinkedListIterator<T> iterator = this.getIterator();
+        iterator.resetHead();
+        iterator.insertBefore(data);
+    }
+
+    public void insertTail(final T data)
+    {
+        UnrolledLinkedListIterator<T> iterator = this.getIterator();
+        iterator.resetTail();
+        iterator.insertAfter(data);
+    }
+
+    public boolean isEmpty()
+    {
+        return ( this.getSize() <= 0 );
+    }
+
+    // Return a read-only iterator which walks the elements from head to tail.
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<T> iterator()
+    {
+        final ChunkNode<T> first = (ChunkNode<T>) this.getHead();
+
+        return new Iterator<T>()
+        {
+            private ChunkNode<T> chunk = first;
+            private int          index = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return ( this.chunk != null );
+            }
+
+            @Override
+            public T next()
+            {
+                if ( this.chunk == null ) { throw new NoSuchElementException(); }
+
+                T retVal = this.chunk.get(this.index++);
+
+                if ( this.index >= this.chunk.getCount() )
+                {
+                    this.chunk = (ChunkNode<T>) this.chunk.getNext();
+                    this.index = 0;
+                }
+
+                return retVal;
+            }
+        };
+    }
+
+    // Link a chunk into the list after the given chunk, or at the head if the given chunk is null.
+    final void linkChunkAfter(final Node previous, final Node chunk)
+    {
+        Node next = ( ( previous == null ) ? this.getHead() : previous.getNext() );
+
+        chunk.setPrevious(previous);
+        chunk.setNext(next);
+
+        if ( previous == null )
+        {
+            this.setHead(chunk);
+        }
+        else
+        {
+            previous.setNext(chunk);
+        }
+
+        if ( next == null )
+        {
+            this.setTail(chunk);
+        }
+        else
+        {
+            next.setPrevious(chunk);
+        }
+    }
+
+    // Remove every element which satisfies the filter in a single pass, merging chunks which become sparse. Return the number of elements removed.
+    @SuppressWarnings("unchecked")
+    public int removeIf(final Predicate<? super T> filter)
+    {
+        int removed = 0;
+        ChunkNode<T> chunk = (ChunkNode<T>) this.getHead();
+
+        while ( chunk != null )
+        {
+            ChunkNode<T> next = (ChunkNode<T>) chunk.getNext();
+            int kept = 0;
+
+            for ( int i = 0; i < chunk.getCount(); i++ )
+            {
+                T data = chunk.get(i);
+
+                if ( filter.test(data) )
+                {
+                    removed++;
+                }
+                else
+                {
+                    chunk.set(kept++, data);
+                }
+            }
+
+            chunk.truncate(kept);
+
+            ChunkNode<T> previous = (ChunkNode<T>) chunk.getPrevious();
+
+            if ( chunk.isEmpty() )
+            {
+                this.unlinkChunk(chunk);
+            }
+            else if ( ( previous != null ) && ( ( previous.getCount() + chunk.getCount() ) <= previous.getCapacity() ) )
+            {
+                chunk.moveTo(0, previous);
+                this.unlinkChunk(chunk);
+            }
+
+            chunk = next;
+        }
+
+        this.setSize(this.getSize() - removed);
+        return removed;
+    }
+
+    public void setHead(final Node head)
+    {
+        this.head = head;
+    }
+
+    public void setSize(final int size)
+    {
+        this.size = size;
+    }
+
+    public void setTail(final Node tail)
+    {
+        this.tail = tail;
+    }
+
+    // Move every element of the other list to the end of this list, leaving the other list empty. This takes constant time unless the lists'
+    // chunk capacities differ, in which case the elements are copied into chunks of this list's capacity.
+    public void splice(final UnrolledLinkedList<T> other)
+    {
+        UnrolledLinkedListIterator<T> iterator = this.getIterator();
+        iterator.resetTail();
+        iterator.splice(other);
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder output = new StringBuilder();
+
+        for ( T data : this )
+        {
+            output.append(data + "\n");
+        }
+
+        return output.toString();
+    }
+
+    // Unlink a chunk from the list, leaving its own links untouched.
+    final void unlinkChunk(final Node chunk)
+    {
+        if ( chunk.getPrevious() == null )
+        {
+            this.setHead(chunk.getNext());
+        }
+        else
+        {
+            chunk.getPrevious().setNext(chunk.getNext());
+        }
+
+        if ( chunk.getNext() == null )
+        {
+            this.setTail(chunk.getPrevious());
+        }
+        else
+        {
+            chunk.getNext().setPrevious(chunk.getPrevious());
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Title: UnrolledLinkedListIterator
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * An iterator for a minimalist generic unrolled double linked-list data structure.
+ * The cursor is a chunk plus an index within it, and it behaves like DoubleLinkedListIterator: inserting moves the cursor onto the new element,
+ * deleting moves it onto the element which followed, and stepping past either end wraps around to the other.
+ * Insertions and deletions may move elements between chunks, so any other cursor over the same list must be reset after one is made.
+ */
+
+package api.util.datastructures;
+
+import java.util.NoSuchElementException;
+
+public class UnrolledLinkedListIterator<T>
+{
+    private ChunkNode<T>          chunk = null; // Chunk holding the current element, or null if the list is empty.
+    private int                   index = 0;    // Index of the current element within its chunk.
+    private UnrolledLinkedList<T> list  = null;
+
+    public UnrolledLinkedListIterator(final UnrolledLinkedList<T> list)
+    {
+        this.setList(list);
+        this.resetHead();
+    }
+
+    public boolean atHead()
+    {
+        return ( ( this.chunk == this.getList().getHead() ) && ( this.index == 0 ) );
+    }
+
+    public boolean atTail()
+    {
+        return ( ( this.chunk == this.getList().getTail() ) && ( ( this.chunk == null ) || ( this.index == ( this.chunk.getCount() - 1 ) ) ) );
+    }
+
+    // Remove and return the current element. The cursor moves onto the element which followed it, wrapping around to the head.
+    @SuppressWarnings("unchecked")
+    public T deleteCurrent()
+    {
+        if ( this.chunk == null ) { throw new NoSuchElementException("Cannot delete from an empty list."); }
+
+        T retVal = this.chunk.remove(this.index);
+        this.getList().setSize(this.getList().getSize() - 1);
+
+        if ( this.chunk.isEmpty() )
+        {
+            Node next = this.chunk.getNext();
+            this.getList().unlinkChunk(this.chunk);
+            this.chunk = (ChunkNode<T>) next;
+            this.index = 0;
+        }
+        else
+        {
+            ChunkNode<T> next = (ChunkNode<T>) this.chunk.getNext();
+
+            // Keep chunks at least half full by absorbing the next chunk when both fit in one.
+            if ( ( next != null ) && ( this.chunk.getCount() < ( this.chunk.getCapacity() / 2 ) ) && ( ( this.chunk.getCount() + next.getCount() ) <= this.chunk.getCapacity() ) )
+            {
+                next.moveTo(0, this.chunk);
+                this.getList().unlinkChunk(next);
+            }
+
+            if ( this.index >= this.chunk.getCount() )
+            {
+                this.chunk = (ChunkNode<T>) this.chunk.getNext();
+                this.index = 0;
+            }
+        }
+
+        if ( this.chunk == null )
+        {
+            this.resetHead();
+        }
+
+        return retVal;
+    }
+
+    // Return the current element, or null if the list is empty.
+    public T getCurrent()
+    {
+        if ( this.chunk == null ) { return null; }
+
+        return this.chunk.get(this.index);
+    }
+
+    public final UnrolledLinkedList<T> getList()
+    {
+        return this.list;
+    }
+
+    // Insert the data at the given position, splitting the chunk if it is full, and move the cursor onto the new element.
+    @SuppressWarnings("unchecked")
+    private void insertAt(final ChunkNode<T> target, final int position, final T data)
+    {
+        ChunkNode<T> c = target;
+        int pos = position;
+
+        if ( c == null )
+        {
+            c = new ChunkNode<T>(this.getList().getChunkCapacity(), null, null);
+            this.getList().linkChunkAfter(this.getList().getTail(), c);
+            pos = 0;
+        }
+        else if ( c.isFull() )
+        {
+            ChunkNode<T> next = (ChunkNode<T>) c.getNext();
+            ChunkNode<T> previous = (ChunkNode<T>) c.getPrevious();
+
+            if ( ( pos == c.getCount() ) && ( next != null ) && !next.isFull() )
+            {
+                // Appending to a full chunk spills into the front of the next one.
+                c = next;
+                pos = 0;
+            }
+            else if ( ( pos == 0 ) && ( previous != null ) && !previous.isFull() )
+            {
+                // Prepending to a full chunk spills onto the end of the previous one.
+                c = previous;
+                pos = c.getCount();
+            }
+            else if ( ( pos == c.getCount() ) || ( pos == 0 ) )
+            {
+                // Growing at either end starts a fresh chunk, so that sequential insertion leaves every chunk full.
+                ChunkNode<T> fresh = new ChunkNode<T>(this.getList().getChunkCapacity(), null, null);
+                this.getList().linkChunkAfter(( ( pos == 0 ) ? previous : c ), fresh);
+                c = fresh;
+                pos = 0;
+            }
+            else
+            {
+                // Inserting into the middle splits the chunk in half.
+                int mid = ( c.getCount() / 2 );
+                ChunkNode<T> upper = new ChunkNode<T>(this.getList().getChunkCapacity(), null, null);
+                c.moveTo(mid, upper);
+                this.getList().linkChunkAfter(c, upper);
+
+                if ( pos > mid )
+                {
+                    c = upper;
+                    pos -= mid;
+                }
+            }
+        }
+
+        c.insert(pos, data);
+        this.chunk = c;
+        this.index = pos;
+        this.getList().setSize(this.getList().getSize() + 1);
+    }
+
+    // Insert the data after the current element and move the cursor onto it.
+    public void insertAfter(final T data)
+    {
+        this.insertAt(this.chunk, ( ( this.chunk == null ) ? 0 : ( this.index + 1 ) ), data);
+    }
+
+    // Insert the data before the current element and move the cursor onto it.
+    public void insertBefore(final T data)
+    {
+        this.insertAt(this.chunk, this.index, data);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void nextNode()
+    {
+        if ( this.atTail() )
+        {
+            this.resetHead();
+        }
+        else if ( ( this.index + 1 ) < this.chunk.getCount() )
+        {
+            this.index++;
+        }
+        else
+        {
+            this.chunk = (ChunkNode<T>) this.chunk.getNext();
+            this.index = 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void prevNode()
+    {
+        if ( this.atHead() )
+        {
+            this.resetTail();
+        }
+        else if ( this.index > 0 )
+        {
+            this.index--;
+        }
+        else
+        {
+            this.chunk = (ChunkNode<T>) this.chunk.getPrevious();
+            this.index = ( this.chunk.getCount() - 1 );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void resetHead()
+    {
+        this.chunk = (ChunkNode<T>) this.getList().getHead();
+        this.index = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void resetTail()
+    {
+        this.chunk = (ChunkNode<T>) this.getList().getTail();
+        this.index = ( ( this.chunk == null ) ? 0 : ( this.chunk.getCount() - 1 ) );
+    }
+
+    // Replace the current element with the given data.
+    public void setCurrent(final T data)
+    {
+        if ( this.chunk == null ) { throw new NoSuchElementException("Cannot replace an element of an empty list."); }
+
+        this.chunk.set(this.index, data);
+    }
+
+    public final void setList(final UnrolledLinkedList<T> list)
+    {
+        this.list = list;
+    }
+
+    // Move every element of the other list in after the current element, leaving the other list empty. The cursor moves onto the last element
+    // spliced in. The other list's chunks are linked in without copying their elements if their capacity matches this list's; otherwise the
+    // elements are copied into chunks of this list's capacity first, since every chunk of a list must be able to split into chunks of its own.
+    @SuppressWarnings("unchecked")
+    public void splice(final UnrolledLinkedList<T> other)
+    {
+        if ( other == this.getList() ) { throw new IllegalArgumentException("Cannot splice a list into itself."); }
+        if ( other.isEmpty() ) { return; }
+
+        if ( other.getChunkCapacity() != this.getList().getChunkCapacity() )
+        {
+            UnrolledLinkedList<T> rechunked = new UnrolledLinkedList<T>(this.getList().getChunkCapacity());
+            rechunked.addAll(other);
+            other.clear();
+            this.splice(rechunked);
+            return;
+        }
+
+        Node after = this.chunk;
+
+        if ( ( this.chunk != null ) && ( ( this.index + 1 ) < this.chunk.getCount() ) )
+        {
+            // Split off the elements after the cursor so the spliced chunks can go between the two halves.
+            ChunkNode<T> upper = new ChunkNode<T>(this.getList().getChunkCapacity(), null, null);
+            this.chunk.moveTo(( this.index + 1 ), upper);
+            this.getList().linkChunkAfter(this.chunk, upper);
+        }
+
+        Node first = other.getHead();
+        Node last = other.getTail();
+        Node before = ( ( after == null ) ? this.getList().getHead() : after.getNext() );
+
+        first.setPrevious(after);
+        last.setNext(before);
+
+        if ( after == null )
+        {
+            this.getList().setHead(first);
+        }
+        else
+        {
+            after.setNext(first);
+        }
+
+        if ( before == null )
+        {
+            this.getList().setTail(last);
+        }
+        else
+        {
+            before.setPrevious(last);
+        }
+
+        this.getList().setSize(this.getList().getSize() + other.getSize());
+        this.chunk = (ChunkNode<T>) last;
+        this.index = ( this.chunk.getCount() - 1 );
+        other.clear();
+    }
+}
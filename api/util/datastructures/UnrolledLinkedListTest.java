@@ -0,0 +1,244 @@
+package api.util.datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class UnrolledLinkedListTest
+{
+    // Check the chunk links, counts and capacities of the list, and return the number of chunks.
+    @SuppressWarnings("unchecked")
+    private static int checkChunks(final UnrolledLinkedList<Integer> list)
+    {
+        Node previous = null;
+        int chunks = 0;
+        int size = 0;
+
+        for ( Node node = list.getHead(); node != null; node = node.getNext() )
+        {
+            ChunkNode<Integer> chunk = (ChunkNode<Integer>) node;
+
+            assertEquals(previous, chunk.getPrevious(), "Chunk " + chunks + " is linked to the wrong previous chunk.");
+            assertEquals(list.getChunkCapacity(), chunk.getCapacity(), "Chunk " + chunks + " has the wrong capacity.");
+            assertTrue(chunk.getCount() > 0, "Chunk " + chunks + " is empty.");
+
+            previous = chunk;
+            chunks++;
+            size += chunk.getCount();
+        }
+
+        assertEquals(previous, list.getTail());
+        assertEquals(list.getSize(), size);
+        return chunks;
+    }
+
+    private static List<Integer> contentsOf(final UnrolledLinkedList<Integer> list)
+    {
+        List<Integer> retVal = new ArrayList<Integer>();
+
+        for ( Integer data : list )
+        {
+            retVal.add(data);
+        }
+
+        return retVal;
+    }
+
+    private static UnrolledLinkedList<Integer> listOf(final int chunkCapacity, final int from, final int count)
+    {
+        UnrolledLinkedList<Integer> retVal = new UnrolledLinkedList<Integer>(chunkCapacity);
+
+        for ( int i = 0; i < count; i++ )
+        {
+            retVal.insertTail(from + i);
+        }
+
+        return retVal;
+    }
+
+    @Test
+    public void testDeleteMergesSparseChunks()
+    {
+        UnrolledLinkedList<Integer> list = UnrolledLinkedListTest.listOf(8, 0, 12);
+        UnrolledLinkedListIterator<Integer> iterator = list.getIterator();
+
+        assertEquals(2, UnrolledLinkedListTest.checkChunks(list));
+
+        // Emptying most of the full first chunk drops it below half full, and it absorbs the half full second chunk once both fit in one.
+        for ( int i = 0; i < 5; i++ )
+        {
+            iterator.deleteCurrent();
+        }
+
+        assertEquals(1, UnrolledLinkedListTest.checkChunks(list));
+        assertEquals(7, list.getSize());
+        assertEquals(Integer.valueOf(5), iterator.getCurrent());
+    }
+
+    @Test
+    public void testInsertSplitsFullChunk()
+    {
+        UnrolledLinkedList<Integer> list = UnrolledLinkedListTest.listOf(8, 0, 16);
+        UnrolledLinkedListIterator<Integer> iterator = list.getIterator();
+        List<Integer> expected = UnrolledLinkedListTest.contentsOf(list);
+
+        assertEquals(2, UnrolledLinkedListTest.checkChunks(list));
+
+        for ( int i = 0; i < 3; i++ )
+        {
+            iterator.nextNode();
+        }
+
+        iterator.insertAfter(-1);
+        expected.add(4, -1);
+
+        assertEquals(3, UnrolledLinkedListTest.checkChunks(list));
+        assertEquals(expected, UnrolledLinkedListTest.contentsOf(list));
+        assertEquals(Integer.valueOf(-1), iterator.getCurrent());
+    }
+
+    @Test
+    public void testRandomOperations()
+    {
+        Random random = new Random(42);
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<Integer>(4);
+        UnrolledLinkedListIterator<Integer> iterator = list.getIterator();
+        List<Integer> expected = new ArrayList<Integer>();
+        int cursor = 0;
+
+        for ( int step = 0; step < 20000; step++ )
+        {
+            int operation = random.nextInt(7);
+
+            if ( expected.isEmpty() || ( operation <= 1 ) )
+            {
+                cursor = ( expected.isEmpty() ? 0 : ( cursor + 1 ) );
+                iterator.insertAfter(step);
+                expected.add(cursor, step);
+            }
+            else if ( operation == 2 )
+            {
+                iterator.insertBefore(step);
+                expected.add(cursor, step);
+            }
+            else if ( operation == 3 )
+            {
+                assertEquals(expected.remove(cursor), iterator.deleteCurrent());
+                cursor = ( ( expected.isEmpty() || ( cursor == expected.size() ) ) ? 0 : cursor );
+            }
+            else if ( operation == 4 )
+            {
+                iterator.nextNode();
+                cursor = ( ( cursor + 1 ) % expected.size() );
+            }
+            else if ( operation == 5 )
+            {
+                iterator.prevNode();
+                cursor = ( ( cursor + expected.size() - 1 ) % expected.size() );
+            }
+            else
+            {
+                int count = random.nextInt(6);
+                UnrolledLinkedList<Integer> other = UnrolledLinkedListTest.listOf(4, -step * 10, count);
+                iterator.splice(other);
+
+                for ( int i = 0; i < count; i++ )
+                {
+                    expected.add(++cursor, ( -step * 10 ) + i);
+                }
+
+                assertTrue(other.isEmpty());
+            }
+
+            if ( ( step % 97 ) == 0 )
+            {
+                UnrolledLinkedListTest.checkChunks(list);
+                assertEquals(expected, UnrolledLinkedListTest.contentsOf(list));
+            }
+
+            assertEquals(expected.size(), list.getSize());
+            assertEquals(( expected.isEmpty() ? null : expected.get(cursor) ), iterator.getCurrent(), "Wrong current element at step " + step + ".");
+        }
+
+        UnrolledLinkedListTest.checkChunks(list);
+        assertEquals(expected, UnrolledLinkedListTest.contentsOf(list));
+    }
+
+    @Test
+    public void testRemoveIf()
+    {
+        UnrolledLinkedList<Integer> list = UnrolledLinkedListTest.listOf(6, 0, 100);
+        List<Integer> expected = UnrolledLinkedListTest.contentsOf(list);
+
+        assertEquals(66, list.removeIf(data -> ( ( data % 3 ) != 0 )));
+        expected.removeIf(data -> ( ( data % 3 ) != 0 ));
+
+        UnrolledLinkedListTest.checkChunks(list);
+        assertEquals(expected, UnrolledLinkedListTest.contentsOf(list));
+    }
+
+    @Test
+    public void testSpliceLargerChunksThenInsert()
+    {
+        UnrolledLinkedList<Integer> list = UnrolledLinkedListTest.listOf(5, 0, 10);
+        UnrolledLinkedList<Integer> other = UnrolledLinkedListTest.listOf(8, 100, 16);
+        List<Integer> expected = UnrolledLinkedListTest.contentsOf(list);
+        UnrolledLinkedListIterator<Integer> iterator = list.getIterator();
+
+        expected.addAll(UnrolledLinkedListTest.contentsOf(other));
+        iterator.resetTail();
+        iterator.splice(other);
+
+        assertTrue(other.isEmpty());
+        assertEquals(Integer.valueOf(115), iterator.getCurrent());
+
+        // Inserting into the middle of a full chunk splits it into chunks of this list's capacity.
+        for ( int i = 0; i < 3; i++ )
+        {
+            iterator.prevNode();
+        }
+
+        iterator.insertBefore(-1);
+        expected.add(22, -1);
+
+        UnrolledLinkedListTest.checkChunks(list);
+        assertEquals(expected, UnrolledLinkedListTest.contentsOf(list));
+    }
+
+    @Test
+    public void testSpliceLargerChunksTwice()
+    {
+        UnrolledLinkedList<Integer> list = UnrolledLinkedListTest.listOf(5, 0, 5);
+        List<Integer> expected = UnrolledLinkedListTest.contentsOf(list);
+        UnrolledLinkedListIterator<Integer> iterator = list.getIterator();
+
+        iterator.resetTail();
+        iterator.splice(UnrolledLinkedListTest.listOf(8, 100, 8));
+        expected.addAll(UnrolledLinkedListTest.contentsOf(UnrolledLinkedListTest.listOf(8, 100, 8)));
+
+        // Splicing after the middle of a chunk which came from the other list splits it first.
+        for ( int i = 0; i < 5; i++ )
+        {
+            iterator.prevNode();
+        }
+
+        iterator.splice(UnrolledLinkedListTest.listOf(8, 200, 3));
+        expected.addAll(8, UnrolledLinkedListTest.contentsOf(UnrolledLinkedListTest.listOf(8, 200, 3)));
+
+        UnrolledLinkedListTest.checkChunks(list);
+        assertEquals(expected, UnrolledLinkedListTest.contentsOf(list));
+        assertEquals(Integer.valueOf(202), iterator.getCurrent());
+    }
+
+    @Test
+    public void testSpliceRejectsSelf()
+    {
+        UnrolledLinkedList<Integer> list = UnrolledLinkedListTest.listOf(4, 0, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> list.splice(list));
+    }
+}
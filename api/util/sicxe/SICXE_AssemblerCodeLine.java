@@ -14,6 +14,9 @@ import api.util.sicxe.SICXE_Lexer.TokenType;
 
 public class SICXE_AssemblerCodeLine
 {
+    // Each thread keeps one lexer for every line it parses, since a lexer reuses its matcher between calls and so cannot be shared.
+    private static final ThreadLocal<SICXE_Lexer<TokenType>> LEXER = ThreadLocal.withInitial(SICXE_Lexer<TokenType>::new);
+
     public static final String[] parseLine(final String s)
     {
         /*///@formatter:off
@@ -24,7 +27,7 @@ public class SICXE_AssemblerCodeLine
          *///@formatter:on
 
         String comment = null, label = null, opCode = null, operand = null;
-        List<Token<TokenType>> tokens = ( new SICXE_Lexer<TokenType>() ).lex(s);
+        List<Token<TokenType>> tokens = SICXE_AssemblerCodeLine.LEXER.get().lex(s);
         int opCodeToken = -1;
 
         for ( int i = 0; i < tokens.size(); i++ )
@@ -56,12 +59,12 @@ public class SICXE_AssemblerCodeLine
 
                 if ( SICXE_AssemblerProgram.isAssemblerDirective(opCode) )
                 {
-                    numOperands = SICXE_AssemblerProgram.DIRECTIVE_TABLE.get(opCode).getNumOperands();
+                    numOperands = SICXE_AssemblerProgram.DIRECTIVE_LOOKUP.get(opCode).getNumOperands();
                 }
 
                 if ( SICXE_AssemblerProgram.isProgramInstruction(opCode) )
                 {
-                    numOperands = SICXE_AssemblerProgram.INSTRUCTION_TABLE.get(opCode).getNumOperands();
+                    numOperands = SICXE_AssemblerProgram.INSTRUCTION_LOOKUP.get(opCode).getNumOperands();
                 }
 
                 if ( numOperands > 0 )
@@ -20,12 +20,14 @@
 
 package api.util.sicxe;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import api.util.Lexer;
+import api.util.MappedLineReader;
 import api.util.Support;
+import api.util.datastructures.PerfectHashTable;
 import api.util.datastructures.SeparateChainingSymbolTable;
-import edu.princeton.cs.introcs.In;
 import edu.princeton.cs.introcs.Out;
 import edu.princeton.cs.introcs.StdOut;
 
@@ -45,6 +47,12 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
     // Register table contains all possible registers.
     public static final SeparateChainingSymbolTable<String, Byte> REGISTER_TABLE = SICXE_AssemblerProgram.constructRegisterTable(new SeparateChainingSymbolTable<String, Byte>());
 
+    // The tables above compiled into perfect hash tables, which the assembler does its lookups in. They are built once, when the class is loaded,
+    // so changes made to the public tables after that are not seen by the assembler.
+    static final PerfectHashTable<String, SICXE_OpCode> DIRECTIVE_LOOKUP   = new PerfectHashTable<String, SICXE_OpCode>(SICXE_AssemblerProgram.DIRECTIVE_TABLE);
+    static final PerfectHashTable<String, SICXE_OpCode> INSTRUCTION_LOOKUP = new PerfectHashTable<String, SICXE_OpCode>(SICXE_AssemblerProgram.INSTRUCTION_TABLE);
+    static final PerfectHashTable<String, Byte>         REGISTER_LOOKUP    = new PerfectHashTable<String, Byte>(SICXE_AssemblerProgram.REGISTER_TABLE);
+
     protected static final String buildLiteralTableString(final SICXE_AssemblerProgram asmProgram)
     {
         // This method builds the literal table string for printing.
@@ -342,7 +350,7 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
 
     public static final boolean isAssemblerDirective(final String s)
     {
-        return SICXE_AssemblerProgram.DIRECTIVE_TABLE.contains(s);
+        return SICXE_AssemblerProgram.DIRECTIVE_LOOKUP.contains(s);
     }
 
     public static final boolean isOpCode(final String s)
@@ -352,7 +360,7 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
 
     public static final boolean isProgramInstruction(final String s)
     {
-        return SICXE_AssemblerProgram.INSTRUCTION_TABLE.contains(s);
+        return SICXE_AssemblerProgram.INSTRUCTION_LOOKUP.contains(s);
     }
 
     protected static final SICXE_Literal resolveLiteral(final String literal, final SICXE_AssemblerProgram asmProgram)
@@ -421,24 +429,40 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
         return null;
     }
 
-    private int                                                baseAddress  = 0;
-    private int                                                endVal       = 0;
-    private String                                             fileName     = null;
-    private boolean                                            isBaseFlag   = false;
-    private int                                                lineCtr      = 0;
-    private SICXE_AssemblerCodeLine[]                          lines        = null;
-    private SeparateChainingSymbolTable<String, SICXE_Literal> literalTable = null;
-    private int                                                locCtr       = 0;
-    private boolean                                            pass1Error   = false;
-    private boolean                                            pass2Error   = false;
-    private int                                                pgmLen       = 0;
-    private int                                                startVal     = 0;
+    // These fields are set by initialize(), which the superclass constructor calls. Initializers here would run after it and undo its work.
+    private int                                                baseAddress;
+    private int                                                endVal;
+    private String                                             fileName;
+    private boolean                                            isBaseFlag;
+    private int                                                lineCtr;
+    private SICXE_AssemblerCodeLine[]                          lines;
+    private SeparateChainingSymbolTable<String, SICXE_Literal> literalTable;
+    private int                                                locCtr;
+    private boolean                                            pass1Error;
+    private boolean                                            pass2Error;
+    private int                                                pgmLen;
+    private int                                                startVal;
 
     public SICXE_AssemblerProgram(final String fileName)
     {
         super(fileName);
     }
 
+    // Report a fatal error and end the program with the given exit status. A null message reports the stack trace of the exception instead.
+    protected void abort(final String message, final int status, final Exception exception)
+    {
+        if ( message != null )
+        {
+            this.report(message);
+        }
+        else
+        {
+            exception.printStackTrace();
+        }
+
+        System.exit(status);
+    }
+
     // Assign addresses to literals (create literal pools)
     protected void addressLiterals(final SICXE_AssemblerCodeLine acl, final boolean pass1)
     {
@@ -472,8 +496,8 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
         // Try to assemble the program.
         try
         {
-            StdOut.println("University of North Florida: SIC/XE Assembler");
-            StdOut.println("Version Date 4/23/2015");
+            this.report("University of North Florida: SIC/XE Assembler");
+            this.report("Version Date 4/23/2015");
 
             // Execute the first pass of the SIC/XE assembler.
             this.pass1();
@@ -485,24 +509,23 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
 
                 if ( this.isPass2Error() )
                 {
-                    StdOut.println("Errors (Pass 2): partial object code generation, but no object file instantiation. " + "Refer to " + this.getFileName() + SICXE_AssemblerProgram.fileExtLst + ".\n");
+                    this.report("Errors (Pass 2): partial object code generation, but no object file instantiation. " + "Refer to " + this.getFileName() + SICXE_AssemblerProgram.fileExtLst + ".\n");
                 }
                 else
                 {
-                    StdOut.println("Assembler report file: " + this.getFileName() + SICXE_AssemblerProgram.fileExtLst);
-                    StdOut.println("\t  object file: " + this.getFileName() + SICXE_AssemblerProgram.fileExtObj);
-                    StdOut.println("\t  middle file: " + this.getFileName() + SICXE_AssemblerProgram.fileExtMid);
+                    this.report("Assembler report file: " + this.getFileName() + SICXE_AssemblerProgram.fileExtLst);
+                    this.report("\t  object file: " + this.getFileName() + SICXE_AssemblerProgram.fileExtObj);
+                    this.report("\t  middle file: " + this.getFileName() + SICXE_AssemblerProgram.fileExtMid);
                 }
             }
             else
             {
-                StdOut.println("Errors (Pass 1): no object code generated. " + "Refer to " + this.getFileName() + SICXE_AssemblerProgram.fileExtMid + ".\n");
+                this.report("Errors (Pass 1): no object code generated. " + "Refer to " + this.getFileName() + SICXE_AssemblerProgram.fileExtMid + ".\n");
             }
         }
         catch ( final Exception exception )
         {
-            exception.printStackTrace();
-            System.exit( -2);
+            this.abort(null, -2, exception);
         }
     }
 
@@ -669,7 +692,7 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
                 if ( SICXE_AssemblerProgram.isProgramInstruction(acl.getOpCode()) )
                 {
                     // If the opCode is a program instruction, then increment locCtr by the instruction's format number.
-                    incAmount = SICXE_AssemblerProgram.INSTRUCTION_TABLE.get(acl.getOpCode()).getFormat();
+                    incAmount = SICXE_AssemblerProgram.INSTRUCTION_LOOKUP.get(acl.getOpCode()).getFormat();
                 }
 
                 if ( SICXE_AssemblerProgram.isAssemblerDirective(acl.getOpCode()) )
@@ -683,7 +706,7 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
                      * 
                      * @formatter:on
                      */
-                    int format = SICXE_AssemblerProgram.DIRECTIVE_TABLE.get(acl.getOpCode()).getFormat();
+                    int format = SICXE_AssemblerProgram.DIRECTIVE_LOOKUP.get(acl.getOpCode()).getFormat();
 
                     switch ( acl.getOpCode() )
                     {
@@ -852,7 +875,7 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
             // Handle program instructions.
             if ( SICXE_AssemblerProgram.isProgramInstruction(acl.getOpCode()) )
             {
-                SICXE_OpCode opCodeInfo = SICXE_AssemblerProgram.INSTRUCTION_TABLE.get(acl.getOpCode());
+                SICXE_OpCode opCodeInfo = SICXE_AssemblerProgram.INSTRUCTION_LOOKUP.get(acl.getOpCode());
                 String opCode = String.format("%02X", opCodeInfo.getOpCode());
 
                 // Divide up the instruction handling code based on the format of the instruction.
@@ -881,7 +904,7 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
 
                                 if ( operands.length > 1 )
                                 {
-                                    reg1 = SICXE_AssemblerProgram.REGISTER_TABLE.get(operands[0]);
+                                    reg1 = SICXE_AssemblerProgram.REGISTER_LOOKUP.get(operands[0]);
 
                                     if ( ( reg1 >= 0 ) && ( reg1 <= 9 ) )
                                     {
@@ -907,7 +930,7 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
 
                                             default: // ADDR, COMPR, DIVR, MULR, RMO, SUBR.
 
-                                                reg2 = SICXE_AssemblerProgram.REGISTER_TABLE.get(operands[1]);
+                                                reg2 = SICXE_AssemblerProgram.REGISTER_LOOKUP.get(operands[1]);
 
                                                 if ( ( reg2 >= 0 ) && ( reg2 <= 9 ) )
                                                 {
@@ -951,7 +974,7 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
                                 // CLEAR, TIXR.
                                 else
                                 {
-                                    reg1 = SICXE_AssemblerProgram.REGISTER_TABLE.get(acl.getOperand());
+                                    reg1 = SICXE_AssemblerProgram.REGISTER_LOOKUP.get(acl.getOperand());
 
                                     if ( ( reg1 >= 0 ) && ( reg1 <= 9 ) )
                                     {
@@ -1276,156 +1299,180 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
     protected void outputObjectFile()
     {
         Out out = new Out(this.getFileName() + SICXE_AssemblerProgram.fileExtObj);
-        SICXE_AssemblerCodeLine acl = null;
 
-        // Loop through the file line-by-line from the beginning.
-        for ( int i = 0; i < this.getLineCtr(); i++ )
+        try
         {
-            acl = this.getLines()[i];
+            SICXE_AssemblerCodeLine acl = null;
 
-            if ( acl != null )
+            // Loop through the file line-by-line from the beginning.
+            for ( int i = 0; i < this.getLineCtr(); i++ )
             {
-                if ( acl.getOpCode() != null )
+                acl = this.getLines()[i];
+
+                if ( acl != null )
                 {
-                    // START directive special case.
-                    if ( acl.getOpCode().equals("START") )
+                    if ( acl.getOpCode() != null )
                     {
-                        out.print("");
-                        continue;
-                    }
+                        // START directive special case.
+                        if ( acl.getOpCode().equals("START") )
+                        {
+                            out.print("");
+                            continue;
+                        }
 
-                    // END directive special case.
-                    if ( acl.getOpCode().equals("END") )
-                    {
+                        // END directive special case.
+                        if ( acl.getOpCode().equals("END") )
+                        {
+                            out.print("");
+                            break;
+                        }
+
+                        // General case.
                         out.print("");
-                        break;
                     }
-
-                    // General case.
-                    out.print("");
                 }
             }
         }
+        finally
+        {
+            out.close();
+        }
     }
 
     protected void pass1()
     {
         Out out = new Out(this.getFileName() + SICXE_AssemblerProgram.fileExtMid);
-        SICXE_AssemblerCodeLine acl = null;
 
-        // Loop through the file line-by-line from the beginning.
-        for ( int i = 0; i < this.getLineCtr(); i++ )
+        try
         {
-            acl = this.getLines()[i];
+            SICXE_AssemblerCodeLine acl = null;
 
-            if ( acl != null )
+            // Loop through the file line-by-line from the beginning.
+            for ( int i = 0; i < this.getLineCtr(); i++ )
             {
-                String lineNumString = String.format("%03d", acl.getLineNum());
+                acl = this.getLines()[i];
 
-                if ( acl.isFullComment() )
+                if ( acl != null )
                 {
-                    // Don't process full comments. Just print them to the intermediate file.
-                    out.println(lineNumString + ":" + acl.getInput());
-                }
-                else
-                {
-                    // Process START assembler directive, if present.
-                    this.processStartDirective(acl);
+                    String lineNumString = String.format("%03d", acl.getLineNum());
 
-                    // Set the address for this line of assembly code by copying locCtr.
-                    acl.setAddress(this.getLocCtr());
+                    if ( acl.isFullComment() )
+                    {
+                        // Don't process full comments. Just print them to the intermediate file.
+                        out.println(lineNumString + ":" + acl.getInput());
+                    }
+                    else
+                    {
+                        // Process START assembler directive, if present.
+                        this.processStartDirective(acl);
 
-                    // Print to the intermediate file.
-                    out.println(lineNumString + ":" + String.format("%04X", this.getLocCtr()) + "\t" + acl.getInput());
+                        // Set the address for this line of assembly code by copying locCtr.
+                        acl.setAddress(this.getLocCtr());
 
-                    // Handle label, if present.
-                    this.handleLabel(acl, out);
+                        // Print to the intermediate file.
+                        out.println(lineNumString + ":" + String.format("%04X", this.getLocCtr()) + "\t" + acl.getInput());
 
-                    // Handle literal, if present.
-                    this.handleLiteral(acl, true);
+                        // Handle label, if present.
+                        this.handleLabel(acl, out);
 
-                    // Increment locCtr depending on the given opCode.
-                    this.incrementLocCtr(acl, out);
+                        // Handle literal, if present.
+                        this.handleLiteral(acl, true);
 
-                    // Process END assembler directive, if present.
-                    if ( this.processEndDirective(acl) )
-                    {
-                        break;
+                        // Increment locCtr depending on the given opCode.
+                        this.incrementLocCtr(acl, out);
+
+                        // Process END assembler directive, if present.
+                        if ( this.processEndDirective(acl) )
+                        {
+                            break;
+                        }
                     }
                 }
             }
-        }
 
-        // Calculate program length.
-        this.setPgmLen(this.getLocCtr() - this.getStartVal());
+            // Calculate program length.
+            this.setPgmLen(this.getLocCtr() - this.getStartVal());
 
-        // Output the symbol and literal tables as necessary.
-        // If there are no literals in the program, skip the literal table.
-        if ( !this.getLiteralTable().isEmpty() )
-        {
-            out.println(SICXE_AssemblerProgram.buildSymbolTableString(this));
-            out.print(SICXE_AssemblerProgram.buildLiteralTableString(this));
+            // Output the symbol and literal tables as necessary.
+            // If there are no literals in the program, skip the literal table.
+            if ( !this.getLiteralTable().isEmpty() )
+            {
+                out.println(SICXE_AssemblerProgram.buildSymbolTableString(this));
+                out.print(SICXE_AssemblerProgram.buildLiteralTableString(this));
+            }
+            else
+            {
+                out.print(SICXE_AssemblerProgram.buildSymbolTableString(this));
+            }
         }
-        else
+        finally
         {
-            out.print(SICXE_AssemblerProgram.buildSymbolTableString(this));
+            out.close();
         }
     }
 
     protected void pass2()
     {
         Out out = new Out(this.getFileName() + SICXE_AssemblerProgram.fileExtLst);
-        SICXE_AssemblerCodeLine acl = null;
-
-        // Print the listing/report file preamble.
-        out.println("*********************************************");
-        out.println("University of North Florida: SIC/XE Assembler");
-        out.println("Version Date 4/23/2015");
-        out.println(Support.getDateTimeStamp());
-        out.println("*********************************************");
-        out.println("ASSEMBLER REPORT");
-        out.println("----------------");
-        out.println("\t Loc\tObject Code\tSource Code");
-        out.println("\t ---\t-----------\t-----------");
-
-        // Loop through the file line-by-line from the beginning.
-        for ( int i = 0; i < this.getLineCtr(); i++ )
-        {
-            acl = this.getLines()[i];
 
-            if ( acl != null )
+        try
+        {
+            SICXE_AssemblerCodeLine acl = null;
+
+            // Print the listing/report file preamble.
+            out.println("*********************************************");
+            out.println("University of North Florida: SIC/XE Assembler");
+            out.println("Version Date 4/23/2015");
+            out.println(Support.getDateTimeStamp());
+            out.println("*********************************************");
+            out.println("ASSEMBLER REPORT");
+            out.println("----------------");
+            out.println("\t Loc\tObject Code\tSource Code");
+            out.println("\t ---\t-----------\t-----------");
+
+            // Loop through the file line-by-line from the beginning.
+            for ( int i = 0; i < this.getLineCtr(); i++ )
             {
-                String lineNumString = String.format("%03d", acl.getLineNum());
+                acl = this.getLines()[i];
 
-                if ( acl.isFullComment() )
-                {
-                    // Don't process full comments. Just print them to the listing/report file.
-                    out.println(lineNumString + "- " + acl.getInput());
-                }
-                else
+                if ( acl != null )
                 {
-                    // Handle BASE/NOBASE assembler directives, if present.
-                    this.handleBase(acl);
+                    String lineNumString = String.format("%03d", acl.getLineNum());
 
-                    // Handle literal, if present.
-                    this.handleLiteral(acl, false);
+                    if ( acl.isFullComment() )
+                    {
+                        // Don't process full comments. Just print them to the listing/report file.
+                        out.println(lineNumString + "- " + acl.getInput());
+                    }
+                    else
+                    {
+                        // Handle BASE/NOBASE assembler directives, if present.
+                        this.handleBase(acl);
+
+                        // Handle literal, if present.
+                        this.handleLiteral(acl, false);
 
-                    // Generate the object byte code for this line of assembly source code.
-                    this.makeObjectCode(acl, out);
+                        // Generate the object byte code for this line of assembly source code.
+                        this.makeObjectCode(acl, out);
 
-                    // Print to the listing/report file.
-                    out.println(lineNumString + "- " + String.format("%05X", acl.getAddress()) + "\t" + String.format("%-8S", acl.getObjectCode()) + "\t" + acl.getInput());
+                        // Print to the listing/report file.
+                        out.println(lineNumString + "- " + String.format("%05X", acl.getAddress()) + "\t" + String.format("%-8S", acl.getObjectCode()) + "\t" + acl.getInput());
 
-                    // Print literal pools as appropriate.
-                    this.addressLiterals(acl, false);
+                        // Print literal pools as appropriate.
+                        this.addressLiterals(acl, false);
+                    }
                 }
             }
-        }
 
-        // If there was an error during pass 2, don't bother generating an object code file.
-        if ( !this.isPass2Error() )
+            // If there was an error during pass 2, don't bother generating an object code file.
+            if ( !this.isPass2Error() )
+            {
+                this.outputObjectFile();
+            }
+        }
+        finally
         {
-            this.outputObjectFile();
+            out.close();
         }
     }
 
@@ -1482,32 +1529,40 @@ public class SICXE_AssemblerProgram extends SimpleSymbolTable
         {
             // Initialize data input.
             // If the given file is invalid or inaccessible, an exception is thrown.
-            In inputStream = new In(fileName);
-
-            // Establish how many lines of text are in the file.
-            this.setLineCtr(Support.countLinesInTextFile(fileName));
-            this.setLines(new SICXE_AssemblerCodeLine[this.getLineCtr()]);
+            MappedLineReader reader = new MappedLineReader(fileName);
+            List<SICXE_AssemblerCodeLine> lines = new ArrayList<SICXE_AssemblerCodeLine>();
 
-            // Read in the file's data line by line and store it for future analysis.
-            for ( int i = 0; ( ( i < this.getLineCtr() ) && ( inputStream.hasNextLine() ) ); i++ )
+            // Read in the file's data line by line in a single pass and store it for future analysis.
+            try
             {
-                String line = inputStream.readLine();
-
-                if ( line != null )
+                while ( reader.nextLine() )
                 {
-                    this.getLines()[i] = new SICXE_AssemblerCodeLine(line.toUpperCase(), i + 1, 0);
+                    String line = reader.getInput().subSequence(reader.getLineStart(), reader.getLineEnd()).toString();
+                    lines.add(new SICXE_AssemblerCodeLine(line.toUpperCase(), reader.getLineNo(), 0));
                 }
             }
+            finally
+            {
+                reader.close();
+            }
 
+            this.setLineCtr(lines.size());
+            this.setLines(lines.toArray(new SICXE_AssemblerCodeLine[lines.size()]));
             this.setFileName(fileName);
-            this.assembleProgram();
         }
         catch ( final Exception exception )
         {
-            StdOut.println("Error opening source file.");
-            StdOut.println("Unable to read source code from file " + fileName + " - program aborts.");
-            System.exit( -1);
+            this.abort("Error opening source file.\nUnable to read source code from file " + fileName + " - program aborts.", -1, exception);
+            return;
         }
+
+        this.assembleProgram();
+    }
+
+    // Print a message about the program being assembled to standard output.
+    protected void report(final String message)
+    {
+        StdOut.println(message);
     }
 
     protected final void setBaseAddress(final int baseAddress)
@@ -0,0 +1,351 @@
+/*
+ * Title: SICXE_BatchAssembler
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Assembles many SIC/XE source files at once on a fixed pool of worker threads, in one JVM. Each file gets its own assembler program, so no
+ * state is shared between files beyond the read-only instruction, directive and register lookup tables. A file which cannot be read or
+ * assembled does not end the program; its error is returned in its result instead, alongside the messages the assembler would have printed and
+ * the time the file took. The results come back in the order the files were given, together with the aggregate timings of the batch.
+ *
+ * Each file's intermediate, listing and object files are written beside it, as the single-file assembler writes them, so a batch should not
+ * name the same file twice.
+ */
+
+package api.util.sicxe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import edu.princeton.cs.introcs.StdOut;
+
+public final class SICXE_BatchAssembler
+{
+    /* This helper class is thrown in place of ending the program when a file cannot be read or assembled. */
+    private static final class AssemblyException extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        public AssemblyException(final String message, final Exception cause)
+        {
+            super(( message == null ) ? String.valueOf(cause) : message, cause);
+        }
+    }
+
+    /* This helper class is an assembler program which keeps its messages and throws its fatal errors instead of printing them and exiting. */
+    private static final class IsolatedProgram extends SICXE_AssemblerProgram
+    {
+        private final StringBuilder messages = new StringBuilder(); // Messages the assembler reported.
+
+        public IsolatedProgram()
+        {
+            super(null);
+        }
+
+        @Override
+        protected void abort(final String message, final int status, final Exception exception)
+        {
+            throw new AssemblyException(message, exception);
+        }
+
+        public String getMessages()
+        {
+            return this.messages.toString();
+        }
+
+        @Override
+        protected void report(final String message)
+        {
+            this.messages.append(message).append('\n');
+        }
+    }
+
+    /* This helper class is the outcome of assembling one source file. */
+    public static final class Result
+    {
+        private final Throwable error;      // Error which stopped the file from being assembled, or null if there was none.
+        private final String    fileName;   // Name of the source file.
+        private final int       lineCount;  // Number of lines read from the source file.
+        private final String    messages;   // Messages the assembler reported, one per line.
+        private final long      nanos;      // Time taken to read and assemble the file, in nanoseconds.
+        private final boolean   pass1Error; // Were there errors during the first pass?
+        private final boolean   pass2Error; // Were there errors during the second pass?
+
+        public Result(final String fileName, final int lineCount, final boolean pass1Error, final boolean pass2Error, final String messages, final Throwable error, final long nanos)
+        {
+            this.error = error;
+            this.fileName = fileName;
+            this.lineCount = lineCount;
+            this.messages = messages;
+            this.nanos = nanos;
+            this.pass1Error = pass1Error;
+            this.pass2Error = pass2Error;
+        }
+
+        public final Throwable getError()
+        {
+            return this.error;
+        }
+
+        public final String getFileName()
+        {
+            return this.fileName;
+        }
+
+        public final int getLineCount()
+        {
+            return this.lineCount;
+        }
+
+        public final String getMessages()
+        {
+            return this.messages;
+        }
+
+        public final long getNanos()
+        {
+            return this.nanos;
+        }
+
+        public final boolean isPass1Error()
+        {
+            return this.pass1Error;
+        }
+
+        public final boolean isPass2Error()
+        {
+            return this.pass2Error;
+        }
+
+        // Was the file assembled without errors, so that its object file was written?
+        public final boolean isSuccess()
+        {
+            return ( ( this.error == null ) && !this.pass1Error && !this.pass2Error );
+        }
+
+        @Override
+        public String toString()
+        {
+            String retVal = this.fileName + ": ";
+
+            if ( this.error != null )
+            {
+                retVal += "failed (" + this.error.getMessage() + ")";
+            }
+            else if ( this.pass1Error )
+            {
+                retVal += "errors in pass 1";
+            }
+            else if ( this.pass2Error )
+            {
+                retVal += "errors in pass 2";
+            }
+            else
+            {
+                retVal += "assembled";
+            }
+
+            return retVal + String.format(" in %.3f ms", this.nanos / 1e6);
+        }
+    }
+
+    /* This helper class is the outcome of assembling a batch of source files, with the timings of its files aggregated. */
+    public static final class Summary
+    {
+        private final long         maxNanos;     // Longest time taken by one file.
+        private final long         minNanos;     // Shortest time taken by one file.
+        private final List<Result> results;      // Result of each file, in the order the files were given.
+        private final int          successCount; // Number of files assembled without errors.
+        private final long         totalNanos;   // Sum of the times taken by each file.
+        private final long         wallNanos;    // Time taken by the whole batch.
+
+        public Summary(final List<Result> results, final long wallNanos)
+        {
+            long max = 0;
+            long min = ( results.isEmpty() ? 0 : Long.MAX_VALUE );
+            int successes = 0;
+            long total = 0;
+
+            for ( Result result : results )
+            {
+                max = Math.max(max, result.getNanos());
+                min = Math.min(min, result.getNanos());
+                total += result.getNanos();
+
+                if ( result.isSuccess() )
+                {
+                    successes++;
+                }
+            }
+
+            this.maxNanos = max;
+            this.minNanos = min;
+            this.results = Collections.unmodifiableList(new ArrayList<Result>(results));
+            this.successCount = successes;
+            this.totalNanos = total;
+            this.wallNanos = wallNanos;
+        }
+
+        public final int getFailureCount()
+        {
+            return ( this.results.size() - this.successCount );
+        }
+
+        public final long getMaxNanos()
+        {
+            return this.maxNanos;
+        }
+
+        public final long getMeanNanos()
+        {
+            return ( this.results.isEmpty() ? 0 : ( this.totalNanos / this.results.size() ) );
+        }
+
+        public final long getMinNanos()
+        {
+            return this.minNanos;
+        }
+
+        public final List<Result> getResults()
+        {
+            return this.results;
+        }
+
+        public final int getSuccessCount()
+        {
+            return this.successCount;
+        }
+
+        public final long getTotalNanos()
+        {
+            return this.totalNanos;
+        }
+
+        public final long getWallNanos()
+        {
+            return this.wallNanos;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%d files: %d assembled, %d failed. Per file: min %.3f ms, mean %.3f ms, max %.3f ms. Total %.3f ms in %.3f ms of wall time.", this.results.size(), this.successCount, this.getFailureCount(), this.minNanos / 1e6, this.getMeanNanos() / 1e6, this.maxNanos / 1e6, this.totalNanos / 1e6, this.wallNanos / 1e6);
+        }
+    }
+
+    // Assemble the given files on one worker thread per available processor.
+    public static final Summary assemble(final Collection<String> fileNames) throws InterruptedException
+    {
+        return SICXE_BatchAssembler.assemble(fileNames, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Assemble the given files on at most the given number of worker threads. The results are in the order of the files.
+    public static final Summary assemble(final Collection<String> fileNames, final int threads) throws InterruptedException
+    {
+        if ( threads < 1 ) { throw new IllegalArgumentException("Number of threads must be positive, but was " + threads + "."); }
+
+        long start = System.nanoTime();
+        List<Result> results = new ArrayList<Result>(fileNames.size());
+
+        if ( !fileNames.isEmpty() )
+        {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, fileNames.size()));
+
+            try
+            {
+                List<Callable<Result>> tasks = new ArrayList<Callable<Result>>(fileNames.size());
+
+                for ( final String fileName : fileNames )
+                {
+                    tasks.add(() -> SICXE_BatchAssembler.assemble(fileName));
+                }
+
+                List<Future<Result>> futures = executor.invokeAll(tasks);
+                int i = 0;
+
+                for ( String fileName : fileNames )
+                {
+                    try
+                    {
+                        results.add(futures.get(i).get());
+                    }
+                    catch ( final ExecutionException exception )
+                    {
+                        // Only an Error, such as running out of memory, escapes assemble(String).
+                        results.add(new Result(fileName, 0, false, false, "", exception.getCause(), 0));
+                    }
+
+                    i++;
+                }
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        return new Summary(results, System.nanoTime() - start);
+    }
+
+    // Assemble the given file on the calling thread.
+    public static final Result assemble(final String fileName)
+    {
+        long start = System.nanoTime();
+        IsolatedProgram program = new IsolatedProgram();
+        Exception error = null;
+
+        try
+        {
+            program.readFile(fileName);
+        }
+        catch ( final AssemblyException exception )
+        {
+            error = exception;
+            program.report(exception.getMessage());
+        }
+        catch ( final Exception exception )
+        {
+            error = exception;
+        }
+
+        return new Result(fileName, program.getLineCtr(), program.isPass1Error(), program.isPass2Error(), program.getMessages(), error, System.nanoTime() - start);
+    }
+
+    // Assemble the files named on the command line and report the failures and timings. The exit status is the number of failures, up to 255.
+    public static void main(final String[] args) throws InterruptedException
+    {
+        List<String> fileNames = new ArrayList<String>();
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for ( int i = 0; i < args.length; i++ )
+        {
+            if ( args[i].equals("-j") && ( ( i + 1 ) < args.length ) )
+            {
+                threads = Integer.parseInt(args[++i]);
+            }
+            else
+            {
+                fileNames.add(args[i]);
+            }
+        }
+
+        Summary summary = SICXE_BatchAssembler.assemble(fileNames, threads);
+
+        for ( Result result : summary.getResults() )
+        {
+            if ( !result.isSuccess() )
+            {
+                StdOut.println(result);
+            }
+        }
+
+        StdOut.println(summary);
+        System.exit(Math.min(255, summary.getFailureCount()));
+    }
+}
@@ -0,0 +1,105 @@
+package api.util.sicxe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SICXE_BatchAssemblerTest
+{
+    // A program which uses extended, indirect, immediate and base-relative addressing as well as a literal.
+    private static final List<String> PROGRAM = Arrays.asList("COPY     START   1000", "FIRST    STL     RETADR", "         LDB     #LENGTH", "         BASE    LENGTH", "CLOOP   +JSUB    RDREC", "         LDA     LENGTH", "         COMP    #0", "         JEQ     ENDFIL", "         J       CLOOP", "ENDFIL   LDA     =C'EOF'", "         STA     BUFFER", "         LDA     #3", "         STA     LENGTH", "         J       @RETADR", "RETADR   RESW    1", "LENGTH   RESW    1", "BUFFER   RESB    4096", "RDREC    CLEAR   X", "         RSUB", "         END     FIRST");
+
+    // A program which defines a label twice and names an operation which does not exist.
+    private static final List<String> BAD_PROGRAM = Arrays.asList("BAD      START   1000", "FIRST    LDA     #1", "FIRST    LDA     #2", "         FOO     FIRST", "         END     FIRST");
+
+    @TempDir
+    Path directory;
+
+    private List<String> writeBatch(final int copies) throws IOException
+    {
+        List<String> retVal = new ArrayList<String>();
+
+        for ( int i = 0; i < copies; i++ )
+        {
+            retVal.add(Files.write(this.directory.resolve("copy" + i + ".txt"), SICXE_BatchAssemblerTest.PROGRAM).toString());
+        }
+
+        retVal.add(Files.write(this.directory.resolve("bad.txt"), SICXE_BatchAssemblerTest.BAD_PROGRAM).toString());
+        retVal.add(this.directory.resolve("missing.txt").toString());
+        return retVal;
+    }
+
+    @Test
+    public void testBatchMatchesSerial() throws Exception
+    {
+        List<String> fileNames = this.writeBatch(20);
+        SICXE_BatchAssembler.Summary serial = SICXE_BatchAssembler.assemble(fileNames, 1);
+        SICXE_BatchAssembler.Summary parallel = SICXE_BatchAssembler.assemble(fileNames, 4);
+
+        assertEquals(fileNames.size(), parallel.getResults().size());
+
+        for ( int i = 0; i < fileNames.size(); i++ )
+        {
+            SICXE_BatchAssembler.Result expected = serial.getResults().get(i);
+            SICXE_BatchAssembler.Result actual = parallel.getResults().get(i);
+
+            assertEquals(fileNames.get(i), actual.getFileName());
+            assertEquals(expected.getLineCount(), actual.getLineCount());
+            assertEquals(expected.getMessages(), actual.getMessages());
+            assertEquals(expected.isPass1Error(), actual.isPass1Error());
+            assertEquals(expected.isPass2Error(), actual.isPass2Error());
+            assertEquals(expected.isSuccess(), actual.isSuccess());
+        }
+    }
+
+    @Test
+    public void testFailuresAreReturned() throws Exception
+    {
+        List<String> fileNames = this.writeBatch(3);
+        SICXE_BatchAssembler.Summary summary = SICXE_BatchAssembler.assemble(fileNames, 2);
+        List<SICXE_BatchAssembler.Result> results = summary.getResults();
+
+        for ( int i = 0; i < 3; i++ )
+        {
+            assertTrue(results.get(i).isSuccess(), results.get(i).toString());
+            assertNull(results.get(i).getError());
+            assertEquals(SICXE_BatchAssemblerTest.PROGRAM.size(), results.get(i).getLineCount());
+        }
+
+        // A file with errors is assembled as far as it can be, and a file which cannot be read is reported without ending the batch.
+        assertTrue(results.get(3).isPass1Error());
+        assertNull(results.get(3).getError());
+        assertFalse(results.get(4).isSuccess());
+        assertNotNull(results.get(4).getError());
+        assertTrue(results.get(4).getMessages().contains("missing.txt"), results.get(4).getMessages());
+
+        assertEquals(3, summary.getSuccessCount());
+        assertEquals(2, summary.getFailureCount());
+        assertTrue(summary.getMinNanos() <= summary.getMeanNanos());
+        assertTrue(summary.getMeanNanos() <= summary.getMaxNanos());
+        assertTrue(summary.getMaxNanos() <= summary.getTotalNanos());
+    }
+
+    @Test
+    public void testEmptyAndInvalidBatches() throws Exception
+    {
+        SICXE_BatchAssembler.Summary summary = SICXE_BatchAssembler.assemble(Collections.<String> emptyList(), 4);
+
+        assertTrue(summary.getResults().isEmpty());
+        assertEquals(0, summary.getMinNanos());
+        assertEquals(0, summary.getMeanNanos());
+        assertThrows(IllegalArgumentException.class, () -> SICXE_BatchAssembler.assemble(Collections.<String> emptyList(), 0));
+    }
+}
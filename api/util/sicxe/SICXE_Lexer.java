@@ -10,11 +10,14 @@ package api.util.sicxe;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import api.util.Lexer;
+import api.util.LexerGenerator;
+import api.util.ScannerTable;
 import api.util.Support;
+import api.util.TokenScanner;
 import api.util.datastructures.Token;
+import api.util.datastructures.TokenSink;
 import edu.princeton.cs.introcs.StdOut;
 
 public class SICXE_Lexer<T> extends Lexer<T>
@@ -22,7 +25,7 @@ public class SICXE_Lexer<T> extends Lexer<T>
     /*
      * This helper enumerator class represents the various special types of tokens we are interested in.
      */
-    public static enum TokenType
+    public static enum TokenType implements Lexer.TokenDefinition
     {
         GROUPING(SICXE_Lexer.SICXE_GROUPINGS), IDENTIFIER(SICXE_Lexer.SICXE_LITERALS + "|" + SICXE_Lexer.SICXE_IDENTIFIERS), OPERATOR(SICXE_Lexer.SICXE_OPERATORS);
 
@@ -33,6 +36,7 @@ public class SICXE_Lexer<T> extends Lexer<T>
             this.pattern = pattern;
         }
 
+        @Override
         public final String getPattern()
         {
             return this.pattern;
@@ -50,6 +54,10 @@ public class SICXE_Lexer<T> extends Lexer<T>
     public static final String SICXE_LITERALS    = "(\\=*[A-Z]'.*')";
     public static final String SICXE_OPERATORS   = "[\\-+/*]";
 
+    // The token patterns are compiled into one DFA once, and shared by every instance.
+    private static final ScannerTable SCANNER_TABLE = LexerGenerator.generate(TokenType.values());
+    private static final Pattern      WHITESPACE    = Pattern.compile("\\s+");
+
     public static void main(final String[] args)
     {
         // It comes with a limited test bed program so you can lex arbitrary input quickly.
@@ -72,52 +80,53 @@ public class SICXE_Lexer<T> extends Lexer<T>
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<Token<T>> lex(final String s, final int lineNo, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments)
     {
-        // Strip out whitespace.
-        String input = s.replaceAll("\\s+", " ");
-
         // The tokens to return.
         List<Token<T>> tokens = new ArrayList<Token<T>>();
 
-        // Lexer logic begins here.
-        StringBuffer tokenPatternsBuffer = new StringBuffer();
+        this.lex(s, 0, s.length(), lineNo, silent, ignoreWhiteSpace, ignoreComments, tokens::add);
+        return tokens;
+    }
 
-        for ( TokenType tokenType : TokenType.values() )
+    @Override
+    @SuppressWarnings("unchecked")
+    public void lex(final CharSequence input, final int from, final int limit, final int lineNo, final boolean silent, final boolean ignoreWhiteSpace, final boolean ignoreComments, final TokenSink<? super T> sink)
+    {
+        CharSequence text = input;
+        int start = from;
+        int end = limit;
+
+        // Whitespace never starts or ends a token, and '.' matches any whitespace but a line break, so a line is only stripped of whitespace up front
+        // if it holds a line break. Otherwise it is matched in place, and whitespace is only collapsed inside the tokens which hold it.
+        for ( int i = from; i < limit; i++ )
         {
-            tokenPatternsBuffer.append(String.format("|(?<%s>%s)", tokenType, tokenType.getPattern()));
+            if ( ( input.charAt(i) == '\n' ) || ( input.charAt(i) == '\r' ) )
+            {
+                text = SICXE_Lexer.WHITESPACE.matcher(input.subSequence(from, limit)).replaceAll(" ");
+                start = 0;
+                end = text.length();
+                break;
+            }
         }
 
-        Pattern tokenPatterns = Pattern.compile(new String(tokenPatternsBuffer.substring(1)));
-
         // Begin matching tokens.
-        Matcher matcher = tokenPatterns.matcher(input);
+        TokenScanner scanner = this.getScanner(SICXE_Lexer.SCANNER_TABLE, text, start, end);
 
-        while ( matcher.find() )
+        while ( scanner.next() )
         {
-            Token<T> token = null;
+            T type = (T) scanner.getTokenType();
 
-            if ( matcher.group(TokenType.GROUPING.name()) != null )
+            // Only quoted literals, which end with a quote, can hold whitespace.
+            if ( text.charAt(scanner.getEnd() - 1) == '\'' )
             {
-                token = new Token<T>((T) TokenType.GROUPING, matcher.group(TokenType.GROUPING.name()));
-                tokens.add(token);
-                continue;
+                String data = SICXE_Lexer.WHITESPACE.matcher(text.subSequence(scanner.getStart(), scanner.getEnd())).replaceAll(" ");
+                sink.accept(type, data, 0, data.length(), 0, 0, 0, 0);
             }
-            else if ( matcher.group(TokenType.IDENTIFIER.name()) != null )
+            else
             {
-                token = new Token<T>((T) TokenType.IDENTIFIER, matcher.group(TokenType.IDENTIFIER.name()));
-                tokens.add(token);
-                continue;
-            }
-            else if ( matcher.group(TokenType.OPERATOR.name()) != null )
-            {
-                token = new Token<T>((T) TokenType.OPERATOR, matcher.group(TokenType.OPERATOR.name()));
-                tokens.add(token);
-                continue;
+                sink.accept(type, text, scanner.getStart(), scanner.getEnd(), 0, 0, 0, 0);
             }
         }
-
-        return tokens;
     }
 }
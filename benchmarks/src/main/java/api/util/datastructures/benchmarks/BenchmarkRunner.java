@@ -0,0 +1,78 @@
+/*
+ * Title: BenchmarkRunner
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Entry point of benchmarks.jar. It takes the usual JMH command line, but unless told otherwise it profiles garbage collection and allocation and
+ * writes the results as JSON to results/jmh-<version>.json, so the results of two releases can be diffed against each other.
+ */
+
+package api.util.datastructures.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public final class BenchmarkRunner
+{
+    public static final String RESULTS_DIRECTORY = "results";
+
+    // Return the default path of the results file, named after the version recorded in the jar's manifest.
+    public static String getDefaultResultPath()
+    {
+        String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        return ( BenchmarkRunner.RESULTS_DIRECTORY + File.separator + "jmh-" + ( ( version == null ) ? "unknown" : version ) + ".json" );
+    }
+
+    public static void main(final String[] args) throws CommandLineOptionException, IOException, RunnerException
+    {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        if ( commandLine.shouldHelp() )
+        {
+            commandLine.showHelp();
+            return;
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLine);
+
+        if ( commandLine.getProfilers().isEmpty() )
+        {
+            builder.addProfiler(GCProfiler.class);
+        }
+
+        if ( !commandLine.getResultFormat().hasValue() )
+        {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+
+        if ( !commandLine.getResult().hasValue() )
+        {
+            String path = BenchmarkRunner.getDefaultResultPath();
+            new File(path).getAbsoluteFile().getParentFile().mkdirs();
+            builder.result(path);
+        }
+
+        Runner runner = new Runner(builder.build());
+
+        if ( commandLine.shouldList() )
+        {
+            runner.list();
+        }
+        else
+        {
+            runner.run();
+        }
+    }
+
+    private BenchmarkRunner()
+    {
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Title: DoubleLinkedListBenchmark
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Throughput of DoubleLinkedList used as a queue. An insert at the tail paired with a delete at the head runs against a list that stays at its full
+ * size; filling, draining and iterating are timed for the whole list at once. The list never looks at its elements, so there are no key
+ * distributions to compare.
+ */
+
+package api.util.datastructures.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import api.util.datastructures.DataNode;
+import api.util.datastructures.DoubleLinkedList;
+import api.util.datastructures.Node;
+
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class DoubleLinkedListBenchmark
+{
+    /* This helper class holds a freshly filled list for every invocation of a benchmark which empties it. */
+    @State(Scope.Thread)
+    public static class Filled
+    {
+        private DoubleLinkedList<Integer> list = null;
+
+        @Setup(Level.Invocation)
+        public void setUp(final DoubleLinkedListBenchmark benchmark)
+        {
+            this.list = benchmark.fill();
+        }
+    }
+
+    private Integer[]                 keys = null;
+    private DoubleLinkedList<Integer> list = null;
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    private int                       size = 0;
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int drain(final Filled filled)
+    {
+        while ( !filled.list.isEmpty() )
+        {
+            filled.list.deleteHead();
+        }
+
+        return filled.list.getSize();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public DoubleLinkedList<Integer> fill()
+    {
+        DoubleLinkedList<Integer> retVal = new DoubleLinkedList<Integer>();
+
+        for ( Integer key : this.keys )
+        {
+            retVal.insertTail(key);
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @SuppressWarnings("unchecked")
+    public void iterate(final Blackhole blackhole)
+    {
+        for ( Node x = this.list.getHead(); x != null; x = x.getNext() )
+        {
+            blackhole.consume(( (DataNode<Integer>) x ).getData());
+        }
+    }
+
+    // Move the head of the list to its tail, so the list keeps its size.
+    @Benchmark
+    public Integer queue()
+    {
+        Integer retVal = this.list.deleteHead();
+        this.list.insertTail(retVal);
+        return retVal;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        this.keys = Keys.integers(Keys.Distribution.SEQUENTIAL, this.size);
+        this.list = this.fill();
+    }
+}
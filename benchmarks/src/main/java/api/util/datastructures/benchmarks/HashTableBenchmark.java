@@ -0,0 +1,118 @@
+/*
+ * Title: HashTableBenchmark
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Throughput of HashTable for each key distribution, with linear and quadratic probing. The table hashes with Murmur3, which is derived from
+ * hashCode(), so colliding keys collide in the table as well. Lookups and insert/remove pairs run against a table that stays at its full size;
+ * filling and draining are timed for the whole table at once. HashTable has no way to iterate over its entries, so there is no iteration benchmark.
+ */
+
+package api.util.datastructures.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import api.util.datastructures.HashStrategy;
+import api.util.datastructures.HashTable;
+
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class HashTableBenchmark
+{
+    /* This helper class holds a freshly filled table for every invocation of a benchmark which empties it. */
+    @State(Scope.Thread)
+    public static class Filled
+    {
+        private HashTable<String> table = null;
+
+        @Setup(Level.Invocation)
+        public void setUp(final HashTableBenchmark benchmark)
+        {
+            this.table = benchmark.fill();
+        }
+    }
+
+    public static final double LOAD_FACTOR = 0.5;
+
+    private String[]          absent       = null;
+    private int               absentCursor = 0;
+    private int               cursor       = 0;
+    @Param({ "SEQUENTIAL", "RANDOM", "COLLIDING" })
+    private Keys.Distribution distribution = null;
+    private String[]          keys         = null;
+    @Param({ "true", "false" })
+    private boolean           linearProbe  = false;
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    private int               size         = 0;
+    private HashTable<String> table        = null;
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int drain(final Filled filled)
+    {
+        for ( String key : this.keys )
+        {
+            filled.table.remove(key);
+        }
+
+        return filled.table.getCurrentSize();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public HashTable<String> fill()
+    {
+        // One extra slot of capacity leaves room for the key inserted by putRemove().
+        HashTable<String> retVal = new HashTable<String>(String.class, HashTableBenchmark.LOAD_FACTOR, this.linearProbe, ( this.size + 1 ), HashStrategy.<String> murmur3(), false);
+
+        for ( String key : this.keys )
+        {
+            retVal.insert(key);
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public int find()
+    {
+        this.cursor = ( ( this.cursor + Keys.STRIDE ) % this.size );
+        return this.table.find(this.keys[this.cursor]);
+    }
+
+    // Insert a key which is not in the table and remove it again, so the table keeps its size.
+    @Benchmark
+    public int putRemove()
+    {
+        this.absentCursor = ( ( this.absentCursor + 1 ) % this.absent.length );
+        this.table.insert(this.absent[this.absentCursor]);
+        return this.table.remove(this.absent[this.absentCursor]);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        String[] all = Keys.strings(this.distribution, this.size + Math.min(this.size, ( 1 << 16 )));
+        this.keys = Arrays.copyOfRange(all, 0, this.size);
+        this.absent = Arrays.copyOfRange(all, this.size, all.length);
+        this.table = this.fill();
+    }
+}
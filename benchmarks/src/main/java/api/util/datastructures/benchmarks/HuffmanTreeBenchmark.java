@@ -0,0 +1,137 @@
+/*
+ * Title: HuffmanTreeBenchmark
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Time taken by HuffmanTree to build its code from an input, and by the streaming codec to encode and decode it, sequentially and in parallel.
+ * The input is either uniformly random bytes, which barely compress, or bytes with a geometric distribution, which compress well.
+ */
+
+package api.util.datastructures.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import api.util.datastructures.HuffmanCodec;
+import api.util.datastructures.HuffmanTree;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class HuffmanTreeBenchmark
+{
+    public static enum Source
+    {
+        SKEWED, UNIFORM
+    }
+
+    /* This helper class exposes the protected parsing steps of HuffmanTree, so the input can come from memory instead of a file. */
+    private static final class Loader extends HuffmanTree<Character>
+    {
+        public Loader()
+        {
+            super(HuffmanTree.ALPHABET_BYTES);
+        }
+
+        public Loader load(final byte[] data)
+        {
+            this.reset(HuffmanTree.ALPHABET_BYTES);
+            this.parseBytes(data);
+            this.initialize();
+            return this;
+        }
+
+        public Loader loadParallel(final ByteBuffer data)
+        {
+            this.reset(HuffmanTree.ALPHABET_BYTES);
+            this.parseBuffer(data);
+            this.initialize();
+            return this;
+        }
+    }
+
+    private byte[] compressed = null;
+    private byte[] input      = null;
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    private int    size       = 0;
+    @Param({ "UNIFORM", "SKEWED" })
+    private Source source     = null;
+    private Loader tree       = null;
+
+    @Benchmark
+    public HuffmanTree<Character> build()
+    {
+        return new Loader().load(this.input);
+    }
+
+    @Benchmark
+    public HuffmanTree<Character> buildParallel()
+    {
+        return new Loader().loadParallel(ByteBuffer.wrap(this.input));
+    }
+
+    @Benchmark
+    public int decode() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(this.input.length);
+        HuffmanCodec.decode(new ByteArrayInputStream(this.compressed), out);
+        return out.size();
+    }
+
+    @Benchmark
+    public void encode() throws IOException
+    {
+        this.tree.writeCompressed(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void encodeParallel() throws IOException
+    {
+        this.tree.writeCompressedParallel(OutputStream.nullOutputStream());
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        Random random = new Random(this.size);
+        this.input = new byte[this.size];
+
+        for ( int i = 0; i < this.size; i++ )
+        {
+            if ( this.source == Source.UNIFORM )
+            {
+                this.input[i] = (byte) random.nextInt(256);
+            }
+            else
+            {
+                // Each byte value is half as likely as the one before it, which is the best case for a prefix code.
+                this.input[i] = (byte) Integer.numberOfTrailingZeros(random.nextInt() | 0x80000000);
+            }
+        }
+
+        this.tree = new Loader().load(this.input);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.tree.writeCompressed(out);
+        this.compressed = out.toByteArray();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Title: Keys
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Generates the key sets used by the benchmarks. Every key set is distinct and reproducible, and the first n keys of a larger set are the same as a
+ * set of n keys, so extra keys can always be drawn that are known to be absent.
+ *
+ * SEQUENTIAL keys are 0, 1, 2, ... RANDOM keys are the same integers passed through a bijective mixer, so they are distinct without needing a set to
+ * check them. COLLIDING keys are strings built so that every group of COLLISION_GROUP keys shares one String.hashCode(); any table which derives
+ * its hash from hashCode() sees each group land in a single bucket. The groups are bounded because a single group of ten million keys would make
+ * every table quadratic and the benchmarks would never finish.
+ */
+
+package api.util.datastructures.benchmarks;
+
+public final class Keys
+{
+    public static enum Distribution
+    {
+        COLLIDING, RANDOM, SEQUENTIAL
+    }
+
+    // "Aa" and "BB" have the same hash code, so any string made of these blocks has the same hash code as any other with as many blocks.
+    private static final String[] BLOCKS          = new String[] { "Aa", "BB" };
+    public static final int       COLLISION_BITS  = 5;
+    public static final int       COLLISION_GROUP = ( 1 << Keys.COLLISION_BITS );
+
+    // Odd and not divisible by five, so stepping by it visits every index of a table whose size is a power of ten before repeating.
+    public static final int STRIDE = 7919;
+
+    // Return the given number of integer keys. COLLIDING falls back to SEQUENTIAL, since integer hash codes cannot collide.
+    public static Integer[] integers(final Distribution distribution, final int count)
+    {
+        Integer[] retVal = new Integer[count];
+
+        for ( int i = 0; i < count; i++ )
+        {
+            retVal[i] = ( ( distribution == Distribution.RANDOM ) ? Keys.mix(i) : i );
+        }
+
+        return retVal;
+    }
+
+    // The finalizer of MurmurHash3, which is a bijection on 32-bit integers.
+    private static int mix(final int value)
+    {
+        int h = value;
+        h ^= ( h >>> 16 );
+        h *= 0x85EBCA6B;
+        h ^= ( h >>> 13 );
+        h *= 0xC2B2AE35;
+        h ^= ( h >>> 16 );
+        return h;
+    }
+
+    // Return the given number of string keys.
+    public static String[] strings(final Distribution distribution, final int count)
+    {
+        String[] retVal = new String[count];
+
+        for ( int i = 0; i < count; i++ )
+        {
+            switch ( distribution )
+            {
+                case COLLIDING:
+                    StringBuilder key = new StringBuilder(Integer.toString(i >>> Keys.COLLISION_BITS)).append(':');
+
+                    for ( int bit = 0; bit < Keys.COLLISION_BITS; bit++ )
+                    {
+                        key.append(Keys.BLOCKS[( i >>> bit ) & 1]);
+                    }
+
+                    retVal[i] = key.toString();
+                    break;
+
+                case RANDOM:
+                    retVal[i] = Integer.toString(Keys.mix(i));
+                    break;
+
+                default:
+                    retVal[i] = Integer.toString(i);
+                    break;
+            }
+        }
+
+        return retVal;
+    }
+
+    private Keys()
+    {
+    }
+}
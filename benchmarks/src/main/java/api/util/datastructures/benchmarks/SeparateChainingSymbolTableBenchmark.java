@@ -0,0 +1,124 @@
+/*
+ * Title: SeparateChainingSymbolTableBenchmark
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Throughput of SeparateChainingSymbolTable for each key distribution. Lookups and insert/delete pairs run against a table that stays at its full
+ * size; filling, draining and iterating are timed for the whole table at once.
+ */
+
+package api.util.datastructures.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import api.util.datastructures.SeparateChainingSymbolTable;
+
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class SeparateChainingSymbolTableBenchmark
+{
+    /* This helper class holds a freshly filled table for every invocation of a benchmark which empties it. */
+    @State(Scope.Thread)
+    public static class Filled
+    {
+        private SeparateChainingSymbolTable<String, Integer> table = null;
+
+        @Setup(Level.Invocation)
+        public void setUp(final SeparateChainingSymbolTableBenchmark benchmark)
+        {
+            this.table = benchmark.fill();
+        }
+    }
+
+    private String[]                                     absent       = null;
+    private int                                          absentCursor = 0;
+    private int                                          cursor       = 0;
+    @Param({ "SEQUENTIAL", "RANDOM", "COLLIDING" })
+    private Keys.Distribution                            distribution = null;
+    private String[]                                     keys         = null;
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    private int                                          size         = 0;
+    private SeparateChainingSymbolTable<String, Integer> table        = null;
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long drain(final Filled filled)
+    {
+        for ( String key : this.keys )
+        {
+            filled.table.delete(key);
+        }
+
+        return filled.table.getCurSize();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SeparateChainingSymbolTable<String, Integer> fill()
+    {
+        SeparateChainingSymbolTable<String, Integer> retVal = new SeparateChainingSymbolTable<String, Integer>();
+
+        for ( int i = 0; i < this.keys.length; i++ )
+        {
+            retVal.put(this.keys[i], i);
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public Integer get()
+    {
+        this.cursor = ( ( this.cursor + Keys.STRIDE ) % this.size );
+        return this.table.get(this.keys[this.cursor]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void iterate(final Blackhole blackhole)
+    {
+        for ( String key : this.table.keysIterable() )
+        {
+            blackhole.consume(key);
+        }
+    }
+
+    // Insert a key which is not in the table and delete it again, so the table keeps its size.
+    @Benchmark
+    public long putDelete()
+    {
+        this.absentCursor = ( ( this.absentCursor + 1 ) % this.absent.length );
+        this.table.put(this.absent[this.absentCursor], this.absentCursor);
+        this.table.delete(this.absent[this.absentCursor]);
+        return this.table.getCurSize();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        String[] all = Keys.strings(this.distribution, this.size + Math.min(this.size, ( 1 << 16 )));
+        this.keys = Arrays.copyOfRange(all, 0, this.size);
+        this.absent = Arrays.copyOfRange(all, this.size, all.length);
+        this.table = this.fill();
+    }
+}
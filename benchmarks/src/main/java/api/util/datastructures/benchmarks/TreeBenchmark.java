@@ -0,0 +1,124 @@
+/*
+ * Title: TreeBenchmark
+ * Author: Matthew Boyette
+ * Date: 10/17/2026
+ *
+ * Throughput of the plain binary search tree. Lookups and insert/delete pairs run against a tree that stays at its full size; filling, draining and
+ * iterating are timed for the whole tree at once.
+ *
+ * The tree is not balanced, so keys in sequence turn it into a linked list and filling it becomes quadratic. Only random keys are measured here;
+ * BalancedTreeBenchmark covers keys in sequence. Hash collisions mean nothing to a tree.
+ */
+
+package api.util.datastructures.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import api.util.datastructures.Tree;
+
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class TreeBenchmark
+{
+    /* This helper class holds a freshly filled tree for every invocation of a benchmark which empties it. */
+    @State(Scope.Thread)
+    public static class Filled
+    {
+        private Tree<Integer> tree = null;
+
+        @Setup(Level.Invocation)
+        public void setUp(final TreeBenchmark benchmark)
+        {
+            this.tree = benchmark.fill();
+        }
+    }
+
+    private Integer[]     absent       = null;
+    private int           absentCursor = 0;
+    private int           cursor       = 0;
+    private Integer[]     keys         = null;
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    private int           size         = 0;
+    private Tree<Integer> tree         = null;
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int drain(final Filled filled)
+    {
+        for ( Integer key : this.keys )
+        {
+            filled.tree.delete(key);
+        }
+
+        return filled.tree.getSize();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Tree<Integer> fill()
+    {
+        Tree<Integer> retVal = new Tree<Integer>();
+
+        for ( Integer key : this.keys )
+        {
+            retVal.insert(key);
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public boolean find()
+    {
+        this.cursor = ( ( this.cursor + Keys.STRIDE ) % this.size );
+        return this.tree.find(this.keys[this.cursor]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void iterate(final Blackhole blackhole)
+    {
+        for ( Integer key : this.tree )
+        {
+            blackhole.consume(key);
+        }
+    }
+
+    // Insert a key which is not in the tree and delete it again, so the tree keeps its size.
+    @Benchmark
+    public boolean putDelete()
+    {
+        this.absentCursor = ( ( this.absentCursor + 1 ) % this.absent.length );
+        this.tree.insert(this.absent[this.absentCursor]);
+        return this.tree.delete(this.absent[this.absentCursor]);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Integer[] all = Keys.integers(Keys.Distribution.RANDOM, this.size + Math.min(this.size, ( 1 << 16 )));
+        this.keys = Arrays.copyOfRange(all, 0, this.size);
+        this.absent = Arrays.copyOfRange(all, this.size, all.length);
+        this.tree = this.fill();
+    }
+}